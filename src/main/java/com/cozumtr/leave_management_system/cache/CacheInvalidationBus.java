@@ -0,0 +1,261 @@
+package com.cozumtr.leave_management_system.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY üzerinden çalışan, cluster genelinde önbellek geçersiz kılma (invalidation) veriyolu.
+ *
+ * Servisler {@link #publish(String, String)} ile {@code <cache>:<key>} mesajı yayınlar:
+ * - Yerel önbellek hemen ve transaction tamamlandıktan sonra tekrar temizlenir,
+ * - Commit sonrası {@code NOTIFY cache_invalidation, '<cache>:<key>'} gönderilir,
+ * - Her düğüm, havuz dışı ayrı bir bağlantı ile {@code LISTEN cache_invalidation} yapar ve gelen mesajları
+ *   aynı isimli {@link InvalidatableCache} bean'lerine iletir.
+ *
+ * LISTEN bağlantısı koptuğunda aradaki mesajlar kaçırılmış olabileceği için yeniden bağlanınca
+ * tüm önbellekler tamamen temizlenir. {@code app.cache-invalidation.enabled=false} iken (H2 testleri, tek düğüm)
+ * sadece yerel temizleme yapılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "cache_invalidation";
+    public static final String ALL_KEYS = "*";
+
+    private final ObjectProvider<InvalidatableCache> caches;
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${app.cache-invalidation.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${app.cache-invalidation.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    @Value("${app.cache-invalidation.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    /**
+     * Bir önbellek anahtarını tüm düğümlerde geçersiz kılar.
+     *
+     * @param cacheName önbellek adı
+     * @param key       anahtar; null verilirse önbelleğin tamamı temizlenir
+     */
+    public void publish(String cacheName, String key) {
+        String payload = cacheName + ":" + (key != null ? key : ALL_KEYS);
+        apply(payload);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyCluster(List.of(payload));
+            return;
+        }
+
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.payloads.add(payload);
+    }
+
+    /**
+     * Kayıtlı tüm önbellekleri tamamen temizler.
+     */
+    public void flushAll() {
+        caches.orderedStream().forEach(cache -> {
+            try {
+                cache.evictAll();
+            } catch (Exception e) {
+                log.error("❌ Önbellek temizlenemedi: {} - {}", cache.cacheName(), e.getMessage(), e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!clusterEnabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("📡 Cache invalidation dinleyicisi başlatıldı (kanal: {})", CHANNEL);
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gelen {@code <cache>:<key>} mesajını ilgili önbelleklere uygular.
+     */
+    void apply(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            log.warn("⚠️ Geçersiz cache invalidation mesajı: {}", payload);
+            return;
+        }
+        String cacheName = payload.substring(0, separator);
+        String key = payload.substring(separator + 1);
+
+        caches.orderedStream()
+                .filter(cache -> cache.cacheName().equals(cacheName))
+                .forEach(cache -> {
+                    try {
+                        if (ALL_KEYS.equals(key)) {
+                            cache.evictAll();
+                        } else {
+                            cache.evict(key);
+                        }
+                    } catch (Exception e) {
+                        log.error("❌ Önbellek girdisi temizlenemedi: {} - {}", payload, e.getMessage(), e);
+                    }
+                });
+    }
+
+    private void notifyCluster(Collection<String> payloads) {
+        if (!clusterEnabled || payloads.isEmpty()) {
+            return;
+        }
+        // Havuzdan yeni bağlantı: commit edilmiş transaction'a dahil olmaz, NOTIFY hemen iletilir
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, CHANNEL);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            // Diğer düğümler yeniden bağlanana / TTL dolana kadar eski veriyi görebilir
+            log.error("❌ Cache invalidation NOTIFY gönderilemedi: {} - {}", payloads, e.getMessage(), e);
+        }
+    }
+
+    private void listenLoop() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                if (reconnecting) {
+                    // Bağlantı yokken gelen mesajlar kaçırıldı, her şeyi temizle
+                    log.warn("🔄 Cache invalidation bağlantısı yeniden kuruldu, tüm önbellekler temizleniyor");
+                    flushAll();
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        log.debug("📨 Cache invalidation alındı: {}", notification.getParameter());
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                reconnecting = true;
+                log.warn("⚠️ Cache invalidation dinleyici bağlantısı koptu: {}. {} ms sonra tekrar denenecek",
+                        e.getMessage(), reconnectDelayMs);
+                sleepBeforeReconnect();
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Kapanışta hata önemsiz
+        }
+    }
+
+    /**
+     * Bir transaction boyunca yayınlanan mesajları toplar; commit sonrası tek bağlantıyla NOTIFY eder.
+     */
+    private class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<String> payloads = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            notifyCluster(payloads);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+            // Commit öncesi eski veriyle yeniden doldurulmuş yerel girdileri temizle
+            payloads.forEach(CacheInvalidationBus.this::apply);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.cozumtr.leave_management_system.cache;
+
+/**
+ * Cluster genelinde geçersiz kılınabilen in-process önbellek.
+ *
+ * {@link CacheInvalidationBus} bir düğümde yayınlanan invalidation mesajlarını,
+ * aynı isimle kayıtlı önbelleklerin bu metotlarına iletir.
+ */
+public interface InvalidatableCache {
+
+    /**
+     * Invalidation mesajlarında kullanılan önbellek adı ({@code <cache>:<key>} içindeki {@code <cache>}).
+     */
+    String cacheName();
+
+    /**
+     * Tek bir anahtarı önbellekten çıkarır.
+     */
+    void evict(String key);
+
+    /**
+     * Önbelleği tamamen temizler. Yeniden bağlanma gibi mesaj kaçırılmış olabilecek durumlarda çağrılır.
+     */
+    void evictAll();
+}
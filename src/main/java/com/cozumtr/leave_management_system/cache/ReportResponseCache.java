@@ -0,0 +1,111 @@
+package com.cozumtr.leave_management_system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Rapor yanıtları için koşullu GET (ETag / If-None-Match) ve boyutu sınırlı yanıt önbelleği.
+ *
+ * ETag rapor adı, parametreler ve izin verisi sürümünden ({@code LeaveDataVersionService}) türetilir;
+ * sürüm izin durumu her değiştiğinde arttığı için ETag güçlüdür (strong). İstemcinin ETag'i eşleşirse
+ * rapor hesaplanmadan 304 döner. Eşleşmezse yanıt, anahtarında sürüm bulunan Caffeine önbelleğinden
+ * okunur; sürüm değişince eski girdiler bir daha okunmaz ve boyut/TTL sınırıyla düşer, ayrıca
+ * geçersiz kılma gerekmez.
+ *
+ * Yetki kontrolleri önbellekten bağımsızdır ve çağıran tarafından bu sınıftan önce yapılmalıdır.
+ * Hit oranı vb. {@code cache.*{cache=report-responses}} metrikleri olarak actuator'dan okunur.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportResponseCache {
+
+    public static final String CACHE_NAME = "report-responses";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reports.response-cache.max-size:500}")
+    private long maxSize;
+
+    @Value("${app.reports.response-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<String, Object> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Raporu ETag ile döner: If-None-Match eşleşirse 304, değilse önbellekteki veya yeni hesaplanan yanıt.
+     *
+     * @param ifNoneMatch istemcinin If-None-Match başlığı (yoksa null)
+     * @param report      rapor adı
+     * @param parameters  raporu belirleyen parametreler (aynı rapor için aynı parametreler aynı metni üretmeli)
+     * @param version     raporun bağlı olduğu izin verisi sürümü
+     * @param loader      önbellekte yoksa raporu hesaplar
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> respond(String ifNoneMatch, String report, String parameters, long version,
+                                         Supplier<T> loader) {
+        String key = report + "|" + parameters;
+        String etag = "\"" + version + "-" + sha256(key).substring(0, 16) + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        String versionedKey = key + "|v" + version;
+        T body = (T) cache.getIfPresent(versionedKey);
+        if (body == null) {
+            body = loader.get();
+            cache.put(versionedKey, body);
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    // If-None-Match birden fazla ETag veya * içerebilir; karşılaştırma zayıf (W/ öneki yok sayılır)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
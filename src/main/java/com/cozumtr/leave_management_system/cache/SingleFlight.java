@@ -0,0 +1,78 @@
+package com.cozumtr.leave_management_system.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Aynı anahtarla eşzamanlı yapılan hesaplamaları birleştirir (single-flight / request coalescing).
+ *
+ * Bir anahtar için hesaplama sürerken gelen çağrılar yeni hesaplama başlatmaz, süren hesaplamanın
+ * sonucunu (veya hatasını) bekler. Hesaplama ilk çağıranın thread'inde yapılır; ek thread havuzu yoktur.
+ * Sonuç saklanmaz: hesaplama bittikten sonra gelen çağrı yeniden hesaplar (önbellek değildir).
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Anahtar için süren hesaplama varsa sonucunu bekler, yoksa {@code supplier} ile hesaplar.
+     * Hesaplamanın fırlattığı hata tüm bekleyenlere olduğu gibi iletilir.
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = supplier.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Başlatılan hesaplama sayısı.
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Süren bir hesaplamanın sonucunu paylaşan (hesaplama başlatmayan) çağrı sayısı.
+     */
+    public long shared() {
+        return shared.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.cozumtr.leave_management_system.config;
 
 import com.cozumtr.leave_management_system.filter.JwtAuthenticationFilter;
+import com.cozumtr.leave_management_system.security.BcryptStrengthCalibrator;
+import com.cozumtr.leave_management_system.security.LoginAuthenticationProvider;
 import com.cozumtr.leave_management_system.security.OAuth2SuccessHandler;
 import com.cozumtr.leave_management_system.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -33,6 +37,19 @@ public class SecurityConfig {
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
 
+    // 0 = donanıma göre kalibre et; sabit değer verilirse (örn. testlerde 4) doğrudan kullanılır
+    @Value("${app.security.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${app.security.bcrypt.target-ms:250}")
+    private long bcryptTargetMs;
+
+    @Value("${app.security.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${app.security.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -42,6 +59,9 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Stateless - Session kullanma
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // 0. Async dispatch (SSE akışı) zaten doğrulanmış isteğin devamıdır
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 1. Public endpoint'ler (herkes erişebilir)
                         .requestMatchers(
                                 "/v3/api-docs/**",
@@ -56,6 +76,7 @@ public class SecurityConfig {
                                 "/api/auth/login",              // Giriş herkese açık
                                 "/api/auth/activate",           // Aktivasyon herkese açık
                                 "/api/auth/refresh",            // Token yenileme herkese açık
+                                "/api/auth/logout",             // Çıkış: refresh token yeterli (access token süresi dolmuş olabilir)
                                 "/api/auth/forgot-password",    // Şifremi unuttum - talep etme
                                 "/api/auth/validate-reset-token", // Token doğrulama
                                 "/api/auth/reset-password",     // Şifre sıfırlama
@@ -88,9 +109,13 @@ public class SecurityConfig {
     }
 
     // Şifreleme makinesi (Veritabanına personel kaydederken lazım olacak)
+    // Maliyet faktörü açılışta bu donanımda hedef hash süresine göre seçilir
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BcryptStrengthCalibrator.calibrate(bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength);
+        return new BCryptPasswordEncoder(strength);
     }
 
     // AuthenticationProvider - Spring Security'nin kullanıcı doğrulaması için
@@ -103,8 +128,9 @@ public class SecurityConfig {
     }
 
     // AuthenticationManager - Login işlemi için gerekli
+    // Giriş, önceden yüklenmiş kullanıcıyla LoginAuthenticationProvider üzerinden doğrulanır (tek sorgu)
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(LoginAuthenticationProvider loginAuthenticationProvider) {
+        return new ProviderManager(loginAuthenticationProvider, authenticationProvider());
     }
 }
\ No newline at end of file
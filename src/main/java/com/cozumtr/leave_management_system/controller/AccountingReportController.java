@@ -1,19 +1,25 @@
 package com.cozumtr.leave_management_system.controller;
 
+import com.cozumtr.leave_management_system.cache.ReportResponseCache;
 import com.cozumtr.leave_management_system.dto.request.AccountingReportRequest;
 import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportResponse;
-import com.cozumtr.leave_management_system.entities.Employee;
-import com.cozumtr.leave_management_system.exception.BusinessException;
-import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportRow;
 import com.cozumtr.leave_management_system.service.AccountingReportService;
+import com.cozumtr.leave_management_system.service.LeaveDataVersionService;
+import com.cozumtr.leave_management_system.service.StreamingJsonArrayWriter;
+import com.cozumtr.leave_management_system.service.StreamingSheetWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/reports/accounting")
@@ -21,7 +27,9 @@ import org.springframework.web.bind.annotation.*;
 public class AccountingReportController {
 
     private final AccountingReportService accountingReportService;
-    private final EmployeeRepository employeeRepository;
+    private final LeaveDataVersionService leaveDataVersionService;
+    private final ReportResponseCache reportResponseCache;
+    private final ObjectMapper objectMapper;
 
     /**
      * Muhasebe raporu endpoint'i.
@@ -29,57 +37,62 @@ public class AccountingReportController {
      */
     @PreAuthorize("hasAnyRole('ACCOUNTING', 'MANAGER')")
     @PostMapping("/leaves")
-    public ResponseEntity<AccountingLeaveReportResponse> getReport(@Valid @RequestBody AccountingReportRequest request) {
-        // Eğer sadece MANAGER rolü varsa, departman kontrolü yap
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("Kullanıcı bulunamadı"));
-
-        boolean hasAccountingRole = employee.getUser().getRoles().stream()
-                .anyMatch(role -> role.getRoleName().equals("ACCOUNTING"));
+    public void getReport(@Valid @RequestBody AccountingReportRequest request,
+                          HttpServletResponse response) throws IOException {
+        // ACCOUNTING rolü yoksa sadece Muhasebe/Finans departmanı yöneticileri erişebilir
+        accountingReportService.checkAccess();
 
-        // Eğer ACCOUNTING rolü yoksa, departman kontrolü yap
-        if (!hasAccountingRole) {
-            if (employee.getDepartment() == null) {
-                throw new BusinessException("Bu rapora erişim yetkiniz yok");
-            }
-            String deptName = employee.getDepartment().getName();
-            if (!deptName.equals("Muhasebe") && !deptName.equals("Finans")) {
-                throw new BusinessException("Bu rapora erişim yetkiniz yok. Sadece Muhasebe ve Finans departmanları erişebilir.");
-            }
+        // Satırlar sorgudan okundukça {"rows": [...]} olarak yazılır; rapor bellekte toplanmaz
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (StreamingJsonArrayWriter<AccountingLeaveReportRow> writer = new StreamingJsonArrayWriter<>(
+                objectMapper, AccountingLeaveReportRow.class, response.getOutputStream(), "rows")) {
+            accountingReportService.forEachReportRow(request, writer::write);
+            writer.finish();
         }
+    }
 
-        AccountingLeaveReportResponse response = accountingReportService.getReport(request);
-        return ResponseEntity.ok(response);
+    /**
+     * Muhasebe raporu (GET - query parametreleri ile).
+     * Yanıt ETag taşır; izin verisi değişmediyse If-None-Match ile 304 döner, aynı parametreli
+     * tekrar eden istekler önbellekten karşılanır.
+     */
+    @PreAuthorize("hasAnyRole('ACCOUNTING', 'MANAGER')")
+    @GetMapping("/leaves")
+    public ResponseEntity<AccountingLeaveReportResponse> getReportConditional(
+            @Valid @ModelAttribute AccountingReportRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ACCOUNTING rolü yoksa sadece Muhasebe/Finans departmanı yöneticileri erişebilir
+        accountingReportService.checkAccess();
+        accountingReportService.validate(request);
+
+        long version = request.getDepartmentId() != null
+                ? leaveDataVersionService.departmentVersion(request.getDepartmentId())
+                : leaveDataVersionService.globalVersion();
+        String parameters = String.join("|", String.valueOf(request.getStartDate()),
+                String.valueOf(request.getEndDate()), String.valueOf(request.getType()),
+                String.valueOf(request.getDepartmentId()), String.valueOf(request.getEmployeeId()));
+        return reportResponseCache.respond(ifNoneMatch, "accounting-leaves", parameters, version,
+                () -> accountingReportService.getReport(request));
     }
 
     @PreAuthorize("hasAnyRole('ACCOUNTING', 'MANAGER')")
     @PostMapping(value = "/leaves/export", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-    public ResponseEntity<byte[]> exportReport(@Valid @RequestBody AccountingReportRequest request) {
-        // Eğer sadece MANAGER rolü varsa, departman kontrolü yap
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("Kullanıcı bulunamadı"));
-
-        boolean hasAccountingRole = employee.getUser().getRoles().stream()
-                .anyMatch(role -> role.getRoleName().equals("ACCOUNTING"));
+    public ResponseEntity<StreamingResponseBody> exportReport(@Valid @RequestBody AccountingReportRequest request) {
+        // ACCOUNTING rolü yoksa sadece Muhasebe/Finans departmanı yöneticileri erişebilir
+        accountingReportService.checkAccess();
 
-        // Eğer ACCOUNTING rolü yoksa, departman kontrolü yap
-        if (!hasAccountingRole) {
-            if (employee.getDepartment() == null) {
-                throw new BusinessException("Bu rapora erişim yetkiniz yok");
+        // Satırlar istek içinde cursor'dan okunup geçici dosyalara yazılır (doğrulama hataları 400 döner);
+        // bağlantı kapandıktan sonra Excel yanıt akışına yazılır
+        StreamingSheetWriter sheet = accountingReportService.buildExcel(request);
+        StreamingResponseBody body = out -> {
+            try (sheet) {
+                sheet.writeTo(out);
             }
-            String deptName = employee.getDepartment().getName();
-            if (!deptName.equals("Muhasebe") && !deptName.equals("Finans")) {
-                throw new BusinessException("Bu rapora erişim yetkiniz yok. Sadece Muhasebe ve Finans departmanları erişebilir.");
-            }
-        }
-
-        byte[] content = accountingReportService.exportReport(request);
+        };
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=leave-report.xlsx")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(content);
+                .body(body);
     }
 }
 
@@ -3,6 +3,7 @@ package com.cozumtr.leave_management_system.controller;
 import com.cozumtr.leave_management_system.dto.request.ActivateRequestDto;
 import com.cozumtr.leave_management_system.dto.request.ForgotPasswordRequestDto;
 import com.cozumtr.leave_management_system.dto.request.LoginRequestDto;
+import com.cozumtr.leave_management_system.dto.request.RefreshTokenRequestDto;
 import com.cozumtr.leave_management_system.dto.request.RegisterRequestDto;
 import com.cozumtr.leave_management_system.dto.request.ResetPasswordRequestDto;
 import com.cozumtr.leave_management_system.dto.response.AuthResponseDto;
@@ -14,8 +15,10 @@ import com.cozumtr.leave_management_system.dto.response.TokenValidationResponseD
 import com.cozumtr.leave_management_system.service.AuthService;
 import com.cozumtr.leave_management_system.service.DepartmentService;
 import com.cozumtr.leave_management_system.service.RoleService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -38,8 +41,9 @@ public class AuthController {
      * Çıktı: AuthResponseDto (token, tokenType, userId, userEmail, roles)
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request) {
-        AuthResponseDto response = authService.login(request);
+    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request,
+                                                 HttpServletRequest httpRequest) {
+        AuthResponseDto response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
@@ -145,4 +149,37 @@ public class AuthController {
                 .build();
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 8. Logout (Çıkış)
+     * POST /api/auth/logout
+     * Girdi: opsiyonel Authorization header (Bearer token), opsiyonel RefreshTokenRequestDto (token)
+     * Çıktı: MessageResponseDto (token iptal edildi)
+     * Herkese açıktır: access token'ı süresi dolmuş istemci refresh token ile oturumunu kapatabilir.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponseDto> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Valid @RequestBody(required = false) RefreshTokenRequestDto request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getToken() : null);
+        MessageResponseDto response = MessageResponseDto.builder()
+                .message("Çıkış yapıldı")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 9. Refresh (Token Yenileme)
+     * POST /api/auth/refresh
+     * Girdi: RefreshTokenRequestDto (token = refresh token)
+     * Çıktı: AuthResponseDto (yeni access token + yeni refresh token; eski refresh token artık geçersiz)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        AuthResponseDto response = authService.refresh(request.getToken());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -9,9 +9,13 @@ import com.cozumtr.leave_management_system.dto.response.AttachmentResponse;
 import com.cozumtr.leave_management_system.dto.response.TeamLeaveResponseDTO;
 import com.cozumtr.leave_management_system.dto.response.ManagerLeaveResponseDTO;
 import com.cozumtr.leave_management_system.service.EmployeeService;
+import com.cozumtr.leave_management_system.service.LeaveEventStreamService;
 import com.cozumtr.leave_management_system.service.LeaveRequestService;
 import com.cozumtr.leave_management_system.service.LeaveAttachmentService;
 import com.cozumtr.leave_management_system.service.LeaveTypeService;
+import com.cozumtr.leave_management_system.service.StreamingJsonArrayWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,9 +23,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.http.MediaType;
 import org.springframework.core.io.Resource;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -33,6 +39,8 @@ public class LeaveRequestController {
     private final LeaveAttachmentService leaveAttachmentService;
     private final LeaveTypeService leaveTypeService;
     private final EmployeeService employeeService;
+    private final LeaveEventStreamService leaveEventStreamService;
+    private final ObjectMapper objectMapper;
 
     // --- KENDİ İZİN TALEPLERİMİ LİSTELEME ---
     @PreAuthorize("hasRole('EMPLOYEE')")
@@ -42,6 +50,14 @@ public class LeaveRequestController {
         return ResponseEntity.ok(leaveRequests);
     }
 
+    // --- CANLI İZİN OLAYLARI (SSE) ---
+    // Dashboard ve "izinlerim" ekranları polling yerine bu akışa abone olur
+    @PreAuthorize("hasAnyRole('EMPLOYEE','HR','MANAGER','CEO')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaveEvents() {
+        return leaveEventStreamService.subscribe();
+    }
+
     // --- İZİN TALEBİ GEÇMİŞİ ---
     @PreAuthorize("hasAnyRole('EMPLOYEE','HR','MANAGER','CEO')")
     @GetMapping("/{id}/history")
@@ -145,9 +161,14 @@ public class LeaveRequestController {
 
     @PreAuthorize("hasAnyRole('MANAGER','HR','CEO')")
     @GetMapping("/manager/all-requests")
-    public ResponseEntity<List<ManagerLeaveResponseDTO>> getManagerAllRequests() {
-        List<ManagerLeaveResponseDTO> responses = leaveRequestService.getManagerAllRequests();
-        return ResponseEntity.ok(responses);
+    public void getManagerAllRequests(HttpServletResponse response) throws IOException {
+        // Talep sayısı büyüyebilir: liste toplanmadan akışla JSON dizisi olarak yazılır
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (StreamingJsonArrayWriter<ManagerLeaveResponseDTO> writer = new StreamingJsonArrayWriter<>(
+                objectMapper, ManagerLeaveResponseDTO.class, response.getOutputStream())) {
+            leaveRequestService.forEachManagerRequest(writer::write);
+            writer.finish();
+        }
     }
 
     // --- EKİP İZİN TAKİBİ (TEAM VISIBILITY) ---
@@ -161,8 +182,12 @@ public class LeaveRequestController {
 
     @PreAuthorize("hasAnyRole('HR','CEO')")
     @GetMapping("/company-current")
-    public ResponseEntity<List<TeamLeaveResponseDTO>> getCompanyCurrentLeaves() {
-        List<TeamLeaveResponseDTO> leaves = leaveRequestService.getCompanyCurrentApprovedLeaves();
-        return ResponseEntity.ok(leaves);
+    public void getCompanyCurrentLeaves(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (StreamingJsonArrayWriter<TeamLeaveResponseDTO> writer = new StreamingJsonArrayWriter<>(
+                objectMapper, TeamLeaveResponseDTO.class, response.getOutputStream())) {
+            leaveRequestService.forEachCompanyCurrentApprovedLeave(writer::write);
+            writer.finish();
+        }
     }
 }
\ No newline at end of file
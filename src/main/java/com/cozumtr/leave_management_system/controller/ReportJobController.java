@@ -0,0 +1,121 @@
+package com.cozumtr.leave_management_system.controller;
+
+import com.cozumtr.leave_management_system.dto.request.AccountingReportRequest;
+import com.cozumtr.leave_management_system.dto.request.SprintOverlapReportRequest;
+import com.cozumtr.leave_management_system.dto.response.ReportJobResponse;
+import com.cozumtr.leave_management_system.entities.ReportJob;
+import com.cozumtr.leave_management_system.entities.Sprint;
+import com.cozumtr.leave_management_system.enums.ReportJobType;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import com.cozumtr.leave_management_system.service.AccountingReportService;
+import com.cozumtr.leave_management_system.service.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Asenkron rapor işleri.
+ *
+ * Rapor istekleri 202 ile iş kimliği döner; istemci durumu sorgular ve iş tamamlandığında dosyayı indirir.
+ * İndirme Range başlığını destekler (yarıda kalan indirme kaldığı yerden devam edebilir).
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final ReportJobService reportJobService;
+    private final AccountingReportService accountingReportService;
+    private final SprintRepository sprintRepository;
+    private final CurrentUser currentUser;
+
+    /**
+     * Muhasebe raporu (Excel) işi başlatır.
+     */
+    @PreAuthorize("hasAnyRole('ACCOUNTING', 'MANAGER')")
+    @PostMapping("/accounting")
+    public ResponseEntity<ReportJobResponse> submitAccountingReport(@Valid @RequestBody AccountingReportRequest request) {
+        accountingReportService.checkAccess();
+        ReportJobResponse job = reportJobService.submitAccountingReport(request, currentUser.getEmail());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Sprint çakışma raporu (Excel) işi başlatır (Sprint ID ile).
+     */
+    @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
+    @PostMapping(value = "/sprint-overlap", params = "sprintId")
+    public ResponseEntity<ReportJobResponse> submitSprintOverlapReport(@RequestParam Long sprintId) {
+        Sprint sprint = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new BusinessException("Sprint bulunamadı: " + sprintId));
+        ReportJobResponse job = reportJobService.submitSprintOverlapReport(
+                sprint.getStartDate(), sprint.getEndDate(), sprint.getName(),
+                sprint.getDepartment() != null ? sprint.getDepartment().getId() : null, currentUser.getEmail());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Sprint çakışma raporu (Excel) işi başlatır (manuel tarih aralığı ile).
+     */
+    @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
+    @PostMapping("/sprint-overlap")
+    public ResponseEntity<ReportJobResponse> submitSprintOverlapReport(
+            @Valid @RequestBody SprintOverlapReportRequest request) {
+        String sprintName = request.getSprintStart() + "_" + request.getSprintEnd();
+        ReportJobResponse job = reportJobService.submitSprintOverlapReport(
+                request.getSprintStart(), request.getSprintEnd(), sprintName, request.getDepartmentId(),
+                currentUser.getEmail());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * İş durumu ve ilerlemesi.
+     */
+    @PreAuthorize("hasAnyRole('ACCOUNTING', 'HR', 'MANAGER', 'CEO')")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable String jobId) {
+        ReportJob job = reportJobService.findJob(jobId);
+        checkAccess(job);
+        return ResponseEntity.ok(reportJobService.toResponse(job));
+    }
+
+    /**
+     * Tamamlanan işin dosyası. Range istekleri 206 Partial Content ile karşılanır.
+     */
+    @PreAuthorize("hasAnyRole('ACCOUNTING', 'HR', 'MANAGER', 'CEO')")
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        ReportJob job = reportJobService.findJob(jobId);
+        checkAccess(job);
+        Resource resource = reportJobService.getResult(job);
+        return ResponseEntity.ok()
+                .contentType(XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                .body(resource);
+    }
+
+    // İşler parametreye göre kullanıcılar arasında paylaşıldığından erişim, raporun kendi kuralıyla kontrol edilir
+    private void checkAccess(ReportJob job) {
+        if (job.getReportType() == ReportJobType.ACCOUNTING_LEAVES) {
+            if (!currentUser.hasAnyRole("ACCOUNTING", "MANAGER")) {
+                throw new BusinessException("Bu rapora erişim yetkiniz yok");
+            }
+            accountingReportService.checkAccess();
+        } else if (!currentUser.hasAnyRole("HR", "MANAGER", "CEO")) {
+            throw new BusinessException("Bu rapora erişim yetkiniz yok");
+        }
+    }
+}
@@ -1,27 +1,32 @@
 package com.cozumtr.leave_management_system.controller;
 
+import com.cozumtr.leave_management_system.cache.ReportResponseCache;
 import com.cozumtr.leave_management_system.dto.request.SprintOverlapReportRequest;
+import com.cozumtr.leave_management_system.dto.response.DepartmentCapacityResponse;
+import com.cozumtr.leave_management_system.dto.response.DepartmentSprintOverlapReportDTO;
 import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
 import com.cozumtr.leave_management_system.dto.response.SprintResponse;
 import com.cozumtr.leave_management_system.entities.Sprint;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import com.cozumtr.leave_management_system.service.CapacityReportService;
+import com.cozumtr.leave_management_system.service.LeaveDataVersionService;
 import com.cozumtr.leave_management_system.service.LeaveRequestService;
+import com.cozumtr.leave_management_system.service.SprintOverlapExportService;
+import com.cozumtr.leave_management_system.service.SprintOverlapReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,12 +36,18 @@ import java.util.stream.Collectors;
 public class ReportingController {
 
     private final LeaveRequestService leaveRequestService;
+    private final SprintOverlapExportService sprintOverlapExportService;
+    private final CapacityReportService capacityReportService;
+    private final SprintOverlapReportService sprintOverlapReportService;
     private final SprintRepository sprintRepository;
-    private final com.cozumtr.leave_management_system.repository.EmployeeRepository employeeRepository;
+    private final CurrentUser currentUser;
+    private final LeaveDataVersionService leaveDataVersionService;
+    private final ReportResponseCache reportResponseCache;
 
     /**
      * Sprint çakışma raporu endpoint'i (GET - Sprint ID ile).
      * Kullanıcı dropdown'dan sprint seçtiğinde GET ile çağrılır.
+     * Yanıt ETag taşır; departmanın izin verisi değişmediyse If-None-Match ile 304 döner.
      *
      * @param sprintId Sprint ID (zorunlu)
      * @return SprintOverlapReportDTO
@@ -44,17 +55,22 @@ public class ReportingController {
     @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
     @GetMapping("/sprint-overlap")
     public ResponseEntity<SprintOverlapReportDTO> getSprintOverlapReport(
-            @RequestParam(required = true) Long sprintId) {
+            @RequestParam(required = true) Long sprintId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new BusinessException("Sprint bulunamadı: " + sprintId));
 
         LocalDateTime sprintStartDateTime = sprint.getStartDate().atStartOfDay();
         LocalDateTime sprintEndDateTime = sprint.getEndDate().atTime(23, 59, 59);
-
-        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
-                sprintStartDateTime, sprintEndDateTime);
-        return ResponseEntity.ok(report);
+        Long departmentId = departmentIdOf(sprint);
+
+        long version = departmentId != null
+                ? leaveDataVersionService.departmentVersion(departmentId)
+                : leaveDataVersionService.globalVersion();
+        String parameters = sprintId + "|" + sprint.getStartDate() + "|" + sprint.getEndDate() + "|" + departmentId;
+        return reportResponseCache.respond(ifNoneMatch, "sprint-overlap", parameters, version,
+                () -> leaveRequestService.generateSprintOverlapReport(sprintStartDateTime, sprintEndDateTime, departmentId));
     }
 
     /**
@@ -74,10 +90,38 @@ public class ReportingController {
         LocalDateTime sprintEndDateTime = request.getSprintEnd().atTime(23, 59, 59);
 
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
-                sprintStartDateTime, sprintEndDateTime);
+                sprintStartDateTime, sprintEndDateTime, request.getDepartmentId());
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * Departmanın tarih aralığındaki tüm sprint'leri için çakışma raporu (tek istekte).
+     * Tarihler verilmezse bugünden itibaren 6 ay kullanılır.
+     * HR ve CEO tüm departmanları, MANAGER sadece kendi departmanını görür.
+     * Yanıt ETag taşır; departmanın izin verisi değişmediyse If-None-Match ile 304 döner.
+     *
+     * @param departmentId Departman ID (zorunlu)
+     * @param from Başlangıç tarihi (yyyy-MM-dd, opsiyonel)
+     * @param to Bitiş tarihi (yyyy-MM-dd, opsiyonel)
+     * @return Sprint bazında çakışan izinler ve toplam kayıp saatler
+     */
+    @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
+    @GetMapping("/sprint-overlap/department")
+    public ResponseEntity<DepartmentSprintOverlapReportDTO> getDepartmentSprintOverlapReport(
+            @RequestParam Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDate rangeStart = from != null ? from : LocalDate.now();
+        LocalDate rangeEnd = to != null ? to : rangeStart.plusMonths(6);
+
+        sprintOverlapReportService.checkAccess(departmentId);
+        long version = leaveDataVersionService.departmentVersion(departmentId);
+        String parameters = departmentId + "|" + rangeStart + "|" + rangeEnd;
+        return reportResponseCache.respond(ifNoneMatch, "sprint-overlap-department", parameters, version,
+                () -> sprintOverlapReportService.generateDepartmentReport(departmentId, rangeStart, rangeEnd));
+    }
+
     /**
      * Tüm sprint'leri listeler (Frontend dropdown için).
      * HR ve CEO tüm sprintleri görür.
@@ -88,13 +132,8 @@ public class ReportingController {
     @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
     @GetMapping("/sprints")
     public ResponseEntity<List<SprintResponse>> getAllSprints() {
-        String email = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        com.cozumtr.leave_management_system.entities.Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("Kullanıcı bulunamadı"));
-
         // Kullanıcının rollerini kontrol et
-        boolean isHrOrCeo = employee.getUser().getRoles().stream()
-                .anyMatch(role -> role.getRoleName().equals("HR") || role.getRoleName().equals("CEO"));
+        boolean isHrOrCeo = currentUser.hasAnyRole("HR", "CEO");
 
         List<Sprint> sprints;
         if (isHrOrCeo) {
@@ -102,11 +141,12 @@ public class ReportingController {
             sprints = sprintRepository.findAll();
         } else {
             // Sadece MANAGER ise (veya standart çalışan ama rapora erişimi varsa), kendi departmanını getir
-            if (employee.getDepartment() == null) {
+            Long departmentId = currentUser.getDepartmentId();
+            if (departmentId == null) {
                 // Departmanı yoksa boş liste dön
                 return ResponseEntity.ok(List.of());
             }
-            sprints = sprintRepository.findByDepartmentId(employee.getDepartment().getId());
+            sprints = sprintRepository.findByDepartmentId(departmentId);
         }
 
         List<SprintResponse> sprintResponses = sprints.stream()
@@ -132,8 +172,8 @@ public class ReportingController {
      */
     @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
     @GetMapping("/sprint-overlap/export")
-    public ResponseEntity<byte[]> exportSprintOverlapReportToExcel(
-            @RequestParam(required = true) Long sprintId) throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportSprintOverlapReportToExcel(
+            @RequestParam(required = true) Long sprintId) {
 
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new BusinessException("Sprint bulunamadı: " + sprintId));
@@ -141,12 +181,16 @@ public class ReportingController {
         LocalDateTime sprintStartDateTime = sprint.getStartDate().atStartOfDay();
         LocalDateTime sprintEndDateTime = sprint.getEndDate().atTime(23, 59, 59);
         String sprintName = sprint.getName();
+        Long departmentId = departmentIdOf(sprint);
 
-        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
-                sprintStartDateTime, sprintEndDateTime);
+        // Aynı sprint için eşzamanlı istekler rapor yüklemesini paylaşır (sorgular bir kez çalışır)
+        String key = "sprint|" + sprintId + "|" + sprint.getStartDate() + "|" + sprint.getEndDate() + "|" + departmentId;
+        SprintOverlapReportDTO report = sprintOverlapExportService.loadShared(key,
+                () -> leaveRequestService.generateSprintOverlapReport(sprintStartDateTime, sprintEndDateTime, departmentId));
 
-        // Excel dosyası oluştur
-        byte[] excelBytes = createExcelFile(report, sprintName, sprintStartDateTime.toLocalDate(), sprintEndDateTime.toLocalDate());
+        // Excel yanıt akışına doğrudan yazılır (bellekte byte dizisi oluşturulmaz)
+        StreamingResponseBody body = out -> sprintOverlapExportService.writeExcel(
+                report, sprintName, sprint.getStartDate(), sprint.getEndDate(), out);
 
         // Dosya adı oluştur
         String fileName = "Sprint_Cakisma_Raporu_" + sprintName.replaceAll("[^a-zA-Z0-9]", "_") + ".xlsx";
@@ -154,7 +198,7 @@ public class ReportingController {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelBytes);
+                .body(body);
     }
 
     /**
@@ -166,18 +210,22 @@ public class ReportingController {
      */
     @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
     @PostMapping("/sprint-overlap/export")
-    public ResponseEntity<byte[]> exportSprintOverlapReportToExcelPost(
-            @Valid @RequestBody SprintOverlapReportRequest request) throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportSprintOverlapReportToExcelPost(
+            @Valid @RequestBody SprintOverlapReportRequest request) {
 
         LocalDateTime sprintStartDateTime = request.getSprintStart().atStartOfDay();
         LocalDateTime sprintEndDateTime = request.getSprintEnd().atTime(23, 59, 59);
         String sprintName = request.getSprintStart() + "_" + request.getSprintEnd();
+        Long departmentId = request.getDepartmentId();
 
-        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
-                sprintStartDateTime, sprintEndDateTime);
+        // Aynı tarih aralığı için eşzamanlı istekler rapor yüklemesini paylaşır
+        String key = "dates|" + request.getSprintStart() + "|" + request.getSprintEnd() + "|" + departmentId;
+        SprintOverlapReportDTO report = sprintOverlapExportService.loadShared(key,
+                () -> leaveRequestService.generateSprintOverlapReport(sprintStartDateTime, sprintEndDateTime, departmentId));
 
-        // Excel dosyası oluştur
-        byte[] excelBytes = createExcelFile(report, sprintName, request.getSprintStart(), request.getSprintEnd());
+        // Excel yanıt akışına doğrudan yazılır (bellekte byte dizisi oluşturulmaz)
+        StreamingResponseBody body = out -> sprintOverlapExportService.writeExcel(
+                report, sprintName, request.getSprintStart(), request.getSprintEnd(), out);
 
         // Dosya adı oluştur
         String fileName = "Sprint_Cakisma_Raporu_" + sprintName.replaceAll("[^a-zA-Z0-9]", "_") + ".xlsx";
@@ -185,118 +233,29 @@ public class ReportingController {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelBytes);
+                .body(body);
     }
 
     /**
-     * Excel dosyası oluşturur.
+     * Departman kapasite ısı haritası (en fazla 366 gün).
+     * HR ve CEO tüm departmanları, MANAGER sadece kendi departmanını görür.
+     *
+     * @param departmentId Departman ID (zorunlu)
+     * @param from Başlangıç tarihi (yyyy-MM-dd)
+     * @param to Bitiş tarihi (yyyy-MM-dd)
+     * @return Çalışma günleri ve gün bazında kullanılabilir/izinli saat ile izinli kişi sayısı
      */
-    private byte[] createExcelFile(SprintOverlapReportDTO report, String sprintName,
-                                   LocalDate startDate, LocalDate endDate) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Sprint Çakışma Raporu");
-
-        // Stil tanımlamaları
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerFont.setFontHeightInPoints((short) 12);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        headerStyle.setBorderBottom(BorderStyle.THIN);
-        headerStyle.setBorderTop(BorderStyle.THIN);
-        headerStyle.setBorderLeft(BorderStyle.THIN);
-        headerStyle.setBorderRight(BorderStyle.THIN);
-
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderTop(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
-
-        CellStyle totalStyle = workbook.createCellStyle();
-        Font totalFont = workbook.createFont();
-        totalFont.setBold(true);
-        totalStyle.setFont(totalFont);
-        totalStyle.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
-        totalStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        totalStyle.setBorderBottom(BorderStyle.THIN);
-        totalStyle.setBorderTop(BorderStyle.THIN);
-        totalStyle.setBorderLeft(BorderStyle.THIN);
-        totalStyle.setBorderRight(BorderStyle.THIN);
-
-        int rowNum = 0;
-
-        // Başlık satırı
-        Row titleRow = sheet.createRow(rowNum++);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Sprint Çakışma Raporu");
-        titleCell.setCellStyle(headerStyle);
-
-        // Sprint bilgileri
-        Row sprintInfoRow = sheet.createRow(rowNum++);
-        sprintInfoRow.createCell(0).setCellValue("Sprint:");
-        sprintInfoRow.createCell(1).setCellValue(sprintName);
-
-        Row dateRow = sheet.createRow(rowNum++);
-        dateRow.createCell(0).setCellValue("Tarih Aralığı:");
-        dateRow.createCell(1).setCellValue(startDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) +
-                " - " + endDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")));
-
-        rowNum++; // Boş satır
-
-        // Toplam kayıp saati
-        Row totalRow = sheet.createRow(rowNum++);
-        Cell totalLabelCell = totalRow.createCell(0);
-        totalLabelCell.setCellValue("Toplam Kapasite Kaybı:");
-        totalLabelCell.setCellStyle(totalStyle);
-        Cell totalValueCell = totalRow.createCell(1);
-        totalValueCell.setCellValue(report.getTotalLossHours().doubleValue());
-        totalValueCell.setCellStyle(totalStyle);
-        totalRow.createCell(2).setCellValue("saat");
-        totalRow.getCell(2).setCellStyle(totalStyle);
-
-        rowNum++; // Boş satır
-
-        // Tablo başlıkları
-        Row headerRow = sheet.createRow(rowNum++);
-        String[] headers = {"Çalışan Adı", "İzin Türü", "İzin Başlangıç", "İzin Bitiş", "Çakışan Saat"};
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-
-        // Veri satırları
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-        for (var leave : report.getOverlappingLeaves()) {
-            Row row = sheet.createRow(rowNum++);
-
-            row.createCell(0).setCellValue(leave.getEmployeeFullName());
-            row.createCell(1).setCellValue(leave.getLeaveTypeName());
-            row.createCell(2).setCellValue(leave.getLeaveStartDate().format(dateFormatter));
-            row.createCell(3).setCellValue(leave.getLeaveEndDate().format(dateFormatter));
-            row.createCell(4).setCellValue(leave.getOverlappingHours().doubleValue());
-
-            // Stil uygula
-            for (int i = 0; i < headers.length; i++) {
-                row.getCell(i).setCellStyle(dataStyle);
-            }
-        }
-
-        // Sütun genişliklerini ayarla
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1000); // Biraz ekstra boşluk
-        }
-
-        // Excel'i byte array'e çevir
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+    @PreAuthorize("hasAnyRole('HR', 'MANAGER', 'CEO')")
+    @GetMapping("/capacity")
+    public ResponseEntity<DepartmentCapacityResponse> getDepartmentCapacity(
+            @RequestParam Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(capacityReportService.getDepartmentCapacity(departmentId, from, to));
+    }
 
-        return outputStream.toByteArray();
+    // Sprint çakışma raporu sprint'in departmanıyla sınırlanır
+    private static Long departmentIdOf(Sprint sprint) {
+        return sprint.getDepartment() != null ? sprint.getDepartment().getId() : null;
     }
 }
-
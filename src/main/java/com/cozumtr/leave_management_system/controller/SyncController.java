@@ -0,0 +1,29 @@
+package com.cozumtr.leave_management_system.controller;
+
+import com.cozumtr.leave_management_system.dto.response.SyncResponse;
+import com.cozumtr.leave_management_system.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Delta senkronizasyonu controller'ı.
+ * İstemci ilk çağrıda {@code since} göndermez, sonraki çağrılarda önceki cevaptaki {@code cursor} değerini gönderir.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @PreAuthorize("hasAnyRole('EMPLOYEE','HR','MANAGER','CEO')")
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(name = "since", required = false) String since) {
+        return ResponseEntity.ok(syncService.sync(since));
+    }
+}
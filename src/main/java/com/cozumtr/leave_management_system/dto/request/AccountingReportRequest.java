@@ -3,6 +3,7 @@ package com.cozumtr.leave_management_system.dto.request;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 import com.cozumtr.leave_management_system.enums.ReportType;
@@ -10,9 +11,12 @@ import com.cozumtr.leave_management_system.enums.ReportType;
 @Getter
 @Setter
 public class AccountingReportRequest {
+    // GET isteğinde query parametresi olarak da bağlanır (ISO, örn. 2025-01-01T00:00:00)
     @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime startDate;
     @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime endDate;
     // UNPAID, DOCUMENT_REQUIRED, ALL
     @NotNull
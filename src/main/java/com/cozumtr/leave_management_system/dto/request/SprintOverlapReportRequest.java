@@ -32,5 +32,10 @@ public class SprintOverlapReportRequest {
     @NotNull(message = "Sprint bitiş tarihi boş olamaz")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate sprintEnd;
+
+    /**
+     * Departman ID (opsiyonel). Verilmezse tüm şirketin izinleri raporlanır.
+     */
+    private Long departmentId;
 }
 
@@ -1,5 +1,8 @@
 package com.cozumtr.leave_management_system.dto.response;
 
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -8,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class AccountingLeaveReportRow {
     private Long leaveRequestId;
     private String employeeFullName;
@@ -21,5 +25,18 @@ public class AccountingLeaveReportRow {
     private BigDecimal durationHours;
     private String status;
     private int attachmentCount;
+
+    /**
+     * JPQL constructor expression için ({@code LeaveRequestRepository.findAccountingReportRows}).
+     */
+    public AccountingLeaveReportRow(Long leaveRequestId, String employeeFirstName, String employeeLastName,
+                                    String departmentName, String leaveTypeName, boolean paid,
+                                    boolean deductsFromAnnual, boolean documentRequired,
+                                    LocalDateTime startDate, LocalDateTime endDate, BigDecimal durationHours,
+                                    RequestStatus status, Long attachmentCount) {
+        this(leaveRequestId, employeeFirstName + " " + employeeLastName, departmentName, leaveTypeName, paid,
+                deductsFromAnnual, documentRequired, startDate, endDate, durationHours, status.name(),
+                attachmentCount != null ? attachmentCount.intValue() : 0);
+    }
 }
 
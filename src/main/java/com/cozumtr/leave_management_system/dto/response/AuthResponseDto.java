@@ -9,6 +9,7 @@ import java.util.Set;
 @Builder
 public class AuthResponseDto {
     private String token;
+    private String refreshToken; // Access token süresi dolunca /api/auth/refresh ile yenileme için
     @Builder.Default
     private String tokenType = "Bearer"; // JWT standardı
     private Long userId;
@@ -0,0 +1,10 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Bir günün toplam devamsızlık saati ve izinli kişi sayısı ({@code DailyAbsenceRepository.sumByDay}).
+ */
+public record DailyAbsenceTotal(LocalDate date, BigDecimal hours, Long headcount) {
+}
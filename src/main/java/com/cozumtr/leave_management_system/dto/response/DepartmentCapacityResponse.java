@@ -0,0 +1,28 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Departman kapasite ısı haritası.
+ * Sütunlu yapıdadır: listelerin i. elemanları {@code dates}'in i. çalışma gününe aittir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentCapacityResponse {
+    private Long departmentId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> dates;
+    private List<BigDecimal> availableHours;
+    private List<BigDecimal> absentHours;
+    private List<Integer> headcountOnLeave;
+}
@@ -0,0 +1,20 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSprintOverlapReportDTO {
+    private Long departmentId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<SprintOverlapItemDTO> sprints;
+}
@@ -0,0 +1,10 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aynı gün işe başlayan çalışanların toplam günlük mesaisi ({@code EmployeeRepository.sumDailyWorkHoursByHireDate}).
+ */
+public record HireDateWorkHours(LocalDate hireDate, BigDecimal dailyWorkHours) {
+}
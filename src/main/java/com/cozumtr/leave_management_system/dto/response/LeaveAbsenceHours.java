@@ -0,0 +1,10 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir iznin verilen tarih aralığına düşen toplam devamsızlık saati
+ * ({@code DailyAbsenceRepository.sumHoursByLeaveRequest}).
+ */
+public record LeaveAbsenceHours(Long leaveRequestId, BigDecimal hours) {
+}
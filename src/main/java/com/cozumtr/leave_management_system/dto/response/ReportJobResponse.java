@@ -0,0 +1,32 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import com.cozumtr.leave_management_system.enums.ReportJobStatus;
+import com.cozumtr.leave_management_system.enums.ReportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asenkron rapor işinin durumu. Dosya, durum COMPLETED olduğunda
+ * {@code GET /api/reports/jobs/{id}/download} ile indirilir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String id;
+    private ReportJobType reportType;
+    private ReportJobStatus status;
+    // 0-100
+    private int progress;
+    private String fileName;
+    private Long fileSize;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
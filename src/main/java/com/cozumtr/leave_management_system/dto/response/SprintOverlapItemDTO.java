@@ -0,0 +1,23 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintOverlapItemDTO {
+    private Long sprintId;
+    private String sprintName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal totalLossHours;
+    private List<OverlappingLeaveDetailDTO> overlappingLeaves;
+}
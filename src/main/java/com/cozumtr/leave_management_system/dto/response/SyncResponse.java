@@ -0,0 +1,36 @@
+package com.cozumtr.leave_management_system.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Delta senkronizasyonu cevabı.
+ *
+ * İstemci listeleri ID bazında yerel kopyasına "upsert" eder, removed* listelerindeki ID'leri siler
+ * ve bir sonraki istekte {@code cursor} değerini {@code since} olarak gönderir.
+ * Aynı kayıt ardışık iki cevapta tekrar gelebilir; upsert bu yüzden idempotent olmalıdır.
+ */
+@Getter
+@Setter
+@Builder
+public class SyncResponse {
+    // Bir sonraki istekte gönderilecek opak imleç
+    private String cursor;
+
+    // true: imleç yoktu, tüm veri gönderildi; istemci yerel kopyasını tamamen değiştirmeli
+    private boolean fullSync;
+
+    private List<LeaveRequestResponse> leaveRequests;
+
+    private List<LeaveTypeResponse> leaveTypes;
+    private List<Long> removedLeaveTypeIds;
+
+    private List<PublicHolidayResponse> holidays;
+    private List<Long> removedHolidayIds;
+
+    // Bakiyeler değişmediyse null; değiştiyse tüm izin türleri için güncel liste
+    private List<LeaveBalanceResponse> balances;
+}
@@ -0,0 +1,58 @@
+package com.cozumtr.leave_management_system.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Günlük devamsızlık (fact) kaydı: onaylı bir iznin tek bir çalışma gününe düşen saati.
+ *
+ * Onaylı her izin, çalışma takvimine göre günlere açılmış olarak burada tutulur; raporlar tarih aralığı
+ * kesişimi ve gün gün süre hesabı yerine bu tablo üzerinde indeksli toplama sorguları çalıştırır.
+ * Kayıtlar {@code DailyAbsenceService} tarafından izin onaylandığında/iptal edildiğinde güncellenir.
+ *
+ * Departman, izin onaylandığı andaki departmandır (çalışan sonradan departman değiştirirse geçmiş kayıtlar
+ * eski departmanda kalır).
+ */
+@Entity
+@Table(name = "daily_absence",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_absence_request_date",
+                columnNames = {"leave_request_id", "absence_date"}),
+        indexes = {
+                @Index(name = "idx_daily_absence_date_department", columnList = "absence_date, department_id"),
+                @Index(name = "idx_daily_absence_department_date", columnList = "department_id, absence_date"),
+                @Index(name = "idx_daily_absence_employee_date", columnList = "employee_id, absence_date")
+        })
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class DailyAbsence {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "absence_date", nullable = false)
+    private LocalDate absenceDate;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "leave_type_id", nullable = false)
+    private Long leaveTypeId;
+
+    @Column(name = "leave_request_id", nullable = false)
+    private Long leaveRequestId;
+
+    @Column(name = "hours", nullable = false, precision = 10, scale = 2)
+    private BigDecimal hours;
+}
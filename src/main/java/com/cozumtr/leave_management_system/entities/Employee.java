@@ -13,7 +13,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        // Departman kapsamlı raporlar (sprint çakışma, kapasite)
+        @Index(name = "idx_employees_department", columnList = "department_id")
+})
 @Getter
 @Setter
 @ToString
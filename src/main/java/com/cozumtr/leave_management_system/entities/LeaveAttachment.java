@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_attachments")
+@Table(name = "leave_attachments", indexes = {
+        // Muhasebe raporundaki talep başına ek sayısı alt sorgusu için
+        @Index(name = "idx_leave_attachments_request_id", columnList = "request_id")
+})
 @Getter
 @Setter
 @ToString
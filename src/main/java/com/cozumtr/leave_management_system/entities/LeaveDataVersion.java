@@ -0,0 +1,30 @@
+package com.cozumtr.leave_management_system.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * İzin verisi sürüm sayacı. Rapor yanıtlarının ETag'i ve önbellek anahtarı bu sayaçlardan türetilir.
+ *
+ * Her departman için bir satır ({@code DEPARTMENT:<id>}) ve tüm departmanları etkileyen değişiklikler
+ * (resmi tatil) için bir {@code GLOBAL} satırı tutulur. Sayaçlar sadece artar; bir departmanın sürümü
+ * kendi satırı ile GLOBAL satırının toplamı, şirket geneli sürüm tüm satırların toplamıdır.
+ * Sayaçlar {@code LeaveDataVersionService} tarafından güncellenir.
+ */
+@Entity
+@Table(name = "leave_data_versions")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class LeaveDataVersion {
+    @Id
+    @Column(name = "scope", length = 64)
+    @EqualsAndHashCode.Include
+    private String scope;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -8,7 +8,9 @@ import org.hibernate.annotations.Check;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "leave_entitlements")
+@Table(name = "leave_entitlements", indexes = {
+        @Index(name = "idx_leave_entitlements_employee_updated_at", columnList = "employee_id, updated_at")
+})
 @Getter
 @Setter
 @ToString
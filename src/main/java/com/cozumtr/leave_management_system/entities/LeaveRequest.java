@@ -12,7 +12,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        // Delta senkronizasyonu: çalışanın belirli bir andan sonra değişen talepleri
+        @Index(name = "idx_leave_requests_employee_updated_at", columnList = "employee_id, updated_at"),
+        // Departman kapsamlı çakışma sorguları: departman çalışanlarının onaylı izinleri tarih aralığıyla
+        @Index(name = "idx_leave_requests_employee_status_start", columnList = "employee_id, request_status, start_date_time")
+})
 @Getter
 @Setter
 @ToString
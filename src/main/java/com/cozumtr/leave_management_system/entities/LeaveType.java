@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "leave_types")
+@Table(name = "leave_types", indexes = {
+        @Index(name = "idx_leave_types_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @ToString
@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "public_holidays")
+@Table(name = "public_holidays", indexes = {
+        @Index(name = "idx_public_holidays_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,56 @@
+package com.cozumtr.leave_management_system.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Yenileme (refresh) token kaydı.
+ *
+ * Token'ın kendisi saklanmaz, sadece SHA-256 özeti tutulur. Her yenilemede token tek kullanımlık olarak
+ * tüketilir (usedAt) ve aynı aileden (familyId) yeni bir token üretilir. Tüketilmiş bir token tekrar
+ * gelirse token çalınmış kabul edilir ve ailenin tamamı iptal edilir (revokedAt).
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    @ToString.Exclude
+    private String tokenHash;
+
+    // Aynı girişten türeyen tüm token'lar aynı aileyi paylaşır
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Token yenilemede kullanıldıysa dolu (tek kullanımlık)
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    // Aile iptal edildiyse dolu (çıkış, tekrar kullanım, hesap değişikliği)
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,97 @@
+package com.cozumtr.leave_management_system.entities;
+
+import com.cozumtr.leave_management_system.enums.ReportJobStatus;
+import com.cozumtr.leave_management_system.enums.ReportJobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asenkron rapor işi.
+ *
+ * Aynı parametrelerle (parametersHash) TTL içinde gelen istekler yeni iş açmaz, mevcut işi paylaşır.
+ * Çıktı dosyası rapor deposunda (tüm düğümlerin eriştiği dizin) tutulur ve expiresAt'ten sonra işle birlikte silinir.
+ *
+ * İşi çalıştıran düğüm ownerNode'dur ve iş sürerken heartbeatAt'i tazeler; sahibi düşen işler kira süresi
+ * dolunca FAILED işaretlenir. version, FAILED işaretlenmiş bir işin geç biten işçi tarafından
+ * COMPLETED'a çevrilmesini engeller.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_jobs_parameters_hash", columnList = "parameters_hash, created_at"),
+        @Index(name = "idx_report_jobs_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_report_jobs_status_heartbeat", columnList = "status, heartbeat_at")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReportJob {
+    // UUID: tahmin edilemez, istemciye iş kimliği olarak verilir
+    @Id
+    @Column(length = 36)
+    @EqualsAndHashCode.Include
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportJobType reportType;
+
+    // Rapor tipi + normalize edilmiş parametrelerin SHA-256 özeti
+    @Column(name = "parameters_hash", nullable = false, length = 64)
+    private String parametersHash;
+
+    @Column(name = "parameters", nullable = false, length = 500)
+    private String parameters;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    // 0-100
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    // İndirme sırasında kullanılacak dosya adı
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    // Rapor deposuna göre göreli dosya adı (her düğüm kendi bağlama noktasından çözer)
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // İşi kuyruğa alan ve çalıştıran düğüm
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    // Sahip düğüm iş sürerken periyodik olarak tazeler
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+}
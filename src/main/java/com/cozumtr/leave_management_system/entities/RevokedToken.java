@@ -0,0 +1,48 @@
+package com.cozumtr.leave_management_system.entities;
+
+import com.cozumtr.leave_management_system.enums.TokenRevocationReason;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * İptal edilmiş JWT kaydı.
+ *
+ * - jti dolu ise sadece o token iptal edilmiştir (çıkış).
+ * - jti boş ise subject'in revokedAt anından önce üretilmiş tüm token'ları iptal edilmiştir (hesap değişikliği).
+ *
+ * Kayıt, iptal edilen token'ların en geç sona ereceği ana (expiresAt) kadar tutulur.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "jti", unique = true, length = 64)
+    private String jti;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false, length = 32)
+    private TokenRevocationReason reason;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
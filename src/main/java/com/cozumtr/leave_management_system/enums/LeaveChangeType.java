@@ -0,0 +1,11 @@
+package com.cozumtr.leave_management_system.enums;
+
+/**
+ * İzin talebi üzerinde gerçekleşen değişiklik türü (canlı bildirim akışı için).
+ */
+public enum LeaveChangeType {
+    CREATED,
+    APPROVED,
+    REJECTED,
+    CANCELLED
+}
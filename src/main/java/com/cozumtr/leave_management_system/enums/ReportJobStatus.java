@@ -0,0 +1,8 @@
+package com.cozumtr.leave_management_system.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.cozumtr.leave_management_system.enums;
+
+public enum ReportJobType {
+    ACCOUNTING_LEAVES,
+    SPRINT_OVERLAP
+}
@@ -0,0 +1,11 @@
+package com.cozumtr.leave_management_system.enums;
+
+/**
+ * JWT iptal kaydının nedeni.
+ */
+public enum TokenRevocationReason {
+    /** Kullanıcı çıkış yaptı; sadece o token iptal edilir. */
+    LOGOUT,
+    /** Hesap değişti (şifre sıfırlama/değiştirme, pasifleştirme, rol değişikliği); kullanıcının o ana kadarki tüm token'ları iptal edilir. */
+    ACCOUNT_CHANGED
+}
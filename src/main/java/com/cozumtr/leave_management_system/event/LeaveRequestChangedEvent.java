@@ -0,0 +1,47 @@
+package com.cozumtr.leave_management_system.event;
+
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir izin talebi oluşturulduğunda, onaylandığında, reddedildiğinde veya iptal edildiğinde yayınlanır.
+ * Dashboard'lara gönderilen canlı olayların (SSE) kaynağıdır; bu yüzden sadece küçük, serileştirilebilir alanlar içerir.
+ *
+ * @param type                     değişiklik türü
+ * @param leaveRequestId           izin talebi ID'si
+ * @param employeeId               talep sahibinin ID'si
+ * @param departmentId             talep sahibinin departman ID'si (yoksa null)
+ * @param status                   değişiklik sonrası talep durumu
+ * @param workflowNextApproverRole değişiklik sonrası sıradaki onaycı rolü
+ * @param previousApproverRole     değişiklik öncesi sıradaki onaycı rolü (oluşturmada null)
+ * @param occurredAt               değişiklik zamanı
+ */
+public record LeaveRequestChangedEvent(
+        LeaveChangeType type,
+        Long leaveRequestId,
+        Long employeeId,
+        Long departmentId,
+        RequestStatus status,
+        String workflowNextApproverRole,
+        String previousApproverRole,
+        LocalDateTime occurredAt
+) {
+
+    public static LeaveRequestChangedEvent of(LeaveChangeType type, LeaveRequest leaveRequest, String previousApproverRole) {
+        Employee employee = leaveRequest.getEmployee();
+        return new LeaveRequestChangedEvent(
+                type,
+                leaveRequest.getId(),
+                employee != null ? employee.getId() : null,
+                employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                leaveRequest.getRequestStatus(),
+                leaveRequest.getWorkflowNextApproverRole(),
+                previousApproverRole,
+                LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.cozumtr.leave_management_system.event;
+
+/**
+ * Bir kullanıcının aktiflik durumu, rolleri veya kimlik bilgileri değiştiğinde yayınlanır.
+ * Kullanıcıya bağlı in-memory önbellekler (onaycı dizini vb.) bu olayı dinleyerek kendini temizler.
+ *
+ * @param userId değişen kullanıcının ID'si (Employee ID ile aynı)
+ * @param email  değişen kullanıcının email adresi
+ */
+public record UserAccountChangedEvent(Long userId, String email) {
+}
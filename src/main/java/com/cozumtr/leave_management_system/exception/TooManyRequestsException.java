@@ -0,0 +1,19 @@
+package com.cozumtr.leave_management_system.exception;
+
+/**
+ * Sunucu kapasitesi dolduğunda (örn. şifre doğrulama havuzu) isteği hızlıca reddetmek için kullanılır.
+ * 429 (Too Many Requests) ve Retry-After başlığı ile döner.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,7 +1,9 @@
 package com.cozumtr.leave_management_system.filter;
 
-import com.cozumtr.leave_management_system.service.CustomUserDetailsService;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import com.cozumtr.leave_management_system.service.AccountRevocationService;
 import com.cozumtr.leave_management_system.service.JwtService;
+import com.cozumtr.leave_management_system.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,17 +12,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * JWT Token doğrulama filtresi
  * Her HTTP isteğinde Authorization header'ından JWT token'ı alır ve doğrular
+ *
+ * Kullanıcı veritabanından yüklenmez; Authentication imzası doğrulanmış token claim'lerinden (subject + roles)
+ * kurulur. Access token'lar kısa ömürlüdür, rol değişiklikleri en geç bir sonraki yenilemede token'a yansır.
+ * Pasifleştirme ve rol değişiklikleri {@link AccountRevocationService}, çıkış yapılmış token'lar
+ * {@link TokenRevocationService} ile (bellekte, veritabanına gitmeden) reddedilir.
+ * Aynı claim'ler (userId, departmentId, roles) {@link CurrentUser}'a aktarılır; servisler isteğin
+ * geri kalanında kullanıcı bilgisi için veritabanına gitmez.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,7 +40,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final AccountRevocationService accountRevocationService;
+    private final TokenRevocationService tokenRevocationService;
+    private final CurrentUser currentUser;
 
     @Override
     protected void doFilterInternal(
@@ -49,16 +63,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // "Bearer " kısmını çıkar, sadece token'ı al
             final String jwt = authHeader.substring(7);
             
-            // Token'dan email'i çıkar
-            final String userEmail = jwtService.extractEmail(jwt);
+            // Token'ı bir kez parse et: imza ve süre (expiration) kontrolü burada yapılır
+            final JwtService.VerifiedToken token = jwtService.verify(jwt);
+            final String userEmail = token.subject();
             
             // Email var ve SecurityContext'te henüz authentication yoksa
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Kullanıcıyı yükle
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                
-                // Token'ı doğrula (email ve expiration kontrolü)
-                if (jwtService.validateToken(jwt, userEmail)) {
+                // Hesap değişikliğinden önce üretilmiş veya çıkışla iptal edilmiş token'ları reddet
+                if (!accountRevocationService.isRevoked(userEmail, token.issuedAt())
+                        && !tokenRevocationService.isRevoked(token.tokenId())) {
+                    // Kullanıcıyı claim'lerden kur
+                    UserDetails userDetails = buildUserFromClaims(userEmail, token.roles());
+
                     // Authentication oluştur
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -69,6 +85,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // SecurityContext'e set et
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    currentUser.populate(userEmail, token.userId(), token.departmentId(), token.roles());
                 }
             }
         } catch (Exception e) {
@@ -78,5 +96,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Token'daki rollerden (HR, EMPLOYEE ...) CustomUserDetailsService ile aynı "ROLE_" önekli yetkileri üretir.
+     */
+    private UserDetails buildUserFromClaims(String email, Set<String> roles) {
+        return User.withUsername(email)
+                .password("")
+                .authorities(roles.stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList())
+                .build();
+    }
 }
 
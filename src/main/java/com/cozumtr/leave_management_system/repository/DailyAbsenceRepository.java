@@ -0,0 +1,66 @@
+package com.cozumtr.leave_management_system.repository;
+
+import com.cozumtr.leave_management_system.dto.response.DailyAbsenceTotal;
+import com.cozumtr.leave_management_system.dto.response.LeaveAbsenceHours;
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyAbsenceRepository extends JpaRepository<DailyAbsence, Long> {
+
+    // İzin onaydan çıktığında (iptal) veya yeniden hesaplanırken günlük kayıtları silinir
+    @Modifying
+    @Query("DELETE FROM DailyAbsence d WHERE d.leaveRequestId = :leaveRequestId")
+    int deleteByLeaveRequestId(@Param("leaveRequestId") Long leaveRequestId);
+
+    // Sprint çakışma raporu: her iznin aralığa düşen saatleri (çakışma kırpması tarih filtresiyle yapılır)
+    @Query("""
+            SELECT new com.cozumtr.leave_management_system.dto.response.LeaveAbsenceHours(d.leaveRequestId, SUM(d.hours))
+            FROM DailyAbsence d
+            WHERE d.absenceDate BETWEEN :from AND :to
+            GROUP BY d.leaveRequestId
+            """)
+    List<LeaveAbsenceHours> sumHoursByLeaveRequest(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Departman kapsamlı sprint çakışma raporu: sadece departman çalışanlarının izinleri
+    @Query("""
+            SELECT new com.cozumtr.leave_management_system.dto.response.LeaveAbsenceHours(d.leaveRequestId, SUM(d.hours))
+            FROM DailyAbsence d
+            WHERE d.absenceDate BETWEEN :from AND :to
+              AND d.employeeId IN (SELECT e.id FROM Employee e WHERE e.department.id = :departmentId)
+            GROUP BY d.leaveRequestId
+            """)
+    List<LeaveAbsenceHours> sumHoursByLeaveRequestForDepartment(@Param("departmentId") Long departmentId,
+                                                                @Param("from") LocalDate from,
+                                                                @Param("to") LocalDate to);
+
+    // Kapasite raporu: departmanın gün bazında toplam devamsızlık saati ve izinli kişi sayısı
+    @Query("""
+            SELECT new com.cozumtr.leave_management_system.dto.response.DailyAbsenceTotal(
+                d.absenceDate, SUM(d.hours), COUNT(DISTINCT d.employeeId))
+            FROM DailyAbsence d
+            WHERE d.departmentId = :departmentId
+              AND d.absenceDate BETWEEN :from AND :to
+            GROUP BY d.absenceDate
+            """)
+    List<DailyAbsenceTotal> sumByDay(@Param("departmentId") Long departmentId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // Çoklu sprint çakışma raporu: departman çalışanlarının aralıktaki günlük kayıtları
+    @Query("""
+            SELECT d FROM DailyAbsence d
+            WHERE d.absenceDate BETWEEN :from AND :to
+              AND d.employeeId IN (SELECT e.id FROM Employee e WHERE e.department.id = :departmentId)
+            """)
+    List<DailyAbsence> findByEmployeeDepartmentInRange(@Param("departmentId") Long departmentId,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+}
@@ -1,7 +1,10 @@
 package com.cozumtr.leave_management_system.repository;
 
+import com.cozumtr.leave_management_system.dto.response.HireDateWorkHours;
 import com.cozumtr.leave_management_system.entities.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +16,16 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     // Bir departmandaki herkesi getir
     List<Employee> findByDepartmentId(Long departmentId);
+
+    // Kapasite raporu: departmandaki aktif çalışanların günlük mesaisi, işe giriş tarihine göre toplanmış
+    // (entity yüklenmez; Employee -> User ilişkisi tembel yüklenemediği için satır başına sorgu oluşmaz)
+    @Query("""
+            SELECT new com.cozumtr.leave_management_system.dto.response.HireDateWorkHours(e.hireDate, SUM(e.dailyWorkHours))
+            FROM Employee e
+            WHERE e.department.id = :departmentId
+              AND e.isActive = true
+            GROUP BY e.hireDate
+            ORDER BY e.hireDate
+            """)
+    List<HireDateWorkHours> sumDailyWorkHoursByHireDate(@Param("departmentId") Long departmentId);
 }
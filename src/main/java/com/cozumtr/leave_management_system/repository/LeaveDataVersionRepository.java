@@ -0,0 +1,25 @@
+package com.cozumtr.leave_management_system.repository;
+
+import com.cozumtr.leave_management_system.entities.LeaveDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface LeaveDataVersionRepository extends JpaRepository<LeaveDataVersion, String> {
+
+    // Sayacı veritabanında atomik olarak artırır; satır yoksa 0 döner
+    @Modifying
+    @Query("UPDATE LeaveDataVersion v SET v.version = v.version + 1 WHERE v.scope = :scope")
+    int increment(@Param("scope") String scope);
+
+    @Query("SELECT COALESCE(SUM(v.version), 0) FROM LeaveDataVersion v WHERE v.scope IN :scopes")
+    long sumVersions(@Param("scopes") Collection<String> scopes);
+
+    @Query("SELECT COALESCE(SUM(v.version), 0) FROM LeaveDataVersion v")
+    long sumAllVersions();
+}
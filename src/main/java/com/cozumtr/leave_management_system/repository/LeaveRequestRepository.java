@@ -1,22 +1,60 @@
 package com.cozumtr.leave_management_system.repository;
 
+import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportRow;
 import com.cozumtr.leave_management_system.entities.LeaveRequest;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
 
+    // Akışlı (Stream) sorgularda sürücünün tek seferde çektiği satır sayısı.
+    // PostgreSQL imleci yalnızca transaction içinde (autocommit kapalı) kullanır; çağıranlar @Transactional olmalıdır.
+    String STREAM_FETCH_SIZE = "500";
+
+    String ACCOUNTING_REPORT_ROWS_QUERY = """
+            SELECT new com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportRow(
+                lr.id, e.firstName, e.lastName, d.name, lt.name, lt.isPaid, lt.deductsFromAnnual, lt.documentRequired,
+                lr.startDateTime, lr.endDateTime, lr.durationHours, lr.requestStatus,
+                (SELECT COUNT(a) FROM LeaveAttachment a WHERE a.leaveRequest = lr))
+            FROM LeaveRequest lr
+            JOIN lr.employee e
+            JOIN e.department d
+            JOIN lr.leaveType lt
+            WHERE lr.requestStatus IN :statuses
+              AND lr.startDateTime >= :startDate
+              AND lr.endDateTime <= :endDate
+              AND (:onlyUnpaid = false OR lt.isPaid = false)
+              AND (:documentRequired = false OR lt.documentRequired = true)
+              AND (:departmentId IS NULL OR d.id = :departmentId)
+              AND (:employeeId IS NULL OR e.id = :employeeId)
+            """;
+
     // 1. Bir personelin geçmiş tüm izinleri
     List<LeaveRequest> findByEmployeeId(Long employeeId);
 
+    // Delta senkronizasyonu: personelin verilen andan sonra oluşturulan/güncellenen talepleri
+    @Query("""
+            SELECT lr FROM LeaveRequest lr
+            JOIN FETCH lr.leaveType
+            WHERE lr.employee.id = :employeeId
+              AND lr.updatedAt > :since
+            """)
+    List<LeaveRequest> findByEmployeeIdUpdatedSince(@Param("employeeId") Long employeeId,
+                                                    @Param("since") LocalDateTime since);
+
     // 2. Yönetici ekranı için: Duruma göre filtreleme (Örn: Sadece Bekleyenler)
     List<LeaveRequest> findByRequestStatus(RequestStatus status);
 
@@ -59,7 +97,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
               AND lr.startDateTime <= :now
               AND lr.endDateTime >= :now
             """)
-    List<LeaveRequest> findCurrentlyOnLeave(@Param("now") LocalDateTime now);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LeaveRequest> streamCurrentlyOnLeave(@Param("now") LocalDateTime now);
 
     // 3. YENİ İZİN İSTERKEN ÇAKIŞMA KONTROLÜ (KRİTİK) 
     // Mantık: (YeniBaslangic < EskiBitis) VE (YeniBitis > EskiBaslangic) ise çakışma vardır.
@@ -148,24 +190,58 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             @Param("sprintEnd") LocalDateTime sprintEnd
     );
 
+    // 8.0 DEPARTMAN SPRINT ÇAKIŞMA RAPORU - Departmanın aralıkla çakışan onaylı izinleri, başlangıca göre sıralı
+    // (tek sprint ve çoklu sprint raporları; idx_employees_department + idx_leave_requests_employee_status_start)
+    @Query("""
+            SELECT l FROM LeaveRequest l
+            JOIN FETCH l.employee e
+            JOIN FETCH l.leaveType lt
+            WHERE e.department.id = :departmentId
+              AND l.requestStatus = 'APPROVED'
+              AND l.endDateTime >= :rangeStart
+              AND l.startDateTime <= :rangeEnd
+            ORDER BY l.startDateTime
+            """)
+    List<LeaveRequest> findApprovedDepartmentLeavesInRange(
+            @Param("departmentId") Long departmentId,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd
+    );
+
+    // 8.1 GÜNLÜK DEVAMSIZLIK DOLDURMA - daily_absence tablosuna henüz yansıtılmamış onaylı izinler
+    // id sırasıyla sayfalanır (afterId: önceki sayfanın son id'si)
+    @Query("""
+            SELECT l FROM LeaveRequest l
+            JOIN FETCH l.employee e
+            LEFT JOIN FETCH e.department d
+            JOIN FETCH l.leaveType lt
+            WHERE l.requestStatus = 'APPROVED'
+              AND l.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM DailyAbsence da WHERE da.leaveRequestId = l.id)
+            ORDER BY l.id
+            """)
+    List<LeaveRequest> findApprovedWithoutDailyAbsence(@Param("afterId") Long afterId, Pageable pageable);
+
     // 9. MUHASEBE RAPORU - Tarih aralığında onaylı izinleri, ücretli/ücretsiz ve belge zorunluluğu filtreleriyle getirir
     // onlyUnpaid=true  -> sadece isPaid=false türler
     // documentRequired=true -> sadece documentRequired=true türler
     // departmentId / employeeId opsiyoneldir
-    @Query("""
-            SELECT lr FROM LeaveRequest lr
-            JOIN FETCH lr.employee e
-            JOIN FETCH e.department d
-            JOIN FETCH lr.leaveType lt
-            WHERE lr.requestStatus IN :statuses
-              AND lr.startDateTime >= :startDate
-              AND lr.endDateTime <= :endDate
-              AND (:onlyUnpaid = false OR lt.isPaid = false)
-              AND (:documentRequired = false OR lt.documentRequired = true)
-              AND (:departmentId IS NULL OR d.id = :departmentId)
-              AND (:employeeId IS NULL OR e.id = :employeeId)
-            """)
-    List<LeaveRequest> findForAccountingReport(
+    // Satırlar doğrudan DTO olarak okunur; ek sayısı aynı sorguda alt sorgu ile hesaplanır (satır başına sorgu yok)
+    @Query(ACCOUNTING_REPORT_ROWS_QUERY)
+    List<AccountingLeaveReportRow> findAccountingReportRows(
+            @Param("statuses") List<RequestStatus> statuses,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("onlyUnpaid") boolean onlyUnpaid,
+            @Param("documentRequired") boolean documentRequired,
+            @Param("departmentId") Long departmentId,
+            @Param("employeeId") Long employeeId
+    );
+
+    // Muhasebe raporunun akışlı hali: satırlar listeye toplanmadan JSON yanıtına yazılır
+    @Query(ACCOUNTING_REPORT_ROWS_QUERY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<AccountingLeaveReportRow> streamAccountingReportRows(
             @Param("statuses") List<RequestStatus> statuses,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
@@ -183,7 +259,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             WHERE e.department.id = :departmentId
             ORDER BY lr.startDateTime DESC
             """)
-    List<LeaveRequest> findAllByDepartmentId(@Param("departmentId") Long departmentId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LeaveRequest> streamAllByDepartmentId(@Param("departmentId") Long departmentId);
 
     @Query("""
             SELECT lr FROM LeaveRequest lr
@@ -192,5 +272,9 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             JOIN FETCH lr.leaveType lt
             ORDER BY lr.startDateTime DESC
             """)
-    List<LeaveRequest> findAllWithDetails();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LeaveRequest> streamAllWithDetails();
 }
\ No newline at end of file
@@ -2,10 +2,21 @@ package com.cozumtr.leave_management_system.repository;
 
 import com.cozumtr.leave_management_system.entities.LeaveType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface LeaveTypeRepository extends JpaRepository<LeaveType, Long> {
 
     Optional<LeaveType> findByName(String name);
+
+    // Delta senkronizasyonu: verilen andan sonra değişen aktif izin türleri
+    List<LeaveType> findByUpdatedAtAfterAndIsActiveTrue(LocalDateTime since);
+
+    // Delta senkronizasyonu: verilen andan sonra pasife alınan (soft delete) izin türlerinin ID'leri
+    @Query("SELECT lt.id FROM LeaveType lt WHERE lt.updatedAt > :since AND lt.isActive = false")
+    List<Long> findDeactivatedIdsSince(@Param("since") LocalDateTime since);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,4 +47,15 @@ public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, Lo
     @Query("SELECT ph FROM PublicHoliday ph WHERE ph.isActive = true AND " +
            ":date BETWEEN ph.startDate AND ph.endDate")
     Optional<PublicHoliday> findByDateInRange(@Param("date") LocalDate date);
+
+    /**
+     * Delta senkronizasyonu: verilen andan sonra değişen aktif tatiller.
+     */
+    List<PublicHoliday> findByUpdatedAtAfterAndIsActiveTrue(LocalDateTime since);
+
+    /**
+     * Delta senkronizasyonu: verilen andan sonra pasife alınan (soft delete) tatillerin ID'leri.
+     */
+    @Query("SELECT ph.id FROM PublicHoliday ph WHERE ph.updatedAt > :since AND ph.isActive = false")
+    List<Long> findDeactivatedIdsSince(@Param("since") LocalDateTime since);
 }
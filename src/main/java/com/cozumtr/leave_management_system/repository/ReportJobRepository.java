@@ -0,0 +1,70 @@
+package com.cozumtr.leave_management_system.repository;
+
+import com.cozumtr.leave_management_system.entities.ReportJob;
+import com.cozumtr.leave_management_system.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    // Aynı parametrelerle TTL içinde açılmış, başarısız olmamış en yeni iş (tekilleştirme)
+    Optional<ReportJob> findFirstByParametersHashAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+            String parametersHash, Collection<ReportJobStatus> statuses, LocalDateTime createdAfter);
+
+    List<ReportJob> findByExpiresAtBefore(LocalDateTime now);
+
+    // Yeniden başlatmada bu düğümün yarım kalan işleri (iş kuyruğu bellekte tutulur)
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ReportJob j
+            SET j.status = com.cozumtr.leave_management_system.enums.ReportJobStatus.FAILED,
+                j.errorMessage = :message,
+                j.completedAt = :now,
+                j.version = j.version + 1
+            WHERE j.status IN :statuses
+              AND j.ownerNode = :ownerNode
+            """)
+    int failOwnedBy(@Param("ownerNode") String ownerNode,
+                    @Param("statuses") Collection<ReportJobStatus> statuses,
+                    @Param("message") String message,
+                    @Param("now") LocalDateTime now);
+
+    // Sahibi kira süresi boyunca heartbeat göndermemiş işler (düğüm düştü)
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ReportJob j
+            SET j.status = com.cozumtr.leave_management_system.enums.ReportJobStatus.FAILED,
+                j.errorMessage = :message,
+                j.completedAt = :now,
+                j.version = j.version + 1
+            WHERE j.status IN :statuses
+              AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)
+            """)
+    int failStale(@Param("statuses") Collection<ReportJobStatus> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("message") String message,
+                  @Param("now") LocalDateTime now);
+
+    // Bu düğümde süren işlerin kirasını tazeler (durum değişikliği değildir, version artmaz)
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ReportJob j
+            SET j.heartbeatAt = :now
+            WHERE j.id IN :ids
+              AND j.status IN :statuses
+            """)
+    int touchHeartbeat(@Param("ids") Collection<String> ids,
+                       @Param("statuses") Collection<ReportJobStatus> statuses,
+                       @Param("now") LocalDateTime now);
+}
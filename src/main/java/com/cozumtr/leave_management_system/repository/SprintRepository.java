@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface SprintRepository extends JpaRepository<Sprint, Long> {
@@ -22,4 +23,17 @@ public interface SprintRepository extends JpaRepository<Sprint, Long> {
            "WHERE s.department.id = :departmentId " +
            "ORDER BY s.endDate DESC")
     List<Sprint> findAllByDepartmentIdOrderByEndDateDesc(@Param("departmentId") Long departmentId);
-}
\ No newline at end of file
+
+    /**
+     * Departmanın tarih aralığıyla çakışan sprint'lerini başlangıç tarihine göre sıralı getirir.
+     * Çoklu sprint çakışma raporu için kullanılır.
+     */
+    @Query("SELECT s FROM Sprint s " +
+           "WHERE s.department.id = :departmentId " +
+           "AND s.endDate >= :from " +
+           "AND s.startDate <= :to " +
+           "ORDER BY s.startDate, s.id")
+    List<Sprint> findByDepartmentIdInRange(@Param("departmentId") Long departmentId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+}
@@ -3,8 +3,10 @@ package com.cozumtr.leave_management_system.repository;
 import com.cozumtr.leave_management_system.entities.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,9 +14,15 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    @EntityGraph(attributePaths = {"employee", "roles"})
+    @EntityGraph(attributePaths = {"employee", "employee.department", "roles"})
     Optional<User> findByEmployeeEmail(String email);
 
+    /**
+     * Token yenilemede yeni access token claim'leri için kullanıcıyı rolleri ve departmanıyla getirir
+     */
+    @EntityGraph(attributePaths = {"employee", "employee.department", "roles"})
+    Optional<User> findWithRolesById(Long id);
+
     /**
      * Aktivasyon token'ına göre kullanıcıyı bulur
      * Token geçerli olmalı (süresi dolmamış olmalı)
@@ -28,31 +36,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
     org.springframework.data.domain.Page<User> findAllByIsActive(Boolean isActive, org.springframework.data.domain.Pageable pageable);
     
     /**
-     * Belirli bir role sahip aktif kullanıcıları bulur (tüm departmanlar)
-     * HR ve CEO gibi roller için kullanılır
+     * Belirli bir role sahip aktif kullanıcıların email adreslerini bulur (tüm departmanlar)
+     * HR ve CEO gibi roller için kullanılır. Sadece email döndürür, entity yüklemez.
      */
-    @Query("SELECT DISTINCT u FROM User u " +
-           "JOIN FETCH u.employee e " +
-           "JOIN FETCH e.department " +
+    @Query("SELECT DISTINCT e.email FROM User u " +
+           "JOIN u.employee e " +
            "JOIN u.roles r " +
            "WHERE r.roleName = :roleName " +
            "AND u.isActive = true")
-    List<User> findActiveUsersByRole(@Param("roleName") String roleName);
-    
+    List<String> findActiveUserEmailsByRole(@Param("roleName") String roleName);
+
     /**
-     * Belirli bir role ve departmana sahip aktif kullanıcıları bulur
+     * Belirli bir role ve departmana sahip aktif kullanıcıların email adreslerini bulur
      * MANAGER gibi departman bazlı roller için kullanılır
      */
-    @Query("SELECT DISTINCT u FROM User u " +
-           "JOIN FETCH u.employee e " +
-           "JOIN FETCH e.department d " +
+    @Query("SELECT DISTINCT e.email FROM User u " +
+           "JOIN u.employee e " +
            "JOIN u.roles r " +
            "WHERE r.roleName = :roleName " +
-           "AND d.id = :departmentId " +
+           "AND e.department.id = :departmentId " +
            "AND u.isActive = true")
-    List<User> findActiveUsersByRoleAndDepartment(
-        @Param("roleName") String roleName, 
+    List<String> findActiveUserEmailsByRoleAndDepartment(
+        @Param("roleName") String roleName,
         @Param("departmentId") Long departmentId
     );
-}
 
+    /**
+     * Bellekte biriken başarısız giriş denemelerini tek UPDATE ile ekler (entity yüklemeden).
+     * Zamanlanmış flush transaction dışında çağırdığı için kendi transaction'ını açar.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.failedLoginAttempts = u.failedLoginAttempts + :failures, u.lastLogin = :lastAttempt " +
+           "WHERE u.id = :id")
+    int addFailedLoginAttempts(@Param("id") Long id,
+                               @Param("failures") int failures,
+                               @Param("lastAttempt") LocalDateTime lastAttempt);
+
+    /**
+     * Başarılı giriş kayıtlarını (sayaç sıfırlama + son giriş) tek UPDATE ile yazar.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lastLogin = :loginAt WHERE u.id = :id")
+    int recordSuccessfulLogin(@Param("id") Long id, @Param("loginAt") LocalDateTime loginAt);
+}
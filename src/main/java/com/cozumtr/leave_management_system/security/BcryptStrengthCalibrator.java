@@ -0,0 +1,45 @@
+package com.cozumtr.leave_management_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt maliyet faktörünü (strength) çalışılan donanımda hedeflenen hash süresine göre seçer.
+ *
+ * Her maliyet artışı süreyi iki katına çıkarır; bu yüzden en düşük maliyette ölçülen süreden hedefe ulaşmak için
+ * gereken adım sayısı log2 ile hesaplanır. Mevcut hash'ler kendi maliyetlerini içerdiğinden doğrulamaya devam eder;
+ * yeni maliyet yeni belirlenen şifrelerde kullanılır.
+ */
+@Slf4j
+public final class BcryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "kalibrasyon-ornek-sifre";
+    private static final int SAMPLES = 3;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    /**
+     * @param targetMs    hedeflenen tek hash süresi
+     * @param minStrength güvenlik için alt sınır (ölçüm bu maliyette yapılır)
+     * @param maxStrength giriş gecikmesi için üst sınır
+     */
+    public static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD); // JIT ısınması
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double measuredMs = Math.max(best / 1_000_000.0, 0.001);
+
+        int steps = (int) Math.floor(Math.log(targetMs / measuredMs) / Math.log(2));
+        int strength = Math.max(minStrength, Math.min(maxStrength, minStrength + steps));
+        log.info("🔐 BCrypt maliyeti {} seçildi (strength {} = {} ms, hedef {} ms)",
+                strength, minStrength, String.format("%.1f", measuredMs), targetMs);
+        return strength;
+    }
+}
@@ -0,0 +1,186 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.Role;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Giriş yapmış kullanıcının bilgilerine (email, employeeId, departmentId, roller) tek noktadan erişim.
+ *
+ * Bilgiler istek (request) başına bir kez çözülür ve request attribute olarak saklanır:
+ * - JWT filtresi doğrulanmış token claim'leriyle {@link #populate} çağırır; bu durumda ID ve roller için
+ *   veritabanına hiç gidilmez.
+ * - Claim'ler yoksa (OAuth2 oturumu, @WithMockUser testleri) ilk erişimde veritabanından yüklenir ve
+ *   aynı istek içinde tekrar kullanılır.
+ *
+ * HTTP isteği dışında (zamanlanmış görevler, servis testleri) çağrıldığında önbellek tutulmaz,
+ * her çağrı SecurityContext'teki kullanıcı için yeniden çözülür.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Doğrulanmış token claim'leriyle bu isteğin kullanıcı bilgisini doldurur.
+     *
+     * @param departmentId token'da departman bilgisi yoksa null; ilk erişimde veritabanından okunur
+     */
+    public void populate(String email, Long employeeId, Long departmentId, Set<String> roles) {
+        Snapshot snapshot = new Snapshot(email);
+        snapshot.employeeId = employeeId;
+        snapshot.departmentId = departmentId;
+        snapshot.roles = Set.copyOf(roles);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public String getEmail() {
+        return snapshot().email;
+    }
+
+    public Long getEmployeeId() {
+        Snapshot snapshot = snapshot();
+        if (snapshot.employeeId == null) {
+            snapshot.employeeId = loadEmployee(snapshot).getId();
+        }
+        return snapshot.employeeId;
+    }
+
+    public Long getDepartmentId() {
+        Snapshot snapshot = snapshot();
+        if (snapshot.departmentId == null) {
+            Department department = loadEmployee(snapshot).getDepartment();
+            snapshot.departmentId = department != null ? department.getId() : null;
+        }
+        return snapshot.departmentId;
+    }
+
+    /**
+     * Kullanıcının rol adları (HR, MANAGER, CEO, EMPLOYEE ...; "ROLE_" öneki olmadan).
+     */
+    public Set<String> getRoles() {
+        Snapshot snapshot = snapshot();
+        if (snapshot.roles == null) {
+            snapshot.roles = loadUser(snapshot).getRoles().stream()
+                    .map(Role::getRoleName)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return snapshot.roles;
+    }
+
+    public boolean hasRole(String role) {
+        return getRoles().contains(role);
+    }
+
+    public boolean hasAnyRole(String... roles) {
+        Set<String> current = getRoles();
+        return Arrays.stream(roles).anyMatch(current::contains);
+    }
+
+    public boolean isHr() {
+        return hasRole("HR");
+    }
+
+    public boolean isManager() {
+        return hasRole("MANAGER");
+    }
+
+    public boolean isCeo() {
+        return hasRole("CEO");
+    }
+
+    /**
+     * Kullanıcı verilen departmanın yöneticisi mi? (Örn. İK çalışanlarının taleplerini sadece İK yöneticisi onaylar.)
+     */
+    public boolean isManagerOf(Department department) {
+        return department != null
+                && department.getManager() != null
+                && Objects.equals(department.getManager().getId(), getEmployeeId());
+    }
+
+    /**
+     * Kullanıcının Employee entity'si. Entity gerektiren işlemler (talep oluşturma, onay geçmişi) için
+     * istek başına bir kez yüklenir.
+     *
+     * @throws EntityNotFoundException kullanıcıya ait çalışan kaydı yoksa
+     */
+    public Employee getEmployee() {
+        return loadEmployee(snapshot());
+    }
+
+    private Employee loadEmployee(Snapshot snapshot) {
+        if (snapshot.employee == null) {
+            // Roller için kullanıcı grafiği zaten yüklendiyse çalışan oradan alınır
+            if (snapshot.user != null && snapshot.user.getEmployee() != null) {
+                snapshot.employee = snapshot.user.getEmployee();
+            } else {
+                snapshot.employee = employeeRepository.findByEmail(snapshot.email)
+                        .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + snapshot.email));
+            }
+        }
+        return snapshot.employee;
+    }
+
+    private User loadUser(Snapshot snapshot) {
+        if (snapshot.user == null) {
+            snapshot.user = userRepository.findByEmployeeEmail(snapshot.email)
+                    .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + snapshot.email));
+        }
+        return snapshot.user;
+    }
+
+    private Snapshot snapshot() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication != null ? authentication.getName() : null;
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Snapshot(email);
+        }
+        Snapshot snapshot = (Snapshot) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        // İstek içinde kimlik değiştiyse (örn. oturum açma) eski bilgiyi kullanma
+        if (snapshot == null || !Objects.equals(snapshot.email, email)) {
+            snapshot = new Snapshot(email);
+            attributes.setAttribute(ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Bir isteğe ait, tembel (lazy) doldurulan kullanıcı bilgisi.
+     */
+    private static final class Snapshot {
+        private final String email;
+        private Long employeeId;
+        private Long departmentId;
+        private Set<String> roles;
+        private Employee employee;
+        private User user;
+
+        private Snapshot(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.entities.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Giriş için kimlik doğrulama sağlayıcısı: şifreyi, {@link LoginAuthenticationToken} ile gelen ve zaten yüklenmiş
+ * {@link User} kaydındaki BCrypt hash'i ile karşılaştırır. UserDetailsService üzerinden ikinci bir sorgu yapılmaz.
+ * Karşılaştırma istek thread'inde değil {@link PasswordVerificationPool} içinde yapılır.
+ *
+ * Kayıtlı olmayan email veya şifresi belirlenmemiş kullanıcı için de sahte bir hash ile BCrypt karşılaştırması
+ * yapılır; yanıt süresinden email'in kayıtlı olup olmadığı anlaşılamaz.
+ *
+ * Aktiflik ve şifre belirlenmiş olma kontrolleri şifre doğrulandıktan sonra AuthService tarafından yapılır.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String DUMMY_PASSWORD = "timing-attack-koruma-sahte-sifre";
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationPool passwordVerificationPool;
+
+    private volatile String dummyHash;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        LoginAuthenticationToken token = (LoginAuthenticationToken) authentication;
+        User user = token.getUser();
+        String rawPassword = token.getCredentials() != null ? token.getCredentials().toString() : "";
+
+        if (user == null || user.getPasswordHash() == null) {
+            passwordVerificationPool.matches(rawPassword, dummyHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordVerificationPool.matches(rawPassword, user.getPasswordHash())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getRoleName()))
+                .toList();
+        return LoginAuthenticationToken.authenticated(user, authorities);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return LoginAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    // Hash, kullanılan encoder'ın maliyetiyle (strength) ilk ihtiyaçta bir kez üretilir
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(DUMMY_PASSWORD);
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
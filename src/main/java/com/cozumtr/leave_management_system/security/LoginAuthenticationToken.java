@@ -0,0 +1,69 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.entities.User;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Giriş isteği için kimlik doğrulama token'ı.
+ *
+ * Kullanıcı {@link com.cozumtr.leave_management_system.service.AuthService} tarafından bir kez yüklenir ve token ile
+ * birlikte {@link LoginAuthenticationProvider}'a verilir; doğrulama sırasında veritabanına tekrar gidilmez.
+ */
+public class LoginAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String email;
+    private String password;
+    private final transient User user;
+
+    private LoginAuthenticationToken(String email, String password, User user,
+                                     Collection<? extends GrantedAuthority> authorities, boolean authenticated) {
+        super(authorities);
+        this.email = email;
+        this.password = password;
+        this.user = user;
+        super.setAuthenticated(authenticated);
+    }
+
+    /**
+     * @param user email ile yüklenmiş kullanıcı; kayıtlı değilse null
+     */
+    public static LoginAuthenticationToken unauthenticated(String email, String password, User user) {
+        return new LoginAuthenticationToken(email, password, user, List.of(), false);
+    }
+
+    public static LoginAuthenticationToken authenticated(User user, Collection<? extends GrantedAuthority> authorities) {
+        return new LoginAuthenticationToken(user.getEmployee().getEmail(), null, user, authorities, true);
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return email;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return password;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Doğrulanmış token sadece authenticated(...) ile oluşturulabilir");
+        }
+        super.setAuthenticated(false);
+    }
+
+    @Override
+    public void eraseCredentials() {
+        super.eraseCredentials();
+        password = null;
+    }
+}
@@ -3,6 +3,7 @@ package com.cozumtr.leave_management_system.security;
 import com.cozumtr.leave_management_system.entities.User;
 import com.cozumtr.leave_management_system.repository.UserRepository;
 import com.cozumtr.leave_management_system.service.JwtService;
+import com.cozumtr.leave_management_system.service.RefreshTokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
     
     @Value("${app.frontend-url:http://localhost:5173}")
     private String frontendUrl;
@@ -51,12 +53,16 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
                     .collect(java.util.stream.Collectors.toSet());
             
             // JWT token oluştur
-            String token = jwtService.generateToken(email, user.getId(), roles);
+            Long departmentId = user.getEmployee().getDepartment() != null
+                    ? user.getEmployee().getDepartment().getId() : null;
+            String token = jwtService.generateToken(email, user.getId(), departmentId, roles);
+            String refreshToken = refreshTokenService.issue(user.getId());
             
             // Frontend'e redirect et (token ile)
-            String redirectUrl = String.format("%s/oauth2/callback?token=%s", frontendUrl, token);
+            String redirectUrl = String.format("%s/oauth2/callback?token=%s&refreshToken=%s",
+                    frontendUrl, token, refreshToken);
             
-            log.info("✅ Redirecting to frontend: {}", redirectUrl);
+            log.info("✅ Redirecting to frontend for: {}", email);
             getRedirectStrategy().sendRedirect(request, response, redirectUrl);
             
         } catch (Exception e) {
@@ -0,0 +1,116 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Giriş sırasındaki BCrypt doğrulamalarını Tomcat istek thread'leri yerine sabit boyutlu ayrı bir havuzda çalıştırır.
+ *
+ * BCrypt tamamen CPU'ya bağlıdır; havuz çekirdek sayısı kadar thread ile sınırlandığından bir giriş dalgası
+ * (sabah 09:00, saldırı) tüm CPU'yu tüketip izin API'sini aç bırakamaz. Kuyruk dolduğunda veya doğrulama
+ * zamanında başlayamadığında istek beklemeden 429 ile reddedilir.
+ *
+ * Havuz metrikleri {@code executor.*{name=password-verification}} olarak actuator'dan okunur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordVerificationPool {
+
+    public static final String POOL_NAME = "password-verification";
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    // 0 = çekirdek sayısı
+    @Value("${app.security.password-verification.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password-verification.queue-capacity:64}")
+    private int queueCapacity;
+
+    // Kuyrukta bekleme + doğrulama için azami süre
+    @Value("${app.security.password-verification.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, POOL_NAME + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, POOL_NAME);
+        rejected = Counter.builder("password.verification.rejected")
+                .description("Havuz dolu olduğu için reddedilen giriş doğrulamaları")
+                .register(meterRegistry);
+        log.info("🔐 Şifre doğrulama havuzu: {} thread, kuyruk {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Şifreyi havuzda doğrular; çağıran thread sonucu bekler ama CPU kullanmaz.
+     *
+     * @throws TooManyRequestsException havuz ve kuyruk doluysa veya doğrulama zamanında tamamlanamazsa
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Şifre doğrulama kesildi", e);
+        } catch (ExecutionException e) {
+            throw new AuthenticationServiceException("Şifre doğrulanamadı", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException busy() {
+        log.warn("⚠️ Şifre doğrulama havuzu dolu, giriş isteği reddedildi (aktif: {}, kuyruk: {})",
+                executor.getActiveCount(), executor.getQueue().size());
+        return new TooManyRequestsException("Sunucu şu anda yoğun. Lütfen birkaç saniye sonra tekrar deneyin.", 1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.cache.InvalidatableCache;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stateless JWT doğrulamasında veritabanına gitmeden hesap değişikliklerini uygulayan küçük iptal (revocation) kaydı.
+ *
+ * Kullanıcı pasifleştirildiğinde, aktifleştirildiğinde veya rolleri değiştiğinde email için bir "değişiklik anı"
+ * saklanır. Bu andan önce üretilmiş token'lar reddedilir; kullanıcı yeniden giriş yapıp güncel rollerle token alır.
+ * Kayıt {@link CacheInvalidationBus} üzerinden diğer düğümlere de iletilir.
+ *
+ * JWT {@code iat} değeri saniye hassasiyetinde olduğundan karşılaştırma saniye bazında yapılır;
+ * değişiklikle aynı saniyede üretilmiş token'lar geçerli sayılır. Token ömrünü aşan kayıtlar periyodik olarak silinir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountRevocationService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "account-revocation";
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${jwt.expiration:900000}")
+    private long tokenLifetimeMs;
+
+    // email -> değişiklik anı (epoch saniye)
+    private final Map<String, Long> changedAtByEmail = new ConcurrentHashMap<>();
+
+    /**
+     * Verilen anda üretilmiş token, hesap değişikliği nedeniyle geçersiz mi?
+     */
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long changedAt = changedAtByEmail.get(email);
+        if (changedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().getEpochSecond() < changedAt;
+    }
+
+    /**
+     * Hesap değişikliğini tüm düğümlerde kaydeder. Bus yerel kaydı hemen uygular.
+     */
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.email() == null) {
+            return;
+        }
+        long changedAt = Instant.now().getEpochSecond();
+        cacheInvalidationBus.publish(CACHE_NAME, changedAt + "|" + event.email());
+    }
+
+    /**
+     * Süresi dolmuş token'ları zaten reddedeceğimiz için token ömründen eski kayıtları siler.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-prune-ms:600000}")
+    public void pruneExpired() {
+        long cutoff = Instant.now().minusMillis(tokenLifetimeMs).getEpochSecond();
+        changedAtByEmail.values().removeIf(changedAt -> changedAt < cutoff);
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Bus mesajı: {@code <epochSaniye>|<email>}.
+     */
+    @Override
+    public void evict(String key) {
+        int separator = key.indexOf('|');
+        if (separator <= 0) {
+            log.warn("⚠️ Geçersiz hesap iptal mesajı: {}", key);
+            return;
+        }
+        try {
+            long changedAt = Long.parseLong(key.substring(0, separator));
+            String email = key.substring(separator + 1);
+            restore(email, changedAt);
+            log.debug("🔒 Hesap değişikliği kaydedildi, eski token'lar reddedilecek: {}", email);
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ Geçersiz hesap iptal mesajı: {}", key);
+        }
+    }
+
+    /**
+     * Kalıcı iptal kaydından gelen hesap değişikliğini sadece bu düğümde uygular
+     * (yeniden başlatma veya kaçırılan mesaj sonrası {@link TokenRevocationService} tarafından çağrılır).
+     */
+    public void restore(String email, long changedAtEpochSecond) {
+        changedAtByEmail.merge(email, changedAtEpochSecond, Math::max);
+    }
+
+    /**
+     * Yeniden bağlanmada kaçırılan iptaller bus üzerinden geri getirilemez; mevcut kayıtlar korunur.
+     * Kaçırılan değişiklikler {@link TokenRevocationService}'in kalıcı kayıtlardan yenilemesiyle geri gelir.
+     */
+    @Override
+    public void evictAll() {
+        log.warn("⚠️ Hesap iptal mesajları kaçırılmış olabilir; kalıcı iptal kayıtlarından yenilenecek");
+    }
+}
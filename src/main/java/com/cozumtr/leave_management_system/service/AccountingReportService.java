@@ -4,38 +4,67 @@ import com.cozumtr.leave_management_system.dto.request.AccountingReportRequest;
 import com.cozumtr.leave_management_system.enums.ReportType;
 import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportResponse;
 import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportRow;
-import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
 import com.cozumtr.leave_management_system.exception.BusinessException;
-import com.cozumtr.leave_management_system.repository.LeaveAttachmentRepository;
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AccountingReportService {
 
+    private static final String[] EXPORT_HEADERS = {
+            "Talep ID", "Çalışan", "Departman", "İzin Türü", "Ücretli", "Yıllık İzin Düşer",
+            "Belge Zorunlu", "Başlangıç", "Bitiş", "Süre (saat)", "Durum", "Ek Sayısı"
+    };
+
     private final LeaveRequestRepository leaveRequestRepository;
-    private final LeaveAttachmentRepository leaveAttachmentRepository;
+    private final CurrentUser currentUser;
+
+    /**
+     * Rapora erişim: ACCOUNTING rolü veya Muhasebe/Finans departmanındaki MANAGER.
+     */
+    public void checkAccess() {
+        if (currentUser.hasRole("ACCOUNTING")) {
+            return;
+        }
+        Employee employee = currentUser.getEmployee();
+        if (employee.getDepartment() == null) {
+            throw new BusinessException("Bu rapora erişim yetkiniz yok");
+        }
+        String deptName = employee.getDepartment().getName();
+        if (!deptName.equals("Muhasebe") && !deptName.equals("Finans")) {
+            throw new BusinessException("Bu rapora erişim yetkiniz yok. Sadece Muhasebe ve Finans departmanları erişebilir.");
+        }
+    }
+
+    /**
+     * İstek parametrelerini doğrular (asenkron işler kuyruğa alınmadan önce çağırır).
+     */
+    public void validate(AccountingReportRequest request) {
+        validateDates(request.getStartDate(), request.getEndDate());
+    }
 
     @Transactional(readOnly = true)
     public AccountingLeaveReportResponse getReport(AccountingReportRequest request) {
-        validateDates(request.getStartDate(), request.getEndDate());
+        validate(request);
         FilterFlags flags = flagsFor(request.getType());
 
-        List<LeaveRequest> leaveRequests = leaveRequestRepository.findForAccountingReport(
+        // Satırlar ve ek sayıları tek sorguda gelir
+        List<AccountingLeaveReportRow> rows = leaveRequestRepository.findAccountingReportRows(
                 approvedStatuses(),
                 request.getStartDate(),
                 request.getEndDate(),
@@ -45,66 +74,72 @@ public class AccountingReportService {
                 request.getEmployeeId()
         );
 
-        List<AccountingLeaveReportRow> rows = leaveRequests.stream()
-                .map(lr -> AccountingLeaveReportRow.builder()
-                        .leaveRequestId(lr.getId())
-                        .employeeFullName(lr.getEmployee().getFirstName() + " " + lr.getEmployee().getLastName())
-                        .departmentName(lr.getEmployee().getDepartment() != null ? lr.getEmployee().getDepartment().getName() : null)
-                        .leaveTypeName(lr.getLeaveType().getName())
-                        .paid(lr.getLeaveType().isPaid())
-                        .deductsFromAnnual(lr.getLeaveType().isDeductsFromAnnual())
-                        .documentRequired(lr.getLeaveType().isDocumentRequired())
-                        .startDate(lr.getStartDateTime())
-                        .endDate(lr.getEndDateTime())
-                        .durationHours(lr.getDurationHours())
-                        .status(lr.getRequestStatus().name())
-                        .attachmentCount(safeCountAttachments(lr.getId()))
-                        .build())
-                .collect(Collectors.toList());
-
         return AccountingLeaveReportResponse.builder()
                 .rows(rows)
                 .build();
     }
 
+    /**
+     * Rapor satırlarını sırayla verilen tüketiciye iletir; satırlar listeye toplanmaz (JSON yanıtı akışla yazılır).
+     * Satırlar DTO olarak okunduğundan persistence context'te entity birikmez.
+     */
     @Transactional(readOnly = true)
-    public byte[] exportReport(AccountingReportRequest request) {
-        AccountingLeaveReportResponse data = getReport(request);
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Leave Report");
-            int rowIdx = 0;
-            Row header = sheet.createRow(rowIdx++);
-            String[] headers = new String[]{
-                    "Talep ID", "Çalışan", "Departman", "İzin Türü", "Ücretli", "Yıllık İzin Düşer",
-                    "Belge Zorunlu", "Başlangıç", "Bitiş", "Süre (saat)", "Durum", "Ek Sayısı"
-            };
-            for (int i = 0; i < headers.length; i++) {
-                header.createCell(i).setCellValue(headers[i]);
-            }
-            for (AccountingLeaveReportRow row : data.getRows()) {
-                Row r = sheet.createRow(rowIdx++);
-                int c = 0;
-                r.createCell(c++).setCellValue(row.getLeaveRequestId());
-                r.createCell(c++).setCellValue(nonNull(row.getEmployeeFullName()));
-                r.createCell(c++).setCellValue(nonNull(row.getDepartmentName()));
-                r.createCell(c++).setCellValue(nonNull(row.getLeaveTypeName()));
-                r.createCell(c++).setCellValue(row.isPaid());
-                r.createCell(c++).setCellValue(row.isDeductsFromAnnual());
-                r.createCell(c++).setCellValue(row.isDocumentRequired());
-                r.createCell(c++).setCellValue(row.getStartDate().toString());
-                r.createCell(c++).setCellValue(row.getEndDate().toString());
-                r.createCell(c++).setCellValue(row.getDurationHours().toString());
-                r.createCell(c++).setCellValue(row.getStatus());
-                r.createCell(c++).setCellValue(row.getAttachmentCount());
-            }
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+    public void forEachReportRow(AccountingReportRequest request, Consumer<AccountingLeaveReportRow> consumer) {
+        validate(request);
+        streamRows(request, consumer);
+    }
+
+    /**
+     * Rapor satırlarını veritabanı cursor'ından okuyup Excel sayfasına yazar; satırlar listeye toplanmaz.
+     * SXSSF pencereden çıkan satırları sıkıştırılmış geçici dosyaya taşır, heap kullanımı satır sayısından
+     * bağımsızdır (disk kullanımı değildir). Transaction ve JDBC bağlantısı bu metot dönünce kapanır;
+     * dosya istemciye daha sonra, bağlantı tutulmadan gönderilir.
+     *
+     * Dönen yazıcı {@link StreamingSheetWriter#writeTo} ile yazıldıktan sonra kapatılmalıdır (geçici dosyalar).
+     */
+    @Transactional(readOnly = true)
+    public StreamingSheetWriter buildExcel(AccountingReportRequest request) {
+        validate(request);
+        StreamingSheetWriter writer = new StreamingSheetWriter("Leave Report", EXPORT_HEADERS.length);
+        try {
+            writer.writeRow(null, (Object[]) EXPORT_HEADERS);
+            streamRows(request, row -> writer.writeRow(null,
+                    row.getLeaveRequestId(),
+                    nonNull(row.getEmployeeFullName()),
+                    nonNull(row.getDepartmentName()),
+                    nonNull(row.getLeaveTypeName()),
+                    row.isPaid(),
+                    row.isDeductsFromAnnual(),
+                    row.isDocumentRequired(),
+                    row.getStartDate().toString(),
+                    row.getEndDate().toString(),
+                    row.getDurationHours().toString(),
+                    row.getStatus(),
+                    row.getAttachmentCount()));
+            return writer;
+        } catch (RuntimeException e) {
+            try {
+                writer.close();
+            } catch (IOException closeError) {
+                log.warn("⚠️ Excel geçici dosyaları silinemedi: {}", closeError.getMessage());
             }
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            return out.toByteArray();
-        } catch (Exception e) {
-            throw new BusinessException("Rapor oluşturulamadı: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private void streamRows(AccountingReportRequest request, Consumer<AccountingLeaveReportRow> consumer) {
+        FilterFlags flags = flagsFor(request.getType());
+
+        try (Stream<AccountingLeaveReportRow> rows = leaveRequestRepository.streamAccountingReportRows(
+                approvedStatuses(),
+                request.getStartDate(),
+                request.getEndDate(),
+                flags.onlyUnpaid,
+                flags.documentRequired,
+                request.getDepartmentId(),
+                request.getEmployeeId()
+        )) {
+            rows.forEach(consumer);
         }
     }
 
@@ -129,10 +164,6 @@ public class AccountingReportService {
         return List.of(RequestStatus.APPROVED, RequestStatus.APPROVED_HR, RequestStatus.APPROVED_MANAGER);
     }
 
-    private int safeCountAttachments(Long leaveRequestId) {
-        return leaveAttachmentRepository.findByLeaveRequestId(leaveRequestId).size();
-    }
-
     private String nonNull(String val) {
         return StringUtils.hasText(val) ? val : "";
     }
@@ -0,0 +1,110 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.cache.InvalidatableCache;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Onay bildirimlerinin alıcılarını (rol + departman bazında aktif kullanıcı email'leri) önbellekte tutar.
+ *
+ * Her onay/oluşturma işleminde aynı rol için kullanıcı tablosuna gitmek yerine email listesi bellekten okunur.
+ * Kullanıcı aktifleştirme, pasifleştirme, davet veya rol değişikliğinde yayınlanan
+ * {@link UserAccountChangedEvent} ile önbellek tamamen temizlenir. Temizleme {@link CacheInvalidationBus} üzerinden
+ * yayınlandığı için diğer düğümlerdeki kopyalar da geçersiz olur.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApproverDirectoryService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "approver-directory";
+
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<DirectoryKey, List<String>> directory = new ConcurrentHashMap<>();
+
+    /**
+     * Her temizlemede artar. Temizleme ile yarışan bir yükleme, eski veriyi önbelleğe yazmaz.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Verilen rol için aktif onaycıların email adreslerini döner.
+     *
+     * @param roleName     onaycı rolü (HR, MANAGER, CEO ...)
+     * @param departmentId departman bazlı roller (MANAGER) için departman ID'si, diğerleri için null
+     */
+    public List<String> getApproverEmails(String roleName, Long departmentId) {
+        DirectoryKey key = new DirectoryKey(roleName, departmentId);
+        List<String> cached = directory.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedGeneration = generation.get();
+        List<String> emails = List.copyOf(departmentId != null
+                ? userRepository.findActiveUserEmailsByRoleAndDepartment(roleName, departmentId)
+                : userRepository.findActiveUserEmailsByRole(roleName));
+
+        if (generation.get() == loadedGeneration) {
+            directory.putIfAbsent(key, emails);
+            // Yazma sırasında temizleme olduysa eski listeyi geri al
+            if (generation.get() != loadedGeneration) {
+                directory.remove(key, emails);
+            }
+        }
+
+        log.debug("🔍 Onaycı dizini yüklendi: rol={}, departman={}, kişi sayısı={}",
+                roleName, departmentId, emails.size());
+        return emails;
+    }
+
+    /**
+     * Tüm önbelleği temizler.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        directory.clear();
+    }
+
+    /**
+     * Kullanıcı değişikliğinde önbelleği tüm düğümlerde temizler.
+     * Bus, yerel kopyayı hemen ve transaction tamamlandıktan sonra tekrar temizler;
+     * ikinci temizleme commit öncesi eski veriyle yeniden doldurulmuş kayıtları siler.
+     */
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        cacheInvalidationBus.publish(CACHE_NAME, null);
+        log.debug("🧹 Onaycı dizini temizlendi. Kullanıcı: {}", event.email());
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evict(String key) {
+        // Dizin rol bazında tek parça tutulur, tek anahtar temizlemek yerine tamamı yenilenir
+        invalidateAll();
+    }
+
+    @Override
+    public void evictAll() {
+        invalidateAll();
+    }
+
+    private record DirectoryKey(String roleName, Long departmentId) {
+    }
+}
@@ -0,0 +1,262 @@
+package com.cozumtr.leave_management_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@code auth_audit_log} için asenkron, toplu yazıcı.
+ *
+ * Giriş/çıkış olayları istek thread'inde kilitsiz bir halka tampona (ring buffer) eklenir; veritabanına
+ * istek yolunda hiç gidilmez. Tek bir arka plan thread'i tamponu boşaltır ve kayıtları çok satırlı
+ * {@code INSERT} ile yazar. Yazma, tamponda {@code batch-size} kayıt birikince veya {@code flush-ms}
+ * dolunca yapılır; uygulama kapanırken tampon sonuna kadar boşaltılır.
+ *
+ * Tampon doluysa (veritabanı yavaş/erişilemez) yeni kayıtlar düşürülür ve {@code auth.audit.dropped}
+ * sayacı artırılır: denetim kaydı girişi hiçbir zaman bekletmez.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthAuditWriter {
+
+    public static final String LOGIN_SUCCESS = "LOGIN_SUCCESS";
+    public static final String LOGIN_FAILURE = "LOGIN_FAILURE";
+    public static final String ACCOUNT_LOCKED = "ACCOUNT_LOCKED";
+    public static final String LOGOUT = "LOGOUT";
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO auth_audit_log (user_email, user_id, attempt_type, ip_address, failure_reason, details, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, CAST(? AS jsonb), ?)";
+    private static final int COLUMNS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.auth-audit.enabled:true}")
+    private boolean enabled;
+
+    // 2'nin kuvvetine yuvarlanır
+    @Value("${app.security.auth-audit.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${app.security.auth-audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.security.auth-audit.flush-ms:1000}")
+    private long flushMs;
+
+    @Value("${app.security.auth-audit.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private RingBuffer<Entry> buffer;
+    private Counter dropped;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("📝 Giriş denetim kaydı kapalı");
+            return;
+        }
+        buffer = new RingBuffer<>(bufferSize);
+        dropped = Counter.builder("auth.audit.dropped")
+                .description("Tampon dolu olduğu için yazılamayan denetim kayıtları")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.pending", buffer, RingBuffer::size)
+                .description("Yazılmayı bekleyen denetim kayıtları")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "auth-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Kapanışta yazıcıyı durdurur; tamponda kalan kayıtlar yazıldıktan sonra döner.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("⚠️ Denetim yazıcısı {} ms içinde durmadı, {} kayıt yazılamadı", shutdownTimeoutMs, buffer.size());
+        }
+    }
+
+    /**
+     * Denetim kaydını tampona ekler; hiçbir zaman bloklamaz.
+     *
+     * @param details JSON nesnesi olarak detaylar (null olabilir)
+     */
+    public void record(String email, Long userId, String attemptType, String ipAddress,
+                       String failureReason, String details) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(email, userId, attemptType, ipAddress, failureReason, details, LocalDateTime.now());
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        long flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMs);
+        while (true) {
+            boolean stopping = !running;
+            buffer.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            if (buffer.size() >= batchSize) {
+                continue; // Birikmiş kayıtlar var: beklemeden devam et
+            }
+            if (stopping && buffer.size() == 0) {
+                return;
+            }
+            if (!stopping) {
+                LockSupport.parkNanos(this, flushNanos);
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (Entry entry : batch) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i++] = entry.email();
+            args[i++] = entry.userId();
+            args[i++] = entry.attemptType();
+            args[i++] = entry.ipAddress();
+            args[i++] = entry.failureReason();
+            args[i++] = entry.details() != null ? entry.details() : "{}";
+            args[i++] = entry.createdAt();
+        }
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+        } catch (DataAccessException e) {
+            dropped.increment(batch.size());
+            log.warn("⚠️ Giriş denetim kayıtları yazılamadı ({} kayıt): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    record Entry(String email, Long userId, String attemptType, String ipAddress,
+                 String failureReason, String details, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Sabit kapasiteli, kilitsiz, çok üreticili / tek tüketicili halka tampon.
+     *
+     * Her yuvanın bir sıra numarası vardır (Vyukov): üretici yuvayı CAS ile sahiplenir, elemanı yazar ve
+     * sıra numarasını ilerleterek tüketiciye yayınlar. Tüketici yalnızca yazıcı thread'idir.
+     */
+    static final class RingBuffer<T> {
+        private final int capacity;
+        private final int mask;
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        RingBuffer(int requestedCapacity) {
+            this.capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        /**
+         * @return tampon doluysa false
+         */
+        boolean offer(T item) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long diff = sequences.get(index) - position;
+                if (diff == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.set(index, item);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (diff < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * En fazla {@code max} elemanı sırayla {@code target}'a taşır. Yalnızca tek tüketici çağırmalı.
+         */
+        int drainTo(List<T> target, int max) {
+            long position = head;
+            int drained = 0;
+            while (drained < max) {
+                int index = (int) (position & mask);
+                if (sequences.get(index) != position + 1) {
+                    break; // Boş veya üretici henüz yazmayı bitirmedi
+                }
+                target.add(slots.get(index));
+                slots.set(index, null);
+                sequences.set(index, position + capacity);
+                position++;
+                drained++;
+            }
+            head = position;
+            return drained;
+        }
+
+        int size() {
+            return (int) Math.max(0, tail.get() - head);
+        }
+
+        int capacity() {
+            return capacity;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.cozumtr.leave_management_system.dto.request.RegisterRequestDto;
 import com.cozumtr.leave_management_system.dto.response.AuthResponseDto;
 import com.cozumtr.leave_management_system.dto.response.EmployeeResponseDto;
 import com.cozumtr.leave_management_system.enums.WorkType;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
 import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.exception.TooManyRequestsException;
 import com.cozumtr.leave_management_system.entities.Department;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.Role;
@@ -15,11 +17,12 @@ import com.cozumtr.leave_management_system.repository.DepartmentRepository;
 import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.RoleRepository;
 import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.LoginAuthenticationToken;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,35 +48,46 @@ public class AuthService {
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
     private final LeaveEntitlementService leaveEntitlementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptService loginAttemptService;
+    private final AuthAuditWriter authAuditWriter;
 
     /**
      * 1. KULLANICI GİRİŞİ (login)
-     * Spring Security doğrulamasını yapar, başarılı olursa JWT Token üretir
+     * Spring Security doğrulamasını yapar, başarılı olursa kısa ömürlü JWT Token ve refresh token üretir
      * Brute Force Protection: 5 başarısız denemeden sonra hesap kilitlenir
+     * (sayaçlar bellekte tutulur, bkz. {@link LoginAttemptService})
      */
     public AuthResponseDto login(LoginRequestDto request) {
-        // Önce kullanıcıyı bul (kilit kontrolü için)
+        return login(request, null);
+    }
+
+    /**
+     * @param clientIp isteğin IP adresi; IP bazlı deneme sınırı için (bilinmiyorsa null)
+     */
+    public AuthResponseDto login(LoginRequestDto request, String clientIp) {
+        // Çok sayıda başarısız deneme yapan IP, şifre doğrulamasına ulaşmadan reddedilir
+        if (loginAttemptService.isIpBlocked(clientIp)) {
+            throw new TooManyRequestsException("Çok fazla başarısız giriş denemesi. Lütfen daha sonra tekrar deneyin.", 60);
+        }
+
+        // Kullanıcı bir kez yüklenir: kilit kontrolü, şifre doğrulama ve token üretimi aynı kaydı kullanır
         User user = userRepository.findByEmployeeEmail(request.getEmail())
                 .orElse(null);
 
         // 1. KİLİT KONTROLÜ: Kullanıcı varsa ve hesap kilitliyse direkt hata fırlat
-        if (user != null && user.getFailedLoginAttempts() >= 5) {
+        if (user != null && loginAttemptService.failedAttempts(user) >= LoginAttemptService.MAX_FAILED_ATTEMPTS) {
             throw new BusinessException("Hesabınız güvenlik nedeniyle kilitlenmiştir. Lütfen 'Şifremi Unuttum' ile şifrenizi sıfırlayın.");
         }
 
         try {
-            // Spring Security ile kimlik doğrulama
+            // Spring Security ile kimlik doğrulama (yüklenmiş kullanıcının BCrypt hash'i ile)
             authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
+                    LoginAuthenticationToken.unauthenticated(request.getEmail(), request.getPassword(), user)
             );
 
-            // Kullanıcıyı tekrar bul (authentication başarılı oldu)
-            user = userRepository.findByEmployeeEmail(request.getEmail())
-                    .orElseThrow(() -> new UsernameNotFoundException("Kullanıcı bulunamadı: " + request.getEmail()));
-
             // Kullanıcı aktif değilse hata ver
             if (!user.getIsActive()) {
                 throw new BusinessException("Hesabınız aktif değil. Lütfen önce hesabınızı aktifleştirin.");
@@ -84,10 +98,10 @@ public class AuthService {
                 throw new BusinessException("Şifreniz henüz belirlenmemiş. Lütfen hesabınızı aktifleştirin.");
             }
 
-            // 3. ŞİFRE KONTROLÜ BAŞARILI İSE: Eğer failedLoginAttempts > 0 ise sıfırla
-            if (user.getFailedLoginAttempts() > 0) {
-                user.setFailedLoginAttempts(0);
-                userRepository.save(user);
+            // 3. ŞİFRE KONTROLÜ BAŞARILI İSE: Bellekteki sayacı temizle (veritabanı aşağıda tek UPDATE ile)
+            int previousFailures = loginAttemptService.failedAttempts(user);
+            if (previousFailures > 0) {
+                loginAttemptService.recordSuccess(request.getEmail());
             }
 
             // Rolleri al
@@ -96,25 +110,28 @@ public class AuthService {
                     .collect(Collectors.toSet());
 
             // JWT Token üret
-            String token = jwtService.generateToken(user.getEmployee().getEmail(), user.getId(), roles);
+            String token = jwtService.generateToken(user.getEmployee().getEmail(), user.getId(),
+                    departmentIdOf(user.getEmployee()), roles);
 
-            // Son giriş zamanını güncelle
-            user.setLastLogin(java.time.LocalDateTime.now());
-            userRepository.save(user);
+            // Sayaç sıfırlama ve son giriş zamanı tek UPDATE ile
+            java.time.LocalDateTime loginAt = java.time.LocalDateTime.now();
+            userRepository.recordSuccessfulLogin(user.getId(), loginAt);
+            user.setFailedLoginAttempts(0);
+            user.setLastLogin(loginAt);
+
+            // Denetim kaydı arka planda toplu yazılır (giriş isteği veritabanına yazmayı beklemez)
+            authAuditWriter.record(user.getEmployee().getEmail(), user.getId(), AuthAuditWriter.LOGIN_SUCCESS, clientIp,
+                    null, previousFailures > 0 ? "{\"previous_failures_cleared\": " + previousFailures + "}" : null);
 
             // AuthResponseDto oluştur ve döndür
-            return mapToAuthResponse(token, user, roles);
+            return mapToAuthResponse(token, refreshTokenService.issue(user.getId()), user, roles);
 
         } catch (org.springframework.security.authentication.BadCredentialsException e) {
-            // 2. ŞİFRE KONTROLÜ BAŞARISIZ İSE: Deneme sayacını artır
+            // 2. ŞİFRE KONTROLÜ BAŞARISIZ İSE: Deneme sayacını artır (bellekte; veritabanına toplu yazılır)
+            int failedAttempts = loginAttemptService.recordFailure(request.getEmail(), user, clientIp);
             if (user != null) {
-                int failedAttempts = user.getFailedLoginAttempts() + 1;
-                user.setFailedLoginAttempts(failedAttempts);
-                user.setLastLogin(java.time.LocalDateTime.now());
-                userRepository.save(user);
-
                 // Kalan hakkı hesapla (kullanıcıya GÖSTERME)
-                int remainingAttempts = 5 - failedAttempts;
+                int remainingAttempts = LoginAttemptService.MAX_FAILED_ATTEMPTS - failedAttempts;
 
                 if (remainingAttempts <= 0) {
                     // 5. hatayı yaptı, hesap kilitlendi
@@ -186,6 +203,7 @@ public class AuthService {
         user.getRoles().add(hrRole);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), adminEmail));
 
         // İzin hakkı oluştur (mevcut yıl için)
         try {
@@ -280,6 +298,7 @@ public class AuthService {
         user.getRoles().add(employeeRole);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), employee.getEmail()));
 
         // Email gönder (aktivasyon linki ile)
         emailService.sendActivationEmail(employee.getEmail(), activationToken);
@@ -330,6 +349,7 @@ public class AuthService {
         Employee employee = user.getEmployee();
         employee.setIsActive(true);
         employeeRepository.save(employee);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), employee.getEmail()));
 
         // İzin hakkı oluştur (mevcut yıl için)
         try {
@@ -349,14 +369,15 @@ public class AuthService {
                 .collect(Collectors.toSet());
 
         // JWT Token üret (otomatik login)
-        String jwtToken = jwtService.generateToken(employee.getEmail(), user.getId(), roles);
+        String jwtToken = jwtService.generateToken(employee.getEmail(), user.getId(),
+                departmentIdOf(employee), roles);
 
         // Son giriş zamanını güncelle
         user.setLastLogin(java.time.LocalDateTime.now());
         userRepository.save(user);
 
         // AuthResponseDto döndür
-        return mapToAuthResponse(jwtToken, user, roles);
+        return mapToAuthResponse(jwtToken, refreshTokenService.issue(user.getId()), user, roles);
     }
 
     /**
@@ -485,25 +506,90 @@ public class AuthService {
         user.setFailedLoginAttempts(0);
 
         userRepository.save(user);
+        // Sıfırlanan sayaca bellekte bekleyen eski denemeler eklenmesin
+        loginAttemptService.reset(user.getEmployee().getEmail());
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getEmployee().getEmail()));
 
         log.info("Şifre başarıyla sıfırlandı: {}", user.getEmployee().getEmail());
     }
 
+    /**
+     * 8. ÇIKIŞ (logout)
+     * Refresh token gönderildiyse oturum ailesi iptal edilir; bunun için geçerli bir access token gerekmez
+     * (access token'lar kısa ömürlüdür, uzun süre boşta kalan istemci de oturumunu kapatabilmelidir).
+     * Access token gönderildiyse ve hâlâ geçerliyse o da iptal listesine eklenir.
+     * İkisi birlikte gönderildiyse refresh token'ın aynı kullanıcıya ait olması gerekir.
+     *
+     * @param token        opsiyonel access token; süresi dolmuş veya geçersizse yok sayılır
+     * @param refreshToken opsiyonel refresh token
+     * @throws BusinessException ne geçerli bir access token ne de refresh token varsa veya token'lar farklı kullanıcılara aitse
+     */
+    public void logout(String token, String refreshToken) {
+        JwtService.VerifiedToken verified = null;
+        if (token != null) {
+            try {
+                verified = jwtService.verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Çıkışta access token doğrulanamadı, sadece refresh token kullanılacak: {}", e.getMessage());
+            }
+        }
+        if (verified == null && refreshToken == null) {
+            throw new BusinessException("Geçersiz veya süresi dolmuş token");
+        }
+
+        Long userId = verified != null ? verified.userId() : null;
+        if (refreshToken != null) {
+            Long ownerId = refreshTokenService.revokeFamily(refreshToken, userId);
+            if (userId == null) {
+                userId = ownerId;
+            }
+        }
+        if (verified != null) {
+            tokenRevocationService.revokeToken(verified.tokenId(), verified.subject(), verified.expiration());
+        }
+        authAuditWriter.record(verified != null ? verified.subject() : null, userId,
+                AuthAuditWriter.LOGOUT, null, null, null);
+    }
+
+    /**
+     * 9. TOKEN YENİLEME (refresh)
+     * Refresh token'ı tüketir; yeni access token ve aynı oturum ailesinden yeni refresh token döner.
+     * Claim'ler (roller, departman) güncel kullanıcı kaydından üretilir.
+     */
+    public AuthResponseDto refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        User user = userRepository.findWithRolesById(rotation.userId())
+                .orElseThrow(() -> new BusinessException("Geçersiz veya süresi dolmuş oturum"));
+        if (!user.getIsActive()) {
+            throw new BusinessException("Hesabınız aktif değil. Lütfen önce hesabınızı aktifleştirin.");
+        }
+
+        Set<String> roles = user.getRoles().stream()
+                .map(Role::getRoleName)
+                .collect(Collectors.toSet());
+        String token = jwtService.generateToken(user.getEmployee().getEmail(), user.getId(),
+                departmentIdOf(user.getEmployee()), roles);
+        return mapToAuthResponse(token, rotation.refreshToken(), user, roles);
+    }
+
     /**
      * User ve roller bilgilerini AuthResponseDto'ya çevirir.
      *
      * @param token JWT token
+     * @param refreshToken Refresh token
      * @param user User entity
      * @param roles Kullanıcı rolleri
      * @return AuthResponseDto
      */
-    private AuthResponseDto mapToAuthResponse(String token, User user, Set<String> roles) {
+    private AuthResponseDto mapToAuthResponse(String token, String refreshToken, User user, Set<String> roles) {
         String departmentName = null;
         if (user.getEmployee() != null && user.getEmployee().getDepartment() != null) {
             departmentName = user.getEmployee().getDepartment().getName();
         }
         return AuthResponseDto.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .userId(user.getId())
                 .userEmail(user.getEmployee().getEmail())
@@ -545,6 +631,12 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Token'a yazılacak departman ID'si (departmanı olmayan çalışan için null).
+     */
+    private Long departmentIdOf(Employee employee) {
+        return employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
 
 }
 
@@ -0,0 +1,130 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.DailyAbsenceTotal;
+import com.cozumtr.leave_management_system.dto.response.DepartmentCapacityResponse;
+import com.cozumtr.leave_management_system.dto.response.HireDateWorkHours;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.DepartmentRepository;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Departman kapasite ısı haritası: her çalışma günü için kullanılabilir saat, izinli saat ve izinli kişi sayısı.
+ *
+ * İzinler istek anında yüklenip günlere açılmaz; {@code daily_absence} tablosundan gün bazında toplanmış
+ * olarak tek sorguyla gelir. Çalışanların mesaisi de işe giriş tarihine göre toplanmış olarak gelir ve
+ * tarih aralığı boyunca kümülatif toplanarak o gün işe başlamış kişilerin toplam mesaisi bulunur.
+ * Böylece maliyet çalışan veya izin sayısına değil, aralıktaki gün sayısına bağlıdır.
+ */
+@Service
+@RequiredArgsConstructor
+public class CapacityReportService {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final DailyAbsenceRepository dailyAbsenceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final LeaveCalculationService leaveCalculationService;
+    private final CurrentUser currentUser;
+
+    @Transactional(readOnly = true)
+    public DepartmentCapacityResponse getDepartmentCapacity(Long departmentId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        checkAccess(departmentId);
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new EntityNotFoundException("Departman bulunamadı: " + departmentId);
+        }
+
+        WorkCalendar calendar = leaveCalculationService.workCalendar(from, to);
+        List<HireDateWorkHours> staffing = employeeRepository.sumDailyWorkHoursByHireDate(departmentId);
+        Map<LocalDate, DailyAbsenceTotal> absences = new HashMap<>();
+        for (DailyAbsenceTotal total : dailyAbsenceRepository.sumByDay(departmentId, from, to)) {
+            absences.put(total.date(), total);
+        }
+
+        // İşe giriş tarihi bilinmeyenler ve aralıktan önce başlayanlar ilk günden itibaren sayılır
+        BigDecimal baseHours = BigDecimal.ZERO;
+        List<HireDateWorkHours> upcoming = new ArrayList<>();
+        for (HireDateWorkHours group : staffing) {
+            if (group.hireDate() == null || !group.hireDate().isAfter(from)) {
+                baseHours = baseHours.add(group.dailyWorkHours());
+            } else {
+                upcoming.add(group);
+            }
+        }
+        upcoming.sort((a, b) -> a.hireDate().compareTo(b.hireDate()));
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<LocalDate> dates = new ArrayList<>(days);
+        List<BigDecimal> availableHours = new ArrayList<>(days);
+        List<BigDecimal> absentHours = new ArrayList<>(days);
+        List<Integer> headcountOnLeave = new ArrayList<>(days);
+
+        int next = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            while (next < upcoming.size() && !upcoming.get(next).hireDate().isAfter(day)) {
+                baseHours = baseHours.add(upcoming.get(next++).dailyWorkHours());
+            }
+            if (!calendar.isWorkingDay(day)) {
+                continue;
+            }
+            BigDecimal capacity = calendar.workingHours(day, baseHours);
+            DailyAbsenceTotal absence = absences.get(day);
+            BigDecimal absent = absence != null ? absence.hours() : BigDecimal.ZERO;
+            BigDecimal available = capacity.subtract(absent);
+
+            dates.add(day);
+            availableHours.add(available.signum() > 0 ? available : BigDecimal.ZERO);
+            absentHours.add(absent);
+            headcountOnLeave.add(absence != null ? absence.headcount().intValue() : 0);
+        }
+
+        return DepartmentCapacityResponse.builder()
+                .departmentId(departmentId)
+                .from(from)
+                .to(to)
+                .dates(dates)
+                .availableHours(availableHours)
+                .absentHours(absentHours)
+                .headcountOnLeave(headcountOnLeave)
+                .build();
+    }
+
+    /**
+     * HR ve CEO tüm departmanları, MANAGER sadece kendi departmanını görür.
+     */
+    private void checkAccess(Long departmentId) {
+        if (currentUser.hasAnyRole("HR", "CEO")) {
+            return;
+        }
+        if (!departmentId.equals(currentUser.getDepartmentId())) {
+            throw new BusinessException("Sadece kendi departmanınızın kapasite raporunu görüntüleyebilirsiniz");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BusinessException("Başlangıç ve bitiş tarihi zorunludur");
+        }
+        if (to.isBefore(from)) {
+            throw new BusinessException("Bitiş tarihi başlangıç tarihinden önce olamaz");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Tarih aralığı en fazla " + MAX_RANGE_DAYS + " gün olabilir");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.enums.RequestUnit;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code daily_absence} fact tablosunu güncel tutar.
+ *
+ * Bir izin APPROVED durumuna geldiğinde (veya onaylıyken iptal edildiğinde) günlük kayıtları aynı
+ * transaction içinde, commit'ten hemen önce yeniden yazılır; böylece tablo izin durumu ile her zaman tutarlıdır.
+ * Resmi tatil değiştiğinde etkilenen aralıktaki izinler yeniden hesaplanır. Tabloya henüz yansıtılmamış
+ * onaylı izinler (ilk kurulum) uygulama açılışında sayfa sayfa doldurulur.
+ *
+ * Günlük izinlerde her çalışma günü çalışanın günlük mesaisi kadar (arife yarım gün), saatlik izinlerde
+ * izin saatlerinin o güne düşen kısmı kadar yazılır; hafta sonu ve tam gün tatiller yazılmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyAbsenceService {
+
+    private final DailyAbsenceRepository dailyAbsenceRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveCalculationService leaveCalculationService;
+    private final LeaveDataVersionService leaveDataVersionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.daily-absence.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.analytics.daily-absence.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    /**
+     * İzin onaylandığında veya iptal edildiğinde günlük kayıtları aynı transaction içinde günceller.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        // Sadece APPROVED'a giriş (son onay, CEO otomatik onayı) ve APPROVED'dan çıkış (iptal) tabloyu etkiler
+        if (event.status() == RequestStatus.APPROVED || event.type() == LeaveChangeType.CANCELLED) {
+            refresh(event.leaveRequestId());
+        }
+    }
+
+    /**
+     * Tek bir iznin günlük kayıtlarını mevcut durumuna göre yeniden yazar.
+     */
+    @Transactional
+    public void refresh(Long leaveRequestId) {
+        dailyAbsenceRepository.deleteByLeaveRequestId(leaveRequestId);
+        leaveRequestRepository.findById(leaveRequestId)
+                .filter(leaveRequest -> leaveRequest.getRequestStatus() == RequestStatus.APPROVED)
+                .ifPresent(leaveRequest -> dailyAbsenceRepository.saveAll(buildDailyAbsences(leaveRequest,
+                        leaveCalculationService.workCalendar(
+                                leaveRequest.getStartDateTime().toLocalDate(),
+                                leaveRequest.getEndDateTime().toLocalDate()))));
+    }
+
+    /**
+     * Resmi tatil eklendiğinde/değiştiğinde aralıkla kesişen onaylı izinleri yeniden hesaplar.
+     */
+    @Transactional
+    public void rebuildRange(LocalDate from, LocalDate to) {
+        // Tatil tüm departmanların saatlerini etkiler: önbellekteki raporlar geçersiz olur
+        leaveDataVersionService.bumpGlobal();
+        List<LeaveRequest> leaves = leaveRequestRepository.findOverlappingApprovedLeaves(
+                from.atStartOfDay(), to.atTime(LocalTime.MAX));
+        if (leaves.isEmpty()) {
+            return;
+        }
+        WorkCalendar calendar = calendarFor(leaves);
+        for (LeaveRequest leaveRequest : leaves) {
+            dailyAbsenceRepository.deleteByLeaveRequestId(leaveRequest.getId());
+            dailyAbsenceRepository.saveAll(buildDailyAbsences(leaveRequest, calendar));
+        }
+        log.info("📅 {} - {} tatil değişikliği: {} iznin günlük kayıtları yeniden hesaplandı", from, to, leaves.size());
+    }
+
+    /**
+     * Tabloya henüz yansıtılmamış onaylı izinleri doldurur. Sayfa ayrı transaction'da okunur, her iznin
+     * kayıtları kendi transaction'ında (önce silinip) yazılır; yarıda kalırsa bir sonraki çalıştırmada
+     * kaldığı yerden devam eder.
+     *
+     * Aynı izin bu sırada başka bir düğümün backfill'i veya onay akışı tarafından yazılıyorsa
+     * {@code uk_daily_absence_request_date} ihlali alınır; kayıtları diğer yazan ürettiği için izin atlanır.
+     *
+     * @return doldurulan izin sayısı
+     */
+    public int backfill() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate perRequest = new TransactionTemplate(transactionManager);
+        perRequest.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            long cursor = afterId;
+            int[] filled = {0};
+            List<LeaveRequest> page = transaction.execute(status -> {
+                List<LeaveRequest> leaves = leaveRequestRepository.findApprovedWithoutDailyAbsence(
+                        cursor, PageRequest.of(0, backfillBatchSize));
+                if (!leaves.isEmpty()) {
+                    WorkCalendar calendar = calendarFor(leaves);
+                    for (LeaveRequest leaveRequest : leaves) {
+                        List<DailyAbsence> rows = buildDailyAbsences(leaveRequest, calendar);
+                        try {
+                            perRequest.executeWithoutResult(inner -> {
+                                dailyAbsenceRepository.deleteByLeaveRequestId(leaveRequest.getId());
+                                dailyAbsenceRepository.saveAll(rows);
+                            });
+                            filled[0]++;
+                        } catch (DataIntegrityViolationException e) {
+                            log.warn("⚠️ İzin {} günlük kayıtları eşzamanlı yazıldı, atlandı: {}",
+                                    leaveRequest.getId(), e.getMostSpecificCause().getMessage());
+                        }
+                    }
+                }
+                return leaves;
+            });
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            total += filled[0];
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return total;
+    }
+
+    /**
+     * Açılışta eksik günlük kayıtları doldurur. Hata uygulamanın açılmasını engellemez;
+     * eksik kalan izinler bir sonraki açılışta tekrar denenir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            int filled = backfill();
+            if (filled > 0) {
+                log.info("📅 Günlük devamsızlık tablosu dolduruldu: {} onaylı izin", filled);
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ Günlük devamsızlık tablosu doldurulamadı: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * İzni çalışma takvimine göre günlere açar.
+     */
+    List<DailyAbsence> buildDailyAbsences(LeaveRequest leaveRequest, WorkCalendar calendar) {
+        Employee employee = leaveRequest.getEmployee();
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        boolean hourly = leaveRequest.getLeaveType().getRequestUnit() == RequestUnit.HOUR;
+
+        LocalDateTime start = leaveRequest.getStartDateTime();
+        LocalDateTime end = leaveRequest.getEndDateTime();
+        List<DailyAbsence> rows = new ArrayList<>();
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(end.toLocalDate()); day = day.plusDays(1)) {
+            BigDecimal hours = hourly
+                    ? (calendar.isWorkingDay(day) ? clockHours(start, end, day) : BigDecimal.ZERO)
+                    : calendar.workingHours(day, employee.getDailyWorkHours());
+            if (hours.signum() > 0) {
+                rows.add(DailyAbsence.builder()
+                        .absenceDate(day)
+                        .employeeId(employee.getId())
+                        .departmentId(departmentId)
+                        .leaveTypeId(leaveRequest.getLeaveType().getId())
+                        .leaveRequestId(leaveRequest.getId())
+                        .hours(hours)
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    // Saatlik iznin verilen güne düşen saati
+    private static BigDecimal clockHours(LocalDateTime start, LocalDateTime end, LocalDate day) {
+        LocalDateTime from = start.isAfter(day.atStartOfDay()) ? start : day.atStartOfDay();
+        LocalDateTime to = end.isBefore(day.plusDays(1).atStartOfDay()) ? end : day.plusDays(1).atStartOfDay();
+        long minutes = Duration.between(from, to).toMinutes();
+        return minutes <= 0 ? BigDecimal.ZERO : BigDecimal.valueOf(minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
+    // Bir grup izin için tek sorguyla takvim
+    private WorkCalendar calendarFor(List<LeaveRequest> leaves) {
+        LocalDate from = leaves.stream().map(LeaveRequest::getStartDateTime).min(Comparator.naturalOrder())
+                .orElseThrow().toLocalDate();
+        LocalDate to = leaves.stream().map(LeaveRequest::getEndDateTime).max(Comparator.naturalOrder())
+                .orElseThrow().toLocalDate();
+        return leaveCalculationService.workCalendar(from, to);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final LeaveDataVersionService leaveDataVersionService;
 
     public Department save(Department department) {
         return departmentRepository.save(department);
@@ -125,6 +126,8 @@ public class DepartmentService {
         // Eğer managerId null ise, mevcut manager korunur (değişiklik yapılmaz)
 
         Department updated = departmentRepository.save(department);
+        // Departman adı raporlarda yer alır
+        leaveDataVersionService.bumpDepartment(id);
         return mapToResponse(updated);
     }
 
@@ -151,6 +154,7 @@ public class DepartmentService {
 
         department.setIsActive(false);
         departmentRepository.save(department);
+        leaveDataVersionService.bumpDepartment(id);
     }
 
     private DepartmentResponse mapToResponse(Department department) {
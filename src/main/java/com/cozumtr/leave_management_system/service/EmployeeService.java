@@ -6,9 +6,9 @@ import com.cozumtr.leave_management_system.dto.response.UserResponse;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.Role;
 import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EmployeeService {
     private final EmployeeRepository employeeRepository;
+    private final CurrentUser currentUser;
 
 
     public Employee save(Employee employee) {
@@ -42,18 +43,12 @@ public class EmployeeService {
      * @throws EntityNotFoundException Eğer çalışan bulunamazsa
      */
     public Long getCurrentEmployeeId() {
-        String loggedInEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(loggedInEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + loggedInEmail));
-        return employee.getId();
+        return currentUser.getEmployeeId();
     }
 
 
     public UserResponse getMyProfile() {
-        String loggedInEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        Employee employee = employeeRepository.findByEmail(loggedInEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + loggedInEmail));
+        Employee employee = currentUser.getEmployee();
 
         return mapToResponse(employee);
     }
@@ -63,11 +58,8 @@ public class EmployeeService {
         // 1. GÜVENLİK: Şu an sisteme giriş yapmış kişinin emailini alıyoruz
         // (Böylece kimse başkasının ID'sini URL'den gönderip profilini değiştiremez)
         // NOT: Eğer "Authentication is null" hatası alırsan, test için JWT token ile istek atman gerekir.
-        String loggedInEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        // 2. Veritabanından bu emaile sahip çalışanı buluyoruz
-        Employee employee = employeeRepository.findByEmail(loggedInEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + loggedInEmail));
+        // 2. Bu kullanıcıya ait çalışan kaydı (istek başına bir kez yüklenir)
+        Employee employee = currentUser.getEmployee();
 
         // 3. Güncelleme işlemleri (Sadece dolu gelen alanları)
         if (request.getPhoneNumber() != null) {
@@ -1,17 +1,22 @@
 package com.cozumtr.leave_management_system.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
@@ -19,15 +24,32 @@ public class JwtService {
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm}")
     private String secretKey;
 
-    @Value("${jwt.expiration:86400000}") // 24 saat (milisaniye cinsinden)
+    @Value("${jwt.expiration:900000}") // 15 dakika (milisaniye cinsinden); oturum refresh token ile uzatılır
     private Long expiration;
 
+    // Anahtar ve parser immutable ve thread-safe; uygulama ömrü boyunca bir kez oluşturulur
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     /**
-     * Secret key'i oluşturur
+     * Secret key'i ve imza doğrulayan parser'ı oluşturur
      */
-    private SecretKey getSigningKey() {
+    @PostConstruct
+    void init() {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * İmzası ve süresi doğrulanmış token içeriği.
+     * Bir istekte token bir kez parse edilir, tüm claim'ler bu nesneden okunur.
+     * tokenId (jti) tek tek token iptali için kullanılır; eski token'larda null olabilir.
+     */
+    public record VerifiedToken(String subject, String tokenId, Long userId, Long departmentId, Set<String> roles,
+                                Date issuedAt, Date expiration) {
     }
 
     /**
@@ -37,88 +59,95 @@ public class JwtService {
      * @param roles Kullanıcı rolleri
      * @return JWT Token string'i
      */
-    public String generateToken(String email, Long userId, java.util.Set<String> roles) {
+    public String generateToken(String email, Long userId, Set<String> roles) {
+        return generateToken(email, userId, null, roles);
+    }
+
+    /**
+     * Departman bilgisini de içeren JWT Token üretir.
+     * İstek sırasında kullanıcının departmanı için veritabanına gitmeye gerek kalmaz.
+     * @param departmentId Kullanıcının departman ID'si (departmanı yoksa null)
+     */
+    public String generateToken(String email, Long userId, Long departmentId, Set<String> roles) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("email", email);
         claims.put("roles", roles);
+        if (departmentId != null) {
+            claims.put("departmentId", departmentId);
+        }
         
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Token'ı tek seferde parse eder; imza ve süre (exp) kontrolü parser tarafından yapılır.
+     *
+     * @throws io.jsonwebtoken.JwtException imza geçersiz, token bozuk veya süresi dolmuşsa
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get("userId", Long.class),
+                claims.get("departmentId", Long.class),
+                extractRoles(claims),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
     /**
      * Token'dan email'i çıkarır
      */
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
      * Token'dan userId'yi çıkarır
      */
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        return verify(token).userId();
     }
 
     /**
      * Token'dan rolleri çıkarır
      */
-    @SuppressWarnings("unchecked")
-    public java.util.Set<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof java.util.List) {
-            return new java.util.HashSet<>((java.util.List<String>) rolesObj);
-        }
-        return new java.util.HashSet<>();
+    public Set<String> extractRoles(String token) {
+        return verify(token).roles();
     }
 
     /**
-     * Token'ın geçerliliğini kontrol eder
+     * Token'ın üretilme zamanını (iat) çıkarır
      */
-    public Boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
-    }
-
-    /**
-     * Token'ın süresi dolmuş mu kontrol eder
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Token'dan expiration date'i çıkarır
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Date extractIssuedAt(String token) {
+        return verify(token).issuedAt();
     }
 
     /**
-     * Token'dan belirli bir claim'i çıkarır
+     * Token'ın geçerliliğini kontrol eder
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Boolean validateToken(String token, String email) {
+        VerifiedToken verified = verify(token);
+        return verified.subject().equals(email) && !verified.expiration().before(new Date());
     }
 
-    /**
-     * Token'dan tüm claim'leri çıkarır
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Set<String> extractRoles(Claims claims) {
+        Object rolesObj = claims.get("roles");
+        if (rolesObj instanceof Collection<?> roles) {
+            return roles.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
     }
 }
-
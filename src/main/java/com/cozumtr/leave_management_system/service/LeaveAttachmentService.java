@@ -2,11 +2,10 @@ package com.cozumtr.leave_management_system.service;
 
 import com.cozumtr.leave_management_system.entities.LeaveAttachment;
 import com.cozumtr.leave_management_system.entities.LeaveRequest;
-import com.cozumtr.leave_management_system.entities.User;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.LeaveAttachmentRepository;
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
-import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +15,6 @@ import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -41,7 +39,8 @@ public class LeaveAttachmentService {
 
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveAttachmentRepository leaveAttachmentRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
+    private final LeaveDataVersionService leaveDataVersionService;
 
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -84,6 +83,8 @@ public class LeaveAttachmentService {
 
             LeaveAttachment savedAttachment = leaveAttachmentRepository.save(attachment);
             leaveRequest.getAttachments().add(savedAttachment);
+            // Muhasebe raporundaki ek sayısı değişti
+            leaveDataVersionService.bumpDepartment(departmentIdOf(leaveRequest));
 
             return savedAttachment;
         } catch (IOException ex) {
@@ -135,26 +136,15 @@ public class LeaveAttachmentService {
     }
 
     private void authorizeOwnerOrApprover(LeaveRequest leaveRequest) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        boolean isOwner = leaveRequest.getEmployee().getEmail().equals(email);
-
-        com.cozumtr.leave_management_system.entities.User user = userRepository.findByEmployeeEmail(email)
-                .orElse(null);
-
-        boolean isHR = hasRole(user, "HR");
-        boolean isCEO = hasRole(user, "CEO");
-        boolean isManager = hasRole(user, "MANAGER");
-
-        boolean sameDepartment = user != null
-                && user.getEmployee() != null
-                && user.getEmployee().getDepartment() != null
-                && leaveRequest.getEmployee() != null
-                && leaveRequest.getEmployee().getDepartment() != null
-                && user.getEmployee().getDepartment().getId().equals(leaveRequest.getEmployee().getDepartment().getId());
+        boolean isOwner = leaveRequest.getEmployee().getEmail().equals(currentUser.getEmail());
+        if (isOwner) {
+            return;
+        }
 
-        boolean isApprover = isHR || isCEO || (isManager && sameDepartment);
+        boolean isApprover = currentUser.isHr() || currentUser.isCeo()
+                || (currentUser.isManager() && isSameDepartment(leaveRequest));
 
-        if (!isOwner && !isApprover) {
+        if (!isApprover) {
             throw new BusinessException("Bu belgeye erişim yetkiniz yok.");
         }
     }
@@ -186,9 +176,16 @@ public class LeaveAttachmentService {
                 .collect(Collectors.toSet());
     }
 
-    private boolean hasRole(User user, String roleName) {
-        if (user == null || user.getRoles() == null) return false;
-        return user.getRoles().stream().anyMatch(r -> roleName.equals(r.getRoleName()));
+    private static Long departmentIdOf(LeaveRequest leaveRequest) {
+        return leaveRequest.getEmployee() != null && leaveRequest.getEmployee().getDepartment() != null
+                ? leaveRequest.getEmployee().getDepartment().getId()
+                : null;
+    }
+
+    private boolean isSameDepartment(LeaveRequest leaveRequest) {
+        return leaveRequest.getEmployee() != null
+                && leaveRequest.getEmployee().getDepartment() != null
+                && leaveRequest.getEmployee().getDepartment().getId().equals(currentUser.getDepartmentId());
     }
 }
 
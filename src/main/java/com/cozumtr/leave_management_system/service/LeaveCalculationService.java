@@ -1,6 +1,5 @@
 package com.cozumtr.leave_management_system.service;
 
-import com.cozumtr.leave_management_system.entities.PublicHoliday;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,9 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.List;
 
 @Slf4j
 @Service
@@ -46,48 +43,25 @@ public class LeaveCalculationService {
         log.info("İzin süresi hesaplanıyor: {} - {}, Günlük mesai: {} saat", startDate, endDate, dailyWorkHours);
 
         // --- 2. VERİ HAZIRLIĞI (Performans Optimizasyonu) ---
-        // Tüm resmi tatilleri bir kere çekip List'e al
-        List<PublicHoliday> holidays = publicHolidayRepository.findHolidaysInRange(startDate, endDate);
+        // Tüm resmi tatilleri bir kere çekip takvime al
+        WorkCalendar calendar = workCalendar(startDate, endDate);
 
         // --- 3. HESAPLAMA DÖNGÜSÜ ---
+        // Hafta sonu ve tam gün tatiller 0, arife yarım gün sayılır
         BigDecimal netWorkingHours = BigDecimal.ZERO;
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            // A) Hafta Sonu Kontrolü
-            DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-            boolean isWeekend = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-
-            if (isWeekend) {
-                currentDate = currentDate.plusDays(1);
-                continue; // Hafta sonu izin sayılmaz, sonraki güne geç
-            }
-
-            // B) Resmi Tatil Kontrolü (tarih aralığında mı?)
-            final LocalDate checkDate = currentDate;
-            PublicHoliday holiday = holidays.stream()
-                    .filter(h -> !checkDate.isBefore(h.getStartDate()) && !checkDate.isAfter(h.getEndDate()))
-                    .findFirst()
-                    .orElse(null);
-
-            if (holiday != null) {
-                if (holiday.getIsHalfDay()) {
-                    // Yarım gün tatil (Arife) -> 0.5 gün * dailyWorkHours saat ekle
-                    BigDecimal halfDayHours = dailyWorkHours.multiply(new BigDecimal("0.5"));
-                    netWorkingHours = netWorkingHours.add(halfDayHours);
-                    log.debug("{} tarihi Arife günü ({} saat) olarak hesaplandı.", currentDate, halfDayHours);
-                }
-                // Tam gün tatilse hiçbir şey ekleme (0 saat sayılır).
-            }
-            // C) Normal İş Günü
-            else {
-                netWorkingHours = netWorkingHours.add(dailyWorkHours);
-            }
-
-            currentDate = currentDate.plusDays(1);
+        for (LocalDate currentDate = startDate; !currentDate.isAfter(endDate); currentDate = currentDate.plusDays(1)) {
+            netWorkingHours = netWorkingHours.add(calendar.workingHours(currentDate, dailyWorkHours));
         }
 
         log.info("Hesaplama tamamlandı. Toplam İzin: {} saat", netWorkingHours);
         return netWorkingHours;
     }
+
+    /**
+     * Tarih aralığındaki resmi tatilleri tek sorguyla yükleyip çalışma takvimi oluşturur.
+     * Gün gün hesap yapan raporlar (günlük devamsızlık, kapasite) bu takvimi kullanır.
+     */
+    public WorkCalendar workCalendar(LocalDate startDate, LocalDate endDate) {
+        return new WorkCalendar(publicHolidayRepository.findHolidaysInRange(startDate, endDate));
+    }
 }
@@ -0,0 +1,110 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.LeaveDataVersion;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import com.cozumtr.leave_management_system.repository.LeaveDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rapor önbelleği ve ETag'ler için izin verisi sürüm sayaçları ({@link LeaveDataVersion}).
+ *
+ * Her izin durum değişikliğinde (oluşturma, ara/son onay, red, iptal) talep sahibinin departman sayacı
+ * aynı transaction içinde, commit'ten hemen önce artırılır. Böylece yeni sürüm, verinin kendisiyle birlikte
+ * görünür olur; bir rapor asla okuduğu sürümden daha eski veriyle hesaplanmaz.
+ * Resmi tatil değişiklikleri tüm departmanların saatlerini etkilediği için GLOBAL sayacı artırır.
+ *
+ * Raporlarda izin talebi dışından gelen alanlar da vardır; bunları değiştiren yazma yolları da sayaç artırır:
+ * - Belge yükleme (ek sayısı): talep sahibinin departmanı,
+ * - Departman adı güncelleme/silme: ilgili departman,
+ * - İzin türü güncelleme/silme (ad, ücretli, yıllıktan düşer, belge zorunlu): GLOBAL.
+ * Çalışan adı ve departmanı yalnızca davet sırasında (henüz izni yokken) yazılır; çalışan güncelleme yolu
+ * sadece telefon/adres değiştirir ve raporlara girmez. Bu alanlar için ileride güncelleme eklenirse
+ * {@link #bumpDepartment(Long)} çağrılmalıdır.
+ *
+ * Şirket geneli sürüm tüm sayaçların toplamıdır; tek bir "sıcak" satır yerine onaylar departman
+ * satırlarında kilitlenir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveDataVersionService {
+
+    static final String GLOBAL_SCOPE = "GLOBAL";
+    private static final String DEPARTMENT_SCOPE_PREFIX = "DEPARTMENT:";
+
+    private final LeaveDataVersionRepository leaveDataVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        bump(event.departmentId() != null ? departmentScope(event.departmentId()) : GLOBAL_SCOPE);
+    }
+
+    /**
+     * Tüm departmanları etkileyen değişikliklerde (resmi tatil) çağrılır.
+     */
+    @Transactional
+    public void bumpGlobal() {
+        bump(GLOBAL_SCOPE);
+    }
+
+    /**
+     * Tek departmanın rapor verisini etkileyen değişikliklerde (belge, departman adı) çağrılır.
+     * Departmanı olmayan kayıtlar GLOBAL sayacı artırır.
+     */
+    @Transactional
+    public void bumpDepartment(Long departmentId) {
+        bump(departmentId != null ? departmentScope(departmentId) : GLOBAL_SCOPE);
+    }
+
+    /**
+     * Departmanın izin verisi sürümü (departman sayacı + GLOBAL sayacı).
+     */
+    @Transactional(readOnly = true)
+    public long departmentVersion(Long departmentId) {
+        return leaveDataVersionRepository.sumVersions(List.of(GLOBAL_SCOPE, departmentScope(departmentId)));
+    }
+
+    /**
+     * Şirket geneli izin verisi sürümü (tüm sayaçların toplamı).
+     */
+    @Transactional(readOnly = true)
+    public long globalVersion() {
+        return leaveDataVersionRepository.sumAllVersions();
+    }
+
+    private void bump(String scope) {
+        if (leaveDataVersionRepository.increment(scope) > 0) {
+            return;
+        }
+        // İlk değişiklik: satır ayrı transaction'da oluşturulur. Eşzamanlı oluşturmada birinin insert'i
+        // hata alır ama satır artık vardır; iki durumda da tekrar artırılır.
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (!leaveDataVersionRepository.existsById(scope)) {
+                    leaveDataVersionRepository.saveAndFlush(new LeaveDataVersion(scope, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Sürüm sayacı eşzamanlı oluşturuldu: {}", scope);
+        }
+        leaveDataVersionRepository.increment(scope);
+    }
+
+    private static String departmentScope(Long departmentId) {
+        return DEPARTMENT_SCOPE_PREFIX + departmentId;
+    }
+}
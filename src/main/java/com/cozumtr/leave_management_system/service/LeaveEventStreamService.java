@@ -0,0 +1,162 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * İzin talebi değişikliklerini Server-Sent Events ile bağlı kullanıcılara iletir.
+ *
+ * Dashboard ve "izinlerim" ekranları periyodik sorgu yerine {@code /api/leaves/stream} aboneliği ile
+ * sadece değişiklik olduğunda küçük bir olay alır. Kim hangi olayı görür kuralları
+ * LeaveRequestService#shouldShowRequest ile aynıdır:
+ * - Talep sahibi kendi taleplerinin tüm değişikliklerini görür,
+ * - HR ve CEO tüm talepleri görür,
+ * - MANAGER kendi departmanında sırası gelen veya tamamlanmış talepleri görür.
+ *
+ * Olaylar transaction commit edildikten sonra gönderilir; her gönderim sanal (virtual) thread üzerinde yapılır,
+ * böylece yavaş bir istemci ne isteği yapan thread'i ne de diğer aboneleri bekletir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveEventStreamService {
+
+    private static final Set<RequestStatus> COMPLETED_STATUSES = Set.of(
+            RequestStatus.APPROVED,
+            RequestStatus.REJECTED,
+            RequestStatus.CANCELLED
+    );
+
+    private final CurrentUser currentUser;
+
+    @Value("${app.leave-stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Map<SseEmitter, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Giriş yapmış kullanıcı için yeni bir olay akışı açar.
+     * Kullanıcının rolleri ve departmanı bağlantı anında bir kez okunur.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe() {
+        Subscription subscription = new Subscription(
+                currentUser.getEmployeeId(),
+                currentUser.getDepartmentId(),
+                currentUser.isHr(),
+                currentUser.isCeo(),
+                currentUser.isManager()
+        );
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscriptions.put(emitter, subscription);
+        emitter.onCompletion(() -> subscriptions.remove(emitter));
+        emitter.onTimeout(() -> {
+            subscriptions.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriptions.remove(emitter));
+
+        send(emitter, SseEmitter.event().name("connected").data("ok"));
+        log.debug("📡 İzin olay akışına abone olundu: {} (toplam abone: {})", currentUser.getEmail(), subscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * Commit edilen her izin değişikliğini görmeye yetkili abonelere iletir.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        String eventName = event.type().name().toLowerCase();
+        subscriptions.forEach((emitter, subscription) -> {
+            if (subscription.canSee(event)) {
+                dispatchExecutor.execute(() -> send(emitter, SseEmitter.event()
+                        .name(eventName)
+                        .data(event, MediaType.APPLICATION_JSON)));
+            }
+        });
+    }
+
+    /**
+     * Proxy ve load balancer'ların boşta kalan bağlantıyı kapatmaması ve
+     * kopmuş istemcilerin temizlenmesi için periyodik yorum satırı gönderir.
+     */
+    @Scheduled(fixedDelayString = "${app.leave-stream.heartbeat-ms:25000}")
+    public void sendHeartbeat() {
+        subscriptions.keySet().forEach(emitter ->
+                dispatchExecutor.execute(() -> send(emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.keySet().forEach(SseEmitter::complete);
+        subscriptions.clear();
+        dispatchExecutor.shutdownNow();
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // İstemci bağlantıyı kapatmış, aboneliği temizle
+            subscriptions.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Bir bağlantının görme kuralları (bağlantı anındaki rol ve departmana göre).
+     */
+    record Subscription(Long employeeId, Long departmentId, boolean hr, boolean ceo, boolean manager) {
+
+        boolean canSee(LeaveRequestChangedEvent event) {
+            // Talep sahibi kendi talebini her zaman görür
+            if (employeeId != null && employeeId.equals(event.employeeId())) {
+                return true;
+            }
+
+            // HR ve CEO tüm talepleri görebilir
+            if (hr || ceo) {
+                return true;
+            }
+
+            // Yönetici: sadece kendi departmanı, sırası gelen/gelmiş veya tamamlanmış talepler
+            if (manager && departmentId != null && departmentId.equals(event.departmentId())) {
+                return "MANAGER".equals(event.workflowNextApproverRole())
+                        || "MANAGER".equals(event.previousApproverRole())
+                        || COMPLETED_STATUSES.contains(event.status());
+            }
+
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.cozumtr.leave_management_system.dto.response.TeamLeaveResponseDTO;
 import com.cozumtr.leave_management_system.dto.response.LeaveApprovalHistoryResponse;
 import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
 import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
+import com.cozumtr.leave_management_system.dto.response.LeaveAbsenceHours;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.LeaveApprovalHistory;
 import com.cozumtr.leave_management_system.entities.LeaveAttachment;
@@ -15,18 +16,22 @@ import com.cozumtr.leave_management_system.entities.LeaveType;
 import com.cozumtr.leave_management_system.dto.response.ApprovalHistoryDTO;
 import com.cozumtr.leave_management_system.dto.response.AttachmentResponse;
 import com.cozumtr.leave_management_system.dto.response.ManagerLeaveResponseDTO;
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
 import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
 import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.LeaveApprovalHistoryRepository;
 import com.cozumtr.leave_management_system.repository.LeaveEntitlementRepository;
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
 import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
 import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
-import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -37,9 +42,13 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -53,17 +62,21 @@ public class LeaveRequestService {
     private final LeaveEntitlementRepository leaveEntitlementRepository;
     private final LeaveApprovalHistoryRepository leaveApprovalHistoryRepository;
     private final PublicHolidayRepository publicHolidayRepository;
-    private final UserRepository userRepository;
+    private final DailyAbsenceRepository dailyAbsenceRepository;
     private final com.cozumtr.leave_management_system.service.LeaveAttachmentService leaveAttachmentService;
     private final EmailService emailService;
+    private final ApproverDirectoryService approverDirectoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUser currentUser;
+    private final EntityManager entityManager;
+
+    private static final int STREAM_CLEAR_INTERVAL = 500;
 
     // --- İZİN TALEBİ OLUŞTURMA ---
     @Transactional
     public LeaveRequestResponse createLeaveRequest(CreateLeaveRequest request, MultipartFile file) {
         // 1. Güvenlik: Giriş yapanı bul
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + email));
+        Employee employee = currentUser.getEmployee();
 
         // 2. Tarih Kontrolü
         if (request.getEndDate().isBefore(request.getStartDate())) {
@@ -152,13 +165,7 @@ public class LeaveRequestService {
         String[] workflowRoles = workflowDefinition.split(",");
 
         // Talep sahibinin rollerini al
-        com.cozumtr.leave_management_system.entities.User employeeUser = userRepository
-                .findByEmployeeEmail(employee.getEmail())
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + employee.getEmail()));
-
-        Set<String> employeeRoles = employeeUser.getRoles().stream()
-                .map(role -> role.getRoleName())
-                .collect(java.util.stream.Collectors.toSet());
+        Set<String> employeeRoles = currentUser.getRoles();
 
         // ÖNEMLİ: Kimse kendi iznini onaylayamaz!
         // Talep sahibinin sahip olduğu en yüksek rolden sonraki ilk rol, ilk onaylayıcı olur.
@@ -231,6 +238,8 @@ public class LeaveRequestService {
             notifyNextApprover(savedRequest, firstApproverRole);
         }
 
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.of(LeaveChangeType.CREATED, savedRequest, null));
+
         return mapToResponse(savedRequest);
     }
 
@@ -243,7 +252,7 @@ public class LeaveRequestService {
     @Transactional
     public void cancelLeaveRequest(Long id) {
         // 1. Güvenlik: İşlemi yapan kim?
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        String currentEmail = currentUser.getEmail();
 
         // 2. İzni bul
         LeaveRequest request = leaveRequestRepository.findById(id)
@@ -267,9 +276,12 @@ public class LeaveRequestService {
         }
 
         // 6. İptal Et (Veritabanından silmiyoruz, durumunu güncelliyoruz -> Soft Delete mantığı)
+        String previousApproverRole = request.getWorkflowNextApproverRole();
         request.setRequestStatus(RequestStatus.CANCELLED);
         request.setWorkflowNextApproverRole("");
         leaveRequestRepository.save(request);
+
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.of(LeaveChangeType.CANCELLED, request, previousApproverRole));
     }
 
     /**
@@ -281,9 +293,7 @@ public class LeaveRequestService {
     @Transactional
     public LeaveRequestResponse approveLeaveRequest(Long requestId, String comments) {
         // 1. Güvenlik: Giriş yapan onaylayıcıyı bul
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee approver = employeeRepository.findByEmail(currentEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Onaylayıcı bulunamadı: " + currentEmail));
+        Employee approver = currentUser.getEmployee();
 
         // 2. İzin talebini bul
         LeaveRequest leaveRequest = leaveRequestRepository.findById(requestId)
@@ -301,25 +311,16 @@ public class LeaveRequestService {
         }
 
         // 4. Workflow mantığı: Bir sonraki onaycı rolünü kontrol et ve güncelle
-        // User'ı roles bilgisiyle birlikte çek
-        com.cozumtr.leave_management_system.entities.User approverUser = userRepository
-                .findByEmployeeEmail(currentEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Onaylayıcı kullanıcısı bulunamadı: " + currentEmail));
-
         String nextApproverRole = leaveRequest.getWorkflowNextApproverRole();
 
         // Kullanıcının tüm rollerini kontrol edip workflow'daki rolü bul
-        String currentRole = approverUser.getRoles().stream()
-                .map(role -> role.getRoleName())
-                .filter(roleName -> roleName.equals(nextApproverRole))
-                .findFirst()
-                .orElseThrow(() -> new BusinessException(
-                        String.format("Bu izin talebini onaylama yetkiniz yok. Beklenen rol: %s, Sizin rolleriniz: %s",
-                                nextApproverRole,
-                                approverUser.getRoles().stream()
-                                        .map(role -> role.getRoleName())
-                                        .collect(java.util.stream.Collectors.joining(", ")))
-                ));
+        Set<String> approverRoles = currentUser.getRoles();
+        if (!approverRoles.contains(nextApproverRole)) {
+            throw new BusinessException(
+                    String.format("Bu izin talebini onaylama yetkiniz yok. Beklenen rol: %s, Sizin rolleriniz: %s",
+                            nextApproverRole, String.join(", ", approverRoles)));
+        }
+        String currentRole = nextApproverRole;
 
         // ÖNEMLİ 1: Kimse kendi iznini onaylayamaz!
         if (leaveRequest.getEmployee().getId().equals(approver.getId())) {
@@ -339,9 +340,7 @@ public class LeaveRequestService {
                     "İnsan Kaynakları".equals(requestOwner.getDepartment().getName())) {
 
                 // Onaylayıcı İK departmanının yöneticisi mi?
-                Employee hrManager = requestOwner.getDepartment().getManager();
-
-                if (hrManager == null || !hrManager.getId().equals(approver.getId())) {
+                if (!currentUser.isManagerOf(requestOwner.getDepartment())) {
                     throw new BusinessException(
                             "İK çalışanlarının izin taleplerini sadece İK Yöneticisi onaylayabilir. " +
                                     "Kendi departman arkadaşlarınızın izinlerini onaylayamazsınız."
@@ -411,6 +410,8 @@ public class LeaveRequestService {
         // 7. İzin talebini kaydet
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
 
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.of(LeaveChangeType.APPROVED, leaveRequest, nextApproverRole));
+
         return mapToResponse(savedRequest);
     }
 
@@ -423,9 +424,7 @@ public class LeaveRequestService {
     @Transactional
     public LeaveRequestResponse rejectLeaveRequest(Long requestId, String comments) {
         // 1. Güvenlik: Giriş yapan onaylayıcıyı bul
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee approver = employeeRepository.findByEmail(currentEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Onaylayıcı bulunamadı: " + currentEmail));
+        Employee approver = currentUser.getEmployee();
 
         // 2. İzin talebini bul
         LeaveRequest leaveRequest = leaveRequestRepository.findById(requestId)
@@ -441,25 +440,14 @@ public class LeaveRequestService {
             throw new BusinessException("Bu izin talebi zaten reddedilmiş veya iptal edilmiş durumda.");
         } else {
             // 4. Workflow kontrolü (sadece PENDING_APPROVAL, APPROVED_HR, APPROVED_MANAGER durumları için)
-            // User'ı roles bilgisiyle birlikte çek
-            com.cozumtr.leave_management_system.entities.User approverUser = userRepository
-                    .findByEmployeeEmail(currentEmail)
-                    .orElseThrow(() -> new EntityNotFoundException("Onaylayıcı kullanıcısı bulunamadı: " + currentEmail));
-
             String nextApproverRole = leaveRequest.getWorkflowNextApproverRole();
 
             // Kullanıcının tüm rollerini kontrol edip workflow'daki rolü bul
-            boolean hasRequiredRole = approverUser.getRoles().stream()
-                    .map(role -> role.getRoleName())
-                    .anyMatch(roleName -> roleName.equals(nextApproverRole));
-
-            if (!hasRequiredRole) {
+            Set<String> approverRoles = currentUser.getRoles();
+            if (!approverRoles.contains(nextApproverRole)) {
                 throw new BusinessException(
                         String.format("Bu izin talebini reddetme yetkiniz yok. Beklenen rol: %s, Sizin rolleriniz: %s",
-                                nextApproverRole,
-                                approverUser.getRoles().stream()
-                                        .map(role -> role.getRoleName())
-                                        .collect(java.util.stream.Collectors.joining(", ")))
+                                nextApproverRole, String.join(", ", approverRoles))
                 );
             }
 
@@ -481,9 +469,7 @@ public class LeaveRequestService {
                         "İnsan Kaynakları".equals(requestOwner.getDepartment().getName())) {
 
                     // Reddeden kişi İK departmanının yöneticisi mi?
-                    Employee hrManager = requestOwner.getDepartment().getManager();
-
-                    if (hrManager == null || !hrManager.getId().equals(approver.getId())) {
+                    if (!currentUser.isManagerOf(requestOwner.getDepartment())) {
                         throw new BusinessException(
                                 "İK çalışanlarının izin taleplerini sadece İK Yöneticisi reddedebilir. " +
                                         "Kendi departman arkadaşlarınızın izinlerini reddedemezsiniz."
@@ -494,6 +480,7 @@ public class LeaveRequestService {
         }
 
         // 5. Reddet
+        String previousApproverRole = leaveRequest.getWorkflowNextApproverRole();
         leaveRequest.setRequestStatus(RequestStatus.REJECTED);
         leaveRequest.setWorkflowNextApproverRole("");
 
@@ -507,6 +494,8 @@ public class LeaveRequestService {
         String approverName = approver.getFirstName() + " " + approver.getLastName();
         emailService.sendFinalDecisionNotification(leaveRequest, false, approverName);
 
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.of(LeaveChangeType.REJECTED, leaveRequest, previousApproverRole));
+
         return mapToResponse(savedRequest);
     }
 
@@ -526,13 +515,11 @@ public class LeaveRequestService {
 
     // --- KENDİ İZİN TALEPLERİMİ LİSTELEME ---
     public List<LeaveRequestResponse> getMyLeaveRequests() {
-        // 1. Güvenlik: Giriş yapanı bul
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + email));
+        // 1. Güvenlik: Giriş yapanın ID'si (token'dan; yoksa istek başına bir kez yüklenir)
+        Long employeeId = currentUser.getEmployeeId();
 
         // 2. Kullanıcının tüm izin taleplerini getir
-        List<LeaveRequest> leaveRequests = leaveRequestRepository.findByEmployeeId(employee.getId());
+        List<LeaveRequest> leaveRequests = leaveRequestRepository.findByEmployeeId(employeeId);
 
         // 3. DTO'ya map et
         return leaveRequests.stream()
@@ -540,6 +527,20 @@ public class LeaveRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Delta senkronizasyonu: çalışanın verilen andan sonra oluşturulan veya güncellenen talepleri.
+     * since null ise tüm talepler döner (ilk senkronizasyon).
+     */
+    public List<LeaveRequestResponse> getLeaveRequestsChangedSince(Long employeeId, LocalDateTime since) {
+        List<LeaveRequest> leaveRequests = since == null
+                ? leaveRequestRepository.findByEmployeeId(employeeId)
+                : leaveRequestRepository.findByEmployeeIdUpdatedSince(employeeId, since);
+
+        return leaveRequests.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     // --- EKİP İZİN TAKİBİ (TEAM VISIBILITY) ---
     /**
      * Belirli bir çalışanın departmanındaki onaylanmış izinleri getirir.
@@ -569,15 +570,7 @@ public class LeaveRequestService {
 
     @Transactional(readOnly = true)
     public List<ManagerLeaveResponseDTO> getManagerDashboardRequests() {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        com.cozumtr.leave_management_system.entities.User currentUser = userRepository.findByEmployeeEmail(currentEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + currentEmail));
-
-        Employee currentEmployee = currentUser.getEmployee();
-
         List<String> approverRoles = currentUser.getRoles().stream()
-                .map(role -> role.getRoleName())
                 .filter(roleName -> roleName.equals("MANAGER") || roleName.equals("HR") || roleName.equals("CEO"))
                 .toList();
 
@@ -589,12 +582,13 @@ public class LeaveRequestService {
         if (approverRoles.contains("HR") || approverRoles.contains("CEO")) {
             leaveRequests = leaveRequestRepository.findByWorkflowNextApproverRoleIn(approverRoles);
         } else {
-            if (currentEmployee == null || currentEmployee.getDepartment() == null) {
+            Long departmentId = currentUser.getDepartmentId();
+            if (departmentId == null) {
                 throw new BusinessException("Departman bilgisi bulunamadı.");
             }
             leaveRequests = leaveRequestRepository.findByWorkflowNextApproverRoleInAndDepartmentId(
                     approverRoles,
-                    currentEmployee.getDepartment().getId()
+                    departmentId
             );
         }
 
@@ -611,56 +605,50 @@ public class LeaveRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Yönetici ekranındaki tüm talepleri sırayla verilen tüketiciye iletir.
+     * Talepler sorgudan akış olarak okunur ve listeye toplanmaz; yanıt doğrudan JSON olarak yazılır.
+     * Yetki ve departman kontrolleri ilk satırdan önce yapılır (hata durumunda yanıta henüz bir şey yazılmamıştır).
+     *
+     * Dikkat: tüketici yanıta yazdığı için okuma hızı istemciye bağlıdır. Transaction ve JDBC bağlantısı
+     * son satır yazılana kadar açık kalır; yavaş bir istemci bağlantıyı o kadar süre havuzdan alıkoyar.
+     */
     @Transactional(readOnly = true)
-    public List<ManagerLeaveResponseDTO> getManagerAllRequests() {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        com.cozumtr.leave_management_system.entities.User currentUser = userRepository.findByEmployeeEmail(currentEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + currentEmail));
-
-        Employee currentEmployee = currentUser.getEmployee();
-
-        boolean isHr = currentUser.getRoles().stream()
-                .anyMatch(r -> r.getRoleName().equals("HR"));
-
-        boolean isCeo = currentUser.getRoles().stream()
-                .anyMatch(r -> r.getRoleName().equals("CEO"));
-
-        boolean isManager = currentUser.getRoles().stream()
-                .anyMatch(r -> r.getRoleName().equals("MANAGER"));
+    public void forEachManagerRequest(Consumer<ManagerLeaveResponseDTO> consumer) {
+        boolean isHr = currentUser.isHr();
+        boolean isCeo = currentUser.isCeo();
+        boolean isManager = currentUser.isManager();
 
         if (!isHr && !isCeo && !isManager) {
             throw new BusinessException("Bu ekranı görüntüleme yetkiniz yok.");
         }
 
-        List<LeaveRequest> leaveRequests;
+        Stream<LeaveRequest> leaveRequests;
 
-        if (isCeo) {
-            // CEO: Tüm talepleri görebilir
-            leaveRequests = leaveRequestRepository.findAllWithDetails();
-        } else if (isHr) {
-            // HR: Tüm talepleri görebilir
-            leaveRequests = leaveRequestRepository.findAllWithDetails();
+        if (isCeo || isHr) {
+            // HR ve CEO: Tüm talepleri görebilir
+            leaveRequests = leaveRequestRepository.streamAllWithDetails();
         } else {
             // MANAGER: Sadece kendi departmanının taleplerini görebilir
-            if (currentEmployee == null || currentEmployee.getDepartment() == null) {
+            Long departmentId = currentUser.getDepartmentId();
+            if (departmentId == null) {
                 throw new BusinessException("Departman bilgisi bulunamadı.");
             }
-            leaveRequests = leaveRequestRepository.findAllByDepartmentId(currentEmployee.getDepartment().getId());
+            leaveRequests = leaveRequestRepository.streamAllByDepartmentId(departmentId);
         }
 
         // Filtreleme: Kullanıcının rolüne göre sadece ilgili talepleri göster
-        return leaveRequests.stream()
-                .filter(request -> shouldShowRequest(request, currentUser, isHr, isCeo, isManager))
-                .map(this::mapToManagerResponse)
-                .collect(Collectors.toList());
+        try (leaveRequests) {
+            forEachClearing(leaveRequests
+                    .filter(request -> shouldShowRequest(request, isHr, isCeo, isManager))
+                    .map(this::mapToManagerResponse), consumer);
+        }
     }
 
     /**
      * Bir talebin kullanıcıya gösterilip gösterilmeyeceğini belirler
      */
     private boolean shouldShowRequest(LeaveRequest request,
-                                      com.cozumtr.leave_management_system.entities.User currentUser,
                                       boolean isHr, boolean isCeo, boolean isManager) {
         String nextApproverRole = request.getWorkflowNextApproverRole();
         RequestStatus status = request.getRequestStatus();
@@ -917,11 +905,9 @@ public class LeaveRequestService {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveRequestId)
                 .orElseThrow(() -> new EntityNotFoundException("İzin talebi bulunamadı ID: " + leaveRequestId));
 
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        boolean isOwner = leaveRequest.getEmployee().getEmail().equals(currentEmail);
-        boolean isPrivileged = hasAnyRole(currentEmail, Set.of("HR", "MANAGER", "CEO"));
+        boolean isOwner = leaveRequest.getEmployee().getEmail().equals(currentUser.getEmail());
 
-        if (!isOwner && !isPrivileged) {
+        if (!isOwner && !currentUser.hasAnyRole("HR", "MANAGER", "CEO")) {
             throw new BusinessException("Bu izin talebinin geçmişini görüntüleme yetkiniz yok.");
         }
 
@@ -939,26 +925,31 @@ public class LeaveRequestService {
                 .collect(Collectors.toList());
     }
 
-    private boolean hasAnyRole(String email, Set<String> roles) {
-        return userRepository.findByEmployeeEmail(email)
-                .map(user -> user.getRoles().stream()
-                        .map(role -> role.getRoleName())
-                        .anyMatch(roles::contains))
-                .orElse(false);
-    }
-
+    /**
+     * Şu an izinde olan tüm çalışanları sırayla verilen tüketiciye iletir (akışlı, listeye toplanmaz).
+     * {@link #forEachManagerRequest} gibi JDBC bağlantısı, en yavaş istemci son satırı okuyana kadar açık kalır.
+     */
     @Transactional(readOnly = true)
-    public List<TeamLeaveResponseDTO> getCompanyCurrentApprovedLeaves() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        boolean privileged = hasAnyRole(email, Set.of("HR", "CEO"));
-        if (!privileged) {
+    public void forEachCompanyCurrentApprovedLeave(Consumer<TeamLeaveResponseDTO> consumer) {
+        if (!currentUser.hasAnyRole("HR", "CEO")) {
             throw new BusinessException("Bu işlem için yetkiniz yok.");
         }
 
-        List<LeaveRequest> leaves = leaveRequestRepository.findCurrentlyOnLeave(LocalDateTime.now());
-        return leaves.stream()
-                .map(this::mapToTeamLeaveResponse)
-                .collect(Collectors.toList());
+        try (Stream<LeaveRequest> leaves = leaveRequestRepository.streamCurrentlyOnLeave(LocalDateTime.now())) {
+            forEachClearing(leaves.map(this::mapToTeamLeaveResponse), consumer);
+        }
+    }
+
+    // Akıştan okunan entity'ler persistence context'te birikmesin: her STREAM_CLEAR_INTERVAL elemanda temizlenir.
+    // Eleman tüketiciye iletildiğinde DTO'ya dönüşmüş olduğundan entity'lere tekrar erişilmez.
+    private <T> void forEachClearing(Stream<T> items, Consumer<T> consumer) {
+        int count = 0;
+        for (Iterator<T> iterator = items.iterator(); iterator.hasNext(); ) {
+            consumer.accept(iterator.next());
+            if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
     }
 
     private void ensureRequiredDocumentIfNeeded(LeaveRequest leaveRequest) {
@@ -971,58 +962,57 @@ public class LeaveRequestService {
         }
     }
 
+    /**
+     * Şirket geneli sprint çakışma raporu (departman belirtilmeden girilen tarih aralığı için).
+     */
+    @Transactional(readOnly = true)
+    public SprintOverlapReportDTO generateSprintOverlapReport(LocalDateTime sprintStart, LocalDateTime sprintEnd) {
+        return generateSprintOverlapReport(sprintStart, sprintEnd, null);
+    }
+
     /**
      * Sprint çakışma raporu oluşturur.
      * Verilen sprint tarih aralığı ile çakışan onaylanmış izinleri bulur ve
      * toplam kapasite kaybını (saat olarak) hesaplar.
      *
+     * Çakışma saatleri izin başına hesaplanmaz; günlük devamsızlık tablosundan ({@code daily_absence})
+     * sprint günleriyle sınırlı tek bir toplama sorgusuyla okunur.
+     *
+     * Departman verilirse (sprint'in departmanı) sadece o departmanın izinleri sorgulanır;
+     * verilmezse (manuel tarih aralığı) tüm şirketin izinleri raporlanır.
+     *
      * @param sprintStart Sprint başlangıç tarihi
      * @param sprintEnd Sprint bitiş tarihi
+     * @param departmentId Sprint'in departmanı (null ise şirket geneli)
      * @return SprintOverlapReportDTO
      */
     @Transactional(readOnly = true)
-    public SprintOverlapReportDTO generateSprintOverlapReport(LocalDateTime sprintStart, LocalDateTime sprintEnd) {
+    public SprintOverlapReportDTO generateSprintOverlapReport(LocalDateTime sprintStart, LocalDateTime sprintEnd,
+                                                              Long departmentId) {
         // 1. Çakışan onaylı izinleri bul
-        List<LeaveRequest> overlappingLeaves = leaveRequestRepository.findOverlappingApprovedLeaves(
-                sprintStart, sprintEnd
-        );
+        List<LeaveRequest> overlappingLeaves = departmentId != null
+                ? leaveRequestRepository.findApprovedDepartmentLeavesInRange(departmentId, sprintStart, sprintEnd)
+                : leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd);
+
+        // 2. İzin başına sprint günlerine düşen saatler (çakışma aralığı tarih filtresiyle kırpılır)
+        Map<Long, BigDecimal> hoursByLeave = overlappingLeaves.isEmpty()
+                ? Map.of()
+                : (departmentId != null
+                        ? dailyAbsenceRepository.sumHoursByLeaveRequestForDepartment(
+                                departmentId, sprintStart.toLocalDate(), sprintEnd.toLocalDate())
+                        : dailyAbsenceRepository.sumHoursByLeaveRequest(sprintStart.toLocalDate(), sprintEnd.toLocalDate()))
+                        .stream()
+                        .collect(Collectors.toMap(LeaveAbsenceHours::leaveRequestId, LeaveAbsenceHours::hours));
 
-        // 2. Toplam kayıp saati ve detay listesini hesapla
         List<OverlappingLeaveDetailDTO> detailList = overlappingLeaves.stream()
                 .map(leaveRequest -> {
-                    // a. Çakışma aralığını belirle (MAX ve MIN tarih karşılaştırması)
-                    // Gerçek çakışma başlangıcı: İzin başlangıcı ve sprint başlangıcından daha GEÇ olan (MAX)
-                    // Mantık: İki tarihten hangisi daha geç ise o kullanılır
-                    // Örnek: İzin 5 Ocak, Sprint 10 Ocak → MAX(5 Ocak, 10 Ocak) = 10 Ocak
-                    LocalDateTime overlapStart = leaveRequest.getStartDateTime().isAfter(sprintStart)
-                            ? leaveRequest.getStartDateTime()  // İzin daha geç başlıyorsa izin başlangıcı
-                            : sprintStart;                      // Sprint daha geç başlıyorsa sprint başlangıcı
-
-                    // Gerçek çakışma bitişi: İzin bitişi ve sprint bitişinden daha ERKEN olan (MIN)
-                    // Mantık: İki tarihten hangisi daha erken ise o kullanılır
-                    // Örnek: İzin 25 Ocak, Sprint 20 Ocak → MIN(25 Ocak, 20 Ocak) = 20 Ocak
-                    LocalDateTime overlapEnd = leaveRequest.getEndDateTime().isBefore(sprintEnd)
-                            ? leaveRequest.getEndDateTime()    // İzin daha erken bitiyorsa izin bitişi
-                            : sprintEnd;                        // Sprint daha erken bitiyorsa sprint bitişi
-
-                    // b. Çakışma aralığı için net çalışma saatini hesapla
                     Employee employee = leaveRequest.getEmployee();
-                    BigDecimal overlappingHours = leaveCalculationService.calculateDuration(
-                            overlapStart.toLocalDate(),
-                            overlapEnd.toLocalDate(),
-                            employee.getDailyWorkHours()
-                    );
-
-                    // c. DTO oluştur
-                    String employeeFullName = employee.getFirstName() + " " + employee.getLastName();
-                    String leaveTypeName = leaveRequest.getLeaveType().getName();
-
                     return OverlappingLeaveDetailDTO.builder()
-                            .employeeFullName(employeeFullName)
-                            .leaveTypeName(leaveTypeName)
+                            .employeeFullName(employee.getFirstName() + " " + employee.getLastName())
+                            .leaveTypeName(leaveRequest.getLeaveType().getName())
                             .leaveStartDate(leaveRequest.getStartDateTime())
                             .leaveEndDate(leaveRequest.getEndDateTime())
-                            .overlappingHours(overlappingHours)
+                            .overlappingHours(hoursByLeave.getOrDefault(leaveRequest.getId(), BigDecimal.ZERO))
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -1049,7 +1039,7 @@ public class LeaveRequestService {
      */
     private void notifyNextApprover(LeaveRequest leaveRequest, String approverRole) {
         try {
-            List<com.cozumtr.leave_management_system.entities.User> approvers;
+            List<String> approverEmails;
 
             // MANAGER rolü için departman bazlı filtreleme
             if ("MANAGER".equals(approverRole)) {
@@ -1061,37 +1051,31 @@ public class LeaveRequestService {
                 }
 
                 Long departmentId = employee.getDepartment().getId();
-                approvers = userRepository.findActiveUsersByRoleAndDepartment(approverRole, departmentId);
+                approverEmails = approverDirectoryService.getApproverEmails(approverRole, departmentId);
 
                 log.debug("🔍 MANAGER bildirimi: Departman ID={}, Bulunan manager sayısı={}",
-                        departmentId, approvers.size());
+                        departmentId, approverEmails.size());
             } else {
                 // HR, CEO gibi roller için tüm kullanıcıları bul
-                approvers = userRepository.findActiveUsersByRole(approverRole);
+                approverEmails = approverDirectoryService.getApproverEmails(approverRole, null);
 
                 log.debug("🔍 {} bildirimi: Bulunan kullanıcı sayısı={}",
-                        approverRole, approvers.size());
+                        approverRole, approverEmails.size());
             }
 
-            if (approvers.isEmpty()) {
+            if (approverEmails.isEmpty()) {
                 log.warn("⚠️ Rol '{}' için aktif onaycı bulunamadı. Email bildirimi gönderilemedi. Talep: #{}",
                         approverRole, leaveRequest.getId());
                 return;
             }
 
             // Tüm onaycılara bildirim gönder
-            for (com.cozumtr.leave_management_system.entities.User approver : approvers) {
-                if (approver.getEmployee() != null && approver.getEmployee().getEmail() != null) {
-                    emailService.sendApprovalNotification(
-                            approver.getEmployee().getEmail(),
-                            leaveRequest,
-                            approverRole
-                    );
-                }
+            for (String approverEmail : approverEmails) {
+                emailService.sendApprovalNotification(approverEmail, leaveRequest, approverRole);
             }
 
             log.info("✅ {} adet '{}' rolündeki onaycıya bildirim gönderildi. Talep: #{}",
-                    approvers.size(), approverRole, leaveRequest.getId());
+                    approverEmails.size(), approverRole, leaveRequest.getId());
         } catch (Exception e) {
             log.error("❌ Onaycıya bildirim gönderilirken hata oluştu: {}", e.getMessage(), e);
             // Email hatası kritik değil, işlem devam etsin
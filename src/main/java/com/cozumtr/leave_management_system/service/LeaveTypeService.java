@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class LeaveTypeService {
 
     private final LeaveTypeRepository leaveTypeRepository;
+    private final LeaveDataVersionService leaveDataVersionService;
 
     /**
      * Aktif tüm izin türlerini listeler.
@@ -30,6 +32,23 @@ public class LeaveTypeService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Delta senkronizasyonu: verilen andan sonra oluşturulan veya güncellenen aktif izin türleri.
+     */
+    public List<LeaveTypeResponse> getActiveLeaveTypesChangedSince(LocalDateTime since) {
+        return leaveTypeRepository.findByUpdatedAtAfterAndIsActiveTrue(since).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Delta senkronizasyonu: verilen andan sonra pasife alınan izin türlerinin ID'leri.
+     * İstemci bu ID'leri yerel listesinden siler.
+     */
+    public List<Long> getDeactivatedLeaveTypeIdsSince(LocalDateTime since) {
+        return leaveTypeRepository.findDeactivatedIdsSince(since);
+    }
+
     /**
      * Tüm izin türlerini listeler (aktif ve pasif).
      */
@@ -97,6 +116,8 @@ public class LeaveTypeService {
         leaveType.setRequestUnit(request.getRequestUnit());
 
         LeaveType updated = leaveTypeRepository.save(leaveType);
+        // İzin türü bilgileri tüm departmanların raporlarında yer alır
+        leaveDataVersionService.bumpGlobal();
         return mapToResponse(updated);
     }
 
@@ -110,6 +131,7 @@ public class LeaveTypeService {
 
         leaveType.setIsActive(false);
         leaveTypeRepository.save(leaveType);
+        leaveDataVersionService.bumpGlobal();
     }
 
     private LeaveTypeResponse mapToResponse(LeaveType leaveType) {
@@ -0,0 +1,376 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.cache.InvalidatableCache;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Başarısız giriş denemelerini bellekte sayan brute-force koruması.
+ *
+ * Her başarısız deneme bir bellek işlemidir; {@code users.failed_login_attempts} periyodik olarak, kullanıcı
+ * başına tek yazma ile güncellenir ve denetim kaydı flush aralığı başına tek satıra indirgenerek
+ * {@link AuthAuditWriter}'a verilir. Böylece bir saldırı dalgası satır kilitlerine ve yazma fırtınasına dönüşmez.
+ *
+ * Kilitleme kuralı değişmedi: art arda {@value #MAX_FAILED_ATTEMPTS} başarısız denemede hesap kilitlenir ve
+ * şifre sıfırlanana kadar kilitli kalır. Kilitlenme anı (yeniden başlatma ve diğer düğümler için) hemen yazılır.
+ *
+ * Ayrıca IP başına kayan pencere (sliding window) sayacı tutulur; pencere içinde çok sayıda başarısız deneme yapan
+ * IP, şifre doğrulamasına (BCrypt) hiç ulaşmadan reddedilir. IP, proxy arkasında {@code X-Forwarded-For}'dan
+ * çözülür ({@code server.forward-headers-strategy=native}).
+ *
+ * Sayaçlar düğüm başınadır ve paylaşılmaz: çok düğümlü kurulumda bir IP en fazla
+ * (düğüm sayısı × {@code ip-max-failures}) deneme yapabilir; hesap başına sayaç da flush edilene kadar
+ * düğümler arasında birleşmez. Kesin sınır gereken tek karar olan hesap kilidi veritabanına hemen yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "login-attempts";
+    public static final int MAX_FAILED_ATTEMPTS = 5;
+
+    private static final int MAX_AUDIT_IPS = 16;
+    // Bir flush aralığında bu kadar başarısız deneme "MULTIPLE_FAILURES" olarak işaretlenir
+    private static final int ALERT_FAILURES = 3;
+
+    private final UserRepository userRepository;
+    private final AuthAuditWriter authAuditWriter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Kayan pencere süresi (auth_audit_log analizindeki 15 dakika ile aynı)
+    @Value("${app.security.login-attempts.window-ms:900000}")
+    private long windowMs;
+
+    @Value("${app.security.login-attempts.ip-max-failures:100}")
+    private int ipMaxFailures;
+
+    // Kayıtlı olmayan email'ler ve IP'ler için takip edilecek azami anahtar sayısı (bellek sınırı)
+    @Value("${app.security.login-attempts.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    private final Map<String, AccountAttempts> attemptsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindow> failuresByIp = new ConcurrentHashMap<>();
+    private final Map<String, AuditBatch> pendingAudit = new ConcurrentHashMap<>();
+
+    /**
+     * Kullanıcının güncel art arda başarısız deneme sayısı (henüz yazılmamış denemeler dahil).
+     */
+    public int failedAttempts(User user) {
+        String email = user.getEmployee().getEmail();
+        AccountAttempts attempts = attemptsByEmail.get(email);
+        if (attempts != null) {
+            synchronized (attempts) {
+                if (!attempts.removed) {
+                    return attempts.total();
+                }
+            }
+        }
+        return user.getFailedLoginAttempts();
+    }
+
+    /**
+     * IP kayan pencere içinde izin verilenden fazla başarısız deneme yaptı mı?
+     */
+    public boolean isIpBlocked(String ip) {
+        if (ip == null) {
+            return false;
+        }
+        SlidingWindow window = failuresByIp.get(ip);
+        return window != null && window.count(System.currentTimeMillis()) >= ipMaxFailures;
+    }
+
+    /**
+     * Başarısız denemeyi bellekte kaydeder.
+     *
+     * @param user kayıtlı kullanıcı; email sistemde yoksa null
+     * @return kullanıcının art arda başarısız deneme sayısı
+     */
+    public int recordFailure(String email, User user, String ip) {
+        long now = System.currentTimeMillis();
+        if (ip != null) {
+            SlidingWindow ipWindow = track(failuresByIp, ip, () -> new SlidingWindow(windowMs));
+            if (ipWindow != null) {
+                ipWindow.increment(now);
+            }
+        }
+
+        int failedAttempts = 1;
+        boolean locked = false;
+        if (user != null) {
+            AccountAttempts attempts;
+            while (true) {
+                attempts = attemptsByEmail.computeIfAbsent(email,
+                        key -> new AccountAttempts(user.getId(), user.getFailedLoginAttempts()));
+                synchronized (attempts) {
+                    if (attempts.removed) {
+                        continue; // Bu arada temizlendi: güncel değerle yeniden oluştur
+                    }
+                    attempts.pending++;
+                    attempts.lastAttempt = LocalDateTime.now();
+                    failedAttempts = attempts.total();
+                    if (failedAttempts >= MAX_FAILED_ATTEMPTS) {
+                        // Kilit kalıcı olmalı: diğer düğümler ve yeniden başlatma sonrası da geçerli
+                        persist(attempts);
+                        locked = true;
+                    }
+                }
+                break;
+            }
+            user.setFailedLoginAttempts(failedAttempts);
+        }
+
+        AuditBatch batch = track(pendingAudit, email, () -> new AuditBatch(user != null ? user.getId() : null));
+        if (batch != null) {
+            batch.add(ip, locked);
+        }
+        return failedAttempts;
+    }
+
+    /**
+     * Başarılı girişte bellekteki sayacı temizler. Veritabanındaki sayaç çağıran tarafından sıfırlanır.
+     */
+    public void recordSuccess(String email) {
+        reset(email);
+    }
+
+    /**
+     * Sayaç veritabanında sıfırlandığında (başarılı giriş, şifre sıfırlama/değiştirme) bellekteki sayacı
+     * yazılmamış denemeleriyle birlikte bırakır; bu denemeler sıfırlanan sayaca eklenmemelidir.
+     */
+    public void reset(String email) {
+        clear(email, false);
+    }
+
+    /**
+     * Şifre sıfırlama/değiştirme gibi hesap değişikliklerinde sayaç tüm düğümlerde veritabanından yeniden okunur.
+     */
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.email() != null) {
+            cacheInvalidationBus.publish(CACHE_NAME, event.email());
+        }
+    }
+
+    /**
+     * Bekleyen denemeleri kullanıcı başına tek UPDATE ile yazar, denetim kayıtlarını yazıcıya verir ve
+     * boşta kalan sayaçları bellekten siler.
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-attempts.flush-ms:5000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        LocalDateTime idleBefore = LocalDateTime.now().minusNanos(windowMs * 1_000_000);
+        attemptsByEmail.forEach((email, attempts) -> {
+            synchronized (attempts) {
+                if (attempts.pending > 0) {
+                    persist(attempts);
+                } else if (!attempts.removed && attempts.isIdleSince(idleBefore)) {
+                    attempts.removed = true;
+                    attemptsByEmail.remove(email, attempts);
+                }
+            }
+        });
+        failuresByIp.values().removeIf(window -> window.count(now) == 0);
+        flushAudit();
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Sayacı bellekten siler; bir sonraki denemede veritabanından yeniden okunur.
+     * Yazılmamış denemeler önce yazılır: önbellek geçersizleştirmesi (hesap değişikliği, LISTEN yeniden bağlantısı)
+     * brute-force denemelerini silmemelidir.
+     */
+    @Override
+    public void evict(String email) {
+        clear(email, true);
+    }
+
+    @Override
+    public void evictAll() {
+        attemptsByEmail.keySet().forEach(email -> clear(email, true));
+    }
+
+    private void clear(String email, boolean persistPending) {
+        AccountAttempts attempts = attemptsByEmail.get(email);
+        if (attempts == null) {
+            return;
+        }
+        synchronized (attempts) {
+            if (persistPending) {
+                persist(attempts);
+                if (attempts.pending > 0) {
+                    // Yazılamadı: denemeler kaybolmasın diye sayaç bellekte kalır, flush tekrar dener
+                    return;
+                }
+            }
+            attempts.removed = true;
+            attemptsByEmail.remove(email, attempts);
+        }
+    }
+
+    // Çağıran attempts üzerinde senkronize olmalı
+    private void persist(AccountAttempts attempts) {
+        if (attempts.pending == 0) {
+            return;
+        }
+        try {
+            userRepository.addFailedLoginAttempts(attempts.userId, attempts.pending, attempts.lastAttempt);
+            attempts.persisted += attempts.pending;
+            attempts.pending = 0;
+        } catch (DataAccessException e) {
+            // Sayaç bellekte kalır, bir sonraki flush'ta tekrar denenir
+            log.warn("⚠️ Başarısız giriş sayacı yazılamadı (kullanıcı {}): {}", attempts.userId, e.getMessage());
+        }
+    }
+
+    private void flushAudit() {
+        for (String email : pendingAudit.keySet()) {
+            AuditBatch batch = pendingAudit.remove(email);
+            if (batch != null) {
+                batch.writeTo(email, authAuditWriter);
+            }
+        }
+    }
+
+    /**
+     * Anahtar için kaydı getirir/oluşturur; azami anahtar sayısına ulaşıldıysa yeni anahtar takip edilmez (null).
+     */
+    private <T> T track(Map<String, T> map, String key, Supplier<T> factory) {
+        T existing = map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (map.size() >= maxTrackedKeys) {
+            return null;
+        }
+        return map.computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     * Bir kullanıcının art arda başarısız deneme sayacı: veritabanındaki değer + henüz yazılmamış denemeler.
+     */
+    private static final class AccountAttempts {
+        private final Long userId;
+        private int persisted;
+        private int pending;
+        private LocalDateTime lastAttempt;
+        private boolean removed;
+
+        private AccountAttempts(Long userId, int persisted) {
+            this.userId = userId;
+            this.persisted = persisted;
+        }
+
+        private int total() {
+            return persisted + pending;
+        }
+
+        private boolean isIdleSince(LocalDateTime idleBefore) {
+            return lastAttempt == null || lastAttempt.isBefore(idleBefore);
+        }
+    }
+
+    /**
+     * Bir flush aralığında bir email için biriken denetim bilgisi; tek satır olarak yazılır.
+     */
+    private static final class AuditBatch {
+        private final Long userId;
+        private int failures;
+        private String lastIp;
+        private final Set<String> ips = new HashSet<>();
+        private boolean locked;
+
+        private AuditBatch(Long userId) {
+            this.userId = userId;
+        }
+
+        private synchronized void add(String ip, boolean locked) {
+            failures++;
+            if (ip != null) {
+                lastIp = ip;
+                if (ips.size() < MAX_AUDIT_IPS) {
+                    ips.add(ip);
+                }
+            }
+            this.locked |= locked;
+        }
+
+        // Eski trg_log_login_attempt analizi: çoklu hata ve farklı IP'ler detaylara işaretlenir
+        private synchronized void writeTo(String email, AuthAuditWriter writer) {
+            StringBuilder details = new StringBuilder("{\"coalesced_attempts\": ").append(failures)
+                    .append(", \"distinct_ips\": ").append(ips.size());
+            if (failures >= ALERT_FAILURES) {
+                details.append(", \"security_alert\": \"MULTIPLE_FAILURES\"");
+            }
+            if (ips.size() > 1) {
+                details.append(", \"geo_anomaly\": true");
+            }
+            details.append('}');
+            writer.record(email, userId, AuthAuditWriter.LOGIN_FAILURE, lastIp, "BAD_CREDENTIALS", details.toString());
+            if (locked) {
+                writer.record(email, userId, AuthAuditWriter.ACCOUNT_LOCKED, lastIp,
+                        MAX_FAILED_ATTEMPTS + " başarısız deneme", null);
+            }
+        }
+    }
+
+    /**
+     * Dakika dilimli (bucket) kayan pencere sayacı; bellek kullanımı pencere uzunluğundan bağımsızdır.
+     */
+    static final class SlidingWindow {
+        private static final int BUCKETS = 15;
+
+        private final long bucketMs;
+        private final int[] counts = new int[BUCKETS];
+        private final long[] epochs = new long[BUCKETS];
+
+        SlidingWindow(long windowMs) {
+            this.bucketMs = Math.max(1, windowMs / BUCKETS);
+        }
+
+        synchronized int increment(long nowMillis) {
+            long epoch = nowMillis / bucketMs;
+            int index = (int) (epoch % BUCKETS);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                counts[index] = 0;
+            }
+            counts[index]++;
+            return sum(epoch);
+        }
+
+        synchronized int count(long nowMillis) {
+            return sum(nowMillis / bucketMs);
+        }
+
+        private int sum(long epoch) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (epoch - epochs[i] < BUCKETS) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +26,7 @@ public class PublicHolidayService {
 
     private final PublicHolidayRepository publicHolidayRepository;
     private final HolidayTemplateRepository holidayTemplateRepository;
+    private final DailyAbsenceService dailyAbsenceService;
 
     /**
      * Tüm resmi tatilleri listeler.
@@ -36,6 +38,22 @@ public class PublicHolidayService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Delta senkronizasyonu: verilen andan sonra oluşturulan veya güncellenen aktif tatiller.
+     */
+    public List<PublicHolidayResponse> getActiveHolidaysChangedSince(LocalDateTime since) {
+        return publicHolidayRepository.findByUpdatedAtAfterAndIsActiveTrue(since).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Delta senkronizasyonu: verilen andan sonra pasife alınan tatillerin ID'leri.
+     */
+    public List<Long> getDeactivatedHolidayIdsSince(LocalDateTime since) {
+        return publicHolidayRepository.findDeactivatedIdsSince(since);
+    }
+
     /**
      * Belirli bir yıla ait resmi tatilleri getirir.
      */
@@ -96,6 +114,7 @@ public class PublicHolidayService {
         publicHoliday.setIsActive(true);
 
         PublicHoliday saved = publicHolidayRepository.save(publicHoliday);
+        dailyAbsenceService.rebuildRange(saved.getStartDate(), saved.getEndDate());
         return mapToResponse(saved);
     }
 
@@ -141,6 +160,7 @@ public class PublicHolidayService {
         }
 
         List<PublicHoliday> saved = publicHolidayRepository.saveAll(holidays);
+        saved.forEach(holiday -> dailyAbsenceService.rebuildRange(holiday.getStartDate(), holiday.getEndDate()));
         return saved.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
@@ -161,6 +181,8 @@ public class PublicHolidayService {
                 });
 
         LocalDate endDate = request.getEndDate() != null ? request.getEndDate() : request.getStartDate();
+        LocalDate previousStart = publicHoliday.getStartDate();
+        LocalDate previousEnd = publicHoliday.getEndDate();
 
         publicHoliday.setName(request.getName());
         publicHoliday.setStartDate(request.getStartDate());
@@ -169,6 +191,12 @@ public class PublicHolidayService {
         publicHoliday.setIsHalfDay(request.getIsHalfDay());
 
         PublicHoliday updated = publicHolidayRepository.save(publicHoliday);
+
+        // Eski ve yeni tarihlerdeki onaylı izinlerin günlük kayıtları değişir
+        dailyAbsenceService.rebuildRange(updated.getStartDate(), updated.getEndDate());
+        if (!previousStart.equals(updated.getStartDate()) || !previousEnd.equals(updated.getEndDate())) {
+            dailyAbsenceService.rebuildRange(previousStart, previousEnd);
+        }
         return mapToResponse(updated);
     }
 
@@ -182,6 +210,7 @@ public class PublicHolidayService {
 
         publicHoliday.setIsActive(false);
         publicHolidayRepository.save(publicHoliday);
+        dailyAbsenceService.rebuildRange(publicHoliday.getStartDate(), publicHoliday.getEndDate());
     }
 
     private PublicHolidayResponse mapToResponse(PublicHoliday publicHoliday) {
@@ -0,0 +1,168 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.RefreshToken;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Dönüşümlü (rotating) refresh token yönetimi.
+ *
+ * Access token'lar kısa ömürlüdür (dakikalar); oturum refresh token ile uzatılır:
+ * - Her girişte yeni bir token ailesi başlar.
+ * - Her yenilemede sunulan token tüketilir ve aynı aileden yeni bir token döner.
+ * - Tüketilmiş bir token tekrar sunulursa (çalınmış token) ailenin tamamı iptal edilir; hem saldırgan
+ *   hem de gerçek kullanıcı tekrar giriş yapmak zorunda kalır.
+ *
+ * Veritabanında sadece token'ın SHA-256 özeti saklanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 gün (milisaniye cinsinden)
+    private long refreshTokenLifetimeMs;
+
+    /**
+     * Yenileme sonucu: token sahibinin ID'si ve yeni refresh token.
+     */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    /**
+     * Yeni bir oturum (token ailesi) başlatır.
+     *
+     * @return istemciye verilecek refresh token
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString(), LocalDateTime.now());
+    }
+
+    /**
+     * Refresh token'ı tüketir ve aynı aileden yenisini üretir.
+     * Tekrar kullanım tespitinde aile iptali kalıcı olmalı; bu yüzden hata fırlatılsa da işlem geri alınmaz.
+     *
+     * @throws BusinessException token geçersiz, süresi dolmuş, iptal edilmiş veya daha önce kullanılmışsa
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BusinessException("Geçersiz veya süresi dolmuş oturum"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null) {
+            throw new BusinessException("Oturum sonlandırılmış. Lütfen tekrar giriş yapın.");
+        }
+        if (current.getUsedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("🚨 Kullanılmış refresh token tekrar sunuldu, oturum ailesi iptal edildi: kullanıcı={}, aile={}, {} token",
+                    current.getUserId(), current.getFamilyId(), revoked);
+            throw new BusinessException("Oturum sonlandırılmış. Lütfen tekrar giriş yapın.");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BusinessException("Geçersiz veya süresi dolmuş oturum");
+        }
+
+        current.setUsedAt(now);
+        refreshTokenRepository.save(current);
+        return new Rotation(current.getUserId(), create(current.getUserId(), current.getFamilyId(), now));
+    }
+
+    /**
+     * Çıkışta refresh token'ın ailesini iptal eder. Bilinmeyen token sessizce yok sayılır.
+     * Refresh token'ın kendisi oturumu kanıtlar; access token'ı süresi dolmuş istemci de çıkış yapabilir.
+     *
+     * @param expectedUserId geçerli bir access token da gönderildiyse onun kullanıcısı, yoksa null
+     * @return token sahibinin ID'si (bilinmeyen token için null)
+     * @throws BusinessException token access token'daki kullanıcıya ait değilse
+     */
+    @Transactional
+    public Long revokeFamily(String rawToken, Long expectedUserId) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken)).orElse(null);
+        if (token == null) {
+            return null;
+        }
+        if (expectedUserId != null && !expectedUserId.equals(token.getUserId())) {
+            log.warn("⚠️ Çıkışta başka kullanıcıya ait refresh token sunuldu: kullanıcı={}, token sahibi={}",
+                    expectedUserId, token.getUserId());
+            throw new BusinessException("Geçersiz veya süresi dolmuş oturum");
+        }
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+        return token.getUserId();
+    }
+
+    /**
+     * Şifre değişikliği, pasifleştirme vb. hesap değişikliklerinde kullanıcının tüm oturumlarını sonlandırır.
+     */
+    @EventListener
+    @Transactional
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        int revoked = refreshTokenRepository.revokeAllByUserId(event.userId(), LocalDateTime.now());
+        if (revoked > 0) {
+            log.info("🔒 Hesap değişikliği: kullanıcı {} için {} refresh token iptal edildi", event.userId(), revoked);
+        }
+    }
+
+    /**
+     * Süresi dolmuş refresh token kayıtlarını siler.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-prune-ms:600000}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("🧹 Süresi dolmuş {} refresh token silindi", deleted);
+        }
+    }
+
+    private String create(Long userId, String familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUserId(userId);
+        refreshToken.setIssuedAt(now);
+        refreshToken.setExpiresAt(now.plusNanos(refreshTokenLifetimeMs * 1_000_000));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
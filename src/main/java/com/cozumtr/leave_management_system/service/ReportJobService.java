@@ -0,0 +1,402 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.request.AccountingReportRequest;
+import com.cozumtr.leave_management_system.dto.response.ReportJobResponse;
+import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
+import com.cozumtr.leave_management_system.entities.ReportJob;
+import com.cozumtr.leave_management_system.enums.ReportJobStatus;
+import com.cozumtr.leave_management_system.enums.ReportJobType;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.exception.TooManyRequestsException;
+import com.cozumtr.leave_management_system.repository.ReportJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.PathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Büyük Excel raporları için asenkron iş motoru.
+ *
+ * İstemci raporu ister ve hemen bir iş kimliği alır; rapor sınırlı bir işçi havuzunda üretilip rapor deposuna
+ * ({@code app.reports.dir}) yazılır. İlerleme sorgulanabilir, biten dosya Range destekli olarak indirilir.
+ * Birden fazla düğümde indirme isteği herhangi bir düğüme düşebileceği için depo tüm düğümlerin bağladığı
+ * paylaşımlı bir dizin olmalıdır; işte dosya yolu depoya göre göreli saklanır.
+ *
+ * Aynı rapor tipi ve parametrelerle TTL içinde gelen istekler (ör. aynı ayın export'unu isteyen on yönetici)
+ * yeni iş açmaz, mevcut işi paylaşır. Düğüm içinde bu kesindir; düğümler arasında eşzamanlı iki istek nadiren
+ * iki iş açabilir (sonuç aynıdır, yalnızca iş tekrarlanır). Yetki kontrolleri iş açılmadan önce istek
+ * thread'inde yapılır; işler kullanıcıya bağlı veri ({@code CurrentUser}) kullanmaz.
+ *
+ * İş kuyruğu düğümün belleğinde tutulur. Her iş onu açan düğüme aittir ve düğüm, süren işlerinin kirasını
+ * ({@code heartbeatAt}) periyodik olarak tazeler. Yeniden başlayan düğüm yalnızca kendi yarım kalan işlerini,
+ * kira süresi dolan işleri ise (sahibi düşmüş) herhangi bir düğüm FAILED olarak işaretler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    public static final String POOL_NAME = "report-jobs";
+
+    private static final Set<ReportJobStatus> REUSABLE_STATUSES =
+            EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING, ReportJobStatus.COMPLETED);
+    private static final Set<ReportJobStatus> ACTIVE_STATUSES =
+            EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+    private static final int PROGRESS_STARTED = 5;
+    private static final int PROGRESS_DATA_LOADED = 40;
+    private static final int PROGRESS_WRITTEN = 95;
+
+    private final ReportJobRepository reportJobRepository;
+    private final AccountingReportService accountingReportService;
+    private final LeaveRequestService leaveRequestService;
+    private final SprintOverlapExportService sprintOverlapExportService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reports.dir:reports}")
+    private String reportsDir;
+
+    @Value("${app.reports.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.reports.queue-capacity:20}")
+    private int queueCapacity;
+
+    // Tekilleştirme penceresi ve biten dosyaların saklanma süresi
+    @Value("${app.reports.job-ttl-ms:3600000}")
+    private long jobTtlMs;
+
+    // Boşsa makine adı kullanılır; yeniden başlatmada aynı kalmalıdır
+    @Value("${app.reports.node-id:}")
+    private String nodeId;
+
+    // Sahibi bu süre boyunca heartbeat göndermeyen QUEUED/RUNNING işler FAILED sayılır
+    @Value("${app.reports.lease-ms:120000}")
+    private long leaseMs;
+
+    private ThreadPoolExecutor executor;
+    private Path storeDir;
+
+    // Bu düğümde kuyrukta bekleyen veya çalışan işler (heartbeat bunlar için gönderilir)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rapor üretim adımı: veriyi yükler, dosyayı akışa yazar ve aşamaları bildirir.
+     */
+    @FunctionalInterface
+    interface ReportTask {
+        void run(OutputStream out, IntConsumer progress) throws IOException;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        storeDir = Paths.get(reportsDir, "jobs").toAbsolutePath().normalize();
+        Files.createDirectories(storeDir);
+        if (!StringUtils.hasText(nodeId)) {
+            nodeId = InetAddress.getLocalHost().getHostName();
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, POOL_NAME + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, POOL_NAME);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Muhasebe raporu işi. Tarihler istek thread'inde doğrulanır.
+     */
+    public ReportJobResponse submitAccountingReport(AccountingReportRequest request, String requestedBy) {
+        accountingReportService.validate(request);
+        String parameters = String.join("|", request.getType().name(),
+                request.getStartDate().toString(), request.getEndDate().toString(),
+                String.valueOf(request.getDepartmentId()), String.valueOf(request.getEmployeeId()));
+
+        return submit(ReportJobType.ACCOUNTING_LEAVES, parameters, "leave-report.xlsx", requestedBy,
+                (out, progress) -> {
+                    try (StreamingSheetWriter sheet = accountingReportService.buildExcel(request)) {
+                        progress.accept(PROGRESS_DATA_LOADED);
+                        sheet.writeTo(out);
+                    }
+                });
+    }
+
+    /**
+     * Sprint çakışma raporu işi.
+     */
+    public ReportJobResponse submitSprintOverlapReport(LocalDate startDate, LocalDate endDate, String sprintName,
+                                                       Long departmentId, String requestedBy) {
+        String parameters = String.join("|", startDate.toString(), endDate.toString(), sprintName,
+                String.valueOf(departmentId));
+        String fileName = "Sprint_Cakisma_Raporu_" + sprintName.replaceAll("[^a-zA-Z0-9]", "_") + ".xlsx";
+
+        return submit(ReportJobType.SPRINT_OVERLAP, parameters, fileName, requestedBy,
+                (out, progress) -> {
+                    SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
+                            startDate.atStartOfDay(), endDate.atTime(23, 59, 59), departmentId);
+                    progress.accept(PROGRESS_DATA_LOADED);
+                    sprintOverlapExportService.writeExcel(report, sprintName, startDate, endDate, out);
+                });
+    }
+
+    public ReportJob findJob(String jobId) {
+        return reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Rapor işi bulunamadı: " + jobId));
+    }
+
+    /**
+     * Biten işin dosyası. Range istekleri Spring MVC tarafından bu kaynak üzerinden karşılanır.
+     */
+    public Resource getResult(ReportJob job) {
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new BusinessException("Rapor henüz hazır değil (durum: " + job.getStatus() + ")");
+        }
+        Path path = resultPath(job);
+        if (!Files.exists(path)) {
+            if (!nodeId.equals(job.getOwnerNode())) {
+                log.warn("⚠️ {} düğümünün ürettiği rapor {} bu düğümde yok: app.reports.dir paylaşımlı olmalı",
+                        job.getOwnerNode(), job.getId());
+            }
+            throw new BusinessException("Rapor dosyası bulunamadı veya süresi dolmuş.");
+        }
+        return new PathResource(path);
+    }
+
+    /**
+     * Bu düğümün önceki çalışmasından yarım kalan işler tamamlanamaz (kuyruk bellekteydi).
+     * Diğer düğümlerin işlerine dokunulmaz.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int failed = reportJobRepository.failOwnedBy(nodeId, ACTIVE_STATUSES,
+                "Sunucu yeniden başlatıldı, lütfen raporu tekrar isteyin.", LocalDateTime.now());
+        if (failed > 0) {
+            log.warn("⚠️ Yeniden başlatma nedeniyle {} rapor işi yarıda kaldı ({})", failed, nodeId);
+        }
+    }
+
+    /**
+     * Bu düğümde süren işlerin kirasını tazeler.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.heartbeat-ms:30000}")
+    public void heartbeat() {
+        if (!inFlight.isEmpty()) {
+            reportJobRepository.touchHeartbeat(Set.copyOf(inFlight), ACTIVE_STATUSES, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Sahibi kira süresince heartbeat göndermemiş işleri FAILED işaretler; süresi dolan işleri ve
+     * dosyalarını siler.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-ms:600000}")
+    public void cleanupExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int stale = reportJobRepository.failStale(ACTIVE_STATUSES, now.minus(Duration.ofMillis(leaseMs)),
+                "Raporu üreten sunucu yanıt vermiyor, lütfen raporu tekrar isteyin.", now);
+        if (stale > 0) {
+            log.warn("⚠️ Sahibi yanıt vermeyen {} rapor işi FAILED işaretlendi", stale);
+        }
+
+        List<ReportJob> expired = reportJobRepository.findByExpiresAtBefore(now);
+        for (ReportJob job : expired) {
+            if (job.getStatus() == ReportJobStatus.QUEUED || job.getStatus() == ReportJobStatus.RUNNING) {
+                continue;
+            }
+            if (job.getFilePath() != null) {
+                deleteQuietly(resultPath(job));
+            }
+            reportJobRepository.delete(job);
+        }
+        if (!expired.isEmpty()) {
+            log.debug("🧹 Süresi dolmuş {} rapor işi silindi", expired.size());
+        }
+    }
+
+    // Aynı parametrelerle eşzamanlı gelen istekler tek iş açsın diye senkronize
+    synchronized ReportJobResponse submit(ReportJobType type, String parameters, String fileName,
+                                          String requestedBy, ReportTask task) {
+        String parametersHash = sha256(type.name() + ":" + parameters);
+        LocalDateTime now = LocalDateTime.now();
+
+        ReportJob existing = reportJobRepository
+                .findFirstByParametersHashAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+                        parametersHash, REUSABLE_STATUSES, now.minus(Duration.ofMillis(jobTtlMs)))
+                .orElse(null);
+        if (existing != null) {
+            log.info("📄 Rapor işi paylaşıldı: {} ({})", existing.getId(), type);
+            return toResponse(existing);
+        }
+
+        ReportJob job = new ReportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setReportType(type);
+        job.setParametersHash(parametersHash);
+        job.setParameters(parameters);
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setFileName(fileName);
+        job.setRequestedBy(requestedBy);
+        job.setCreatedAt(now);
+        job.setExpiresAt(now.plus(Duration.ofMillis(jobTtlMs)));
+        job.setOwnerNode(nodeId);
+        job.setHeartbeatAt(now);
+        ReportJob saved = reportJobRepository.save(job);
+        // Yanıt işçi işi değiştirmeden önce alınır
+        ReportJobResponse response = toResponse(saved);
+
+        inFlight.add(saved.getId());
+        try {
+            executor.execute(() -> run(saved, task));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(saved.getId());
+            reportJobRepository.delete(saved);
+            throw new TooManyRequestsException("Rapor kuyruğu dolu. Lütfen biraz sonra tekrar deneyin.", 30);
+        }
+        log.info("📄 Rapor işi kuyruğa alındı: {} ({})", saved.getId(), type);
+        return response;
+    }
+
+    private void run(ReportJob job, ReportTask task) {
+        String fileName = job.getId() + ".xlsx";
+        Path target = storeDir.resolve(fileName);
+        Path partial = storeDir.resolve(fileName + ".part");
+        // Her kayıt yeni version'lı kopya döner; sonraki kayıtlar bu kopya üzerinden yapılır
+        AtomicReference<ReportJob> current = new AtomicReference<>(job);
+        try {
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setProgress(PROGRESS_STARTED);
+            job.setHeartbeatAt(LocalDateTime.now());
+            current.set(reportJobRepository.save(job));
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                task.run(out, progress -> current.set(updateProgress(current.get(), progress)));
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LocalDateTime completedAt = LocalDateTime.now();
+            ReportJob completed = current.get();
+            completed.setProgress(100);
+            completed.setFilePath(fileName);
+            completed.setFileSize(Files.size(target));
+            completed.setStatus(ReportJobStatus.COMPLETED);
+            completed.setCompletedAt(completedAt);
+            completed.setExpiresAt(completedAt.plus(Duration.ofMillis(jobTtlMs)));
+            reportJobRepository.save(completed);
+            log.info("✅ Rapor işi tamamlandı: {} ({} bayt)", completed.getId(), completed.getFileSize());
+        } catch (OptimisticLockingFailureException e) {
+            // İş bu arada FAILED işaretlendi (kira süresi doldu): sonuç yazılmaz, iş FAILED kalır
+            deleteQuietly(partial);
+            deleteQuietly(target);
+            log.warn("⚠️ Rapor işi başka bir düğümde sonlandırılmış, sonuç atıldı: {}", job.getId());
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            ReportJob failed = current.get();
+            failed.setStatus(ReportJobStatus.FAILED);
+            failed.setCompletedAt(LocalDateTime.now());
+            failed.setErrorMessage(e instanceof BusinessException
+                    ? e.getMessage()
+                    : "Rapor oluşturulamadı, lütfen tekrar deneyin.");
+            try {
+                reportJobRepository.save(failed);
+            } catch (OptimisticLockingFailureException ignored) {
+                // Zaten FAILED işaretlenmiş
+            }
+            log.error("❌ Rapor işi başarısız: {}", failed.getId(), e);
+        } finally {
+            inFlight.remove(job.getId());
+        }
+    }
+
+    private ReportJob updateProgress(ReportJob job, int progress) {
+        job.setProgress(Math.min(progress, PROGRESS_WRITTEN));
+        job.setHeartbeatAt(LocalDateTime.now());
+        return reportJobRepository.save(job);
+    }
+
+    // Eski kayıtlarda mutlak yol olabilir; Path.resolve mutlak yolu olduğu gibi döner
+    private Path resultPath(ReportJob job) {
+        return storeDir.resolve(job.getFilePath());
+    }
+
+    public ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .reportType(job.getReportType())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ Rapor dosyası silinemedi: {}", path);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
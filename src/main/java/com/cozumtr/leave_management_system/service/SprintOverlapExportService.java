@@ -0,0 +1,133 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.SingleFlight;
+import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
+import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+/**
+ * Sprint çakışma raporunun Excel çıktısı.
+ * Satırlar {@link StreamingSheetWriter} ile yanıt akışına yazılır; workbook bellekte byte dizisi olarak tutulmaz.
+ * Rapor verisi ({@link SprintOverlapReportDTO}) ise bellekte bir liste olarak tutulur: satır sayısı sprint
+ * aralığında çakışan onaylı izinlerle (departman kapsamında bir sprint için en fazla birkaç yüz) sınırlıdır.
+ * Şirket geneli büyük aralıklar için muhasebe raporundaki gibi cursor ile besleme gerekir.
+ *
+ * Sprint başında aynı sprint için eşzamanlı gelen export isteklerinde rapor verisinin yüklenmesi
+ * {@link SingleFlight} ile birleştirilir: rapor bir kez yüklenir, bekleyen istekler aynı rapor nesnesini alır.
+ * Excel her istek için ayrı ayrı kendi yanıt akışına yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class SprintOverlapExportService {
+
+    private static final String[] HEADERS = {"Çalışan Adı", "İzin Türü", "İzin Başlangıç", "İzin Bitiş", "Çakışan Saat"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final MeterRegistry meterRegistry;
+
+    private final SingleFlight<String, SprintOverlapReportDTO> reportLoads = new SingleFlight<>();
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("reports.sprint_overlap.export", reportLoads, SingleFlight::executions)
+                .description("Export için yüklenen sprint çakışma raporları")
+                .tag("result", "generated")
+                .register(meterRegistry);
+        FunctionCounter.builder("reports.sprint_overlap.export", reportLoads, SingleFlight::shared)
+                .description("Süren bir yüklemenin raporunu paylaşan export istekleri")
+                .tag("result", "shared")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Export edilecek raporu yükler. Aynı anahtarla yükleme sürerken gelen istekler yeni sorgu
+     * başlatmaz, süren yüklemenin raporunu (veya hatasını) bekler. Rapor salt okunur paylaşılır.
+     *
+     * @param key          raporu belirleyen parametreler (sprint, tarih aralığı, departman)
+     * @param reportLoader rapor verisini yükler (sadece yüklemeyi başlatan istekte çağrılır)
+     */
+    public SprintOverlapReportDTO loadShared(String key, Supplier<SprintOverlapReportDTO> reportLoader) {
+        return reportLoads.execute(key, reportLoader);
+    }
+
+    /**
+     * Raporu Excel olarak verilen akışa yazar. Akış kapatılmaz.
+     */
+    public void writeExcel(SprintOverlapReportDTO report, String sprintName,
+                           LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (StreamingSheetWriter writer = new StreamingSheetWriter("Sprint Çakışma Raporu", HEADERS.length)) {
+            Workbook workbook = writer.workbook();
+            CellStyle headerStyle = headerStyle(workbook);
+            CellStyle dataStyle = bordered(workbook.createCellStyle());
+            CellStyle totalStyle = totalStyle(workbook);
+
+            // Başlık ve sprint bilgileri
+            writer.writeRow(headerStyle, "Sprint Çakışma Raporu");
+            writer.writeRow(null, "Sprint:", sprintName);
+            writer.writeRow(null, "Tarih Aralığı:", startDate.format(DATE_FORMAT) + " - " + endDate.format(DATE_FORMAT));
+            writer.skipRow();
+
+            // Toplam kayıp saati
+            writer.writeRow(totalStyle, "Toplam Kapasite Kaybı:", report.getTotalLossHours(), "saat");
+            writer.skipRow();
+
+            // Tablo
+            writer.writeRow(headerStyle, (Object[]) HEADERS);
+            for (OverlappingLeaveDetailDTO leave : report.getOverlappingLeaves()) {
+                writer.writeRow(dataStyle,
+                        leave.getEmployeeFullName(),
+                        leave.getLeaveTypeName(),
+                        leave.getLeaveStartDate().format(DATE_TIME_FORMAT),
+                        leave.getLeaveEndDate().format(DATE_TIME_FORMAT),
+                        leave.getOverlappingHours());
+            }
+            writer.writeTo(out);
+        }
+    }
+
+    private static CellStyle headerStyle(Workbook workbook) {
+        CellStyle style = bordered(workbook.createCellStyle());
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    private static CellStyle totalStyle(Workbook workbook) {
+        CellStyle style = bordered(workbook.createCellStyle());
+        Font font = workbook.createFont();
+        font.setBold(true);
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    private static CellStyle bordered(CellStyle style) {
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        return style;
+    }
+}
@@ -0,0 +1,168 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.DepartmentSprintOverlapReportDTO;
+import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
+import com.cozumtr.leave_management_system.dto.response.SprintOverlapItemDTO;
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.Sprint;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Bir departmanın tarih aralığındaki tüm sprint'leri için izin çakışma raporu.
+ *
+ * Sprint'ler ve departmanın onaylı izinleri birer sorguyla başlangıç tarihine göre sıralı yüklenir
+ * (her izin bir kez) ve tek geçişte (sweep line) eşleştirilir: sprint'ler sırayla ilerlerken başlamış
+ * izinler bitiş tarihine göre bir öncelik kuyruğuna eklenir, sprint başlamadan bitmiş olanlar kuyruktan
+ * atılır; kuyrukta kalanlar sprint ile çakışır. Maliyet O((S+L) log(S+L)) + çakışma sayısıdır.
+ *
+ * Çakışma saatleri tek sprint raporuyla aynı şekilde {@code daily_absence} tablosundan alınır.
+ */
+@Service
+@RequiredArgsConstructor
+public class SprintOverlapReportService {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final SprintRepository sprintRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final DailyAbsenceRepository dailyAbsenceRepository;
+    private final CurrentUser currentUser;
+
+    @Transactional(readOnly = true)
+    public DepartmentSprintOverlapReportDTO generateDepartmentReport(Long departmentId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        checkAccess(departmentId);
+
+        List<Sprint> sprints = sprintRepository.findByDepartmentIdInRange(departmentId, from, to);
+        List<SprintOverlapItemDTO> items = new ArrayList<>(sprints.size());
+        if (!sprints.isEmpty()) {
+            // Aralığın kenarından taşan sprint'ler de tam hesaplanır
+            LocalDate rangeStart = sprints.get(0).getStartDate();
+            LocalDate rangeEnd = sprints.stream().map(Sprint::getEndDate).max(Comparator.naturalOrder()).orElseThrow();
+
+            List<LeaveRequest> leaves = leaveRequestRepository.findApprovedDepartmentLeavesInRange(
+                    departmentId, rangeStart.atStartOfDay(), rangeEnd.atTime(23, 59, 59));
+            Map<Long, TreeMap<LocalDate, BigDecimal>> hoursByLeave = leaves.isEmpty()
+                    ? Map.of()
+                    : dailyHoursByLeave(dailyAbsenceRepository.findByEmployeeDepartmentInRange(
+                            departmentId, rangeStart, rangeEnd));
+
+            PriorityQueue<LeaveRequest> active = new PriorityQueue<>(
+                    Comparator.comparing(LeaveRequest::getEndDateTime));
+            int next = 0;
+            for (Sprint sprint : sprints) {
+                LocalDateTime sprintStart = sprint.getStartDate().atStartOfDay();
+                LocalDateTime sprintEnd = sprint.getEndDate().atTime(23, 59, 59);
+
+                while (next < leaves.size() && !leaves.get(next).getStartDateTime().isAfter(sprintEnd)) {
+                    active.add(leaves.get(next++));
+                }
+                while (!active.isEmpty() && active.peek().getEndDateTime().isBefore(sprintStart)) {
+                    active.poll();
+                }
+
+                List<LeaveRequest> overlapping = new ArrayList<>();
+                for (LeaveRequest leaveRequest : active) {
+                    // Sprint'ler iç içe olabilir: önceki (daha geç biten) sprint için eklenenler burada elenir
+                    if (!leaveRequest.getStartDateTime().isAfter(sprintEnd)) {
+                        overlapping.add(leaveRequest);
+                    }
+                }
+                overlapping.sort(Comparator.comparing(LeaveRequest::getStartDateTime));
+                items.add(toItem(sprint, overlapping, hoursByLeave));
+            }
+        }
+
+        return DepartmentSprintOverlapReportDTO.builder()
+                .departmentId(departmentId)
+                .from(from)
+                .to(to)
+                .sprints(items)
+                .build();
+    }
+
+    private static SprintOverlapItemDTO toItem(Sprint sprint, List<LeaveRequest> overlapping,
+                                               Map<Long, TreeMap<LocalDate, BigDecimal>> hoursByLeave) {
+        List<OverlappingLeaveDetailDTO> details = new ArrayList<>(overlapping.size());
+        BigDecimal totalLossHours = BigDecimal.ZERO;
+        for (LeaveRequest leaveRequest : overlapping) {
+            BigDecimal hours = BigDecimal.ZERO;
+            TreeMap<LocalDate, BigDecimal> days = hoursByLeave.get(leaveRequest.getId());
+            if (days != null) {
+                for (BigDecimal dayHours : days.subMap(sprint.getStartDate(), true, sprint.getEndDate(), true).values()) {
+                    hours = hours.add(dayHours);
+                }
+            }
+            Employee employee = leaveRequest.getEmployee();
+            details.add(OverlappingLeaveDetailDTO.builder()
+                    .employeeFullName(employee.getFirstName() + " " + employee.getLastName())
+                    .leaveTypeName(leaveRequest.getLeaveType().getName())
+                    .leaveStartDate(leaveRequest.getStartDateTime())
+                    .leaveEndDate(leaveRequest.getEndDateTime())
+                    .overlappingHours(hours)
+                    .build());
+            totalLossHours = totalLossHours.add(hours);
+        }
+        return SprintOverlapItemDTO.builder()
+                .sprintId(sprint.getId())
+                .sprintName(sprint.getName())
+                .startDate(sprint.getStartDate())
+                .endDate(sprint.getEndDate())
+                .totalLossHours(totalLossHours)
+                .overlappingLeaves(details)
+                .build();
+    }
+
+    // İzin -> gün -> saat (sprint sınırlarına göre kırpmak için güne göre sıralı)
+    private static Map<Long, TreeMap<LocalDate, BigDecimal>> dailyHoursByLeave(List<DailyAbsence> rows) {
+        Map<Long, TreeMap<LocalDate, BigDecimal>> result = new HashMap<>();
+        for (DailyAbsence row : rows) {
+            result.computeIfAbsent(row.getLeaveRequestId(), id -> new TreeMap<>())
+                    .merge(row.getAbsenceDate(), row.getHours(), BigDecimal::add);
+        }
+        return result;
+    }
+
+    /**
+     * HR ve CEO tüm departmanları, MANAGER sadece kendi departmanını görür.
+     * Önbellekten dönülen yanıtlardan önce de çağrılır.
+     */
+    public void checkAccess(Long departmentId) {
+        if (currentUser.hasAnyRole("HR", "CEO")) {
+            return;
+        }
+        if (!departmentId.equals(currentUser.getDepartmentId())) {
+            throw new BusinessException("Sadece kendi departmanınızın sprint raporunu görüntüleyebilirsiniz");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("Bitiş tarihi başlangıç tarihinden önce olamaz");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Tarih aralığı en fazla " + MAX_RANGE_DAYS + " gün olabilir");
+        }
+    }
+}
@@ -4,15 +4,13 @@ import com.cozumtr.leave_management_system.dto.request.CreateSprintRequest;
 import com.cozumtr.leave_management_system.dto.request.UpdateSprintRequest;
 import com.cozumtr.leave_management_system.dto.response.SprintResponse;
 import com.cozumtr.leave_management_system.entities.Department;
-import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.Sprint;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.DepartmentRepository;
-import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +22,7 @@ import java.util.stream.Collectors;
 public class SprintService {
 
     private final SprintRepository sprintRepository;
-    private final EmployeeRepository employeeRepository;
+    private final CurrentUser currentUser;
     private final DepartmentRepository departmentRepository;
 
     /**
@@ -34,15 +32,19 @@ public class SprintService {
      * @throws BusinessException Eğer kullanıcı bulunamazsa veya departmanı yoksa
      */
     private Long getCurrentManagerDepartmentId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("Kullanıcı bulunamadı: " + email));
+        Long departmentId;
+        try {
+            // Token'daki departmentId; yoksa istek başına bir kez veritabanından okunur
+            departmentId = currentUser.getDepartmentId();
+        } catch (EntityNotFoundException e) {
+            throw new BusinessException(e.getMessage());
+        }
         
-        if (employee.getDepartment() == null) {
+        if (departmentId == null) {
             throw new BusinessException("Kullanıcının departman bilgisi bulunamadı.");
         }
         
-        return employee.getDepartment().getId();
+        return departmentId;
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Büyük listeleri JSON dizisi olarak doğrudan yanıt akışına yazan yazıcı.
+ *
+ * Elemanlar geldikçe serileştirilir; liste bellekte toplanmaz ve bellek kullanımı eleman sayısından bağımsızdır.
+ * Serileştirme uygulamanın {@link ObjectMapper} ayarlarıyla (tarih formatı vb.) yapılır, çıktı liste dönen
+ * endpoint'lerle aynıdır. İsteğe bağlı olarak dizi tek alanlı bir nesneye sarılabilir ({@code {"rows": [...]}}).
+ *
+ * Dizi yalnızca {@link #finish()} ile kapatılır: yazım yarıda kesilirse istemci geçerli ama eksik bir liste
+ * yerine bozuk JSON alır ve hatayı fark eder. Alttaki akış kapatılmaz.
+ */
+public final class StreamingJsonArrayWriter<T> implements AutoCloseable {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final String fieldName;
+    private boolean started;
+
+    public StreamingJsonArrayWriter(ObjectMapper objectMapper, Class<T> type, OutputStream out) throws IOException {
+        this(objectMapper, type, out, null);
+    }
+
+    /**
+     * @param fieldName dizinin sarılacağı alan adı (null ise çıplak dizi yazılır)
+     */
+    public StreamingJsonArrayWriter(ObjectMapper objectMapper, Class<T> type, OutputStream out, String fieldName)
+            throws IOException {
+        this.generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // close() açık diziyi kendiliğinden kapatmamalı (yarım yanıt tamamlanmış gibi görünmesin)
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        // Eleman başına flush yapılmaz; üreteç tamponu doldukça akışa yazar
+        this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Sıradaki elemanı yazar. Stream/lambda içinden çağrılabilmesi için G/Ç hatası
+     * {@link UncheckedIOException} olarak fırlatılır.
+     */
+    public void write(T value) {
+        try {
+            start();
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Diziyi (ve sarmalayan nesneyi) kapatır ve tamponu akışa boşaltır.
+     */
+    public void finish() throws IOException {
+        start();
+        generator.writeEndArray();
+        if (fieldName != null) {
+            generator.writeEndObject();
+        }
+        generator.flush();
+    }
+
+    // Açılış ilk elemanda yazılır: ilk elemandan önce oluşan hata (yetki vb.) yanıta hiçbir şey yazmamış olur
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (fieldName != null) {
+            generator.writeStartObject();
+            generator.writeFieldName(fieldName);
+        }
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
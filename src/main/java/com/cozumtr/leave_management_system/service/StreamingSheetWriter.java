@@ -0,0 +1,111 @@
+package com.cozumtr.leave_management_system.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Tek sayfalık Excel raporları için akışlı (SXSSF) yazıcı.
+ *
+ * Bellekte en fazla {@value #ROW_WINDOW} satır tutulur; pencereden çıkan satırlar geçici dosyaya yazılır.
+ * {@code autoSizeColumn} tüm hücreleri ölçtüğü (ve akışlı sayfada pencere dışını göremediği) için kullanılmaz:
+ * sütun genişlikleri ilk {@value #WIDTH_SAMPLE_ROWS} satırdaki en uzun değerden hesaplanır.
+ * Yazıcının heap kullanımı satır sayısından bağımsızdır (geçici dosya boyutu değildir); toplam bellek ise
+ * satırları sağlayan kaynağa bağlıdır: satırlar cursor'dan verilirse sabit kalır, listeden verilirse liste kadardır.
+ */
+public final class StreamingSheetWriter implements AutoCloseable {
+
+    static final int ROW_WINDOW = 100;
+    static final int WIDTH_SAMPLE_ROWS = 200;
+
+    // Excel sütun genişliği 1/256 karakter biriminde, en fazla 255 karakter
+    private static final int MAX_WIDTH_CHARS = 255;
+    private static final int WIDTH_PADDING_CHARS = 3;
+
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final int[] maxChars;
+    private int rowNum;
+
+    public StreamingSheetWriter(String sheetName, int columnCount) {
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+        this.maxChars = new int[columnCount];
+    }
+
+    /**
+     * Stil tanımlamak için alttaki çalışma kitabı.
+     */
+    public Workbook workbook() {
+        return workbook;
+    }
+
+    /**
+     * Sıradaki satırı yazar. Değer tipine göre (Number, Boolean, diğerleri metin) hücre oluşturulur;
+     * null değerler boş hücre olarak bırakılır.
+     *
+     * @param style tüm hücrelere uygulanacak stil (null olabilir)
+     */
+    public Row writeRow(CellStyle style, Object... values) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.createCell(i);
+            Object value = values[i];
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+            } else if (value != null) {
+                cell.setCellValue(value.toString());
+            }
+            if (style != null) {
+                cell.setCellStyle(style);
+            }
+            if (rowNum <= WIDTH_SAMPLE_ROWS && i < maxChars.length) {
+                maxChars[i] = Math.max(maxChars[i], displayLength(value));
+            }
+        }
+        return row;
+    }
+
+    public void skipRow() {
+        rowNum++;
+    }
+
+    /**
+     * Sütun genişliklerini uygular ve çalışma kitabını verilen akışa yazar. Akış kapatılmaz.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < maxChars.length; i++) {
+            int chars = Math.min(MAX_WIDTH_CHARS, maxChars[i] + WIDTH_PADDING_CHARS);
+            sheet.setColumnWidth(i, chars * 256);
+        }
+        workbook.write(out);
+    }
+
+    /**
+     * Geçici dosyaları siler.
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private static int displayLength(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 4 : 5; // TRUE / FALSE
+        }
+        return value.toString().length();
+    }
+}
@@ -0,0 +1,133 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.LeaveBalanceResponse;
+import com.cozumtr.leave_management_system.dto.response.LeaveRequestResponse;
+import com.cozumtr.leave_management_system.dto.response.LeaveTypeResponse;
+import com.cozumtr.leave_management_system.dto.response.SyncResponse;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.LeaveEntitlementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Mobil/yavaş bağlantılı istemciler için delta senkronizasyonu.
+ *
+ * Tüm entity'lerdeki {@code updated_at} sütunu üzerinden, imleçten sonra oluşturulan, güncellenen
+ * veya pasife alınan (soft delete) kayıtları döner: kendi izin talepleri, izin türleri, resmi tatiller
+ * ve bakiyeler. İmleç yoksa tam senkronizasyon yapılır.
+ *
+ * Yeni imleç, sorgudan önceki an eksi güvenlik penceresidir. Böylece commit'i bu isteği geçen
+ * (updated_at değeri imleçten küçük kalan) transaction'lar bir sonraki istekte yine yakalanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private static final String CURSOR_PREFIX = "v1:";
+
+    private final EmployeeService employeeService;
+    private final LeaveRequestService leaveRequestService;
+    private final LeaveTypeService leaveTypeService;
+    private final PublicHolidayService publicHolidayService;
+    private final LeaveEntitlementService leaveEntitlementService;
+    private final LeaveEntitlementRepository leaveEntitlementRepository;
+
+    @Value("${app.sync.safety-window-ms:30000}")
+    private long safetyWindowMs;
+
+    /**
+     * Giriş yapan kullanıcı için imleçten sonraki değişiklikleri döner.
+     *
+     * @param cursor önceki cevaptaki imleç; null/boş ise tam senkronizasyon
+     * @throws BusinessException imleç çözülemezse
+     */
+    @Transactional
+    public SyncResponse sync(String cursor) {
+        LocalDateTime serverNow = LocalDateTime.now();
+        LocalDateTime since = decodeCursor(cursor);
+        if (since != null && since.isAfter(serverNow)) {
+            since = serverNow;
+        }
+
+        Long employeeId = employeeService.getCurrentEmployeeId();
+        String nextCursor = encodeCursor(serverNow.minusNanos(safetyWindowMs * 1_000_000L));
+
+        if (since == null) {
+            return SyncResponse.builder()
+                    .cursor(nextCursor)
+                    .fullSync(true)
+                    .leaveRequests(leaveRequestService.getLeaveRequestsChangedSince(employeeId, null))
+                    .leaveTypes(leaveTypeService.getAllActiveLeaveTypes())
+                    .removedLeaveTypeIds(List.of())
+                    .holidays(publicHolidayService.getAllPublicHolidays())
+                    .removedHolidayIds(List.of())
+                    .balances(leaveEntitlementService.getAllEmployeeLeaveBalances(employeeId))
+                    .build();
+        }
+
+        List<LeaveRequestResponse> leaveRequests = leaveRequestService.getLeaveRequestsChangedSince(employeeId, since);
+        List<LeaveTypeResponse> leaveTypes = leaveTypeService.getActiveLeaveTypesChangedSince(since);
+        List<Long> removedLeaveTypeIds = leaveTypeService.getDeactivatedLeaveTypeIdsSince(since);
+
+        // Saatlik/mazeret bakiyeleri taleplerden dinamik hesaplanır; talep, tür veya hak değiştiyse bakiyeler yeniden gönderilir
+        boolean balancesChanged = !leaveRequests.isEmpty()
+                || !leaveTypes.isEmpty()
+                || !removedLeaveTypeIds.isEmpty()
+                || since.getYear() != serverNow.getYear()
+                || leaveEntitlementRepository.existsByEmployeeIdAndUpdatedAtAfter(employeeId, since);
+        List<LeaveBalanceResponse> balances = balancesChanged
+                ? leaveEntitlementService.getAllEmployeeLeaveBalances(employeeId)
+                : null;
+
+        log.debug("🔄 Delta senkronizasyonu: çalışan={}, since={}, talep={}, tür={}, bakiye değişti={}",
+                employeeId, since, leaveRequests.size(), leaveTypes.size(), balancesChanged);
+
+        return SyncResponse.builder()
+                .cursor(nextCursor)
+                .fullSync(false)
+                .leaveRequests(leaveRequests)
+                .leaveTypes(leaveTypes)
+                .removedLeaveTypeIds(removedLeaveTypeIds)
+                .holidays(publicHolidayService.getActiveHolidaysChangedSince(since))
+                .removedHolidayIds(publicHolidayService.getDeactivatedHolidayIdsSince(since))
+                .balances(balances)
+                .build();
+    }
+
+    /**
+     * İmleç formatı: Base64URL("v1:" + epoch millis). İstemci için opaktır; format değişirse önek artırılır.
+     */
+    static String encodeCursor(LocalDateTime timestamp) {
+        long epochMillis = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + epochMillis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LocalDateTime decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BusinessException("Geçersiz senkronizasyon imleci");
+            }
+            long epochMillis = Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException de IllegalArgumentException'dır
+            throw new BusinessException("Geçersiz senkronizasyon imleci");
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.BloomFilter;
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.cache.InvalidatableCache;
+import com.cozumtr.leave_management_system.entities.RevokedToken;
+import com.cozumtr.leave_management_system.enums.TokenRevocationReason;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kalıcı JWT iptal listesi.
+ *
+ * İptal edilen token'lar {@code revoked_tokens} tablosunda tutulur; her düğüm bunları bellekte bir Bloom filtresi
+ * ve kesin bir küme (jti -> bitiş anı) olarak yansıtır. Her istekteki "iptal edilmemiş" kontrolü tek bir filtre
+ * yoklamasıdır; filtre "olabilir" derse kesin küme kontrol edilir. Veritabanına istek yolunda hiç gidilmez.
+ *
+ * - Çıkış (logout) sadece o token'ın jti'sini iptal eder.
+ * - Hesap değişiklikleri (şifre sıfırlama/değiştirme, pasifleştirme ...) kullanıcının o ana kadar üretilmiş tüm
+ *   token'larını iptal eden bir kayıt oluşturur; bu kayıtlar {@link AccountRevocationService}'e aktarılır.
+ *
+ * Yeni kayıtlar {@link CacheInvalidationBus} ile diğer düğümlere hemen iletilir; ayrıca kaçırılan mesajlara karşı
+ * tablo periyodik olarak artımlı (revoked_at imleci ile) okunur. Süresi dolan kayıtlar tablodan ve bellekten silinir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "token-revocation";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final AccountRevocationService accountRevocationService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${jwt.expiration:900000}")
+    private long tokenLifetimeMs;
+
+    @Value("${app.security.token-revocation.expected-size:100000}")
+    private long expectedSize;
+
+    @Value("${app.security.token-revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // Farklı düğümlerin saat farkı ve geç commit edilen kayıtlar için imlecin geriye kaydırılacağı süre
+    @Value("${app.security.token-revocation.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    // jti -> token'ın bitiş anı (epoch saniye)
+    private final Map<String, Long> expiresAtByJti = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private volatile LocalDateTime refreshedUpTo;
+
+    /**
+     * Token jti'si iptal listesinde mi? Eski (jti içermeyen) token'lar için false döner.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+        return expiresAtByJti.containsKey(jti);
+    }
+
+    /**
+     * Tek bir token'ı iptal eder (çıkış). Kayıt token'ın bitiş anına kadar tutulur.
+     */
+    @Transactional
+    public void revokeToken(String jti, String subject, Date expiration) {
+        if (jti == null) {
+            log.warn("⚠️ jti içermeyen token iptal edilemez, süresi dolana kadar geçerli kalacak: {}", subject);
+            return;
+        }
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            RevokedToken revokedToken = new RevokedToken();
+            revokedToken.setJti(jti);
+            revokedToken.setSubject(subject);
+            revokedToken.setReason(TokenRevocationReason.LOGOUT);
+            revokedToken.setRevokedAt(LocalDateTime.now());
+            revokedToken.setExpiresAt(toLocalDateTime(expiration.toInstant()));
+            revokedTokenRepository.save(revokedToken);
+        }
+        // Yerel kopya hemen, diğer düğümler commit sonrası güncellenir
+        cacheInvalidationBus.publish(CACHE_NAME, expiration.toInstant().getEpochSecond() + "|" + jti);
+        log.info("🚪 Token iptal edildi: {}", subject);
+    }
+
+    /**
+     * Hesap değişikliğinde kullanıcının o ana kadar üretilmiş tüm token'ları için kalıcı kayıt oluşturur.
+     * Anlık uygulama {@link AccountRevocationService} tarafından yapılır; bu kayıt yeniden başlatma ve
+     * kaçırılan mesajlardan sonra aynı durumu geri getirir.
+     */
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.email() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setSubject(event.email());
+        revokedToken.setReason(TokenRevocationReason.ACCOUNT_CHANGED);
+        revokedToken.setRevokedAt(now);
+        revokedToken.setExpiresAt(now.plusNanos(tokenLifetimeMs * 1_000_000));
+        revokedTokenRepository.save(revokedToken);
+    }
+
+    /**
+     * Uygulama açılışında geçerli tüm iptal kayıtlarını yükler.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        synchronized (this) {
+            revokedTokens.forEach(this::apply);
+            if (filter == null) {
+                rebuildFilter();
+            }
+        }
+        refreshedUpTo = now;
+        log.info("🔒 Token iptal listesi yüklendi: {} kayıt", revokedTokens.size());
+    }
+
+    /**
+     * Son yenilemeden sonra eklenen kayıtları okur (bus mesajı kaçırılmışsa).
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime cursor = refreshedUpTo;
+        if (cursor == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                cursor.minusNanos(refreshOverlapMs * 1_000_000), now);
+        synchronized (this) {
+            revokedTokens.forEach(this::apply);
+        }
+        refreshedUpTo = now;
+    }
+
+    /**
+     * Süresi dolmuş kayıtları tablodan ve bellekten siler; filtre kalan kayıtlarla yeniden oluşturulur.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-prune-ms:600000}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        long nowEpoch = Instant.now().getEpochSecond();
+        synchronized (this) {
+            boolean removed = expiresAtByJti.values().removeIf(expiresAt -> expiresAt < nowEpoch);
+            if (removed) {
+                rebuildFilter();
+            }
+        }
+        if (deleted > 0) {
+            log.debug("🧹 Süresi dolmuş {} token iptal kaydı silindi", deleted);
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Bus mesajı: {@code <bitişEpochSaniye>|<jti>}. Bu önbellekte "temizleme" token'ı iptal listesine eklemek demektir.
+     */
+    @Override
+    public void evict(String key) {
+        int separator = key.indexOf('|');
+        if (separator <= 0) {
+            log.warn("⚠️ Geçersiz token iptal mesajı: {}", key);
+            return;
+        }
+        try {
+            long expiresAt = Long.parseLong(key.substring(0, separator));
+            synchronized (this) {
+                add(key.substring(separator + 1), expiresAt);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ Geçersiz token iptal mesajı: {}", key);
+        }
+    }
+
+    /**
+     * Mesaj kaçırılmış olabilir: liste kalıcı kayıtlardan yeniden yüklenir.
+     */
+    @Override
+    public void evictAll() {
+        loadAll();
+    }
+
+    private void apply(RevokedToken revokedToken) {
+        if (revokedToken.getJti() != null) {
+            add(revokedToken.getJti(), toEpochSecond(revokedToken.getExpiresAt()));
+        } else {
+            accountRevocationService.restore(revokedToken.getSubject(), toEpochSecond(revokedToken.getRevokedAt()));
+        }
+    }
+
+    // Çağıran this üzerinde senkronize olmalı: yeniden oluşturma sırasında eklenen jti kaybolmamalı
+    private void add(String jti, long expiresAtEpochSecond) {
+        if (expiresAtByJti.put(jti, expiresAtEpochSecond) != null) {
+            return;
+        }
+        BloomFilter current = filter;
+        if (current == null || expiresAtByJti.size() > current.capacity()) {
+            rebuildFilter();
+        } else {
+            current.put(jti);
+        }
+    }
+
+    private void rebuildFilter() {
+        long capacity = Math.max(expectedSize, expiresAtByJti.size() * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        expiresAtByJti.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -6,12 +6,14 @@ import com.cozumtr.leave_management_system.dto.response.UserResponse;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.Role;
 import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUser currentUser;
+    private final LoginAttemptService loginAttemptService;
 
     /**
      * Tüm kullanıcıları listeler (sayfalama ile).
@@ -57,7 +62,7 @@ public class UserService {
 
     @Transactional
     public void changePassword(ChangePasswordRequestDto dto) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        String email = currentUser.getEmail();
 
         User user = userRepository.findByEmployeeEmail(email)
                 .orElseThrow(() -> new BusinessException("Kullanıcı bulunamadı: " + email));
@@ -86,6 +91,8 @@ public class UserService {
         user.setPasswordResetExpires(null);
 
         userRepository.save(user);
+        loginAttemptService.reset(email);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), email));
     }
 
     @Transactional
@@ -99,6 +106,8 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(),
+                user.getEmployee() != null ? user.getEmployee().getEmail() : null));
     }
 
     @Transactional
@@ -112,5 +121,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(),
+                user.getEmployee() != null ? user.getEmployee().getEmail() : null));
     }
 }
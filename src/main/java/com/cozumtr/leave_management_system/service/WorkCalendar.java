@@ -0,0 +1,62 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.PublicHoliday;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Belirli bir tarih aralığı için çalışma takvimi.
+ *
+ * Resmi tatiller bir kez yüklenip gün bazında tutulur; gün başına sorgu veya liste taraması yapılmaz.
+ * Kurallar {@link LeaveCalculationService#calculateDuration} ile aynıdır: hafta sonu ve tam gün tatil 0,
+ * yarım gün tatil (arife) günlük mesainin yarısı sayılır.
+ * {@link LeaveCalculationService#workCalendar} ile oluşturulur.
+ */
+public final class WorkCalendar {
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    // Tatil günü -> yarım gün mü
+    private final Map<LocalDate, Boolean> holidays = new HashMap<>();
+
+    WorkCalendar(List<PublicHoliday> publicHolidays) {
+        for (PublicHoliday holiday : publicHolidays) {
+            boolean halfDay = Boolean.TRUE.equals(holiday.getIsHalfDay());
+            for (LocalDate day = holiday.getStartDate(); !day.isAfter(holiday.getEndDate()); day = day.plusDays(1)) {
+                // Aynı güne hem tam hem yarım gün tatil düşerse tam gün geçerlidir
+                holidays.merge(day, halfDay, Boolean::logicalAnd);
+            }
+        }
+    }
+
+    public static boolean isWeekend(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * Hafta sonu veya tam gün tatil değilse çalışma günüdür (arife çalışma günü sayılır).
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return !isWeekend(date) && !Boolean.FALSE.equals(holidays.get(date));
+    }
+
+    /**
+     * Verilen günün net çalışma saati.
+     */
+    public BigDecimal workingHours(LocalDate date, BigDecimal dailyWorkHours) {
+        if (isWeekend(date)) {
+            return BigDecimal.ZERO;
+        }
+        Boolean halfDay = holidays.get(date);
+        if (halfDay == null) {
+            return dailyWorkHours;
+        }
+        return halfDay ? dailyWorkHours.multiply(HALF) : BigDecimal.ZERO;
+    }
+}
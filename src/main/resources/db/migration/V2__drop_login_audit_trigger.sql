@@ -0,0 +1,17 @@
+-- =====================================================
+-- GİRİŞ DENETİM TRIGGER'INI KALDIRMA
+-- =====================================================
+-- auth_audit_log kayıtları artık uygulama tarafından (AuthAuditWriter)
+-- arka planda, çok satırlı INSERT ile toplu yazılıyor.
+--
+-- trg_log_login_attempt her satır için ek SELECT ve UPDATE'ler
+-- çalıştırıyordu. Yaptığı analiz uygulamaya taşındı:
+--   - Hesap kilitleme: LoginAttemptService (ACCOUNT_LOCKED kaydı)
+--   - Çoklu hata / farklı IP işaretleri: LOGIN_FAILURE kaydının
+--     details alanında (security_alert, geo_anomaly)
+--   - Temizlenen hatalar: LOGIN_SUCCESS kaydının details alanında
+--     (previous_failures_cleared)
+-- =====================================================
+
+DROP TRIGGER IF EXISTS trg_log_login_attempt ON auth_audit_log;
+DROP FUNCTION IF EXISTS fn_process_login_audit();
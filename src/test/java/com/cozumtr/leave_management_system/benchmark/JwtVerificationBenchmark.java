@@ -0,0 +1,83 @@
+package com.cozumtr.leave_management_system.benchmark;
+
+import com.cozumtr.leave_management_system.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter'ın istek başına JWT doğrulama maliyeti.
+ *
+ * - legacyThreeParses: eski akış; her claim erişiminde anahtar + parser yeniden kurulur ve token
+ *   extractEmail, validateToken (email + expiration) için üç kez parse edilir.
+ * - verifyOnce: önbellekteki anahtar/parser ile tek parse.
+ *
+ * Çalıştırma: test sınıfları derlendikten sonra {@code main} metodu IDE'den veya
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...JwtVerificationBenchmark}
+ * ile çalıştırılır. Surefire bu sınıfı test olarak çalıştırmaz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-verification-minimum-256-bits";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        token = jwtService.generateToken("employee@example.com", 42L, Set.of("EMPLOYEE", "MANAGER"));
+    }
+
+    @Benchmark
+    public Object legacyThreeParses() {
+        // extractEmail
+        String email = legacyParse(token).getSubject();
+        // validateToken -> extractEmail + isTokenExpired
+        boolean valid = legacyParse(token).getSubject().equals(email)
+                && !legacyParse(token).getExpiration().before(new Date());
+        return valid ? email : null;
+    }
+
+    @Benchmark
+    public Object verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
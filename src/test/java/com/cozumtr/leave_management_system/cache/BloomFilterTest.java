@@ -0,0 +1,52 @@
+package com.cozumtr.leave_management_system.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Eklenen anahtarlar için yanlış negatif olmamalı")
+    void mightContain_ShouldNeverMissInsertedKeys() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.put(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Yanlış pozitif oranı hedefe yakın kalmalı")
+    void mightContain_ShouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Hedef %1; rastlantısal sapma için geniş pay
+        assertTrue(falsePositives < 2_000, "Yanlış pozitif sayısı: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Geçersiz parametreler reddedilmeli")
+    void constructor_ShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
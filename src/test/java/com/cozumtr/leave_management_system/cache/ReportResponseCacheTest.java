@@ -0,0 +1,81 @@
+package com.cozumtr.leave_management_system.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportResponseCache Unit Tests")
+class ReportResponseCacheTest {
+
+    private ReportResponseCache reportResponseCache;
+    private AtomicInteger loads;
+    private Supplier<String> loader;
+
+    @BeforeEach
+    void setUp() {
+        reportResponseCache = new ReportResponseCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reportResponseCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(reportResponseCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(reportResponseCache, "init");
+
+        loads = new AtomicInteger();
+        loader = () -> "rapor-" + loads.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("Aynı parametre ve sürümde rapor bir kez hesaplanmalı")
+    void respond_SameVersion_ShouldServeFromCache() {
+        ResponseEntity<String> first = reportResponseCache.respond(null, "sprint-overlap", "1|2024-01-01", 5, loader);
+        ResponseEntity<String> second = reportResponseCache.respond(null, "sprint-overlap", "1|2024-01-01", 5, loader);
+
+        assertEquals(1, loads.get());
+        assertEquals("rapor-1", second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Sürüm veya parametre değişince ETag değişmeli ve rapor yeniden hesaplanmalı")
+    void respond_VersionOrParametersChanged_ShouldRecompute() {
+        String etag = reportResponseCache.respond(null, "sprint-overlap", "1", 5, loader).getHeaders().getETag();
+        String bumped = reportResponseCache.respond(null, "sprint-overlap", "1", 6, loader).getHeaders().getETag();
+        String otherParameters = reportResponseCache.respond(null, "sprint-overlap", "2", 6, loader).getHeaders().getETag();
+
+        assertEquals(3, loads.get());
+        assertNotEquals(etag, bumped);
+        assertNotEquals(bumped, otherParameters);
+        assertFalse(etag.startsWith("W/"), "ETag güçlü olmalı");
+    }
+
+    @Test
+    @DisplayName("If-None-Match eşleşirse rapor hesaplanmadan 304 dönmeli")
+    void respond_MatchingIfNoneMatch_ShouldReturnNotModified() {
+        String etag = reportResponseCache.respond(null, "accounting-leaves", "p", 3, loader).getHeaders().getETag();
+
+        ResponseEntity<String> response = reportResponseCache.respond(
+                "\"eski\", " + etag, "accounting-leaves", "p", 3, () -> fail("Rapor hesaplanmamalı"));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("Sürüm arttıktan sonra eski ETag ile tam yanıt dönmeli")
+    void respond_StaleIfNoneMatch_ShouldReturnFullResponse() {
+        String etag = reportResponseCache.respond(null, "accounting-leaves", "p", 3, loader).getHeaders().getETag();
+
+        ResponseEntity<String> response = reportResponseCache.respond(etag, "accounting-leaves", "p", 4, loader);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("rapor-2", response.getBody());
+    }
+}
@@ -0,0 +1,119 @@
+package com.cozumtr.leave_management_system.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    // Hesaplamayı başlatan çağrı bırakılana kadar bekler; diğerleri bu sırada aynı anahtarla gelir
+    private List<Future<String>> startCallers(ExecutorService executor, CountDownLatch release,
+                                              AtomicInteger computations, RuntimeException failure) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("sprint-1", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            if (failure != null) {
+                throw failure;
+            }
+            return "rapor";
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("sprint-1", () -> {
+                computations.incrementAndGet();
+                return "tekrar";
+            })));
+        }
+        // Tüm takipçiler süren hesaplamaya katılana kadar bekle
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.shared() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı aynı anahtarlı çağrılar tek hesaplamayı paylaşmalı")
+    void execute_ConcurrentSameKey_ShouldComputeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger computations = new AtomicInteger();
+            List<Future<String>> results = startCallers(executor, release, computations, null);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("rapor", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(1, singleFlight.executions());
+            assertEquals(CALLERS - 1, singleFlight.shared());
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Hesaplama hatası tüm bekleyenlere iletilmeli")
+    void execute_Failure_ShouldPropagateToAllCallers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            IllegalStateException failure = new IllegalStateException("veritabanı hatası");
+            List<Future<String>> results = startCallers(executor, release, new AtomicInteger(), failure);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                ExecutionException exception = assertThrows(ExecutionException.class,
+                        () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(failure, exception.getCause());
+            }
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Hesaplama bittikten sonra gelen çağrı yeniden hesaplamalı")
+    void execute_AfterCompletion_ShouldComputeAgain() {
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute("sprint-1", () -> "v" + computations.incrementAndGet());
+        String second = singleFlight.execute("sprint-1", () -> "v" + computations.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(2, singleFlight.executions());
+        assertEquals(0, singleFlight.shared());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
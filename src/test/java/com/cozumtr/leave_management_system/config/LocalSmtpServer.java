@@ -0,0 +1,249 @@
+package com.cozumtr.leave_management_system.config;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testler için süreç içi (in-process) minimal SMTP sunucusu.
+ *
+ * Ağ erişimi olmadan SmtpEmailService'i uçtan uca çalıştırmak için kullanılır.
+ * Gerçek bir SMTP sunucusunun davranışını taklit etmek üzere:
+ * - {@link #withLatency(Duration)} ile her mesajın kabulüne yapay gecikme eklenebilir,
+ * - {@link #withFailureEveryNth(int)} ile her N. mesaj geçici hata (451) ile reddedilebilir.
+ *
+ * Sadece JavaMail'in kullandığı komutları destekler (EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT).
+ */
+public final class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+    private final AtomicLong dataCommandCount = new AtomicLong();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int failureEveryNth = 0;
+
+    private LocalSmtpServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.connectionExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-smtp");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rastgele boş bir port üzerinde sunucuyu başlatır.
+     */
+    public static LocalSmtpServer start() throws IOException {
+        ServerSocket socket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        LocalSmtpServer server = new LocalSmtpServer(socket);
+        server.connectionExecutor.execute(server::acceptLoop);
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Her mesajın DATA aşamasından sonra yanıt verilmeden önce beklenecek süre.
+     */
+    public LocalSmtpServer withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Her N. mesajı 451 ile reddeder. 0 verilirse hata enjeksiyonu kapanır.
+     */
+    public LocalSmtpServer withFailureEveryNth(int failureEveryNth) {
+        this.failureEveryNth = failureEveryNth;
+        return this;
+    }
+
+    public List<ReceivedMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Belirtilen sayıda mesaj kabul edilene kadar (veya süre dolana kadar) bekler.
+     */
+    public boolean awaitMessages(int expectedCount, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (messages.size() < expectedCount) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Alınan mesajları ve sayaçları sıfırlar, gecikme ve hata ayarlarını kapatır.
+     */
+    public void reset() {
+        messages.clear();
+        rejectedCount.set(0);
+        dataCommandCount.set(0);
+        latency = Duration.ZERO;
+        failureEveryNth = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connectionExecutor.shutdownNow();
+        try {
+            connectionExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                connectionExecutor.execute(() -> handle(client));
+            } catch (SocketException e) {
+                // Sunucu kapatıldı
+                return;
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        try (client;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            reply(writer, "220 localhost ESMTP LocalSmtpServer");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(writer, "250-localhost\r\n250-8BITMIME\r\n250 SMTPUTF8");
+                    case "HELO", "NOOP" -> reply(writer, "250 OK");
+                    case "MAIL" -> {
+                        from = extractAddress(line);
+                        recipients = new ArrayList<>();
+                        reply(writer, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(extractAddress(line));
+                        reply(writer, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(reader);
+                        sleepLatency();
+                        if (shouldFail()) {
+                            rejectedCount.incrementAndGet();
+                            reply(writer, "451 4.3.0 Injected failure");
+                        } else {
+                            messages.add(new ReceivedMessage(from, List.copyOf(recipients), data));
+                            reply(writer, "250 OK");
+                        }
+                        from = null;
+                        recipients = new ArrayList<>();
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        recipients = new ArrayList<>();
+                        reply(writer, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(writer, "221 Bye");
+                        return;
+                    }
+                    default -> reply(writer, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattı
+        }
+    }
+
+    private String readData(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null && !".".equals(line)) {
+            // Dot-stuffing: satır başındaki ".." tek noktaya dönüşür
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private boolean shouldFail() {
+        long sequence = dataCommandCount.incrementAndGet();
+        int every = failureEveryNth;
+        return every > 0 && sequence % every == 0;
+    }
+
+    private void sleepLatency() {
+        Duration current = latency;
+        if (current.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(current.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String extractAddress(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(BufferedWriter writer, String response) throws IOException {
+        writer.write(response);
+        writer.write("\r\n");
+        writer.flush();
+    }
+
+    /**
+     * Sunucunun kabul ettiği tek bir mesaj.
+     *
+     * @param from       MAIL FROM adresi
+     * @param recipients RCPT TO adresleri
+     * @param data       başlıklar dahil ham mesaj içeriği
+     */
+    public record ReceivedMessage(String from, List<String> recipients, String data) {
+    }
+}
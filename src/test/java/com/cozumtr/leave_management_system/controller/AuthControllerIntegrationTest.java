@@ -12,7 +12,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -21,11 +24,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -56,6 +63,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
     private static final String HR_EMAIL = "test@sirket.com";
     private static final String EMPLOYEE_EMAIL = "employee@sirket.com";
     private static final String PASSWORD = "Password123!";
@@ -208,7 +218,115 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("yeni.calisan@sirket.com"));
     }
 
+    @Test
+    @DisplayName("POST /api/auth/logout - Çıkış yapılan token bir daha kullanılamamalı")
+    void logout_ShouldRevokeToken() throws Exception {
+        String token = loginAndGetToken(HR_EMAIL, PASSWORD);
+
+        mockMvc.perform(get("/api/auth/roles")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/roles")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isFound()); // 302 redirect to OAuth2 login
+
+        // Yeni giriş ile alınan token etkilenmemeli
+        String newToken = loginAndGetToken(HR_EMAIL, PASSWORD);
+        mockMvc.perform(get("/api/auth/roles")
+                        .header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/logout - Süresi dolmuş access token ile refresh oturumu kapatılabilmeli")
+    void logout_WithExpiredAccessToken_ShouldRevokeRefreshFamily() throws Exception {
+        Map<String, Object> login = login(HR_EMAIL, PASSWORD);
+        String refreshToken = (String) login.get("refreshToken");
+        String expiredToken = Jwts.builder()
+                .subject(HR_EMAIL)
+                .claim("userId", userRepository.findByEmployeeEmail(HR_EMAIL).orElseThrow().getId())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date(System.currentTimeMillis() - 3_600_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + expiredToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(refreshToken)))
+                .andExpect(status().isOk());
+
+        // Oturum ailesi iptal edildiği için refresh token artık kullanılamamalı
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(refreshToken)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/logout - Başka kullanıcının refresh token'ı ile çıkış reddedilmeli")
+    void logout_WithRefreshTokenOfAnotherUser_ShouldBeRejected() throws Exception {
+        String token = loginAndGetToken(HR_EMAIL, PASSWORD);
+        String otherRefreshToken = (String) login(EMPLOYEE_EMAIL, PASSWORD).get("refreshToken");
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(otherRefreshToken)))
+                .andExpect(status().isBadRequest());
+
+        // Diğer kullanıcının oturumu etkilenmemeli
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(otherRefreshToken)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Refresh token dönüşümlü olmalı, eski token tekrar kullanılamamalı")
+    void refresh_ShouldRotateAndDetectReuse() throws Exception {
+        Map<String, Object> login = login(HR_EMAIL, PASSWORD);
+        String refreshToken = (String) login.get("refreshToken");
+
+        String responseJson = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(refreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Map<String, Object> refreshed = objectMapper.readValue(responseJson, Map.class);
+        String rotatedRefreshToken = (String) refreshed.get("refreshToken");
+
+        mockMvc.perform(get("/api/auth/roles")
+                        .header("Authorization", "Bearer " + refreshed.get("token")))
+                .andExpect(status().isOk());
+
+        // Eski refresh token tekrar sunulursa reddedilmeli ve tüm oturum ailesi iptal edilmeli
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(refreshToken)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"%s\"}".formatted(rotatedRefreshToken)))
+                .andExpect(status().isBadRequest());
+    }
+
     private String loginAndGetToken(String email, String password) throws Exception {
+        return (String) login(email, password).get("token");
+    }
+
+    private Map<String, Object> login(String email, String password) throws Exception {
         String body = """
                 {
                   "email": "%s",
@@ -224,8 +342,7 @@ class AuthControllerIntegrationTest {
                 .getResponse()
                 .getContentAsString();
 
-        Map<String, Object> map = objectMapper.readValue(responseJson, Map.class);
-        return (String) map.get("token");
+        return objectMapper.readValue(responseJson, Map.class);
     }
 }
 
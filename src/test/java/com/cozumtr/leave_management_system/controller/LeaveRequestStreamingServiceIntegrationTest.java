@@ -0,0 +1,220 @@
+package com.cozumtr.leave_management_system.controller;
+
+import com.cozumtr.leave_management_system.dto.response.ManagerLeaveResponseDTO;
+import com.cozumtr.leave_management_system.dto.response.TeamLeaveResponseDTO;
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveApprovalHistory;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.LeaveType;
+import com.cozumtr.leave_management_system.entities.Role;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.enums.RequestUnit;
+import com.cozumtr.leave_management_system.repository.DepartmentRepository;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
+import com.cozumtr.leave_management_system.repository.RoleRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.service.LeaveRequestService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Akışlı yönetici ve "şu an izinde" listelerinin persistence context temizliğinden (her 500 kayıtta clear)
+ * sonra da ilişkili alanları (çalışan, departman, izin türü, onay geçmişi) doğru okuduğunu doğrular.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("LeaveRequestService Akışlı Liste Integration Tests - H2 In-Memory Database ile")
+class LeaveRequestStreamingServiceIntegrationTest {
+
+    // Üç parti: 500 + 500 + 201 (iki clear çağrısı)
+    private static final int LEAVE_COUNT = 1201;
+    private static final String DEPARTMENT_NAME = "Akış Test Departmanı";
+    private static final String HR_EMAIL = "akis.hr@example.com";
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Employee hrEmployee;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setName(DEPARTMENT_NAME);
+        department.setIsActive(true);
+        department = departmentRepository.save(department);
+
+        Role hrRole = roleRepository.findByRoleName("HR").orElseGet(() -> {
+            Role role = new Role();
+            role.setRoleName("HR");
+            role.setIsActive(true);
+            return roleRepository.save(role);
+        });
+
+        hrEmployee = employee("Akış", "İK", HR_EMAIL, department);
+        User hrUser = new User();
+        hrUser.setEmployee(hrEmployee);
+        hrUser.setPasswordHash("hash");
+        hrUser.setIsActive(true);
+        hrUser.setFailedLoginAttempts(0);
+        hrUser.setRoles(Set.of(hrRole));
+        userRepository.save(hrUser);
+
+        // İki çalışan dönüşümlü: clear sonrası aynı çalışan yeniden okunmalı
+        List<Employee> employees = List.of(
+                employee("Ayşe", "Akış", "ayse.akis@example.com", department),
+                employee("Mehmet", "Akış", "mehmet.akis@example.com", department));
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName("Akış Yıllık İzin");
+        leaveType.setIsActive(true);
+        leaveType.setDeductsFromAnnual(true);
+        leaveType.setRequestUnit(RequestUnit.DAY);
+        leaveType.setWorkflowDefinition("HR,MANAGER,CEO");
+        leaveType = leaveTypeRepository.save(leaveType);
+
+        // Hepsi şu an devam eden onaylı izinler; sıralama başlangıca göre azalan olduğundan
+        // en erken başlayan (onay geçmişi olan) talep son partide okunur
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveRequest> leaves = new ArrayList<>();
+        for (int i = 0; i < LEAVE_COUNT; i++) {
+            LeaveRequest leave = new LeaveRequest();
+            leave.setEmployee(employees.get(i % 2));
+            leave.setLeaveType(leaveType);
+            leave.setRequestStatus(RequestStatus.APPROVED);
+            leave.setWorkflowNextApproverRole("NONE");
+            leave.setStartDateTime(now.minusDays(1).minusMinutes(i));
+            leave.setEndDateTime(now.plusDays(1));
+            leave.setDurationHours(new BigDecimal("16.0"));
+            leave.setReason("Akış testi " + i);
+            leaves.add(leave);
+        }
+
+        LeaveRequest lastLeave = leaves.get(LEAVE_COUNT - 1);
+        LeaveApprovalHistory history = new LeaveApprovalHistory();
+        history.setLeaveRequest(lastLeave);
+        history.setApprover(hrEmployee);
+        history.setAction(RequestStatus.APPROVED);
+        history.setComments("Onaylandı");
+        lastLeave.getApprovalHistories().add(history);
+
+        leaveRequestRepository.saveAll(leaves);
+
+        // Veriler akış sorgusuyla veritabanından okunsun (birinci seviye önbellekten değil)
+        entityManager.flush();
+        entityManager.clear();
+
+        // Yeni bağlam kurulur: önceki testlerden kalmış bir bağlam kullanılmasın
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(HR_EMAIL, null, List.of())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("forEachManagerRequest - Birden fazla clear partisinden sonra ilişkili alanlar ve onay geçmişi okunmalı")
+    void forEachManagerRequest_AcrossClearBatches_ShouldReadAssociations() {
+        Employee loadedBefore = employeeRepository.findById(hrEmployee.getId()).orElseThrow();
+
+        List<ManagerLeaveResponseDTO> received = new ArrayList<>();
+        leaveRequestService.forEachManagerRequest(dto -> {
+            if (DEPARTMENT_NAME.equals(dto.getEmployeeDepartmentName())) {
+                received.add(dto);
+            }
+        });
+
+        assertEquals(LEAVE_COUNT, received.size());
+        assertTrue(received.stream().allMatch(dto ->
+                        dto.getEmployeeFullName().endsWith(" Akış")
+                                && "Akış Yıllık İzin".equals(dto.getLeaveTypeName())),
+                "Clear sonrası okunan taleplerde çalışan ve izin türü dolu olmalı");
+
+        // Son partideki talebin tembel (lazy) onay geçmişi clear sonrasında yüklenebilmeli
+        ManagerLeaveResponseDTO last = received.get(LEAVE_COUNT - 1);
+        assertEquals(1, last.getApprovalHistory().size());
+        assertEquals("Akış İK", last.getApprovalHistory().get(0).getApproverFullName());
+        assertNotNull(last.getAttachments());
+
+        // Akıştan önce yüklenen entity, temizlik sonrası persistence context'te kalmamalı
+        assertFalse(entityManager.contains(loadedBefore));
+    }
+
+    @Test
+    @DisplayName("forEachCompanyCurrentApprovedLeave - Birden fazla clear partisinden sonra çalışan ve departman okunmalı")
+    void forEachCompanyCurrentApprovedLeave_AcrossClearBatches_ShouldReadAssociations() {
+        List<TeamLeaveResponseDTO> received = new ArrayList<>();
+        leaveRequestService.forEachCompanyCurrentApprovedLeave(dto -> {
+            if (DEPARTMENT_NAME.equals(dto.getDepartmentName())) {
+                received.add(dto);
+            }
+        });
+
+        assertEquals(LEAVE_COUNT, received.size());
+        assertEquals(LEAVE_COUNT / 2 + 1,
+                received.stream().filter(dto -> "Ayşe Akış".equals(dto.getEmployeeFullName())).count());
+        assertEquals(LEAVE_COUNT / 2,
+                received.stream().filter(dto -> "Mehmet Akış".equals(dto.getEmployeeFullName())).count());
+        assertTrue(received.stream().allMatch(dto -> "Akış Yıllık İzin".equals(dto.getLeaveTypeName())));
+    }
+
+    private Employee employee(String firstName, String lastName, String email, Department department) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(email);
+        employee.setJobTitle("Developer");
+        employee.setBirthDate(LocalDate.of(1990, 1, 1));
+        employee.setHireDate(LocalDate.now().minusYears(2));
+        employee.setDailyWorkHours(new BigDecimal("8.0"));
+        employee.setDepartment(department);
+        employee.setIsActive(true);
+        return employeeRepository.save(employee);
+    }
+}
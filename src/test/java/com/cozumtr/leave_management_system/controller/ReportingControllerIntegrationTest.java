@@ -3,6 +3,8 @@ package com.cozumtr.leave_management_system.controller;
 import com.cozumtr.leave_management_system.entities.*;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
 import com.cozumtr.leave_management_system.repository.*;
+import com.cozumtr.leave_management_system.service.DailyAbsenceService;
+import com.cozumtr.leave_management_system.service.LeaveDataVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -58,6 +61,12 @@ class ReportingControllerIntegrationTest {
     @Autowired
     private SprintRepository sprintRepository;
 
+    @Autowired
+    private DailyAbsenceService dailyAbsenceService;
+
+    @Autowired
+    private LeaveDataVersionService leaveDataVersionService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -218,6 +227,47 @@ class ReportingControllerIntegrationTest {
                 .andExpect(jsonPath("$.overlappingLeaves[0].overlappingHours").exists());
     }
 
+    @Test
+    @DisplayName("GET /api/reports/sprint-overlap?sprintId=X - ETag eşleşirse 304, izin verisi değişince tam yanıt dönmeli")
+    void getSprintOverlapReport_WithIfNoneMatch_ShouldReturnNotModifiedUntilDataChanges() throws Exception {
+        createApprovedLeaveRequest(
+                employee1,
+                LocalDateTime.of(2024, 1, 15, 0, 0),
+                LocalDateTime.of(2024, 1, 16, 23, 59),
+                new BigDecimal("16.0")
+        );
+
+        String etag = mockMvc.perform(get("/api/reports/sprint-overlap")
+                        .param("sprintId", String.valueOf(testSprint.getId()))
+                        .header("Authorization", "Bearer " + hrToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/reports/sprint-overlap")
+                        .param("sprintId", String.valueOf(testSprint.getId()))
+                        .header("Authorization", "Bearer " + hrToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Onay akışı dışında eklenen izin: sürüm sayacı elle artırılır
+        createApprovedLeaveRequest(
+                employee2,
+                LocalDateTime.of(2024, 1, 22, 0, 0),
+                LocalDateTime.of(2024, 1, 22, 23, 59),
+                new BigDecimal("8.0")
+        );
+        leaveDataVersionService.bumpGlobal();
+
+        mockMvc.perform(get("/api/reports/sprint-overlap")
+                        .param("sprintId", String.valueOf(testSprint.getId()))
+                        .header("Authorization", "Bearer " + hrToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.overlappingLeaves", hasSize(2)));
+    }
+
     @Test
     @DisplayName("GET /api/reports/sprint-overlap?sprintId=X - Geçersiz sprint ID ile hata dönmeli")
     void getSprintOverlapReport_WithInvalidSprintId_ShouldReturnError() throws Exception {
@@ -612,7 +662,10 @@ class ReportingControllerIntegrationTest {
         leaveRequest.setRequestStatus(RequestStatus.APPROVED);
         leaveRequest.setWorkflowNextApproverRole("");
         leaveRequest.setReason("Test izin");
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        // Onay akışından geçmeden kaydedildiği için günlük devamsızlık kayıtları elle oluşturulur
+        dailyAbsenceService.refresh(saved.getId());
+        return saved;
     }
 
     private String loginAndGetToken(String email, String password) throws Exception {
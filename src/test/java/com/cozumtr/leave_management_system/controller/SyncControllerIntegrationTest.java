@@ -0,0 +1,165 @@
+package com.cozumtr.leave_management_system.controller;
+
+import com.cozumtr.leave_management_system.entities.*;
+import com.cozumtr.leave_management_system.enums.RequestUnit;
+import com.cozumtr.leave_management_system.repository.*;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.sync.safety-window-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("SyncController Integration Tests")
+class SyncControllerIntegrationTest {
+
+    private static final String EMAIL = "sync.employee@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Autowired
+    private PublicHolidayRepository publicHolidayRepository;
+
+    private LeaveType leaveType;
+    private PublicHoliday holiday;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        Department department = new Department();
+        department.setName("Sync Department");
+        department.setIsActive(true);
+        department = departmentRepository.save(department);
+
+        Role employeeRole = roleRepository.findByRoleName("EMPLOYEE").orElseGet(() -> {
+            Role r = new Role();
+            r.setRoleName("EMPLOYEE");
+            r.setIsActive(true);
+            return roleRepository.save(r);
+        });
+
+        Employee employee = new Employee();
+        employee.setFirstName("Sync");
+        employee.setLastName("Employee");
+        employee.setEmail(EMAIL);
+        employee.setJobTitle("Mobile Developer");
+        employee.setBirthDate(LocalDate.of(1992, 5, 5));
+        employee.setHireDate(LocalDate.now().minusYears(2));
+        employee.setDailyWorkHours(new BigDecimal("8.0"));
+        employee.setDepartment(department);
+        employee.setIsActive(true);
+        employee = employeeRepository.save(employee);
+
+        User user = new User();
+        user.setEmployee(employee);
+        user.setPasswordHash("encodedPassword");
+        user.setIsActive(true);
+        user.setFailedLoginAttempts(0);
+        Set<Role> roles = new HashSet<>();
+        roles.add(employeeRole);
+        user.setRoles(roles);
+        userRepository.save(user);
+
+        leaveType = new LeaveType();
+        leaveType.setName("Sync Test İzni");
+        leaveType.setIsActive(true);
+        leaveType.setDeductsFromAnnual(false);
+        leaveType.setRequestUnit(RequestUnit.DAY);
+        leaveType.setWorkflowDefinition("HR");
+        leaveType = leaveTypeRepository.saveAndFlush(leaveType);
+
+        holiday = PublicHoliday.builder()
+                .name("Sync Bayramı")
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(10))
+                .year(LocalDate.now().plusDays(10).getYear())
+                .isHalfDay(false)
+                .build();
+        holiday = publicHolidayRepository.saveAndFlush(holiday);
+
+        // İmleç milisaniye hassasiyetinde; kurulum kayıtları imleçten kesin önce kalsın
+        Thread.sleep(5);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL, roles = "EMPLOYEE")
+    @DisplayName("İmleçsiz çağrı tam senkronizasyon ve yeni imleç dönmeli")
+    void sync_WithoutCursor_ShouldReturnFullSnapshot() throws Exception {
+        mockMvc.perform(get("/api/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullSync").value(true))
+                .andExpect(jsonPath("$.cursor").isNotEmpty())
+                .andExpect(jsonPath("$.leaveTypes[*].id", hasItem(leaveType.getId().intValue())))
+                .andExpect(jsonPath("$.holidays[*].id", hasItem(holiday.getId().intValue())))
+                .andExpect(jsonPath("$.balances").isArray());
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL, roles = "EMPLOYEE")
+    @DisplayName("İmleçten sonra pasife alınan tatil sadece silinenler listesinde dönmeli")
+    void sync_WithCursor_ShouldReturnOnlyChanges() throws Exception {
+        String body = mockMvc.perform(get("/api/sync"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(body, "$.cursor");
+
+        Thread.sleep(5);
+        holiday.setIsActive(false);
+        publicHolidayRepository.saveAndFlush(holiday);
+
+        mockMvc.perform(get("/api/sync").param("since", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullSync").value(false))
+                .andExpect(jsonPath("$.leaveTypes[*].id", not(hasItem(leaveType.getId().intValue()))))
+                .andExpect(jsonPath("$.holidays", hasSize(0)))
+                .andExpect(jsonPath("$.removedHolidayIds", contains(holiday.getId().intValue())));
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL, roles = "EMPLOYEE")
+    @DisplayName("Geçersiz imleç 400 dönmeli")
+    void sync_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/sync").param("since", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Kimlik doğrulaması olmadan erişilememeli")
+    void sync_WithoutAuthentication_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/sync"))
+                .andExpect(status().isFound()); // 302 redirect to OAuth2 login
+    }
+}
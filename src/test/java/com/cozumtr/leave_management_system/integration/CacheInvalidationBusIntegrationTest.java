@@ -0,0 +1,162 @@
+package com.cozumtr.leave_management_system.integration;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.cache.InvalidatableCache;
+import com.cozumtr.leave_management_system.config.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CacheInvalidationBus'ın gerçek PostgreSQL LISTEN/NOTIFY ile çalıştığını doğrular.
+ */
+@TestPropertySource(properties = {
+        "app.cache-invalidation.enabled=true",
+        "app.cache-invalidation.poll-timeout-ms=200",
+        "app.cache-invalidation.reconnect-delay-ms=200"
+})
+@DisplayName("Cache Invalidation Bus (LISTEN/NOTIFY) Entegrasyon Testleri")
+class CacheInvalidationBusIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private RecordingCache recordingCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recordingCache.reset();
+        // Dinleyicinin LISTEN komutunu çalıştırmış olmasını bekle
+        assertTrue(await(Duration.ofSeconds(10), this::listenerConnected), "LISTEN bağlantısı kurulamadı");
+    }
+
+    @Test
+    @DisplayName("Başka bir düğümden gelen NOTIFY yerel önbellek girdisini temizlemeli")
+    void externalNotify_ShouldEvictLocalEntry() throws Exception {
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("NOTIFY " + CacheInvalidationBus.CHANNEL + ", '" + RecordingCache.NAME + ":42'");
+        }
+
+        assertTrue(await(Duration.ofSeconds(5), () -> recordingCache.evictedKeys.contains("42")),
+                "NOTIFY sonrası anahtar temizlenmedi");
+    }
+
+    @Test
+    @DisplayName("Başka önbelleğe ait mesaj bu önbelleği etkilememeli")
+    void notifyForOtherCache_ShouldBeIgnored() throws Exception {
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("NOTIFY " + CacheInvalidationBus.CHANNEL + ", 'other-cache:1'");
+            statement.execute("NOTIFY " + CacheInvalidationBus.CHANNEL + ", '" + RecordingCache.NAME + ":marker'");
+        }
+
+        assertTrue(await(Duration.ofSeconds(5), () -> recordingCache.evictedKeys.contains("marker")));
+        assertTrue(!recordingCache.evictedKeys.contains("1"));
+    }
+
+    @Test
+    @DisplayName("publish transaction dışında hem yerelde temizlemeli hem de NOTIFY göndermeli")
+    void publish_ShouldEvictLocallyAndBroadcast() throws Exception {
+        cacheInvalidationBus.publish(RecordingCache.NAME, "7");
+
+        // Yerel temizleme senkron yapılır
+        assertTrue(recordingCache.evictedKeys.contains("7"));
+        // NOTIFY kendi dinleyicimize de geri gelir
+        assertTrue(await(Duration.ofSeconds(5),
+                () -> recordingCache.evictedKeys.stream().filter("7"::equals).count() >= 2));
+    }
+
+    @Test
+    @DisplayName("LISTEN bağlantısı koparsa yeniden bağlanınca tüm önbellek temizlenmeli")
+    void reconnect_ShouldFlushAllCaches() throws Exception {
+        int flushesBefore = recordingCache.evictAllCount.get();
+
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                    "WHERE query ILIKE 'LISTEN " + CacheInvalidationBus.CHANNEL + "%' AND pid <> pg_backend_pid()");
+        }
+
+        assertTrue(await(Duration.ofSeconds(10), () -> recordingCache.evictAllCount.get() > flushesBefore),
+                "Yeniden bağlanma sonrası tam temizleme yapılmadı");
+    }
+
+    private boolean listenerConnected() {
+        try (Connection connection = openConnection();
+             Statement statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT count(*) FROM pg_stat_activity " +
+                     "WHERE query ILIKE 'LISTEN " + CacheInvalidationBus.CHANNEL + "%'")) {
+            return resultSet.next() && resultSet.getInt(1) > 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Connection openConnection() throws Exception {
+        return DriverManager.getConnection(postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(), postgresContainer.getPassword());
+    }
+
+    private static boolean await(Duration timeout, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @TestConfiguration
+    static class RecordingCacheConfig {
+        @Bean
+        RecordingCache recordingCache() {
+            return new RecordingCache();
+        }
+    }
+
+    /**
+     * Aldığı temizleme çağrılarını kaydeden test önbelleği.
+     */
+    static class RecordingCache implements InvalidatableCache {
+
+        static final String NAME = "test-cache";
+
+        final List<String> evictedKeys = new CopyOnWriteArrayList<>();
+        final AtomicInteger evictAllCount = new AtomicInteger();
+
+        @Override
+        public String cacheName() {
+            return NAME;
+        }
+
+        @Override
+        public void evict(String key) {
+            evictedKeys.add(key);
+        }
+
+        @Override
+        public void evictAll() {
+            evictAllCount.incrementAndGet();
+        }
+
+        void reset() {
+            evictedKeys.clear();
+        }
+    }
+}
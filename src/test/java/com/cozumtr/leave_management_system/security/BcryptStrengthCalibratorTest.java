@@ -0,0 +1,22 @@
+package com.cozumtr.leave_management_system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BcryptStrengthCalibrator Unit Tests")
+class BcryptStrengthCalibratorTest {
+
+    @Test
+    @DisplayName("Hedef süre ölçülen süreden kısaysa alt sınır seçilmeli")
+    void calibrate_ShortTarget_ShouldReturnMinimum() {
+        assertEquals(4, BcryptStrengthCalibrator.calibrate(1, 4, 6));
+    }
+
+    @Test
+    @DisplayName("Hedef süre çok uzunsa üst sınır aşılmamalı")
+    void calibrate_LongTarget_ShouldClampToMaximum() {
+        assertEquals(6, BcryptStrengthCalibrator.calibrate(60_000, 4, 6));
+    }
+}
@@ -0,0 +1,145 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.Role;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUser Unit Tests")
+class CurrentUserTest {
+
+    private static final String EMAIL = "manager@test.com";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUser currentUser;
+
+    private Employee employee;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+
+        Department department = new Department();
+        department.setId(3L);
+
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setEmail(EMAIL);
+        employee.setDepartment(department);
+
+        Role managerRole = new Role();
+        managerRole.setRoleName("MANAGER");
+
+        user = new User();
+        user.setEmployee(employee);
+        user.setRoles(Set.of(managerRole));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Token claim'leriyle doldurulduğunda veritabanına gidilmemeli")
+    void populate_ShouldServeClaimsWithoutQueries() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        currentUser.populate(EMAIL, 7L, 3L, Set.of("MANAGER"));
+
+        assertEquals(EMAIL, currentUser.getEmail());
+        assertEquals(7L, currentUser.getEmployeeId());
+        assertEquals(3L, currentUser.getDepartmentId());
+        assertTrue(currentUser.isManager());
+        assertFalse(currentUser.isHr());
+        verifyNoInteractions(employeeRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("İstek içinde bilgiler bir kez yüklenmeli")
+    void lazyLoad_ShouldQueryOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findByEmployeeEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        assertTrue(currentUser.hasAnyRole("HR", "MANAGER"));
+        assertTrue(currentUser.isManager());
+        assertEquals(7L, currentUser.getEmployeeId());
+        assertEquals(3L, currentUser.getDepartmentId());
+
+        // Çalışan, rol sorgusunda yüklenen kullanıcı grafiğinden alınır
+        verify(userRepository, times(1)).findByEmployeeEmail(EMAIL);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("İstek dışında her çağrı yeniden çözülmeli")
+    void outsideRequest_ShouldNotCache() {
+        when(employeeRepository.findByEmail(EMAIL)).thenReturn(Optional.of(employee));
+
+        currentUser.getEmployeeId();
+        currentUser.getEmployeeId();
+
+        verify(employeeRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("İstek içinde kimlik değişirse önceki kullanıcının bilgisi kullanılmamalı")
+    void identityChange_ShouldResetSnapshot() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        currentUser.populate(EMAIL, 7L, 3L, Set.of("MANAGER"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@test.com", null, List.of()));
+        when(employeeRepository.findByEmail("other@test.com")).thenReturn(Optional.empty());
+
+        assertEquals("other@test.com", currentUser.getEmail());
+        assertThrows(EntityNotFoundException.class, () -> currentUser.getEmployeeId());
+    }
+
+    @Test
+    @DisplayName("isManagerOf departman yöneticisini ID ile karşılaştırmalı")
+    void isManagerOf_ShouldCompareManagerId() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        currentUser.populate(EMAIL, 7L, 3L, Set.of("HR"));
+
+        Department hrDepartment = new Department();
+        hrDepartment.setManager(employee);
+        Department otherDepartment = new Department();
+
+        assertTrue(currentUser.isManagerOf(hrDepartment));
+        assertFalse(currentUser.isManagerOf(otherDepartment));
+    }
+}
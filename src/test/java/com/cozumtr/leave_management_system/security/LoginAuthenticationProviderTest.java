@@ -0,0 +1,96 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.Role;
+import com.cozumtr.leave_management_system.entities.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoginAuthenticationProvider Unit Tests")
+class LoginAuthenticationProviderTest {
+
+    private static final String EMAIL = "employee@test.com";
+    private static final String PASSWORD = "Password123!";
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordVerificationPool passwordVerificationPool;
+    private LoginAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        passwordVerificationPool = new PasswordVerificationPool(passwordEncoder, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passwordVerificationPool, "threads", 2);
+        ReflectionTestUtils.setField(passwordVerificationPool, "queueCapacity", 4);
+        ReflectionTestUtils.setField(passwordVerificationPool, "timeoutMs", 5_000L);
+        passwordVerificationPool.init();
+        provider = new LoginAuthenticationProvider(passwordEncoder, passwordVerificationPool);
+
+        Employee employee = new Employee();
+        employee.setEmail(EMAIL);
+        Role role = new Role();
+        role.setRoleName("EMPLOYEE");
+        user = new User();
+        user.setId(1L);
+        user.setEmployee(employee);
+        user.setRoles(Set.of(role));
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordVerificationPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Doğru şifre ile yüklenmiş kullanıcı doğrulanmalı")
+    void authenticate_CorrectPassword_ShouldReturnAuthenticatedToken() {
+        Authentication result = provider.authenticate(
+                LoginAuthenticationToken.unauthenticated(EMAIL, PASSWORD, user));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals(EMAIL, result.getName());
+        assertNull(result.getCredentials());
+        assertSame(user, ((LoginAuthenticationToken) result).getUser());
+        assertTrue(result.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE")));
+    }
+
+    @Test
+    @DisplayName("Yanlış şifre BadCredentialsException fırlatmalı")
+    void authenticate_WrongPassword_ShouldThrow() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                LoginAuthenticationToken.unauthenticated(EMAIL, "wrong", user)));
+    }
+
+    @Test
+    @DisplayName("Kayıtlı olmayan kullanıcı için de BCrypt karşılaştırması yapılmalı")
+    void authenticate_UnknownUser_ShouldStillVerifyHash() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                LoginAuthenticationToken.unauthenticated("ghost@test.com", PASSWORD, null)));
+
+        verify(passwordEncoder).matches(eq(PASSWORD), anyString());
+    }
+
+    @Test
+    @DisplayName("Sadece giriş token'ını desteklemeli")
+    void supports_ShouldOnlyAcceptLoginToken() {
+        assertTrue(provider.supports(LoginAuthenticationToken.class));
+        assertFalse(provider.supports(UsernamePasswordAuthenticationToken.class));
+    }
+}
@@ -0,0 +1,104 @@
+package com.cozumtr.leave_management_system.security;
+
+import com.cozumtr.leave_management_system.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PasswordVerificationPool Unit Tests")
+class PasswordVerificationPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordVerificationPool pool;
+
+    private PasswordVerificationPool createPool(PasswordEncoder encoder, int threads, int queueCapacity, long timeoutMs) {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new PasswordVerificationPool(encoder, meterRegistry);
+        ReflectionTestUtils.setField(pool, "threads", threads);
+        ReflectionTestUtils.setField(pool, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(pool, "timeoutMs", timeoutMs);
+        pool.init();
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Şifre havuzda doğrulanmalı")
+    void matches_ShouldVerifyPassword() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        String hash = encoder.encode("Password123!");
+        createPool(encoder, 2, 4, 5_000L);
+
+        assertTrue(pool.matches("Password123!", hash));
+        assertFalse(pool.matches("wrong", hash));
+    }
+
+    @Test
+    @DisplayName("Havuz ve kuyruk doluysa istek beklemeden 429 ile reddedilmeli")
+    void matches_Saturated_ShouldRejectFast() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        createPool(blocking, 1, 1, 5_000L);
+
+        // 1. istek thread'i, 2. istek kuyruğu doldurur
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> pool.matches("a", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> pool.matches("b", "hash"));
+        waitForQueue();
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> pool.matches("c", "hash"));
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.verification.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Zamanında tamamlanmayan doğrulama 429 ile sonlanmalı")
+    void matches_Timeout_ShouldReject() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+        createPool(blocking, 1, 1, 50L);
+
+        assertThrows(TooManyRequestsException.class, () -> pool.matches("a", "hash"));
+        release.countDown();
+    }
+
+    private void waitForQueue() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(pool, "executor");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.getQueue().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountRevocationService Unit Tests")
+class AccountRevocationServiceTest {
+
+    private static final String EMAIL = "employee@test.com";
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private AccountRevocationService accountRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountRevocationService, "tokenLifetimeMs", 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("Değişiklik kaydı olmayan kullanıcının token'ı geçerli olmalı")
+    void isRevoked_WithoutChange_ShouldReturnFalse() {
+        assertFalse(accountRevocationService.isRevoked(EMAIL, new Date()));
+    }
+
+    @Test
+    @DisplayName("Değişiklikten önce üretilen token reddedilmeli, sonra üretilen kabul edilmeli")
+    void isRevoked_ShouldCompareIssuedAtWithChange() {
+        long changedAt = Instant.now().getEpochSecond();
+        accountRevocationService.evict(changedAt + "|" + EMAIL);
+
+        assertTrue(accountRevocationService.isRevoked(EMAIL, Date.from(Instant.ofEpochSecond(changedAt - 60))));
+        assertFalse(accountRevocationService.isRevoked(EMAIL, Date.from(Instant.ofEpochSecond(changedAt))));
+        assertFalse(accountRevocationService.isRevoked(EMAIL, Date.from(Instant.ofEpochSecond(changedAt + 5))));
+        assertFalse(accountRevocationService.isRevoked("other@test.com", Date.from(Instant.ofEpochSecond(changedAt - 60))));
+    }
+
+    @Test
+    @DisplayName("Geç gelen eski mesaj daha yeni değişikliği geri almamalı")
+    void evict_ShouldKeepLatestChange() {
+        long now = Instant.now().getEpochSecond();
+        accountRevocationService.evict(now + "|" + EMAIL);
+        accountRevocationService.evict((now - 120) + "|" + EMAIL);
+
+        assertTrue(accountRevocationService.isRevoked(EMAIL, Date.from(Instant.ofEpochSecond(now - 60))));
+    }
+
+    @Test
+    @DisplayName("Hesap değişikliği olayı bus üzerinden yayınlanmalı")
+    void onUserAccountChanged_ShouldPublishThroughBus() {
+        accountRevocationService.onUserAccountChanged(new UserAccountChangedEvent(1L, EMAIL));
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(cacheInvalidationBus).publish(eq(AccountRevocationService.CACHE_NAME), key.capture());
+        assertTrue(key.getValue().endsWith("|" + EMAIL));
+    }
+
+    @Test
+    @DisplayName("Token ömründen eski kayıtlar silinmeli")
+    void pruneExpired_ShouldDropEntriesOlderThanTokenLifetime() {
+        long twoHoursAgo = Instant.now().minusSeconds(7200).getEpochSecond();
+        accountRevocationService.evict(twoHoursAgo + "|" + EMAIL);
+
+        accountRevocationService.pruneExpired();
+
+        assertFalse(accountRevocationService.isRevoked(EMAIL, Date.from(Instant.ofEpochSecond(twoHoursAgo - 60))));
+    }
+
+    @Test
+    @DisplayName("Bozuk mesaj yok sayılmalı")
+    void evict_WithMalformedKey_ShouldBeIgnored() {
+        accountRevocationService.evict("not-a-number|" + EMAIL);
+        accountRevocationService.evict(EMAIL);
+
+        assertFalse(accountRevocationService.isRevoked(EMAIL, new Date(0)));
+    }
+}
@@ -2,16 +2,13 @@ package com.cozumtr.leave_management_system.service;
 
 import com.cozumtr.leave_management_system.dto.request.AccountingReportRequest;
 import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportResponse;
-import com.cozumtr.leave_management_system.entities.Department;
-import com.cozumtr.leave_management_system.entities.Employee;
-import com.cozumtr.leave_management_system.entities.LeaveRequest;
-import com.cozumtr.leave_management_system.entities.LeaveType;
+import com.cozumtr.leave_management_system.dto.response.AccountingLeaveReportRow;
 import com.cozumtr.leave_management_system.enums.ReportType;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
-import com.cozumtr.leave_management_system.enums.RequestUnit;
 import com.cozumtr.leave_management_system.exception.BusinessException;
-import com.cozumtr.leave_management_system.repository.LeaveAttachmentRepository;
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,12 +17,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,15 +37,13 @@ class AccountingReportServiceTest {
 
     @Mock
     private LeaveRequestRepository leaveRequestRepository;
-    @Mock
-    private LeaveAttachmentRepository leaveAttachmentRepository;
 
     @InjectMocks
     private AccountingReportService accountingReportService;
 
     private AccountingReportRequest baseRequest;
-    private LeaveRequest unpaidRequest;
-    private LeaveRequest docRequiredRequest;
+    private AccountingLeaveReportRow unpaidRow;
+    private AccountingLeaveReportRow docRequiredRow;
 
     @BeforeEach
     void setUp() {
@@ -50,34 +52,37 @@ class AccountingReportServiceTest {
         baseRequest.setEndDate(LocalDateTime.now().plusDays(10));
         baseRequest.setType(ReportType.ALL);
 
-        unpaidRequest = buildRequest(false, false, RequestStatus.APPROVED, 1L, "Ücretsiz İzin");
-        docRequiredRequest = buildRequest(true, true, RequestStatus.APPROVED_MANAGER, 2L, "Hastalık İzni");
+        unpaidRow = buildRow(false, false, RequestStatus.APPROVED, 1L, "Ücretsiz İzin", 0L);
+        docRequiredRow = buildRow(true, true, RequestStatus.APPROVED_MANAGER, 2L, "Hastalık İzni", 1L);
     }
 
     @Test
-    @DisplayName("getReport - ALL türü tüm onaylı kayıtları döner")
+    @DisplayName("getReport - ALL türü tüm onaylı kayıtları tek sorguyla döner")
     void getReport_AllTypes_ReturnsRows() {
-        when(leaveRequestRepository.findForAccountingReport(anyList(), any(), any(), eq(false), eq(false), isNull(), isNull()))
-                .thenReturn(List.of(unpaidRequest, docRequiredRequest));
-        when(leaveAttachmentRepository.findByLeaveRequestId(1L)).thenReturn(List.of());
-        when(leaveAttachmentRepository.findByLeaveRequestId(2L)).thenReturn(List.of(new com.cozumtr.leave_management_system.entities.LeaveAttachment()));
+        when(leaveRequestRepository.findAccountingReportRows(anyList(), any(), any(), eq(false), eq(false), isNull(), isNull()))
+                .thenReturn(List.of(unpaidRow, docRequiredRow));
 
         AccountingLeaveReportResponse response = accountingReportService.getReport(baseRequest);
 
         assertNotNull(response.getRows());
         assertEquals(2, response.getRows().size());
         assertEquals("Ücretsiz İzin", response.getRows().get(0).getLeaveTypeName());
+        assertEquals("Test User", response.getRows().get(0).getEmployeeFullName());
+        assertEquals("APPROVED_MANAGER", response.getRows().get(1).getStatus());
         assertEquals(0, response.getRows().get(0).getAttachmentCount());
         assertEquals(1, response.getRows().get(1).getAttachmentCount());
+
+        // Satır başına ek sorgu yapılmamalı
+        verify(leaveRequestRepository).findAccountingReportRows(anyList(), any(), any(), eq(false), eq(false), isNull(), isNull());
+        verifyNoMoreInteractions(leaveRequestRepository);
     }
 
     @Test
     @DisplayName("getReport - UNPAID filtresi yalnız isPaid=false kayıtları getirir")
     void getReport_UnpaidFilter() {
         baseRequest.setType(ReportType.UNPAID);
-        when(leaveRequestRepository.findForAccountingReport(anyList(), any(), any(), eq(true), eq(false), isNull(), isNull()))
-                .thenReturn(List.of(unpaidRequest));
-        when(leaveAttachmentRepository.findByLeaveRequestId(anyLong())).thenReturn(List.of());
+        when(leaveRequestRepository.findAccountingReportRows(anyList(), any(), any(), eq(true), eq(false), isNull(), isNull()))
+                .thenReturn(List.of(unpaidRow));
 
         AccountingLeaveReportResponse response = accountingReportService.getReport(baseRequest);
 
@@ -89,9 +94,8 @@ class AccountingReportServiceTest {
     @DisplayName("getReport - DOCUMENT_REQUIRED filtresi yalnız documentRequired=true kayıtları getirir")
     void getReport_DocumentRequiredFilter() {
         baseRequest.setType(ReportType.DOCUMENT_REQUIRED);
-        when(leaveRequestRepository.findForAccountingReport(anyList(), any(), any(), eq(false), eq(true), isNull(), isNull()))
-                .thenReturn(List.of(docRequiredRequest));
-        when(leaveAttachmentRepository.findByLeaveRequestId(anyLong())).thenReturn(List.of(new com.cozumtr.leave_management_system.entities.LeaveAttachment()));
+        when(leaveRequestRepository.findAccountingReportRows(anyList(), any(), any(), eq(false), eq(true), isNull(), isNull()))
+                .thenReturn(List.of(docRequiredRow));
 
         AccountingLeaveReportResponse response = accountingReportService.getReport(baseRequest);
 
@@ -106,35 +110,44 @@ class AccountingReportServiceTest {
         assertThrows(BusinessException.class, () -> accountingReportService.getReport(baseRequest));
     }
 
-    private LeaveRequest buildRequest(boolean paid, boolean documentRequired, RequestStatus status, Long id, String typeName) {
-        LeaveType lt = new LeaveType();
-        lt.setId(id);
-        lt.setName(typeName);
-        lt.setPaid(paid);
-        lt.setDocumentRequired(documentRequired);
-        lt.setDeductsFromAnnual(false);
-        lt.setRequestUnit(RequestUnit.DAY);
-
-        Department d = new Department();
-        d.setId(10L);
-        d.setName("Depo");
-
-        Employee e = new Employee();
-        e.setId(20L);
-        e.setFirstName("Test");
-        e.setLastName("User");
-        e.setDepartment(d);
-
-        LeaveRequest lr = new LeaveRequest();
-        lr.setId(id);
-        lr.setEmployee(e);
-        lr.setLeaveType(lt);
-        lr.setRequestStatus(status);
-        lr.setStartDateTime(LocalDateTime.now().minusDays(2));
-        lr.setEndDateTime(LocalDateTime.now().minusDays(1));
-        lr.setDurationHours(BigDecimal.TEN);
-        return lr;
+    @Test
+    @DisplayName("buildExcel - Satırlar cursor'dan okunarak sayfaya yazılmalı, liste sorgusu kullanılmamalı")
+    void buildExcel_ShouldWriteRowsFromStream() throws Exception {
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        when(leaveRequestRepository.streamAccountingReportRows(anyList(), any(), any(), eq(false), eq(false), isNull(), isNull()))
+                .thenReturn(Stream.of(unpaidRow, docRequiredRow).onClose(() -> streamClosed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingSheetWriter sheet = accountingReportService.buildExcel(baseRequest)) {
+            // Cursor, dosya istemciye yazılmadan önce kapanmış olmalı
+            assertTrue(streamClosed.get());
+            sheet.writeTo(out);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Talep ID", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Ücretsiz İzin", sheet.getRow(1).getCell(3).getStringCellValue());
+            assertEquals("Hastalık İzni", sheet.getRow(2).getCell(3).getStringCellValue());
+            assertEquals(1.0, sheet.getRow(2).getCell(11).getNumericCellValue());
+        }
+        verify(leaveRequestRepository, never()).findAccountingReportRows(anyList(), any(), any(), anyBoolean(), anyBoolean(), any(), any());
     }
-}
 
+    @Test
+    @DisplayName("buildExcel - Geçersiz tarihlerde sorgu çalışmadan BusinessException")
+    void buildExcel_InvalidDates_ShouldThrowBeforeQuery() {
+        baseRequest.setEndDate(baseRequest.getStartDate().minusDays(1));
+
+        assertThrows(BusinessException.class, () -> accountingReportService.buildExcel(baseRequest));
+        verifyNoMoreInteractions(leaveRequestRepository);
+    }
 
+    private AccountingLeaveReportRow buildRow(boolean paid, boolean documentRequired, RequestStatus status, Long id,
+                                              String typeName, Long attachmentCount) {
+        // Repository sorgusundaki constructor expression ile aynı yapıcı
+        return new AccountingLeaveReportRow(id, "Test", "User", "Depo", typeName, paid, false, documentRequired,
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), BigDecimal.TEN, status,
+                attachmentCount);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApproverDirectoryService Unit Tests")
+class ApproverDirectoryServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private ApproverDirectoryService approverDirectoryService;
+
+    @Test
+    @DisplayName("Aynı rol için ikinci çağrı veritabanına gitmemeli")
+    void getApproverEmails_ShouldCacheByRole() {
+        when(userRepository.findActiveUserEmailsByRole("HR")).thenReturn(List.of("hr@test.com"));
+
+        List<String> first = approverDirectoryService.getApproverEmails("HR", null);
+        List<String> second = approverDirectoryService.getApproverEmails("HR", null);
+
+        assertEquals(List.of("hr@test.com"), first);
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findActiveUserEmailsByRole("HR");
+    }
+
+    @Test
+    @DisplayName("MANAGER için departman bazında ayrı kayıt tutulmalı")
+    void getApproverEmails_ShouldKeyByDepartment() {
+        when(userRepository.findActiveUserEmailsByRoleAndDepartment("MANAGER", 1L))
+                .thenReturn(List.of("manager1@test.com"));
+        when(userRepository.findActiveUserEmailsByRoleAndDepartment("MANAGER", 2L))
+                .thenReturn(List.of("manager2@test.com"));
+
+        assertEquals(List.of("manager1@test.com"), approverDirectoryService.getApproverEmails("MANAGER", 1L));
+        assertEquals(List.of("manager2@test.com"), approverDirectoryService.getApproverEmails("MANAGER", 2L));
+        approverDirectoryService.getApproverEmails("MANAGER", 1L);
+
+        verify(userRepository, times(1)).findActiveUserEmailsByRoleAndDepartment("MANAGER", 1L);
+        verify(userRepository, times(1)).findActiveUserEmailsByRoleAndDepartment("MANAGER", 2L);
+    }
+
+    @Test
+    @DisplayName("Temizleme sonrası dizin veritabanından yeniden yüklenmeli")
+    void evictAll_ShouldReloadDirectory() {
+        when(userRepository.findActiveUserEmailsByRole("CEO"))
+                .thenReturn(List.of("ceo@test.com"))
+                .thenReturn(List.of("ceo@test.com", "newceo@test.com"));
+
+        approverDirectoryService.getApproverEmails("CEO", null);
+        approverDirectoryService.evictAll();
+        List<String> reloaded = approverDirectoryService.getApproverEmails("CEO", null);
+
+        assertEquals(List.of("ceo@test.com", "newceo@test.com"), reloaded);
+        verify(userRepository, times(2)).findActiveUserEmailsByRole("CEO");
+    }
+
+    @Test
+    @DisplayName("Kullanıcı değişikliği olayı cluster genelinde invalidation yayınlamalı")
+    void onUserAccountChanged_ShouldPublishInvalidation() {
+        approverDirectoryService.onUserAccountChanged(new UserAccountChangedEvent(5L, "newceo@test.com"));
+
+        verify(cacheInvalidationBus).publish(ApproverDirectoryService.CACHE_NAME, null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.cozumtr.leave_management_system.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthAuditWriter Unit Tests")
+class AuthAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new AuthAuditWriter(jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "bufferSize", 16);
+        ReflectionTestUtils.setField(writer, "batchSize", 3);
+        ReflectionTestUtils.setField(writer, "flushMs", 60_000L);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Batch dolunca kayıtlar tek çok satırlı INSERT ile yazılmalı")
+    void record_BatchFull_ShouldWriteMultiRowInsert() throws InterruptedException {
+        writer.init();
+        awaitWriterParked();
+
+        writer.record("a@test.com", 1L, AuthAuditWriter.LOGIN_SUCCESS, "10.0.0.1", null, null);
+        writer.record("b@test.com", 2L, AuthAuditWriter.LOGIN_FAILURE, "10.0.0.2", "BAD_CREDENTIALS", "{\"x\": 1}");
+        writer.record("c@test.com", null, AuthAuditWriter.LOGOUT, null, null, null);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, timeout(5_000)).update(sql.capture(), args.capture());
+        assertEquals(3, sql.getValue().split("CAST").length - 1);
+        assertEquals(21, args.getValue().length);
+        assertEquals("a@test.com", args.getValue()[0]);
+        assertEquals("{}", args.getValue()[5]);
+        assertEquals("{\"x\": 1}", args.getValue()[12]);
+        assertEquals(AuthAuditWriter.LOGOUT, args.getValue()[16]);
+    }
+
+    @Test
+    @DisplayName("Kapanışta tamponda kalan kayıtlar yazılmalı")
+    void shutdown_ShouldDrainBuffer() throws InterruptedException {
+        writer.init();
+        awaitWriterParked();
+        writer.record("a@test.com", 1L, AuthAuditWriter.LOGIN_SUCCESS, null, null, null);
+        verifyNoInteractions(jdbcTemplate);
+
+        writer.shutdown();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        assertEquals(7, args.getValue().length);
+    }
+
+    @Test
+    @DisplayName("Kapalıyken kayıt tutulmamalı")
+    void record_Disabled_ShouldDoNothing() {
+        ReflectionTestUtils.setField(writer, "enabled", false);
+        writer.init();
+
+        writer.record("a@test.com", 1L, AuthAuditWriter.LOGIN_SUCCESS, null, null, null);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Halka tampon sırayı korumalı, doluyken reddetmeli ve sarmalanmalı")
+    void ringBuffer_ShouldPreserveOrderAndRejectWhenFull() {
+        AuthAuditWriter.RingBuffer<Integer> buffer = new AuthAuditWriter.RingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        buffer.drainTo(drained, 10);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı üreticilerin tüm kayıtları bir kez okunmalı")
+    void ringBuffer_ConcurrentProducers_ShouldNotLoseItems() throws InterruptedException {
+        AuthAuditWriter.RingBuffer<Integer> buffer = new AuthAuditWriter.RingBuffer<>(1024);
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            int offset = p * 1000;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    assertTrue(buffer.offer(offset + i));
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 2_000);
+
+        assertEquals(1000, drained.size());
+        assertEquals(1000, drained.stream().distinct().count());
+    }
+
+    // Yazıcı thread'i ilk (boş) turunu bitirip beklemeye geçene kadar bekler
+    private void awaitWriterParked() throws InterruptedException {
+        Thread writerThread = (Thread) ReflectionTestUtils.getField(writer, "writerThread");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (writerThread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
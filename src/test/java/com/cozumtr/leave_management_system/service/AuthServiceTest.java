@@ -14,6 +14,8 @@ import com.cozumtr.leave_management_system.entities.User;
 
 import com.cozumtr.leave_management_system.enums.NotificationChannel;
 
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+
 import com.cozumtr.leave_management_system.exception.BusinessException;
 
 import com.cozumtr.leave_management_system.repository.DepartmentRepository;
@@ -38,16 +40,25 @@ import org.mockito.Mock;
 
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+import org.springframework.context.ApplicationEventPublisher;
+
 import org.springframework.security.authentication.BadCredentialsException;
 
 import org.springframework.security.core.Authentication;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import org.springframework.test.util.ReflectionTestUtils;
+
 
 
 import java.time.LocalDateTime;
 
+import java.util.Date;
+
 import java.util.HashSet;
 
 import java.util.Optional;
@@ -64,6 +75,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import static org.mockito.ArgumentMatchers.anySet;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+
 import static org.mockito.Mockito.*;
 
 
@@ -124,6 +137,30 @@ class AuthServiceTest {
 
 
 
+    @Mock
+
+    private TokenRevocationService tokenRevocationService;
+
+
+
+    @Mock
+
+    private RefreshTokenService refreshTokenService;
+
+
+
+    @Mock
+
+    private AuthAuditWriter authAuditWriter;
+
+
+
+    @Mock
+
+    private ApplicationEventPublisher eventPublisher;
+
+
+
     @InjectMocks
 
     private AuthService authService;
@@ -134,6 +171,8 @@ class AuthServiceTest {
 
     private Employee testEmployee;
 
+    private LoginAttemptService loginAttemptService;
+
 
 
     @BeforeEach
@@ -171,6 +210,20 @@ class AuthServiceTest {
 
         testUser.setFailedLoginAttempts(0);
 
+
+
+        // Brute-force sayaçları gerçek servisle (bellekte) tutulur; kilitleme kuralları bu testlerde doğrulanır
+
+        loginAttemptService = new LoginAttemptService(userRepository, authAuditWriter, mock(CacheInvalidationBus.class));
+
+        ReflectionTestUtils.setField(loginAttemptService, "windowMs", 900_000L);
+
+        ReflectionTestUtils.setField(loginAttemptService, "ipMaxFailures", 100);
+
+        ReflectionTestUtils.setField(loginAttemptService, "maxTrackedKeys", 100_000);
+
+        ReflectionTestUtils.setField(authService, "loginAttemptService", loginAttemptService);
+
     }
 
 
@@ -747,9 +800,19 @@ class AuthServiceTest {
 
         assertEquals(1, testUser.getFailedLoginAttempts());
 
-        // DB'ye kaydedildi mi?
+        // Başarısız deneme veritabanına hemen yazılmamalı (periyodik flush ile toplu yazılır)
+
+        verify(userRepository, never()).save(any(User.class));
+
+        verify(userRepository, never()).addFailedLoginAttempts(anyLong(), anyInt(), any());
+
+
+
+        // Flush bekleyen denemeyi tek UPDATE ile yazmalı
+
+        loginAttemptService.flush();
 
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository, times(1)).addFailedLoginAttempts(eq(1L), eq(1), any(LocalDateTime.class));
 
     }
 
@@ -795,9 +858,7 @@ class AuthServiceTest {
 
         when(userRepository.findByEmployeeEmail(email)).thenReturn(Optional.of(testUser));
 
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-
-        when(jwtService.generateToken(eq(email), eq(1L), anySet())).thenReturn(jwtToken);
+        when(jwtService.generateToken(eq(email), eq(1L), any(), anySet())).thenReturn(jwtToken);
 
 
 
@@ -829,7 +890,13 @@ class AuthServiceTest {
 
         assertNotNull(response.getRoles());
 
-        verify(userRepository, atLeastOnce()).save(any(User.class));
+        // Kullanıcı bir kez yüklenmeli, giriş kayıtları tek UPDATE ile yazılmalı
+
+        verify(userRepository, times(1)).findByEmployeeEmail(email);
+
+        verify(userRepository, times(1)).recordSuccessfulLogin(eq(1L), any(LocalDateTime.class));
+
+        verify(userRepository, never()).save(any(User.class));
 
     }
 
@@ -907,8 +974,6 @@ class AuthServiceTest {
 
         when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
 
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-
 
 
         // When & Then
@@ -925,7 +990,21 @@ class AuthServiceTest {
 
         assertEquals(5, testUser.getFailedLoginAttempts());
 
-        verify(userRepository, times(1)).save(testUser);
+        // Kilit flush beklenmeden hemen yazılmalı
+
+        verify(userRepository, times(1)).addFailedLoginAttempts(eq(1L), eq(1), any(LocalDateTime.class));
+
+        verify(userRepository, never()).save(any(User.class));
+
+
+
+        // Sonraki deneme şifre doğrulamasına ulaşmadan reddedilmeli
+
+        RuntimeException lockedException = assertThrows(RuntimeException.class, () -> authService.login(request));
+
+        assertTrue(lockedException.getMessage().contains("kilitlenmiştir"));
+
+        verify(authenticationManager, times(1)).authenticate(any());
 
     }
 
@@ -1067,9 +1146,7 @@ class AuthServiceTest {
 
         when(userRepository.findByEmployeeEmail(email)).thenReturn(Optional.of(testUser));
 
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
-
-        when(jwtService.generateToken(anyString(), anyLong(), anySet())).thenReturn("token");
+        when(jwtService.generateToken(anyString(), anyLong(), any(), anySet())).thenReturn("token");
 
 
 
@@ -1091,7 +1168,13 @@ class AuthServiceTest {
 
         assertEquals(0, testUser.getFailedLoginAttempts());
 
-        verify(userRepository, atLeastOnce()).save(testUser);
+        verify(userRepository, times(1)).recordSuccessfulLogin(eq(1L), any(LocalDateTime.class));
+
+        verify(userRepository, never()).save(any(User.class));
+
+        verify(authAuditWriter, times(1)).record(eq(email), eq(1L), eq(AuthAuditWriter.LOGIN_SUCCESS), isNull(),
+
+                isNull(), eq("{\"previous_failures_cleared\": 3}"));
 
     }
 
@@ -1233,9 +1316,220 @@ class AuthServiceTest {
 
     }
 
-}
 
 
+    @Test
+
+    @DisplayName("logout - Geçerli token iptal listesine eklenmeli")
+
+    void testLogout_ValidToken_ShouldRevokeToken() {
+
+        // Given
+
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+        when(jwtService.verify("access-token")).thenReturn(new JwtService.VerifiedToken(
+
+                "test@example.com", "jti-1", 1L, null, Set.of("EMPLOYEE"), new Date(), expiration));
+
+
+
+        // When
+
+        authService.logout("access-token", "refresh-token");
+
+
+
+        // Then
+
+        verify(tokenRevocationService, times(1)).revokeToken("jti-1", "test@example.com", expiration);
+
+        verify(refreshTokenService, times(1)).revokeFamily("refresh-token", 1L);
+
+        verify(authAuditWriter, times(1)).record("test@example.com", 1L, AuthAuditWriter.LOGOUT, null, null, null);
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("logout - Geçersiz token ve refresh token yoksa BusinessException fırlatmalı")
+
+    void testLogout_InvalidToken_ShouldThrowException() {
+
+        // Given
+
+        when(jwtService.verify("bad-token")).thenThrow(new JwtException("invalid"));
+
+
+
+        // When & Then
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> authService.logout("bad-token", null));
+
+        assertEquals("Geçersiz veya süresi dolmuş token", exception.getMessage());
+
+        verifyNoInteractions(tokenRevocationService);
+
+        verifyNoInteractions(refreshTokenService);
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("logout - Süresi dolmuş access token ile refresh token ailesi yine de iptal edilmeli")
+
+    void testLogout_ExpiredAccessToken_ShouldStillRevokeRefreshFamily() {
+
+        // Given
+
+        when(jwtService.verify("expired-token")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        when(refreshTokenService.revokeFamily("refresh-token", null)).thenReturn(1L);
+
+
+
+        // When
+
+        authService.logout("expired-token", "refresh-token");
+
+
+
+        // Then
+
+        verify(refreshTokenService, times(1)).revokeFamily("refresh-token", null);
+
+        verifyNoInteractions(tokenRevocationService);
+
+        verify(authAuditWriter, times(1)).record(null, 1L, AuthAuditWriter.LOGOUT, null, null, null);
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("logout - Access token olmadan sadece refresh token ile çıkış yapılabilmeli")
+
+    void testLogout_OnlyRefreshToken_ShouldRevokeRefreshFamily() {
+
+        // Given
+
+        when(refreshTokenService.revokeFamily("refresh-token", null)).thenReturn(1L);
+
+
+
+        // When
+
+        authService.logout(null, "refresh-token");
+
+
+
+        // Then
+
+        verify(refreshTokenService, times(1)).revokeFamily("refresh-token", null);
+
+        verifyNoInteractions(jwtService);
+
+        verifyNoInteractions(tokenRevocationService);
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("logout - Başka kullanıcıya ait refresh token reddedilmeli, access token iptal edilmemeli")
+
+    void testLogout_RefreshTokenOfAnotherUser_ShouldThrowException() {
+
+        // Given
+
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+        when(jwtService.verify("access-token")).thenReturn(new JwtService.VerifiedToken(
+
+                "test@example.com", "jti-1", 1L, null, Set.of("EMPLOYEE"), new Date(), expiration));
+
+        when(refreshTokenService.revokeFamily("other-refresh-token", 1L))
 
+                .thenThrow(new BusinessException("Geçersiz veya süresi dolmuş oturum"));
 
 
+
+        // When & Then
+
+        assertThrows(BusinessException.class, () -> authService.logout("access-token", "other-refresh-token"));
+
+        verifyNoInteractions(tokenRevocationService);
+
+        verifyNoInteractions(authAuditWriter);
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("refresh - Geçerli refresh token ile yeni token çifti dönmeli")
+
+    void testRefresh_ValidToken_ShouldReturnNewTokens() {
+
+        // Given
+
+        when(refreshTokenService.rotate("refresh-token"))
+
+                .thenReturn(new RefreshTokenService.Rotation(1L, "rotated-refresh-token"));
+
+        when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(testUser));
+
+        when(jwtService.generateToken(eq("test@sirket.com"), eq(1L), any(), anySet())).thenReturn("new-access-token");
+
+
+
+        // When
+
+        AuthResponseDto response = authService.refresh("refresh-token");
+
+
+
+        // Then
+
+        assertEquals("new-access-token", response.getToken());
+
+        assertEquals("rotated-refresh-token", response.getRefreshToken());
+
+    }
+
+
+
+    @Test
+
+    @DisplayName("refresh - Pasif kullanıcı için token yenilenmemeli")
+
+    void testRefresh_InactiveUser_ShouldThrowException() {
+
+        // Given
+
+        testUser.setIsActive(false);
+
+        when(refreshTokenService.rotate("refresh-token"))
+
+                .thenReturn(new RefreshTokenService.Rotation(1L, "rotated-refresh-token"));
+
+        when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(testUser));
+
+
+
+        // When & Then
+
+        assertThrows(BusinessException.class, () -> authService.refresh("refresh-token"));
+
+        verify(jwtService, never()).generateToken(anyString(), anyLong(), any(), anySet());
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.DailyAbsenceTotal;
+import com.cozumtr.leave_management_system.dto.response.DepartmentCapacityResponse;
+import com.cozumtr.leave_management_system.dto.response.HireDateWorkHours;
+import com.cozumtr.leave_management_system.entities.PublicHoliday;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.DepartmentRepository;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CapacityReportService Unit Tests")
+class CapacityReportServiceTest {
+
+    @Mock
+    private DailyAbsenceRepository dailyAbsenceRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private LeaveCalculationService leaveCalculationService;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @InjectMocks
+    private CapacityReportService capacityReportService;
+
+    private static BigDecimal hours(String value) {
+        return new BigDecimal(value);
+    }
+
+    @Test
+    @DisplayName("Kapasite sadece çalışma günlerini içermeli; tatil, izin ve işe girişler hesaba katılmalı")
+    void getDepartmentCapacity_ShouldComputeDailyCapacity() {
+        // 5 Ocak 2024 Cuma - 10 Ocak 2024 Çarşamba; Salı arife (yarım gün)
+        LocalDate from = LocalDate.of(2024, 1, 5);
+        LocalDate to = LocalDate.of(2024, 1, 10);
+        PublicHoliday eve = new PublicHoliday();
+        eve.setStartDate(LocalDate.of(2024, 1, 9));
+        eve.setEndDate(LocalDate.of(2024, 1, 9));
+        eve.setIsHalfDay(true);
+
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(true);
+        when(departmentRepository.existsById(3L)).thenReturn(true);
+        when(leaveCalculationService.workCalendar(from, to)).thenReturn(new WorkCalendar(List.of(eve)));
+        when(employeeRepository.sumDailyWorkHoursByHireDate(3L)).thenReturn(List.of(
+                new HireDateWorkHours(LocalDate.of(2020, 3, 1), hours("16.0")),
+                new HireDateWorkHours(null, hours("8.0")),
+                new HireDateWorkHours(LocalDate.of(2024, 1, 8), hours("6.0"))));
+        when(dailyAbsenceRepository.sumByDay(3L, from, to)).thenReturn(List.of(
+                new DailyAbsenceTotal(LocalDate.of(2024, 1, 5), hours("8.0"), 1L),
+                new DailyAbsenceTotal(LocalDate.of(2024, 1, 10), hours("40.0"), 3L)));
+
+        DepartmentCapacityResponse response = capacityReportService.getDepartmentCapacity(3L, from, to);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 8),
+                LocalDate.of(2024, 1, 9), LocalDate.of(2024, 1, 10)), response.getDates());
+        // Cuma: 24 - 8 izin; Pazartesi: yeni çalışan katıldı (30); Salı: arife (15); Çarşamba: izin kapasiteyi aşıyor
+        assertEquals(0, hours("16.0").compareTo(response.getAvailableHours().get(0)));
+        assertEquals(0, hours("30.0").compareTo(response.getAvailableHours().get(1)));
+        assertEquals(0, hours("15.0").compareTo(response.getAvailableHours().get(2)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getAvailableHours().get(3)));
+        assertEquals(0, hours("8.0").compareTo(response.getAbsentHours().get(0)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getAbsentHours().get(1)));
+        assertEquals(List.of(1, 0, 0, 3), response.getHeadcountOnLeave());
+    }
+
+    @Test
+    @DisplayName("MANAGER başka departmanın kapasitesini görememeli")
+    void getDepartmentCapacity_ManagerOtherDepartment_ShouldThrow() {
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(false);
+        when(currentUser.getDepartmentId()).thenReturn(5L);
+
+        assertThrows(BusinessException.class, () -> capacityReportService.getDepartmentCapacity(
+                3L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        verifyNoInteractions(dailyAbsenceRepository, employeeRepository);
+    }
+
+    @Test
+    @DisplayName("Bir yıldan uzun veya ters tarih aralığı reddedilmeli")
+    void getDepartmentCapacity_InvalidRange_ShouldThrow() {
+        assertThrows(BusinessException.class, () -> capacityReportService.getDepartmentCapacity(
+                3L, LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(BusinessException.class, () -> capacityReportService.getDepartmentCapacity(
+                3L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+        verifyNoInteractions(currentUser, dailyAbsenceRepository);
+    }
+
+    @Test
+    @DisplayName("Olmayan departman için EntityNotFoundException fırlatılmalı")
+    void getDepartmentCapacity_UnknownDepartment_ShouldThrow() {
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(true);
+        when(departmentRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> capacityReportService.getDepartmentCapacity(
+                99L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+}
@@ -0,0 +1,267 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.LeaveType;
+import com.cozumtr.leave_management_system.entities.PublicHoliday;
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.enums.RequestUnit;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DailyAbsenceService Unit Tests")
+class DailyAbsenceServiceTest {
+
+    @Mock
+    private DailyAbsenceRepository dailyAbsenceRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private LeaveCalculationService leaveCalculationService;
+
+    @Mock
+    private LeaveDataVersionService leaveDataVersionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DailyAbsenceService dailyAbsenceService;
+
+    private Employee employee;
+    private LeaveType annualLeave;
+    private LeaveType hourlyLeave;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dailyAbsenceService, "backfillBatchSize", 500);
+
+        Department department = new Department();
+        department.setId(3L);
+
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setDailyWorkHours(new BigDecimal("8.0"));
+        employee.setDepartment(department);
+
+        annualLeave = new LeaveType();
+        annualLeave.setId(1L);
+        annualLeave.setRequestUnit(RequestUnit.DAY);
+
+        hourlyLeave = new LeaveType();
+        hourlyLeave.setId(2L);
+        hourlyLeave.setRequestUnit(RequestUnit.HOUR);
+    }
+
+    private LeaveRequest leave(Long id, LeaveType type, LocalDateTime start, LocalDateTime end, RequestStatus status) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setLeaveType(type);
+        leaveRequest.setStartDateTime(start);
+        leaveRequest.setEndDateTime(end);
+        leaveRequest.setRequestStatus(status);
+        return leaveRequest;
+    }
+
+    private static PublicHoliday holiday(LocalDate date, boolean halfDay) {
+        PublicHoliday holiday = new PublicHoliday();
+        holiday.setStartDate(date);
+        holiday.setEndDate(date);
+        holiday.setIsHalfDay(halfDay);
+        return holiday;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DailyAbsence> capturedRows() {
+        ArgumentCaptor<List<DailyAbsence>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyAbsenceRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("refresh - Günlük izin çalışma günlerine açılmalı (hafta sonu ve tatil hariç, arife yarım gün)")
+    void refresh_ApprovedDayLeave_ShouldWriteWorkingDays() {
+        // 5 Ocak 2024 Cuma - 9 Ocak 2024 Salı; Pazartesi tam gün, Salı yarım gün tatil
+        LocalDate start = LocalDate.of(2024, 1, 5);
+        LocalDate end = LocalDate.of(2024, 1, 9);
+        LeaveRequest leaveRequest = leave(10L, annualLeave, start.atStartOfDay(), end.atTime(23, 59), RequestStatus.APPROVED);
+        when(leaveRequestRepository.findById(10L)).thenReturn(Optional.of(leaveRequest));
+        when(leaveCalculationService.workCalendar(start, end)).thenReturn(new WorkCalendar(List.of(
+                holiday(LocalDate.of(2024, 1, 8), false),
+                holiday(LocalDate.of(2024, 1, 9), true))));
+
+        dailyAbsenceService.refresh(10L);
+
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(10L);
+        List<DailyAbsence> rows = capturedRows();
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2024, 1, 5), rows.get(0).getAbsenceDate());
+        assertEquals(new BigDecimal("8.0"), rows.get(0).getHours());
+        assertEquals(LocalDate.of(2024, 1, 9), rows.get(1).getAbsenceDate());
+        assertEquals(0, new BigDecimal("4").compareTo(rows.get(1).getHours()));
+
+        DailyAbsence row = rows.get(0);
+        assertEquals(7L, row.getEmployeeId());
+        assertEquals(3L, row.getDepartmentId());
+        assertEquals(1L, row.getLeaveTypeId());
+        assertEquals(10L, row.getLeaveRequestId());
+    }
+
+    @Test
+    @DisplayName("refresh - Çalışanın günlük mesai saati kullanılmalı")
+    void refresh_ShouldUseEmployeeDailyWorkHours() {
+        employee.setDailyWorkHours(new BigDecimal("6.0"));
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 1, 17);
+        LeaveRequest leaveRequest = leave(11L, annualLeave, start.atStartOfDay(), end.atTime(23, 59), RequestStatus.APPROVED);
+        when(leaveRequestRepository.findById(11L)).thenReturn(Optional.of(leaveRequest));
+        when(leaveCalculationService.workCalendar(start, end)).thenReturn(new WorkCalendar(List.of()));
+
+        dailyAbsenceService.refresh(11L);
+
+        List<DailyAbsence> rows = capturedRows();
+        assertEquals(3, rows.size());
+        assertTrue(rows.stream().allMatch(r -> r.getHours().equals(new BigDecimal("6.0"))));
+    }
+
+    @Test
+    @DisplayName("refresh - Saatlik izin sadece izin saatleri kadar yazılmalı")
+    void refresh_HourlyLeave_ShouldWriteClockHours() {
+        LocalDate day = LocalDate.of(2024, 1, 10);
+        LeaveRequest leaveRequest = leave(12L, hourlyLeave, day.atTime(9, 0), day.atTime(12, 30), RequestStatus.APPROVED);
+        when(leaveRequestRepository.findById(12L)).thenReturn(Optional.of(leaveRequest));
+        when(leaveCalculationService.workCalendar(day, day)).thenReturn(new WorkCalendar(List.of()));
+
+        dailyAbsenceService.refresh(12L);
+
+        List<DailyAbsence> rows = capturedRows();
+        assertEquals(1, rows.size());
+        assertEquals(new BigDecimal("3.50"), rows.get(0).getHours());
+        assertEquals(2L, rows.get(0).getLeaveTypeId());
+    }
+
+    @Test
+    @DisplayName("refresh - Onaylı olmayan (iptal edilmiş) izinin kayıtları sadece silinmeli")
+    void refresh_CancelledLeave_ShouldOnlyDelete() {
+        LeaveRequest leaveRequest = leave(13L, annualLeave,
+                LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 1, 17, 23, 59), RequestStatus.CANCELLED);
+        when(leaveRequestRepository.findById(13L)).thenReturn(Optional.of(leaveRequest));
+
+        dailyAbsenceService.refresh(13L);
+
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(13L);
+        verify(dailyAbsenceRepository, never()).saveAll(anyList());
+        verifyNoInteractions(leaveCalculationService);
+    }
+
+    @Test
+    @DisplayName("onLeaveRequestChanged - Ara onay tabloyu etkilememeli, son onay ve iptal etkilemeli")
+    void onLeaveRequestChanged_ShouldOnlyReactToApprovedTransitions() {
+        dailyAbsenceService.onLeaveRequestChanged(event(LeaveChangeType.APPROVED, 20L, RequestStatus.APPROVED_HR));
+        dailyAbsenceService.onLeaveRequestChanged(event(LeaveChangeType.CREATED, 21L, RequestStatus.PENDING_APPROVAL));
+        verifyNoInteractions(dailyAbsenceRepository, leaveRequestRepository);
+
+        when(leaveRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
+        dailyAbsenceService.onLeaveRequestChanged(event(LeaveChangeType.CANCELLED, 22L, RequestStatus.CANCELLED));
+        dailyAbsenceService.onLeaveRequestChanged(event(LeaveChangeType.CREATED, 23L, RequestStatus.APPROVED));
+
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(22L);
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(23L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("backfill - Eksik izinler sayfa sayfa doldurulmalı ve imleç ilerlemeli")
+    void backfill_ShouldProcessPagesUntilEmpty() {
+        LeaveRequest first = leave(30L, annualLeave,
+                LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 1, 15, 23, 59), RequestStatus.APPROVED);
+        LeaveRequest second = leave(31L, annualLeave,
+                LocalDateTime.of(2024, 1, 16, 0, 0), LocalDateTime.of(2024, 1, 17, 23, 59), RequestStatus.APPROVED);
+        when(leaveRequestRepository.findApprovedWithoutDailyAbsence(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(leaveRequestRepository.findApprovedWithoutDailyAbsence(eq(31L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(leaveCalculationService.workCalendar(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 17)))
+                .thenReturn(new WorkCalendar(List.of()));
+
+        int filled = dailyAbsenceService.backfill();
+
+        assertEquals(2, filled);
+        // Her iznin kayıtları ayrı yazılır (önce silinerek, tekrar çalıştırmaya dayanıklı)
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(30L);
+        verify(dailyAbsenceRepository).deleteByLeaveRequestId(31L);
+        ArgumentCaptor<List<DailyAbsence>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyAbsenceRepository, times(2)).saveAll(captor.capture());
+        assertEquals(1, captor.getAllValues().get(0).size());
+        assertEquals(2, captor.getAllValues().get(1).size());
+    }
+
+    @Test
+    @DisplayName("backfill - Eşzamanlı yazılmış izin (unique ihlali) atlanmalı, diğerleri doldurulmalı")
+    void backfill_UniqueViolation_ShouldSkipRequestAndContinue() {
+        LeaveRequest first = leave(30L, annualLeave,
+                LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 1, 15, 23, 59), RequestStatus.APPROVED);
+        LeaveRequest second = leave(31L, annualLeave,
+                LocalDateTime.of(2024, 1, 16, 0, 0), LocalDateTime.of(2024, 1, 17, 23, 59), RequestStatus.APPROVED);
+        when(leaveRequestRepository.findApprovedWithoutDailyAbsence(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(leaveRequestRepository.findApprovedWithoutDailyAbsence(eq(31L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(leaveCalculationService.workCalendar(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 17)))
+                .thenReturn(new WorkCalendar(List.of()));
+        when(dailyAbsenceRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_daily_absence_request_date"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        int filled = dailyAbsenceService.backfill();
+
+        assertEquals(1, filled);
+        verify(dailyAbsenceRepository, times(2)).saveAll(anyList());
+        // İlk iznin transaction'ı geri alınmalı, sayfa transaction'ı ve ikinci izin commit edilmeli
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("backfillOnStartup - Hata uygulamanın açılmasını engellememeli")
+    void backfillOnStartup_Failure_ShouldNotThrow() {
+        ReflectionTestUtils.setField(dailyAbsenceService, "backfillOnStartup", true);
+        when(leaveRequestRepository.findApprovedWithoutDailyAbsence(anyLong(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("bağlantı yok"));
+
+        assertDoesNotThrow(() -> dailyAbsenceService.backfillOnStartup());
+    }
+
+    private static LeaveRequestChangedEvent event(LeaveChangeType type, Long leaveRequestId, RequestStatus status) {
+        return new LeaveRequestChangedEvent(type, leaveRequestId, 7L, 3L, status, "", null, LocalDateTime.now());
+    }
+}
@@ -38,6 +38,9 @@ class DepartmentServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private LeaveDataVersionService leaveDataVersionService;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -252,6 +255,8 @@ class DepartmentServiceTest {
         verify(departmentRepository).findByName(updateRequest.getName());
         verify(departmentRepository).save(any(Department.class));
         verify(employeeRepository, never()).findById(any());
+        // Departman adı raporlarda yer aldığı için departman sürümü artmalı
+        verify(leaveDataVersionService).bumpDepartment(1L);
     }
 
     @Test
@@ -342,6 +347,7 @@ class DepartmentServiceTest {
         verify(departmentRepository).findById(1L);
         verify(employeeRepository).findByDepartmentId(1L);
         verify(departmentRepository).save(argThat(dept -> !dept.getIsActive()));
+        verify(leaveDataVersionService).bumpDepartment(1L);
     }
 
     @Test
@@ -4,7 +4,10 @@ import com.cozumtr.leave_management_system.dto.request.UpdateProfileRequest;
 import com.cozumtr.leave_management_system.dto.response.UserResponse;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
@@ -35,6 +39,11 @@ class EmployeeServiceTest {
     @InjectMocks
     private EmployeeService employeeService;
 
+    @BeforeEach
+    void setUpCurrentUser() {
+        ReflectionTestUtils.setField(employeeService, "currentUser", new CurrentUser(employeeRepository, mock(UserRepository.class)));
+    }
+
     @Test
     @DisplayName("updateProfile - Kullanıcı varsa telefon ve adres güncellenmeli")
     void updateProfile_ShouldUpdatePhoneAndAddress_WhenUserExists() {
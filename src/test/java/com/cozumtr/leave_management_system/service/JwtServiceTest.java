@@ -0,0 +1,87 @@
+package com.cozumtr.leave_management_system.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-minimum-256-bits-required";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = createService(SECRET, 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("verify tek parse ile tüm claim'leri dönmeli")
+    void verify_ShouldExposeAllClaims() {
+        String token = jwtService.generateToken("hr@test.com", 5L, Set.of("HR", "EMPLOYEE"));
+
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("hr@test.com", verified.subject());
+        assertEquals(5L, verified.userId());
+        assertEquals(Set.of("HR", "EMPLOYEE"), verified.roles());
+        assertNotNull(verified.issuedAt());
+        assertTrue(verified.expiration().after(verified.issuedAt()));
+    }
+
+    @Test
+    @DisplayName("Departman ID'si token'a yazılmalı; departmansız token'da null dönmeli")
+    void verify_ShouldExposeDepartmentId() {
+        String withDepartment = jwtService.generateToken("manager@test.com", 5L, 3L, Set.of("MANAGER"));
+        String withoutDepartment = jwtService.generateToken("ceo@test.com", 6L, Set.of("CEO"));
+
+        assertEquals(3L, jwtService.verify(withDepartment).departmentId());
+        assertNull(jwtService.verify(withoutDepartment).departmentId());
+    }
+
+    @Test
+    @DisplayName("Farklı anahtarla imzalanmış token reddedilmeli")
+    void verify_WithForeignSignature_ShouldThrow() {
+        JwtService other = createService("another-secret-key-for-testing-purposes-only-minimum-256-bits", 3_600_000L);
+        String token = other.generateToken("hr@test.com", 5L, Set.of("HR"));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş token reddedilmeli")
+    void verify_WithExpiredToken_ShouldThrow() {
+        JwtService shortLived = createService(SECRET, -1_000L);
+        String token = shortLived.generateToken("hr@test.com", 5L, Set.of("HR"));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    @DisplayName("Mevcut yardımcı metotlar verify ile aynı sonucu dönmeli")
+    void legacyAccessors_ShouldDelegateToVerify() {
+        String token = jwtService.generateToken("employee@test.com", 9L, Set.of("EMPLOYEE"));
+
+        assertEquals("employee@test.com", jwtService.extractEmail(token));
+        assertEquals(9L, jwtService.extractUserId(token));
+        assertEquals(Set.of("EMPLOYEE"), jwtService.extractRoles(token));
+        assertTrue(jwtService.validateToken(token, "employee@test.com"));
+        assertFalse(jwtService.validateToken(token, "other@test.com"));
+    }
+
+    private static JwtService createService(String secret, long expirationMs) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", secret);
+        ReflectionTestUtils.setField(service, "expiration", expirationMs);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
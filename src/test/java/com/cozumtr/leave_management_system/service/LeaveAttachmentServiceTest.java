@@ -0,0 +1,102 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveAttachment;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.LeaveAttachmentRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaveAttachmentService Unit Tests")
+class LeaveAttachmentServiceTest {
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private LeaveAttachmentRepository leaveAttachmentRepository;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private LeaveDataVersionService leaveDataVersionService;
+
+    @InjectMocks
+    private LeaveAttachmentService leaveAttachmentService;
+
+    @TempDir
+    Path tempDir;
+
+    private LeaveRequest leaveRequest;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaveAttachmentService, "uploadDir", tempDir.toString());
+        ReflectionTestUtils.setField(leaveAttachmentService, "maxFileSizeBytes", 5_242_880L);
+        ReflectionTestUtils.setField(leaveAttachmentService, "allowedContentTypesRaw", "application/pdf,image/png");
+
+        Department department = new Department();
+        department.setId(3L);
+
+        Employee employee = new Employee();
+        employee.setId(7L);
+        employee.setEmail("calisan@example.com");
+        employee.setDepartment(department);
+
+        leaveRequest = new LeaveRequest();
+        leaveRequest.setId(10L);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setAttachments(new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("Belge yükleme talep sahibinin departman sürümünü artırmalı (ek sayısı raporda yer alır)")
+    void uploadAttachment_ShouldBumpDepartmentVersion() {
+        when(leaveRequestRepository.findById(10L)).thenReturn(Optional.of(leaveRequest));
+        when(currentUser.getEmail()).thenReturn("calisan@example.com");
+        when(leaveAttachmentRepository.save(any(LeaveAttachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MockMultipartFile file = new MockMultipartFile("file", "rapor.pdf", "application/pdf", new byte[]{1, 2, 3});
+
+        LeaveAttachment attachment = leaveAttachmentService.uploadAttachment(10L, file);
+
+        assertEquals("rapor.pdf", attachment.getFileName());
+        assertEquals(1, leaveRequest.getAttachments().size());
+        verify(leaveDataVersionService).bumpDepartment(3L);
+    }
+
+    @Test
+    @DisplayName("Yetkisiz yükleme sürümü artırmamalı")
+    void uploadAttachment_Unauthorized_ShouldNotBumpVersion() {
+        when(leaveRequestRepository.findById(10L)).thenReturn(Optional.of(leaveRequest));
+        when(currentUser.getEmail()).thenReturn("baskasi@example.com");
+        MockMultipartFile file = new MockMultipartFile("file", "rapor.pdf", "application/pdf", new byte[]{1, 2, 3});
+
+        assertThrows(BusinessException.class, () -> leaveAttachmentService.uploadAttachment(10L, file));
+
+        verify(leaveAttachmentRepository, never()).save(any());
+        verify(leaveDataVersionService, never()).bumpDepartment(anyLong());
+    }
+}
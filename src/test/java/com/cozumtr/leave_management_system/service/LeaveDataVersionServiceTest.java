@@ -0,0 +1,95 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.LeaveDataVersion;
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import com.cozumtr.leave_management_system.repository.LeaveDataVersionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaveDataVersionService Unit Tests")
+class LeaveDataVersionServiceTest {
+
+    @Mock
+    private LeaveDataVersionRepository leaveDataVersionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LeaveDataVersionService leaveDataVersionService;
+
+    private static LeaveRequestChangedEvent event(Long departmentId) {
+        return new LeaveRequestChangedEvent(LeaveChangeType.APPROVED, 10L, 7L, departmentId,
+                RequestStatus.APPROVED_MANAGER, "HR", "MANAGER", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("İzin durum değişikliği talep sahibinin departman sayacını artırmalı")
+    void onLeaveRequestChanged_ShouldBumpDepartmentScope() {
+        when(leaveDataVersionRepository.increment("DEPARTMENT:3")).thenReturn(1);
+
+        leaveDataVersionService.onLeaveRequestChanged(event(3L));
+
+        verify(leaveDataVersionRepository).increment("DEPARTMENT:3");
+        verify(leaveDataVersionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Sayaç satırı yoksa oluşturulup artırılmalı")
+    void onLeaveRequestChanged_MissingRow_ShouldCreateThenIncrement() {
+        when(leaveDataVersionRepository.increment("DEPARTMENT:3")).thenReturn(0, 1);
+        when(leaveDataVersionRepository.existsById("DEPARTMENT:3")).thenReturn(false);
+
+        leaveDataVersionService.onLeaveRequestChanged(event(3L));
+
+        verify(leaveDataVersionRepository).saveAndFlush(argThat((LeaveDataVersion v) ->
+                "DEPARTMENT:3".equals(v.getScope()) && v.getVersion() == 0L));
+        verify(leaveDataVersionRepository, times(2)).increment("DEPARTMENT:3");
+    }
+
+    @Test
+    @DisplayName("Departman sürümü departman ve GLOBAL sayaçlarının toplamı olmalı")
+    void departmentVersion_ShouldIncludeGlobalScope() {
+        when(leaveDataVersionRepository.sumVersions(List.of("GLOBAL", "DEPARTMENT:3"))).thenReturn(12L);
+
+        assertEquals(12L, leaveDataVersionService.departmentVersion(3L));
+    }
+
+    @Test
+    @DisplayName("Departmanı olmayan çalışanın değişikliği GLOBAL sayacı artırmalı")
+    void onLeaveRequestChanged_WithoutDepartment_ShouldBumpGlobal() {
+        when(leaveDataVersionRepository.increment("GLOBAL")).thenReturn(1);
+
+        leaveDataVersionService.onLeaveRequestChanged(event(null));
+
+        verify(leaveDataVersionRepository).increment("GLOBAL");
+    }
+
+    @Test
+    @DisplayName("bumpDepartment departman sayacını, departman yoksa GLOBAL sayacı artırmalı")
+    void bumpDepartment_ShouldBumpDepartmentOrGlobalScope() {
+        when(leaveDataVersionRepository.increment(anyString())).thenReturn(1);
+
+        leaveDataVersionService.bumpDepartment(3L);
+        leaveDataVersionService.bumpDepartment(null);
+
+        verify(leaveDataVersionRepository).increment("DEPARTMENT:3");
+        verify(leaveDataVersionRepository).increment("GLOBAL");
+    }
+}
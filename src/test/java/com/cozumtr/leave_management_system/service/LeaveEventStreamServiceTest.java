@@ -0,0 +1,76 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.enums.LeaveChangeType;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.event.LeaveRequestChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("LeaveEventStreamService Görünürlük Kuralları")
+class LeaveEventStreamServiceTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long DEPARTMENT_ID = 10L;
+
+    private LeaveRequestChangedEvent event(LeaveChangeType type, RequestStatus status,
+                                           String nextRole, String previousRole) {
+        return new LeaveRequestChangedEvent(type, 100L, OWNER_ID, DEPARTMENT_ID,
+                status, nextRole, previousRole, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Talep sahibi kendi talebinin tüm olaylarını görmeli")
+    void owner_ShouldSeeOwnRequests() {
+        LeaveEventStreamService.Subscription owner =
+                new LeaveEventStreamService.Subscription(OWNER_ID, DEPARTMENT_ID, false, false, false);
+
+        assertTrue(owner.canSee(event(LeaveChangeType.APPROVED, RequestStatus.APPROVED_HR, "CEO", "HR")));
+    }
+
+    @Test
+    @DisplayName("HR ve CEO tüm olayları görmeli")
+    void hrAndCeo_ShouldSeeEverything() {
+        LeaveEventStreamService.Subscription hr =
+                new LeaveEventStreamService.Subscription(2L, 99L, true, false, false);
+        LeaveEventStreamService.Subscription ceo =
+                new LeaveEventStreamService.Subscription(3L, 98L, false, true, false);
+
+        LeaveRequestChangedEvent created = event(LeaveChangeType.CREATED, RequestStatus.PENDING_APPROVAL, "HR", null);
+        assertTrue(hr.canSee(created));
+        assertTrue(ceo.canSee(created));
+    }
+
+    @Test
+    @DisplayName("Yönetici sadece kendi departmanında sırası gelen veya tamamlanan talepleri görmeli")
+    void manager_ShouldFollowDashboardRules() {
+        LeaveEventStreamService.Subscription manager =
+                new LeaveEventStreamService.Subscription(4L, DEPARTMENT_ID, false, false, true);
+        LeaveEventStreamService.Subscription otherManager =
+                new LeaveEventStreamService.Subscription(5L, 20L, false, false, true);
+
+        LeaveRequestChangedEvent waitingHr = event(LeaveChangeType.CREATED, RequestStatus.PENDING_APPROVAL, "HR", null);
+        LeaveRequestChangedEvent waitingManager = event(LeaveChangeType.APPROVED, RequestStatus.APPROVED_HR, "MANAGER", "HR");
+        LeaveRequestChangedEvent leftManager = event(LeaveChangeType.APPROVED, RequestStatus.APPROVED_MANAGER, "CEO", "MANAGER");
+        LeaveRequestChangedEvent cancelled = event(LeaveChangeType.CANCELLED, RequestStatus.CANCELLED, "", "HR");
+
+        assertFalse(manager.canSee(waitingHr));
+        assertTrue(manager.canSee(waitingManager));
+        assertTrue(manager.canSee(leftManager));
+        assertTrue(manager.canSee(cancelled));
+        assertFalse(otherManager.canSee(waitingManager));
+    }
+
+    @Test
+    @DisplayName("Yetkisiz çalışan başkasının talebini görmemeli")
+    void employee_ShouldNotSeeOthersRequests() {
+        LeaveEventStreamService.Subscription employee =
+                new LeaveEventStreamService.Subscription(6L, DEPARTMENT_ID, false, false, false);
+
+        assertFalse(employee.canSee(event(LeaveChangeType.APPROVED, RequestStatus.APPROVED, "", "CEO")));
+    }
+}
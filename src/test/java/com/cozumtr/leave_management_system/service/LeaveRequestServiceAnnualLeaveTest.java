@@ -9,6 +9,7 @@ import com.cozumtr.leave_management_system.entities.LeaveType;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
 import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.*;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,9 +17,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -48,6 +51,8 @@ class LeaveRequestServiceAnnualLeaveTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -62,6 +67,7 @@ class LeaveRequestServiceAnnualLeaveTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(employeeRepository, userRepository));
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
@@ -14,6 +14,7 @@ import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
 import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
 import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
 import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +23,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -60,6 +63,8 @@ class LeaveRequestServiceAuditLogTest {
     @Mock
     private EmailService emailService;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -73,6 +78,7 @@ class LeaveRequestServiceAuditLogTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(employeeRepository, userRepository));
         SecurityContextHolder.setContext(securityContext);
 
         approver = new Employee();
@@ -10,6 +10,8 @@ import com.cozumtr.leave_management_system.repository.LeaveEntitlementRepository
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
 import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
 import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,9 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -47,6 +51,8 @@ class LeaveRequestServiceExcuseLeaveTest {
     @Mock
     private PublicHolidayRepository publicHolidayRepository;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -60,6 +66,7 @@ class LeaveRequestServiceExcuseLeaveTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(employeeRepository, mock(UserRepository.class)));
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
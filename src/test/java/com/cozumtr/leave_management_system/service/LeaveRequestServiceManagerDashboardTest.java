@@ -1,6 +1,7 @@
 package com.cozumtr.leave_management_system.service;
 
 import com.cozumtr.leave_management_system.dto.response.ManagerLeaveResponseDTO;
+import com.cozumtr.leave_management_system.dto.response.TeamLeaveResponseDTO;
 import com.cozumtr.leave_management_system.entities.Department;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.LeaveApprovalHistory;
@@ -17,6 +18,8 @@ import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
 import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
 import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
 import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,19 +27,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,9 +70,15 @@ class LeaveRequestServiceManagerDashboardTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private LeaveAttachmentService leaveAttachmentService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private LeaveRequestService leaveRequestService;
@@ -73,6 +88,7 @@ class LeaveRequestServiceManagerDashboardTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(employeeRepository, userRepository));
         SecurityContextHolder.setContext(securityContext);
 
         Department department = new Department();
@@ -184,6 +200,8 @@ class LeaveRequestServiceManagerDashboardTest {
         leaveRequest.setWorkflowNextApproverRole("MANAGER");
 
         when(userRepository.findByEmployeeEmail("manager@example.com")).thenReturn(Optional.of(managerUser));
+        // İstek dışında CurrentUser her çağrıda yeniden çözer: departman çalışan kaydından okunur
+        when(employeeRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(managerEmployee));
         when(leaveRequestRepository.findByWorkflowNextApproverRoleInAndDepartmentId(
                 org.mockito.ArgumentMatchers.<List<String>>any(), any(Long.class))
         ).thenReturn(List.of(leaveRequest));
@@ -264,6 +282,8 @@ class LeaveRequestServiceManagerDashboardTest {
         cancelled.setCreatedAt(null);
 
         when(userRepository.findByEmployeeEmail("manager@example.com")).thenReturn(Optional.of(managerUser));
+        // İstek dışında CurrentUser her çağrıda yeniden çözer: departman çalışan kaydından okunur
+        when(employeeRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(managerEmployee));
         when(leaveRequestRepository.findByWorkflowNextApproverRoleInAndDepartmentId(
                 org.mockito.ArgumentMatchers.<List<String>>any(), any(Long.class))
         ).thenReturn(List.of(rejected, cancelled));
@@ -272,6 +292,88 @@ class LeaveRequestServiceManagerDashboardTest {
 
         assertThat(result).isEmpty();
     }
-}
 
+    @Test
+    @DisplayName("forEachManagerRequest - HR tüm talepleri akışla iletmeli, her 500 talepte persistence context temizlenmeli")
+    void forEachManagerRequest_HR_ShouldClearEveryBatch() {
+        mockHrUser();
+        when(leaveRequestRepository.streamAllWithDetails())
+                .thenReturn(IntStream.rangeClosed(1, 1001).mapToObj(this::pendingLeave));
+
+        List<ManagerLeaveResponseDTO> received = new ArrayList<>();
+        List<Integer> clearedAfter = recordClears(received);
+
+        leaveRequestService.forEachManagerRequest(received::add);
+
+        assertEquals(1001, received.size());
+        // Temizlik, ilgili partinin tamamı tüketiciye iletildikten sonra yapılmalı
+        assertEquals(List.of(500, 1000), clearedAfter);
+        assertEquals(1001L, received.get(1000).getLeaveRequestId());
+        assertEquals("Alice Employee", received.get(1000).getEmployeeFullName());
+    }
+
+    @Test
+    @DisplayName("forEachCompanyCurrentApprovedLeave - İzindekiler akışla iletilmeli, her 500 kayıtta persistence context temizlenmeli")
+    void forEachCompanyCurrentApprovedLeave_ShouldClearEveryBatch() {
+        mockHrUser();
+        when(leaveRequestRepository.streamCurrentlyOnLeave(any(LocalDateTime.class)))
+                .thenReturn(IntStream.rangeClosed(1, 1200).mapToObj(this::pendingLeave));
+
+        List<TeamLeaveResponseDTO> received = new ArrayList<>();
+        List<Integer> clearedAfter = recordClears(received);
+
+        leaveRequestService.forEachCompanyCurrentApprovedLeave(received::add);
+
+        assertEquals(1200, received.size());
+        assertEquals(List.of(500, 1000), clearedAfter);
+        assertEquals("Engineering", received.get(1199).getDepartmentName());
+    }
+
+    @Test
+    @DisplayName("forEachCompanyCurrentApprovedLeave - HR/CEO dışındaki roller sorgu açılmadan reddedilmeli")
+    void forEachCompanyCurrentApprovedLeave_Manager_ShouldThrowBeforeQuery() {
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("manager@example.com");
+        Role managerRole = new Role();
+        managerRole.setRoleName("MANAGER");
+        User managerUser = new User();
+        managerUser.setRoles(Set.of(managerRole));
+        when(userRepository.findByEmployeeEmail("manager@example.com")).thenReturn(Optional.of(managerUser));
+
+        assertThrows(BusinessException.class, () -> leaveRequestService.forEachCompanyCurrentApprovedLeave(dto -> { }));
+        verify(leaveRequestRepository, never()).streamCurrentlyOnLeave(any());
+    }
+
+    private void mockHrUser() {
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("hr@example.com");
+        Role hrRole = new Role();
+        hrRole.setRoleName("HR");
+        User hrUser = new User();
+        hrUser.setRoles(Set.of(hrRole));
+        when(userRepository.findByEmployeeEmail("hr@example.com")).thenReturn(Optional.of(hrUser));
+    }
 
+    private LeaveRequest pendingLeave(int id) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId((long) id);
+        leaveRequest.setEmployee(requester);
+        leaveRequest.setLeaveType(leaveType);
+        leaveRequest.setStartDateTime(LocalDateTime.now().minusDays(1));
+        leaveRequest.setEndDateTime(LocalDateTime.now().plusDays(1));
+        leaveRequest.setDurationHours(java.math.BigDecimal.ONE);
+        leaveRequest.setRequestStatus(RequestStatus.PENDING_APPROVAL);
+        leaveRequest.setWorkflowNextApproverRole("HR");
+        return leaveRequest;
+    }
+
+    // clear() çağrıldığı anda tüketiciye kaç eleman iletilmiş olduğunu kaydeder
+    private List<Integer> recordClears(List<?> received) {
+        List<Integer> clearedAfter = new ArrayList<>();
+        doAnswer(invocation -> {
+            clearedAfter.add(received.size());
+            return null;
+        }).when(entityManager).clear();
+        return clearedAfter;
+    }
+}
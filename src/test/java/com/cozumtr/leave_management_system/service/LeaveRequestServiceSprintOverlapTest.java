@@ -1,14 +1,21 @@
 package com.cozumtr.leave_management_system.service;
 
+import org.springframework.test.util.ReflectionTestUtils;
+import com.cozumtr.leave_management_system.dto.response.LeaveAbsenceHours;
 import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
 import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
 import com.cozumtr.leave_management_system.entities.Department;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.LeaveRequest;
 import com.cozumtr.leave_management_system.entities.LeaveType;
 import com.cozumtr.leave_management_system.enums.RequestStatus;
 import com.cozumtr.leave_management_system.enums.RequestUnit;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,7 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +42,7 @@ class LeaveRequestServiceSprintOverlapTest {
     private LeaveRequestRepository leaveRequestRepository;
 
     @Mock
-    private LeaveCalculationService leaveCalculationService;
+    private DailyAbsenceRepository dailyAbsenceRepository;
 
     @InjectMocks
     private LeaveRequestService leaveRequestService;
@@ -44,9 +51,11 @@ class LeaveRequestServiceSprintOverlapTest {
     private Employee employee2;
     private LeaveType annualLeaveType;
     private Department department;
+    private long nextLeaveId;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(mock(EmployeeRepository.class), mock(UserRepository.class)));
         department = new Department();
         department.setId(1L);
         department.setName("Test Department");
@@ -87,21 +96,13 @@ class LeaveRequestServiceSprintOverlapTest {
                 new BigDecimal("40.0")
         );
 
-        List<LeaveRequest> overlappingLeaves = List.of(leaveRequest);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
+                .thenReturn(List.of(leaveRequest));
 
-        // Çakışma aralığı: 15-20 Ocak (sprint içinde tamamen)
-        LocalDate overlapStart = LocalDate.of(2024, 1, 15);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 20);
+        // Günlük devamsızlık tablosundan sprint günlerine düşen saat
         BigDecimal overlappingHours = new BigDecimal("40.0");
-
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHours)));
 
         // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
@@ -134,6 +135,8 @@ class LeaveRequestServiceSprintOverlapTest {
         assertNotNull(report);
         assertEquals(BigDecimal.ZERO, report.getTotalLossHours());
         assertTrue(report.getOverlappingLeaves().isEmpty());
+        // İzin yoksa saat toplama sorgusu da çalışmamalı
+        verifyNoInteractions(dailyAbsenceRepository);
     }
 
     @Test
@@ -154,38 +157,31 @@ class LeaveRequestServiceSprintOverlapTest {
                 employee2,
                 LocalDateTime.of(2024, 1, 15, 0, 0),
                 LocalDateTime.of(2024, 1, 17, 23, 59),
-                new BigDecimal("24.0")
+                new BigDecimal("18.0")
         );
 
-        List<LeaveRequest> overlappingLeaves = List.of(leave1, leave2);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
+                .thenReturn(List.of(leave1, leave2));
 
-        // Her izin için çakışma saatini hesapla
-        when(leaveCalculationService.calculateDuration(
-                eq(LocalDate.of(2024, 1, 10)),
-                eq(LocalDate.of(2024, 1, 12)),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(new BigDecimal("24.0"));
-
-        when(leaveCalculationService.calculateDuration(
-                eq(LocalDate.of(2024, 1, 15)),
-                eq(LocalDate.of(2024, 1, 17)),
-                eq(employee2.getDailyWorkHours())))
-                .thenReturn(new BigDecimal("24.0"));
+        // Her iznin kendi saatleri (çalışanın günlük mesaisi günlük kayıtlara yazılırken uygulanmıştır)
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(
+                        new LeaveAbsenceHours(leave1.getId(), new BigDecimal("24.0")),
+                        new LeaveAbsenceHours(leave2.getId(), new BigDecimal("18.0"))));
 
         // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
 
         // Assert
         assertNotNull(report);
-        assertEquals(new BigDecimal("48.0"), report.getTotalLossHours());
+        assertEquals(new BigDecimal("42.0"), report.getTotalLossHours());
         assertEquals(2, report.getOverlappingLeaves().size());
+        assertEquals(new BigDecimal("24.0"), report.getOverlappingLeaves().get(0).getOverlappingHours());
+        assertEquals(new BigDecimal("18.0"), report.getOverlappingLeaves().get(1).getOverlappingHours());
     }
 
     @Test
-    @DisplayName("generateSprintOverlapReport - Kısmen çakışan izin için doğru çakışma aralığı hesaplanmalı")
+    @DisplayName("generateSprintOverlapReport - Kısmen çakışan izin için saatler sprint günleriyle sınırlanmalı")
     void generateSprintOverlapReport_PartiallyOverlapping_ShouldCalculateCorrectOverlap() {
         // Arrange
         // Sprint: 1-31 Ocak
@@ -200,21 +196,13 @@ class LeaveRequestServiceSprintOverlapTest {
                 new BigDecimal("80.0")
         );
 
-        List<LeaveRequest> overlappingLeaves = List.of(leaveRequest);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
-
-        // Çakışma aralığı: MAX(25 Ocak, 1 Ocak) = 25 Ocak, MIN(5 Şubat, 31 Ocak) = 31 Ocak
-        LocalDate overlapStart = LocalDate.of(2024, 1, 25);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 31);
-        BigDecimal overlappingHours = new BigDecimal("40.0"); // 25-31 Ocak arası
+                .thenReturn(List.of(leaveRequest));
 
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        // Toplama sorgusu sadece sprint günlerini (1-31 Ocak) okur: 25-31 Ocak arası 5 iş günü
+        BigDecimal overlappingHours = new BigDecimal("40.0");
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHours)));
 
         // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
@@ -226,10 +214,12 @@ class LeaveRequestServiceSprintOverlapTest {
 
         OverlappingLeaveDetailDTO detail = report.getOverlappingLeaves().get(0);
         assertEquals(overlappingHours, detail.getOverlappingHours());
+        // Detayda iznin kendi tarihleri gösterilir
+        assertEquals(LocalDateTime.of(2024, 2, 5, 23, 59), detail.getLeaveEndDate());
     }
 
     @Test
-    @DisplayName("generateSprintOverlapReport - İzin sprint'ten önce başlıyorsa çakışma başlangıcı sprint başlangıcı olmalı")
+    @DisplayName("generateSprintOverlapReport - İzin sprint'ten önce başlıyorsa saatler sprint başlangıcından itibaren okunmalı")
     void generateSprintOverlapReport_LeaveStartsBeforeSprint_ShouldUseSprintStart() {
         // Arrange
         // Sprint: 10-20 Ocak
@@ -244,21 +234,12 @@ class LeaveRequestServiceSprintOverlapTest {
                 new BigDecimal("80.0")
         );
 
-        List<LeaveRequest> overlappingLeaves = List.of(leaveRequest);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
-
-        // Çakışma: MAX(5 Ocak, 10 Ocak) = 10 Ocak, MIN(15 Ocak, 20 Ocak) = 15 Ocak
-        LocalDate overlapStart = LocalDate.of(2024, 1, 10);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 15);
-        BigDecimal overlappingHours = new BigDecimal("40.0");
+                .thenReturn(List.of(leaveRequest));
 
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        BigDecimal overlappingHours = new BigDecimal("32.0");
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHours)));
 
         // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
@@ -266,10 +247,11 @@ class LeaveRequestServiceSprintOverlapTest {
         // Assert
         assertNotNull(report);
         assertEquals(overlappingHours, report.getTotalLossHours());
+        verify(dailyAbsenceRepository).sumHoursByLeaveRequest(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20));
     }
 
     @Test
-    @DisplayName("generateSprintOverlapReport - İzin sprint'ten sonra bitiyorsa çakışma bitişi sprint bitişi olmalı")
+    @DisplayName("generateSprintOverlapReport - İzin sprint'ten sonra bitiyorsa saatler sprint bitişine kadar okunmalı")
     void generateSprintOverlapReport_LeaveEndsAfterSprint_ShouldUseSprintEnd() {
         // Arrange
         // Sprint: 10-20 Ocak
@@ -284,21 +266,12 @@ class LeaveRequestServiceSprintOverlapTest {
                 new BigDecimal("80.0")
         );
 
-        List<LeaveRequest> overlappingLeaves = List.of(leaveRequest);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
-
-        // Çakışma: MAX(15 Ocak, 10 Ocak) = 15 Ocak, MIN(25 Ocak, 20 Ocak) = 20 Ocak
-        LocalDate overlapStart = LocalDate.of(2024, 1, 15);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 20);
-        BigDecimal overlappingHours = new BigDecimal("40.0");
+                .thenReturn(List.of(leaveRequest));
 
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        BigDecimal overlappingHours = new BigDecimal("32.0");
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 20)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHours)));
 
         // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
@@ -308,100 +281,30 @@ class LeaveRequestServiceSprintOverlapTest {
         assertEquals(overlappingHours, report.getTotalLossHours());
     }
 
-    @Test
-    @DisplayName("generateSprintOverlapReport - Her çalışanın dailyWorkHours değeri kullanılmalı")
-    void generateSprintOverlapReport_DifferentDailyWorkHours_ShouldUseEmployeeSpecificHours() {
-        // Arrange
-        employee1.setDailyWorkHours(new BigDecimal("8.0"));
-        employee2.setDailyWorkHours(new BigDecimal("6.0")); // Farklı çalışma saati
-
-        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 1, 0, 0);
-        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 31, 23, 59);
-
-        LeaveRequest leave1 = createLeaveRequest(
-                employee1,
-                LocalDateTime.of(2024, 1, 10, 0, 0),
-                LocalDateTime.of(2024, 1, 12, 23, 59),
-                new BigDecimal("24.0")
-        );
-
-        LeaveRequest leave2 = createLeaveRequest(
-                employee2,
-                LocalDateTime.of(2024, 1, 15, 0, 0),
-                LocalDateTime.of(2024, 1, 17, 23, 59),
-                new BigDecimal("18.0")
-        );
-
-        List<LeaveRequest> overlappingLeaves = List.of(leave1, leave2);
-
-        when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(overlappingLeaves);
-
-        // Employee1 için 8 saat/gün
-        when(leaveCalculationService.calculateDuration(
-                eq(LocalDate.of(2024, 1, 10)),
-                eq(LocalDate.of(2024, 1, 12)),
-                eq(new BigDecimal("8.0"))))
-                .thenReturn(new BigDecimal("24.0"));
-
-        // Employee2 için 6 saat/gün
-        when(leaveCalculationService.calculateDuration(
-                eq(LocalDate.of(2024, 1, 15)),
-                eq(LocalDate.of(2024, 1, 17)),
-                eq(new BigDecimal("6.0"))))
-                .thenReturn(new BigDecimal("18.0"));
-
-        // Act
-        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
-
-        // Assert
-        assertNotNull(report);
-        assertEquals(new BigDecimal("42.0"), report.getTotalLossHours());
-        
-        // Her çalışanın kendi dailyWorkHours değeri kullanıldığını doğrula
-        verify(leaveCalculationService).calculateDuration(
-                any(LocalDate.class),
-                any(LocalDate.class),
-                eq(new BigDecimal("8.0")));
-        verify(leaveCalculationService).calculateDuration(
-                any(LocalDate.class),
-                any(LocalDate.class),
-                eq(new BigDecimal("6.0")));
-    }
-
     @Test
     @DisplayName("generateSprintOverlapReport - İzin iki sprint'e yayılıyorsa her sprint için sadece o sprint ile çakışan kısım hesaplanmalı")
     void generateSprintOverlapReport_LeaveSpansTwoSprints_ShouldCalculateOnlyOverlappingPart() {
-        // Senaryo: İzin Sprint 1'in son haftası + Sprint 2'nin ikinci haftası
+        // Senaryo: İzin Sprint 1'in son haftası + Sprint 2'nin ilk iki haftası
         // Sprint 1: 1-31 Ocak
         // Sprint 2: 1-29 Şubat
         // İzin: 25 Ocak - 10 Şubat
-
-        // SPRINT 1 İÇİN RAPOR
-        LocalDateTime sprint1Start = LocalDateTime.of(2024, 1, 1, 0, 0);
-        LocalDateTime sprint1End = LocalDateTime.of(2024, 1, 31, 23, 59);
-
         LeaveRequest leaveRequest = createLeaveRequest(
                 employee1,
-                LocalDateTime.of(2024, 1, 25, 0, 0),  // İzin başlangıcı: 25 Ocak
-                LocalDateTime.of(2024, 2, 10, 23, 59), // İzin bitişi: 10 Şubat
-                new BigDecimal("120.0") // Toplam izin süresi
+                LocalDateTime.of(2024, 1, 25, 0, 0),
+                LocalDateTime.of(2024, 2, 10, 23, 59),
+                new BigDecimal("104.0")
         );
 
+        // SPRINT 1 İÇİN RAPOR
+        LocalDateTime sprint1Start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime sprint1End = LocalDateTime.of(2024, 1, 31, 23, 59);
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprint1Start, sprint1End))
                 .thenReturn(List.of(leaveRequest));
 
-        // Sprint 1 için çakışma: MAX(25 Ocak, 1 Ocak) = 25 Ocak, MIN(10 Şubat, 31 Ocak) = 31 Ocak
-        // Sadece 25-31 Ocak arası hesaplanmalı (7 gün)
-        LocalDate overlapStartSprint1 = LocalDate.of(2024, 1, 25);
-        LocalDate overlapEndSprint1 = LocalDate.of(2024, 1, 31);
-        BigDecimal overlappingHoursSprint1 = new BigDecimal("56.0"); // 7 gün × 8 saat
-
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStartSprint1),
-                eq(overlapEndSprint1),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHoursSprint1);
+        // Sprint 1: 25-31 Ocak (5 iş günü)
+        BigDecimal overlappingHoursSprint1 = new BigDecimal("40.0");
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHoursSprint1)));
 
         SprintOverlapReportDTO reportSprint1 = leaveRequestService.generateSprintOverlapReport(sprint1Start, sprint1End);
 
@@ -414,21 +317,13 @@ class LeaveRequestServiceSprintOverlapTest {
         // SPRINT 2 İÇİN RAPOR
         LocalDateTime sprint2Start = LocalDateTime.of(2024, 2, 1, 0, 0);
         LocalDateTime sprint2End = LocalDateTime.of(2024, 2, 29, 23, 59);
-
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprint2Start, sprint2End))
                 .thenReturn(List.of(leaveRequest));
 
-        // Sprint 2 için çakışma: MAX(25 Ocak, 1 Şubat) = 1 Şubat, MIN(10 Şubat, 29 Şubat) = 10 Şubat
-        // Sadece 1-10 Şubat arası hesaplanmalı (10 gün)
-        LocalDate overlapStartSprint2 = LocalDate.of(2024, 2, 1);
-        LocalDate overlapEndSprint2 = LocalDate.of(2024, 2, 10);
-        BigDecimal overlappingHoursSprint2 = new BigDecimal("80.0"); // 10 gün × 8 saat
-
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStartSprint2),
-                eq(overlapEndSprint2),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHoursSprint2);
+        // Sprint 2: 1-10 Şubat (8 iş günü)
+        BigDecimal overlappingHoursSprint2 = new BigDecimal("64.0");
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), overlappingHoursSprint2)));
 
         SprintOverlapReportDTO reportSprint2 = leaveRequestService.generateSprintOverlapReport(sprint2Start, sprint2End);
 
@@ -438,100 +333,126 @@ class LeaveRequestServiceSprintOverlapTest {
         assertEquals(1, reportSprint2.getOverlappingLeaves().size());
         assertEquals(overlappingHoursSprint2, reportSprint2.getOverlappingLeaves().get(0).getOverlappingHours());
 
-        // ÖNEMLİ: Her sprint için sadece kendi çakışan kısmı hesaplanmalı
-        // Sprint 1: 56 saat (25-31 Ocak)
-        // Sprint 2: 80 saat (1-10 Şubat)
-        // Toplam: 136 saat (ama her sprint kendi kısmını gösterir)
-        assertNotEquals(reportSprint1.getTotalLossHours(), reportSprint2.getTotalLossHours());
+        // ÖNEMLİ: Her sprint sadece kendi günlerini gösterir, iki sprintin toplamı iznin süresine eşittir
+        assertEquals(leaveRequest.getDurationHours(),
+                reportSprint1.getTotalLossHours().add(reportSprint2.getTotalLossHours()));
     }
 
     @Test
-    @DisplayName("generateSprintOverlapReport - İzin sprint'ten önce başlayıp sprint içinde bitiyorsa sadece sprint içindeki kısım hesaplanmalı")
-    void generateSprintOverlapReport_LeaveStartsBeforeSprint_ShouldCalculateOnlySprintPart() {
-        // Senaryo: İzin sprint'ten önce başlıyor
-        // Sprint: 10-20 Ocak
-        // İzin: 5-15 Ocak → Çakışma: 10-15 Ocak (sadece sprint içindeki kısım)
+    @DisplayName("generateSprintOverlapReport - Her çalışanın dailyWorkHours değeri kullanılmalı")
+    void generateSprintOverlapReport_DifferentDailyWorkHours_ShouldUseEmployeeSpecificHours() {
+        // Arrange
+        employee1.setDailyWorkHours(new BigDecimal("8.0"));
+        employee2.setDailyWorkHours(new BigDecimal("6.0")); // Farklı çalışma saati
 
-        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 10, 0, 0);
-        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 20, 23, 59);
+        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 31, 23, 59);
 
-        LeaveRequest leaveRequest = createLeaveRequest(
+        LeaveRequest leave1 = createLeaveRequest(
                 employee1,
-                LocalDateTime.of(2024, 1, 5, 0, 0),   // İzin başlangıcı: 5 Ocak (sprint'ten önce)
-                LocalDateTime.of(2024, 1, 15, 23, 59), // İzin bitişi: 15 Ocak (sprint içinde)
-                new BigDecimal("80.0")
+                LocalDateTime.of(2024, 1, 10, 0, 0),
+                LocalDateTime.of(2024, 1, 12, 23, 59),
+                new BigDecimal("24.0")
         );
 
-        when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
-                .thenReturn(List.of(leaveRequest));
+        LeaveRequest leave2 = createLeaveRequest(
+                employee2,
+                LocalDateTime.of(2024, 1, 15, 0, 0),
+                LocalDateTime.of(2024, 1, 17, 23, 59),
+                new BigDecimal("18.0")
+        );
 
-        // Çakışma: MAX(5 Ocak, 10 Ocak) = 10 Ocak, MIN(15 Ocak, 20 Ocak) = 15 Ocak
-        // Sadece 10-15 Ocak arası hesaplanmalı (6 gün)
-        LocalDate overlapStart = LocalDate.of(2024, 1, 10);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 15);
-        BigDecimal overlappingHours = new BigDecimal("48.0"); // 6 gün × 8 saat
+        when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
+                .thenReturn(List.of(leave1, leave2));
 
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        // Saatler sabit verilmez: günlük kayıtlar gerçek hesaplama ile üretilip toplanır
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(dailyAbsenceHours(leave1), dailyAbsenceHours(leave2)));
 
+        // Act
         SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
 
-        // Assert
+        // Assert: 3 iş günü x 8 saat ve 3 iş günü x 6 saat
         assertNotNull(report);
-        assertEquals(overlappingHours, report.getTotalLossHours());
-        // ÖNEMLİ: İzin 5-15 Ocak ama sadece 10-15 Ocak (6 gün) hesaplanmalı
-        assertEquals(new BigDecimal("48.0"), report.getTotalLossHours());
+        assertEquals(0, new BigDecimal("24.0").compareTo(report.getOverlappingLeaves().get(0).getOverlappingHours()));
+        assertEquals(0, new BigDecimal("18.0").compareTo(report.getOverlappingLeaves().get(1).getOverlappingHours()));
+        assertEquals(0, new BigDecimal("42.0").compareTo(report.getTotalLossHours()));
     }
 
     @Test
-    @DisplayName("generateSprintOverlapReport - İzin sprint içinde başlayıp sprint'ten sonra bitiyorsa sadece sprint içindeki kısım hesaplanmalı")
-    void generateSprintOverlapReport_LeaveEndsAfterSprint_ShouldCalculateOnlySprintPart() {
-        // Senaryo: İzin sprint'ten sonra bitiyor
-        // Sprint: 10-20 Ocak
-        // İzin: 15-25 Ocak → Çakışma: 15-20 Ocak (sadece sprint içindeki kısım)
-
-        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 10, 0, 0);
-        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 20, 23, 59);
+    @DisplayName("generateSprintOverlapReport - Günlük kaydı olmayan izin 0 saat olarak raporlanmalı")
+    void generateSprintOverlapReport_LeaveWithoutDailyAbsence_ShouldReportZeroHours() {
+        // Arrange
+        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 31, 23, 59);
 
         LeaveRequest leaveRequest = createLeaveRequest(
                 employee1,
-                LocalDateTime.of(2024, 1, 15, 0, 0),   // İzin başlangıcı: 15 Ocak (sprint içinde)
-                LocalDateTime.of(2024, 1, 25, 23, 59), // İzin bitişi: 25 Ocak (sprint'ten sonra)
-                new BigDecimal("80.0")
+                LocalDateTime.of(2024, 1, 6, 0, 0),
+                LocalDateTime.of(2024, 1, 7, 23, 59),
+                new BigDecimal("0.0")
         );
 
         when(leaveRequestRepository.findOverlappingApprovedLeaves(sprintStart, sprintEnd))
                 .thenReturn(List.of(leaveRequest));
+        when(dailyAbsenceRepository.sumHoursByLeaveRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of());
 
-        // Çakışma: MAX(15 Ocak, 10 Ocak) = 15 Ocak, MIN(25 Ocak, 20 Ocak) = 20 Ocak
-        // Sadece 15-20 Ocak arası hesaplanmalı (6 gün)
-        LocalDate overlapStart = LocalDate.of(2024, 1, 15);
-        LocalDate overlapEnd = LocalDate.of(2024, 1, 20);
-        BigDecimal overlappingHours = new BigDecimal("48.0"); // 6 gün × 8 saat
+        // Act
+        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
 
-        when(leaveCalculationService.calculateDuration(
-                eq(overlapStart),
-                eq(overlapEnd),
-                eq(employee1.getDailyWorkHours())))
-                .thenReturn(overlappingHours);
+        // Assert
+        assertEquals(1, report.getOverlappingLeaves().size());
+        assertEquals(BigDecimal.ZERO, report.getOverlappingLeaves().get(0).getOverlappingHours());
+        assertEquals(BigDecimal.ZERO, report.getTotalLossHours());
+    }
 
-        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(sprintStart, sprintEnd);
+    @Test
+    @DisplayName("generateSprintOverlapReport - Departman verilirse sadece departmanın izinleri sorgulanmalı")
+    void generateSprintOverlapReport_WithDepartment_ShouldUseDepartmentScopedQueries() {
+        // Arrange
+        LocalDateTime sprintStart = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime sprintEnd = LocalDateTime.of(2024, 1, 31, 23, 59);
+
+        LeaveRequest leaveRequest = createLeaveRequest(
+                employee1,
+                LocalDateTime.of(2024, 1, 15, 0, 0),
+                LocalDateTime.of(2024, 1, 16, 23, 59),
+                new BigDecimal("16.0")
+        );
+
+        when(leaveRequestRepository.findApprovedDepartmentLeavesInRange(department.getId(), sprintStart, sprintEnd))
+                .thenReturn(List.of(leaveRequest));
+        when(dailyAbsenceRepository.sumHoursByLeaveRequestForDepartment(
+                department.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(List.of(new LeaveAbsenceHours(leaveRequest.getId(), new BigDecimal("16.0"))));
+
+        // Act
+        SprintOverlapReportDTO report = leaveRequestService.generateSprintOverlapReport(
+                sprintStart, sprintEnd, department.getId());
 
         // Assert
-        assertNotNull(report);
-        assertEquals(overlappingHours, report.getTotalLossHours());
-        // ÖNEMLİ: İzin 15-25 Ocak ama sadece 15-20 Ocak (6 gün) hesaplanmalı
-        assertEquals(new BigDecimal("48.0"), report.getTotalLossHours());
+        assertEquals(1, report.getOverlappingLeaves().size());
+        assertEquals(new BigDecimal("16.0"), report.getTotalLossHours());
+        // Şirket geneli sorgular çalışmamalı
+        verify(leaveRequestRepository, never()).findOverlappingApprovedLeaves(any(), any());
+        verify(dailyAbsenceRepository, never()).sumHoursByLeaveRequest(any(), any());
     }
 
     // ========== HELPER METODLAR ==========
 
+    // İznin günlük kayıtlarını DailyAbsenceService'in hesabıyla üretip toplar (tatilsiz takvim)
+    private static LeaveAbsenceHours dailyAbsenceHours(LeaveRequest leaveRequest) {
+        DailyAbsenceService dailyAbsenceService = new DailyAbsenceService(null, null, null, null, null);
+        BigDecimal hours = dailyAbsenceService.buildDailyAbsences(leaveRequest, new WorkCalendar(List.of())).stream()
+                .map(DailyAbsence::getHours)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new LeaveAbsenceHours(leaveRequest.getId(), hours);
+    }
+
     private LeaveRequest createLeaveRequest(Employee employee, LocalDateTime start, LocalDateTime end, BigDecimal duration) {
         LeaveRequest leaveRequest = new LeaveRequest();
-        leaveRequest.setId(1L);
+        leaveRequest.setId(++nextLeaveId);
         leaveRequest.setEmployee(employee);
         leaveRequest.setLeaveType(annualLeaveType);
         leaveRequest.setStartDateTime(start);
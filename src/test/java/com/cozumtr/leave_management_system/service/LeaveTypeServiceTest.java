@@ -30,6 +30,9 @@ class LeaveTypeServiceTest {
     @Mock
     private LeaveTypeRepository leaveTypeRepository;
 
+    @Mock
+    private LeaveDataVersionService leaveDataVersionService;
+
     @InjectMocks
     private LeaveTypeService leaveTypeService;
 
@@ -214,6 +217,8 @@ class LeaveTypeServiceTest {
         verify(leaveTypeRepository).findById(1L);
         verify(leaveTypeRepository).findByName(updateRequest.getName());
         verify(leaveTypeRepository).save(any(LeaveType.class));
+        // Rapor önbelleği ve ETag'ler geçersiz olmalı
+        verify(leaveDataVersionService).bumpGlobal();
     }
 
     @Test
@@ -253,6 +258,7 @@ class LeaveTypeServiceTest {
         });
 
         assertEquals("Bu isimde bir izin türü zaten mevcut: " + updateRequest.getName(), exception.getMessage());
+        verify(leaveDataVersionService, never()).bumpGlobal();
         verify(leaveTypeRepository).findById(1L);
         verify(leaveTypeRepository).findByName(updateRequest.getName());
         verify(leaveTypeRepository, never()).save(any(LeaveType.class));
@@ -289,6 +295,7 @@ class LeaveTypeServiceTest {
         // Assert
         verify(leaveTypeRepository).findById(1L);
         verify(leaveTypeRepository).save(argThat(leaveType -> !leaveType.getIsActive()));
+        verify(leaveDataVersionService).bumpGlobal();
     }
 
     @Test
@@ -0,0 +1,195 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginAttemptService Unit Tests")
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL = "employee@test.com";
+    private static final String IP = "10.0.0.1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthAuditWriter authAuditWriter;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private LoginAttemptService loginAttemptService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginAttemptService, "windowMs", 900_000L);
+        ReflectionTestUtils.setField(loginAttemptService, "ipMaxFailures", 3);
+        ReflectionTestUtils.setField(loginAttemptService, "maxTrackedKeys", 100_000);
+
+        Employee employee = new Employee();
+        employee.setEmail(EMAIL);
+        user = new User();
+        user.setId(7L);
+        user.setEmployee(employee);
+        user.setFailedLoginAttempts(0);
+    }
+
+    @Test
+    @DisplayName("Birden fazla başarısız deneme tek UPDATE ve tek denetim satırı olarak yazılmalı")
+    void flush_ShouldCoalesceFailures() {
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        loginAttemptService.recordFailure(EMAIL, user, "10.0.0.2");
+        verifyNoInteractions(userRepository, authAuditWriter);
+
+        loginAttemptService.flush();
+
+        verify(userRepository, times(1)).addFailedLoginAttempts(eq(7L), eq(3), any(LocalDateTime.class));
+        ArgumentCaptor<String> details = ArgumentCaptor.forClass(String.class);
+        verify(authAuditWriter, times(1)).record(eq(EMAIL), eq(7L), eq(AuthAuditWriter.LOGIN_FAILURE), eq("10.0.0.2"),
+                eq("BAD_CREDENTIALS"), details.capture());
+        verifyNoMoreInteractions(authAuditWriter);
+        assertTrue(details.getValue().contains("\"coalesced_attempts\": 3"));
+        assertTrue(details.getValue().contains("\"security_alert\": \"MULTIPLE_FAILURES\""));
+        assertTrue(details.getValue().contains("\"geo_anomaly\": true"));
+        assertEquals(3, loginAttemptService.failedAttempts(user));
+    }
+
+    @Test
+    @DisplayName("5. başarısız denemede kilit hemen yazılmalı")
+    void recordFailure_ShouldPersistLockImmediately() {
+        user.setFailedLoginAttempts(3);
+
+        assertEquals(4, loginAttemptService.recordFailure(EMAIL, user, IP));
+        verify(userRepository, never()).addFailedLoginAttempts(anyLong(), anyInt(), any());
+
+        assertEquals(5, loginAttemptService.recordFailure(EMAIL, user, IP));
+        verify(userRepository, times(1)).addFailedLoginAttempts(eq(7L), eq(2), any(LocalDateTime.class));
+        assertEquals(5, loginAttemptService.failedAttempts(user));
+
+        loginAttemptService.flush();
+        verify(authAuditWriter).record(eq(EMAIL), eq(7L), eq(AuthAuditWriter.ACCOUNT_LOCKED), eq(IP), anyString(), isNull());
+    }
+
+    @Test
+    @DisplayName("Başarılı giriş bekleyen sayacı temizlemeli")
+    void recordSuccess_ShouldDropPendingFailures() {
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        user.setFailedLoginAttempts(0);
+
+        loginAttemptService.recordSuccess(EMAIL);
+        loginAttemptService.flush();
+
+        assertEquals(0, loginAttemptService.failedAttempts(user));
+        verify(userRepository, never()).addFailedLoginAttempts(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Pencere içinde sınırı aşan IP engellenmeli")
+    void isIpBlocked_ShouldBlockAfterThreshold() {
+        loginAttemptService.recordFailure("a@test.com", null, IP);
+        loginAttemptService.recordFailure("b@test.com", null, IP);
+        assertFalse(loginAttemptService.isIpBlocked(IP));
+
+        loginAttemptService.recordFailure("c@test.com", null, IP);
+
+        assertTrue(loginAttemptService.isIpBlocked(IP));
+        assertFalse(loginAttemptService.isIpBlocked("10.0.0.9"));
+        assertFalse(loginAttemptService.isIpBlocked(null));
+    }
+
+    @Test
+    @DisplayName("Kayıtlı olmayan email için kullanıcı tablosuna yazılmamalı")
+    void recordFailure_UnknownEmail_ShouldOnlyAudit() {
+        loginAttemptService.recordFailure("ghost@test.com", null, IP);
+
+        loginAttemptService.flush();
+
+        verify(userRepository, never()).addFailedLoginAttempts(anyLong(), anyInt(), any());
+        verify(authAuditWriter).record(eq("ghost@test.com"), isNull(), eq(AuthAuditWriter.LOGIN_FAILURE), eq(IP),
+                eq("BAD_CREDENTIALS"), anyString());
+    }
+
+    @Test
+    @DisplayName("Hesap değişikliği mesajı sayacı temizlemeli")
+    void evict_ShouldResetCounter() {
+        user.setFailedLoginAttempts(4);
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        assertEquals(5, loginAttemptService.failedAttempts(user));
+
+        loginAttemptService.evict(EMAIL);
+        user.setFailedLoginAttempts(0); // Şifre sıfırlama veritabanında sayacı sıfırladı
+
+        assertEquals(0, loginAttemptService.failedAttempts(user));
+    }
+
+    @Test
+    @DisplayName("Tüm önbelleğin temizlenmesi (LISTEN yeniden bağlantısı) bekleyen denemeleri silmemeli, yazmalı")
+    void evictAll_ShouldPersistPendingFailures() {
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        verify(userRepository, never()).addFailedLoginAttempts(anyLong(), anyInt(), any());
+
+        loginAttemptService.evictAll();
+
+        verify(userRepository, times(1)).addFailedLoginAttempts(eq(7L), eq(2), any(LocalDateTime.class));
+        user.setFailedLoginAttempts(2); // Sayaç bir sonraki denemede veritabanından okunur
+        assertEquals(2, loginAttemptService.failedAttempts(user));
+
+        loginAttemptService.flush();
+        verify(userRepository, times(1)).addFailedLoginAttempts(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Temizlik sırasında yazma başarısız olursa sayaç bellekte kalmalı")
+    void evict_WriteFails_ShouldKeepPendingFailures() {
+        doThrow(new DataAccessResourceFailureException("bağlantı yok"))
+                .when(userRepository).addFailedLoginAttempts(anyLong(), anyInt(), any());
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+        loginAttemptService.recordFailure(EMAIL, user, IP);
+
+        loginAttemptService.evict(EMAIL);
+
+        assertEquals(2, loginAttemptService.failedAttempts(user));
+    }
+
+    @Test
+    @DisplayName("Kayan pencere süresi dolan denemeleri saymamalı")
+    void slidingWindow_ShouldExpireOldBuckets() {
+        LoginAttemptService.SlidingWindow window = new LoginAttemptService.SlidingWindow(15 * 60_000L);
+        long start = 1_000_000_000L;
+
+        window.increment(start);
+        window.increment(start + 5 * 60_000L);
+
+        assertEquals(2, window.count(start + 10 * 60_000L));
+        assertEquals(1, window.count(start + 16 * 60_000L));
+        assertEquals(0, window.count(start + 21 * 60_000L));
+    }
+}
@@ -0,0 +1,301 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.config.LocalSmtpServer;
+import com.cozumtr.leave_management_system.entities.Department;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.LeaveType;
+import com.cozumtr.leave_management_system.entities.Role;
+import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.enums.RequestStatus;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
+import com.cozumtr.leave_management_system.repository.LeaveApprovalHistoryRepository;
+import com.cozumtr.leave_management_system.repository.LeaveEntitlementRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.repository.LeaveTypeRepository;
+import com.cozumtr.leave_management_system.repository.PublicHolidayRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bildirim performansı için yük testi.
+ *
+ * N adet eşzamanlı izin onayını gerçek {@link SmtpEmailService} üzerinden süreç içi {@link LocalSmtpServer}'a
+ * göndererek uçtan uca onay gecikmesini (p50/p95/max) ve bildirim teslim hızını ölçer.
+ * Ağ bağlantısı gerektirmez; CI'da bildirim değişikliklerinin onay gecikmesini bozmadığını gösterir.
+ *
+ * Parametreler sistem özellikleri ile büyütülebilir:
+ * -Dnotification.harness.approvals, -Dnotification.harness.threads,
+ * -Dnotification.harness.smtpLatencyMs, -Dnotification.harness.p95BudgetMs
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Bildirim Teslim Hızı Yük Testi")
+class NotificationThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationThroughputTest.class);
+
+    private static final int APPROVALS = Integer.getInteger("notification.harness.approvals", 60);
+    private static final int THREADS = Integer.getInteger("notification.harness.threads", 12);
+    private static final long SMTP_LATENCY_MS = Long.getLong("notification.harness.smtpLatencyMs", 10);
+    private static final long P95_BUDGET_MS = Long.getLong("notification.harness.p95BudgetMs", 2000);
+
+    /** HR onayı sonrası: talep sahibine ilerleme bildirimi + MANAGER'a onay bildirimi */
+    private static final int MESSAGES_PER_APPROVAL = 2;
+
+    private static final String APPROVER_EMAIL = "hr@example.com";
+    private static final String MANAGER_EMAIL = "manager@example.com";
+
+    private static LocalSmtpServer smtpServer;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+    @Mock
+    private LeaveCalculationService leaveCalculationService;
+    @Mock
+    private LeaveEntitlementRepository leaveEntitlementRepository;
+    @Mock
+    private LeaveApprovalHistoryRepository leaveApprovalHistoryRepository;
+    @Mock
+    private PublicHolidayRepository publicHolidayRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LeaveAttachmentService leaveAttachmentService;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private ApproverDirectoryService approverDirectoryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LeaveRequestService leaveRequestService;
+
+    private final Map<Long, LeaveRequest> requests = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startSmtp() throws IOException {
+        smtpServer = LocalSmtpServer.start();
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtpServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaveRequestService, "currentUser", new CurrentUser(employeeRepository, userRepository));
+        smtpServer.reset();
+        requests.clear();
+
+        // Gerçek SMTP servisi, yerel sunucuya bağlanır
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.getPort());
+        Properties mailProperties = new Properties();
+        mailProperties.put("mail.smtp.connectiontimeout", "5000");
+        mailProperties.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(mailProperties);
+
+        SmtpEmailService smtpEmailService = new SmtpEmailService(mailSender);
+        ReflectionTestUtils.setField(smtpEmailService, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(smtpEmailService, "frontendUrl", "http://localhost:5173");
+        ReflectionTestUtils.setField(smtpEmailService, "baseUrl", "http://localhost:8080");
+        ReflectionTestUtils.setField(leaveRequestService, "emailService", smtpEmailService);
+
+        Department department = new Department();
+        department.setId(10L);
+        department.setName("Yazılım Geliştirme");
+
+        Employee owner = new Employee();
+        owner.setId(1L);
+        owner.setEmail("employee@example.com");
+        owner.setFirstName("Test");
+        owner.setLastName("Employee");
+        owner.setDailyWorkHours(new BigDecimal("8.0"));
+        owner.setDepartment(department);
+
+        Employee approver = new Employee();
+        approver.setId(2L);
+        approver.setEmail(APPROVER_EMAIL);
+        approver.setFirstName("İK");
+        approver.setLastName("Uzmanı");
+
+        Role hrRole = new Role();
+        hrRole.setRoleName("HR");
+        User approverUser = new User();
+        approverUser.setEmployee(approver);
+        approverUser.setRoles(Set.of(hrRole));
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setId(1L);
+        leaveType.setName("Yıllık İzin");
+        leaveType.setWorkflowDefinition("HR,MANAGER");
+
+        for (long id = 1; id <= APPROVALS; id++) {
+            LeaveRequest request = new LeaveRequest();
+            request.setId(id);
+            request.setEmployee(owner);
+            request.setLeaveType(leaveType);
+            request.setStartDateTime(LocalDateTime.now().plusDays(7));
+            request.setEndDateTime(LocalDateTime.now().plusDays(9));
+            request.setDurationHours(new BigDecimal("24.0"));
+            request.setRequestStatus(RequestStatus.PENDING_APPROVAL);
+            request.setWorkflowNextApproverRole("HR");
+            request.setReason("Yük testi");
+            requests.put(id, request);
+        }
+
+        when(employeeRepository.findByEmail(APPROVER_EMAIL)).thenReturn(Optional.of(approver));
+        when(userRepository.findByEmployeeEmail(APPROVER_EMAIL)).thenReturn(Optional.of(approverUser));
+        when(leaveRequestRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(requests.get(invocation.<Long>getArgument(0))));
+        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(approverDirectoryService.getApproverEmails(eq("MANAGER"), eq(10L))).thenReturn(List.of(MANAGER_EMAIL));
+        when(approverDirectoryService.getApproverEmails(anyString(), isNull())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı onaylarda tüm bildirimler teslim edilmeli ve p95 gecikme bütçe içinde kalmalı")
+    void concurrentApprovals_ShouldDeliverAllNotificationsWithinLatencyBudget() throws Exception {
+        smtpServer.withLatency(Duration.ofMillis(SMTP_LATENCY_MS));
+
+        HarnessResult result = runApprovals();
+
+        int expectedMessages = APPROVALS * MESSAGES_PER_APPROVAL;
+        assertEquals(APPROVALS, result.succeeded(), "Tüm onaylar başarılı olmalı");
+        assertTrue(smtpServer.awaitMessages(expectedMessages, Duration.ofSeconds(10)),
+                "Beklenen bildirim sayısı teslim edilmedi");
+        assertEquals(expectedMessages, smtpServer.getMessages().size());
+        assertTrue(smtpServer.getMessages().stream().anyMatch(m -> m.recipients().contains(MANAGER_EMAIL)));
+        assertTrue(result.p95Millis() <= P95_BUDGET_MS,
+                "p95 onay gecikmesi bütçeyi aştı: " + result.p95Millis() + " ms > " + P95_BUDGET_MS + " ms");
+
+        result.report("gecikme=" + SMTP_LATENCY_MS + "ms", expectedMessages);
+    }
+
+    @Test
+    @DisplayName("SMTP hataları onay işlemini başarısız yapmamalı")
+    void concurrentApprovals_WithInjectedFailures_ShouldStillApprove() throws Exception {
+        smtpServer.withLatency(Duration.ofMillis(SMTP_LATENCY_MS)).withFailureEveryNth(3);
+
+        HarnessResult result = runApprovals();
+
+        int expectedMessages = APPROVALS * MESSAGES_PER_APPROVAL;
+        assertEquals(APPROVALS, result.succeeded(), "Bildirim hataları onayları etkilememeli");
+        assertEquals(expectedMessages / 3, smtpServer.getRejectedCount());
+        assertEquals(expectedMessages - smtpServer.getRejectedCount(), smtpServer.getMessages().size());
+        requests.values().forEach(request ->
+                assertEquals(RequestStatus.APPROVED_HR, request.getRequestStatus()));
+
+        result.report("her 3. mesaj hatalı", smtpServer.getMessages().size());
+    }
+
+    private HarnessResult runApprovals() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        for (Long requestId : requests.keySet()) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(APPROVER_EMAIL, null, List.of()));
+                try {
+                    long begin = System.nanoTime();
+                    leaveRequestService.approveLeaveRequest(requestId, "Onaylandı");
+                    return System.nanoTime() - begin;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            latencies.add(future.get(60, TimeUnit.SECONDS));
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        executor.shutdown();
+
+        Collections.sort(latencies);
+        return new HarnessResult(latencies, wallNanos);
+    }
+
+    private record HarnessResult(List<Long> sortedLatencies, long wallNanos) {
+
+        int succeeded() {
+            return sortedLatencies.size();
+        }
+
+        long percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatencies.get(Math.max(index, 0)));
+        }
+
+        long p95Millis() {
+            return percentileMillis(0.95);
+        }
+
+        void report(String scenario, int deliveredMessages) {
+            double seconds = wallNanos / 1_000_000_000.0;
+            log.info("📊 Bildirim yük testi: {} | onay={}, thread={} | p50={}ms p95={}ms max={}ms | onay/sn={}, mesaj/sn={}",
+                    scenario, succeeded(), THREADS,
+                    percentileMillis(0.50), p95Millis(), percentileMillis(1.0),
+                    String.format("%.1f", succeeded() / seconds), String.format("%.1f", deliveredMessages / seconds));
+        }
+    }
+}
@@ -31,6 +31,9 @@ class PublicHolidayServiceTest {
     @Mock
     private PublicHolidayRepository publicHolidayRepository;
 
+    @Mock
+    private DailyAbsenceService dailyAbsenceService;
+
     @InjectMocks
     private PublicHolidayService publicHolidayService;
 
@@ -90,6 +93,8 @@ class PublicHolidayServiceTest {
         assertEquals(createRequest.getIsHalfDay(), response.getIsHalfDay());
         verify(publicHolidayRepository).existsByDateInRange(createRequest.getStartDate());
         verify(publicHolidayRepository).save(any(PublicHoliday.class));
+        // Yeni tatile denk gelen onaylı izinlerin günlük kayıtları yeniden hesaplanmalı
+        verify(dailyAbsenceService).rebuildRange(createRequest.getStartDate(), createRequest.getStartDate());
     }
 
     @Test
@@ -243,6 +248,8 @@ class PublicHolidayServiceTest {
         verify(publicHolidayRepository).findById(1L);
         verify(publicHolidayRepository).findByDateInRange(testPublicHoliday.getStartDate());
         verify(publicHolidayRepository).save(any(PublicHoliday.class));
+        // Tarih değişmediği için aralık bir kez yeniden hesaplanmalı
+        verify(dailyAbsenceService).rebuildRange(testPublicHoliday.getStartDate(), testPublicHoliday.getEndDate());
     }
 
     @Test
@@ -0,0 +1,149 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.entities.RefreshToken;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenLifetimeMs", 1_209_600_000L);
+    }
+
+    @Test
+    @DisplayName("issue - Token ham haliyle değil özetiyle saklanmalı")
+    void issue_ShouldStoreOnlyHash() {
+        String rawToken = refreshTokenService.issue(1L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken saved = captor.getValue();
+        assertNotNull(rawToken);
+        assertNotEquals(rawToken, saved.getTokenHash());
+        assertEquals(64, saved.getTokenHash().length());
+        assertEquals(1L, saved.getUserId());
+        assertNotNull(saved.getFamilyId());
+    }
+
+    @Test
+    @DisplayName("rotate - Token tüketilmeli ve aynı aileden yeni token üretilmeli")
+    void rotate_ShouldConsumeTokenAndIssueSameFamily() {
+        String rawToken = refreshTokenService.issue(1L);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(rawToken);
+
+        assertEquals(1L, rotation.userId());
+        assertNotEquals(rawToken, rotation.refreshToken());
+        assertNotNull(stored.getUsedAt());
+        verify(refreshTokenRepository, times(3)).save(captor.capture());
+        List<RefreshToken> saved = captor.getAllValues();
+        RefreshToken rotated = saved.get(saved.size() - 1);
+        assertEquals(stored.getFamilyId(), rotated.getFamilyId());
+        assertNull(rotated.getUsedAt());
+    }
+
+    @Test
+    @DisplayName("rotate - Kullanılmış token tekrar sunulursa aile iptal edilmeli")
+    void rotate_ReusedToken_ShouldRevokeFamily() {
+        RefreshToken used = token("family-1", LocalDateTime.now().plusDays(1));
+        used.setUsedAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(used));
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate("stolen-token"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("rotate - Süresi dolmuş token reddedilmeli")
+    void rotate_ExpiredToken_ShouldThrowException() {
+        RefreshToken expired = token("family-1", LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(expired));
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate("expired-token"));
+
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("rotate - Bilinmeyen token reddedilmeli")
+    void rotate_UnknownToken_ShouldThrowException() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate("unknown-token"));
+    }
+
+    @Test
+    @DisplayName("revokeFamily - Access token kullanıcısı yoksa token sahibinin ailesi iptal edilmeli")
+    void revokeFamily_WithoutAccessToken_ShouldRevokeOwnFamily() {
+        RefreshToken stored = token("family-1", LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        Long ownerId = refreshTokenService.revokeFamily("refresh-token", null);
+
+        assertEquals(1L, ownerId);
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("revokeFamily - Başka kullanıcıya ait token reddedilmeli ve aile iptal edilmemeli")
+    void revokeFamily_OtherUsersToken_ShouldThrowException() {
+        RefreshToken stored = token("family-1", LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.revokeFamily("refresh-token", 2L));
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Hesap değişikliğinde kullanıcının tüm oturumları sonlandırılmalı")
+    void onUserAccountChanged_ShouldRevokeAllUserTokens() {
+        refreshTokenService.onUserAccountChanged(new UserAccountChangedEvent(5L, "user@test.com"));
+
+        verify(refreshTokenRepository).revokeAllByUserId(eq(5L), any(LocalDateTime.class));
+    }
+
+    private static RefreshToken token(String familyId, LocalDateTime expiresAt) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash("hash");
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUserId(1L);
+        refreshToken.setIssuedAt(LocalDateTime.now().minusHours(1));
+        refreshToken.setExpiresAt(expiresAt);
+        return refreshToken;
+    }
+}
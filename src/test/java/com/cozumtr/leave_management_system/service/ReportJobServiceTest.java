@@ -0,0 +1,285 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.ReportJobResponse;
+import com.cozumtr.leave_management_system.entities.ReportJob;
+import com.cozumtr.leave_management_system.enums.ReportJobStatus;
+import com.cozumtr.leave_management_system.enums.ReportJobType;
+import com.cozumtr.leave_management_system.exception.TooManyRequestsException;
+import com.cozumtr.leave_management_system.repository.ReportJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportJobService Unit Tests")
+class ReportJobServiceTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private AccountingReportService accountingReportService;
+
+    @Mock
+    private LeaveRequestService leaveRequestService;
+
+    @Mock
+    private SprintOverlapExportService sprintOverlapExportService;
+
+    @TempDir
+    Path tempDir;
+
+    private ReportJobService reportJobService;
+    private final AtomicReference<ReportJob> lastSaved = new AtomicReference<>();
+    // Kaydedildiği andaki durumlar (mock aynı nesneyi döndürdüğü için nesnenin son hali yetmez)
+    private final List<ReportJobStatus> savedStatuses = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobService(reportJobRepository, accountingReportService,
+                leaveRequestService, sprintOverlapExportService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reportJobService, "reportsDir", tempDir.toString());
+        ReflectionTestUtils.setField(reportJobService, "jobTtlMs", 3_600_000L);
+        ReflectionTestUtils.setField(reportJobService, "nodeId", NODE_ID);
+        ReflectionTestUtils.setField(reportJobService, "leaseMs", 120_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    private void init(int workerThreads, int queueCapacity) throws IOException {
+        ReflectionTestUtils.setField(reportJobService, "workerThreads", workerThreads);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", queueCapacity);
+        reportJobService.init();
+    }
+
+    private void stubNewJob() {
+        when(reportJobRepository.findFirstByParametersHashAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+                anyString(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            lastSaved.set(job);
+            savedStatuses.add(job.getStatus());
+            return job;
+        });
+    }
+
+    // Havuzu kapatıp bekler: iş thread'inin yazdıkları test thread'inde görünür olur
+    private void awaitWorkers() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(reportJobService, "executor");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Aynı parametrelerle TTL içinde gelen istek mevcut işi paylaşmalı")
+    void submit_SameParameters_ShouldReuseExistingJob() throws IOException {
+        init(1, 1);
+        ReportJob existing = new ReportJob();
+        existing.setId("existing-job");
+        existing.setReportType(ReportJobType.ACCOUNTING_LEAVES);
+        existing.setStatus(ReportJobStatus.RUNNING);
+        existing.setProgress(40);
+        when(reportJobRepository.findFirstByParametersHashAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+                anyString(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existing));
+
+        ReportJobResponse response = reportJobService.submit(ReportJobType.ACCOUNTING_LEAVES, "ALL|2025-01",
+                "leave-report.xlsx", "muhasebe@test.com", (out, progress) -> fail("İş çalıştırılmamalı"));
+
+        assertEquals("existing-job", response.getId());
+        assertEquals(ReportJobStatus.RUNNING, response.getStatus());
+        assertEquals(40, response.getProgress());
+        verify(reportJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("İş tamamlandığında dosya depoda olmalı ve durum COMPLETED olmalı")
+    void submit_TaskSucceeds_ShouldStoreFileAndComplete() throws Exception {
+        init(1, 1);
+        stubNewJob();
+
+        ReportJobResponse response = reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "2025-01-01|2025-01-14|S1",
+                "sprint.xlsx", "ik@test.com", (out, progress) -> {
+                    progress.accept(40);
+                    out.write(new byte[]{1, 2, 3, 4});
+                });
+        assertEquals(ReportJobStatus.QUEUED, response.getStatus());
+        awaitWorkers();
+
+        ReportJob job = lastSaved.get();
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(100, job.getProgress());
+        assertEquals(4L, job.getFileSize());
+        assertEquals(NODE_ID, job.getOwnerNode());
+        // Depoya göre göreli: paylaşımlı dizini bağlayan her düğüm çözebilir
+        assertEquals(job.getId() + ".xlsx", job.getFilePath());
+        Path file = tempDir.resolve("jobs").resolve(job.getFilePath());
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(file.resolveSibling(job.getId() + ".xlsx.part")));
+        assertTrue(reportJobService.getResult(job).exists());
+    }
+
+    @Test
+    @DisplayName("İş başarısız olursa durum FAILED olmalı ve yarım dosya silinmeli")
+    void submit_TaskFails_ShouldMarkFailedAndRemovePartialFile() throws Exception {
+        init(1, 1);
+        stubNewJob();
+
+        reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "2025-01-01|2025-01-14|S1", "sprint.xlsx",
+                "ik@test.com", (out, progress) -> {
+                    out.write(new byte[]{1, 2});
+                    throw new IOException("disk dolu");
+                });
+        awaitWorkers();
+
+        ReportJob job = lastSaved.get();
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals("Rapor oluşturulamadı, lütfen tekrar deneyin.", job.getErrorMessage());
+        assertNull(job.getFilePath());
+        try (var files = Files.list(tempDir.resolve("jobs"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Kuyruk doluysa iş kaydı silinmeli ve 429 dönmeli")
+    void submit_QueueFull_ShouldRejectAndDeleteJob() throws Exception {
+        init(1, 1);
+        stubNewJob();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJobService.ReportTask blocking = (out, progress) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // 1. iş thread'i, 2. iş kuyruğu doldurur
+        reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "p1", "a.xlsx", "ik@test.com", blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "p2", "b.xlsx", "ik@test.com", blocking);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "p3", "c.xlsx", "ik@test.com", blocking));
+        assertEquals(30, exception.getRetryAfterSeconds());
+        verify(reportJobRepository).delete(argThat(job -> "c.xlsx".equals(job.getFileName())));
+
+        release.countDown();
+        awaitWorkers();
+    }
+
+    @Test
+    @DisplayName("İş başka düğümde FAILED işaretlendiyse geç biten işçi COMPLETED yazmamalı")
+    void run_JobFailedElsewhere_ShouldNotFlipToCompleted() throws Exception {
+        init(1, 1);
+        stubNewJob();
+
+        reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "p1", "sprint.xlsx", "ik@test.com",
+                (out, progress) -> {
+                    out.write(new byte[]{1, 2, 3});
+                    // Kira doldu, iş başka düğümde FAILED işaretlendi: sonraki kayıt version çakışması alır
+                    doThrow(new ObjectOptimisticLockingFailureException(ReportJob.class, "job"))
+                            .when(reportJobRepository).save(any(ReportJob.class));
+                });
+        awaitWorkers();
+
+        assertEquals(List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING), savedStatuses);
+        try (var files = Files.list(tempDir.resolve("jobs"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Yeniden başlatmada yalnızca bu düğümün işleri FAILED işaretlenmeli")
+    void failInterruptedJobs_ShouldOnlyFailOwnJobs() throws IOException {
+        init(1, 1);
+
+        reportJobService.failInterruptedJobs();
+
+        verify(reportJobRepository).failOwnedBy(eq(NODE_ID),
+                argThat(statuses -> statuses.contains(ReportJobStatus.QUEUED)
+                        && statuses.contains(ReportJobStatus.RUNNING)
+                        && !statuses.contains(ReportJobStatus.COMPLETED)),
+                anyString(), any(LocalDateTime.class));
+        verify(reportJobRepository, never()).failStale(anyCollection(), any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Temizlik kira süresi dolan işleri FAILED işaretlemeli")
+    void cleanupExpired_ShouldFailJobsWithExpiredLease() throws IOException {
+        init(1, 1);
+        when(reportJobRepository.findByExpiresAtBefore(any(LocalDateTime.class))).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        reportJobService.cleanupExpired();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportJobRepository).failStale(anyCollection(), staleBefore.capture(), anyString(), any(LocalDateTime.class));
+        assertFalse(staleBefore.getValue().isBefore(before.minusSeconds(120)));
+        assertFalse(staleBefore.getValue().isAfter(after.minusSeconds(120)));
+    }
+
+    @Test
+    @DisplayName("Heartbeat yalnızca bu düğümde süren işlerin kirasını tazelemeli")
+    void heartbeat_ShouldTouchInFlightJobs() throws Exception {
+        init(1, 1);
+        stubNewJob();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ReportJobResponse response = reportJobService.submit(ReportJobType.SPRINT_OVERLAP, "p1", "a.xlsx",
+                "ik@test.com", (out, progress) -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        reportJobService.heartbeat();
+        verify(reportJobRepository).touchHeartbeat(eq(Set.of(response.getId())), anyCollection(), any(LocalDateTime.class));
+
+        release.countDown();
+        awaitWorkers();
+        reportJobService.heartbeat();
+        verifyNoMoreInteractions(ignoreStubs(reportJobRepository));
+    }
+}
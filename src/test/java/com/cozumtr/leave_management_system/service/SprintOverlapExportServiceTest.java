@@ -0,0 +1,110 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
+import com.cozumtr.leave_management_system.dto.response.SprintOverlapReportDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SprintOverlapExportService Unit Tests")
+class SprintOverlapExportServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SprintOverlapExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new SprintOverlapExportService(meterRegistry);
+        exportService.init();
+    }
+
+    private SprintOverlapReportDTO report() {
+        return SprintOverlapReportDTO.builder()
+                .totalLossHours(new BigDecimal("16.0"))
+                .overlappingLeaves(List.of(OverlappingLeaveDetailDTO.builder()
+                        .employeeFullName("Ali Yılmaz")
+                        .leaveTypeName("Yıllık İzin")
+                        .leaveStartDate(LocalDateTime.of(2025, 1, 6, 9, 0))
+                        .leaveEndDate(LocalDateTime.of(2025, 1, 7, 18, 0))
+                        .overlappingHours(new BigDecimal("16.0"))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı export istekleri rapor yüklemesini paylaşmalı, Excel her istek için ayrı yazılmalı")
+    void loadShared_ConcurrentSameKey_ShouldLoadReportOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger loads = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            Future<SprintOverlapReportDTO> first = executor.submit(() -> exportService.loadShared("sprint|1", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return report();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<SprintOverlapReportDTO> second = executor.submit(() -> exportService.loadShared("sprint|1", () -> {
+                loads.incrementAndGet();
+                return report();
+            }));
+
+            // İkinci istek süren yüklemeye katılana kadar bekle
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sharedCount() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1.0, meterRegistry.get("reports.sprint_overlap.export").tag("result", "generated")
+                    .functionCounter().count());
+            assertEquals(1.0, sharedCount());
+
+            for (Future<SprintOverlapReportDTO> result : List.of(first, second)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                exportService.writeExcel(result.get(), "Sprint 1",
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 17), out);
+                try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                    Sheet sheet = workbook.getSheetAt(0);
+                    assertEquals("Ali Yılmaz", sheet.getRow(7).getCell(0).getStringCellValue());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double sharedCount() {
+        return meterRegistry.get("reports.sprint_overlap.export").tag("result", "shared")
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,172 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.DepartmentSprintOverlapReportDTO;
+import com.cozumtr.leave_management_system.dto.response.OverlappingLeaveDetailDTO;
+import com.cozumtr.leave_management_system.dto.response.SprintOverlapItemDTO;
+import com.cozumtr.leave_management_system.entities.DailyAbsence;
+import com.cozumtr.leave_management_system.entities.Employee;
+import com.cozumtr.leave_management_system.entities.LeaveRequest;
+import com.cozumtr.leave_management_system.entities.LeaveType;
+import com.cozumtr.leave_management_system.entities.Sprint;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.DailyAbsenceRepository;
+import com.cozumtr.leave_management_system.repository.LeaveRequestRepository;
+import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SprintOverlapReportService Unit Tests")
+class SprintOverlapReportServiceTest {
+
+    private static final Long DEPARTMENT_ID = 3L;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private DailyAbsenceRepository dailyAbsenceRepository;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @InjectMocks
+    private SprintOverlapReportService sprintOverlapReportService;
+
+    private Employee employee;
+    private LeaveType leaveType;
+    private final List<DailyAbsence> dailyRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setFirstName("Ayşe");
+        employee.setLastName("Yılmaz");
+
+        leaveType = new LeaveType();
+        leaveType.setName("Yıllık İzin");
+    }
+
+    private static Sprint sprint(Long id, LocalDate start, LocalDate end) {
+        Sprint sprint = new Sprint();
+        sprint.setId(id);
+        sprint.setName("Sprint " + id);
+        sprint.setStartDate(start);
+        sprint.setEndDate(end);
+        return sprint;
+    }
+
+    // İzin ve her gününe 8 saatlik günlük kayıt
+    private LeaveRequest leave(Long id, LocalDate start, LocalDate end, LocalDate... days) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setLeaveType(leaveType);
+        leaveRequest.setStartDateTime(start.atStartOfDay());
+        leaveRequest.setEndDateTime(end.atTime(23, 59));
+        for (LocalDate day : days) {
+            dailyRows.add(DailyAbsence.builder()
+                    .leaveRequestId(id)
+                    .employeeId(employee.getId())
+                    .absenceDate(day)
+                    .hours(new BigDecimal("8.0"))
+                    .build());
+        }
+        return leaveRequest;
+    }
+
+    private static BigDecimal totalOf(SprintOverlapItemDTO item) {
+        return item.getOverlappingLeaves().stream()
+                .map(OverlappingLeaveDetailDTO::getOverlappingHours)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Test
+    @DisplayName("Tüm sprint'ler tek geçişte doğru izinlerle eşleşmeli (iç içe sprint dahil)")
+    void generateDepartmentReport_ShouldMatchLeavesToEverySprint() {
+        // Başlangıca göre sıralı: S1 (1-14), S3 (3-10, S1 içinde), S2 (15-28)
+        Sprint s1 = sprint(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14));
+        Sprint s3 = sprint(3L, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 10));
+        Sprint s2 = sprint(2L, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 28));
+        LeaveRequest l1 = leave(10L, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 4),
+                LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4));
+        LeaveRequest l2 = leave(11L, LocalDate.of(2024, 1, 12), LocalDate.of(2024, 1, 16),
+                LocalDate.of(2024, 1, 12), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16));
+        LeaveRequest l3 = leave(12L, LocalDate.of(2024, 1, 22), LocalDate.of(2024, 1, 22),
+                LocalDate.of(2024, 1, 22));
+
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(true);
+        when(sprintRepository.findByDepartmentIdInRange(DEPARTMENT_ID, FROM, TO)).thenReturn(List.of(s1, s3, s2));
+        when(leaveRequestRepository.findApprovedDepartmentLeavesInRange(
+                DEPARTMENT_ID, LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 1, 28).atTime(23, 59, 59)))
+                .thenReturn(List.of(l1, l2, l3));
+        when(dailyAbsenceRepository.findByEmployeeDepartmentInRange(
+                DEPARTMENT_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 28))).thenReturn(dailyRows);
+
+        DepartmentSprintOverlapReportDTO report =
+                sprintOverlapReportService.generateDepartmentReport(DEPARTMENT_ID, FROM, TO);
+
+        List<SprintOverlapItemDTO> items = report.getSprints();
+        assertEquals(List.of(1L, 3L, 2L), items.stream().map(SprintOverlapItemDTO::getSprintId).toList());
+
+        // S1: l1 (3 gün) + l2'nin 12 Ocak'ı
+        assertEquals(2, items.get(0).getOverlappingLeaves().size());
+        assertEquals(0, new BigDecimal("32.0").compareTo(items.get(0).getTotalLossHours()));
+        // S3: l2 S1 için kuyruğa girdi ama S3 bittikten sonra başlıyor
+        assertEquals(1, items.get(1).getOverlappingLeaves().size());
+        assertEquals(0, new BigDecimal("16.0").compareTo(items.get(1).getTotalLossHours()));
+        // S2: l2'nin 15-16 Ocak'ı + l3; l1 kuyruktan atılmış olmalı
+        assertEquals(2, items.get(2).getOverlappingLeaves().size());
+        assertEquals(0, new BigDecimal("24.0").compareTo(items.get(2).getTotalLossHours()));
+        items.forEach(item -> assertEquals(0, totalOf(item).compareTo(item.getTotalLossHours())));
+
+        // Her izin tek sorguyla bir kez yüklenmeli
+        verify(leaveRequestRepository, times(1)).findApprovedDepartmentLeavesInRange(any(), any(), any());
+        verify(leaveRequestRepository, never()).findOverlappingApprovedLeaves(any(), any());
+    }
+
+    @Test
+    @DisplayName("Aralıkta sprint yoksa izin sorgusu yapılmamalı")
+    void generateDepartmentReport_NoSprints_ShouldReturnEmpty() {
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(true);
+        when(sprintRepository.findByDepartmentIdInRange(DEPARTMENT_ID, FROM, TO)).thenReturn(List.of());
+
+        DepartmentSprintOverlapReportDTO report =
+                sprintOverlapReportService.generateDepartmentReport(DEPARTMENT_ID, FROM, TO);
+
+        assertTrue(report.getSprints().isEmpty());
+        verifyNoInteractions(leaveRequestRepository, dailyAbsenceRepository);
+    }
+
+    @Test
+    @DisplayName("MANAGER başka departmanın raporunu görememeli")
+    void generateDepartmentReport_ManagerOtherDepartment_ShouldThrow() {
+        when(currentUser.hasAnyRole("HR", "CEO")).thenReturn(false);
+        when(currentUser.getDepartmentId()).thenReturn(5L);
+
+        assertThrows(BusinessException.class,
+                () -> sprintOverlapReportService.generateDepartmentReport(DEPARTMENT_ID, FROM, TO));
+        verifyNoInteractions(sprintRepository);
+    }
+}
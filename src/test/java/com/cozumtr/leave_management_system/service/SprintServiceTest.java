@@ -10,6 +10,8 @@ import com.cozumtr.leave_management_system.exception.BusinessException;
 import com.cozumtr.leave_management_system.repository.DepartmentRepository;
 import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.SprintRepository;
+import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -59,6 +62,7 @@ class SprintServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(sprintService, "currentUser", new CurrentUser(employeeRepository, mock(UserRepository.class)));
         SecurityContextHolder.setContext(securityContext);
 
         // Manager'ın departmanı
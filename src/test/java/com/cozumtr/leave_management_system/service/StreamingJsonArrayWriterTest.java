@@ -0,0 +1,96 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.TeamLeaveResponseDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StreamingJsonArrayWriter Unit Tests")
+class StreamingJsonArrayWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TeamLeaveResponseDTO leave(int i) {
+        return TeamLeaveResponseDTO.builder()
+                .employeeFullName("Çalışan " + i)
+                .departmentName("Yazılım")
+                .leaveTypeName("Yıllık İzin")
+                .startDate(LocalDateTime.of(2025, 1, 6, 9, 0))
+                .endDate(LocalDateTime.of(2025, 1, 6, 18, 0))
+                .totalHours(new BigDecimal("8.0"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Yazılan dizi liste serileştirmesiyle aynı olmalı")
+    void finish_ShouldProduceSameJsonAsList() throws Exception {
+        List<TeamLeaveResponseDTO> leaves = List.of(leave(1), leave(2), leave(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingJsonArrayWriter<TeamLeaveResponseDTO> writer =
+                     new StreamingJsonArrayWriter<>(objectMapper, TeamLeaveResponseDTO.class, out)) {
+            leaves.forEach(writer::write);
+            writer.finish();
+        }
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(leaves)), objectMapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Alan adı verilirse dizi nesneye sarılmalı, boş liste de geçerli JSON olmalı")
+    void finish_WithFieldName_ShouldWrapArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingJsonArrayWriter<TeamLeaveResponseDTO> writer =
+                     new StreamingJsonArrayWriter<>(objectMapper, TeamLeaveResponseDTO.class, out, "rows")) {
+            writer.finish();
+        }
+
+        JsonNode root = objectMapper.readTree(out.toByteArray());
+        assertTrue(root.get("rows").isArray());
+        assertEquals(0, root.get("rows").size());
+    }
+
+    @Test
+    @DisplayName("İlk elemandan önce kapatılırsa akışa hiçbir şey yazılmamalı")
+    void close_BeforeFirstElement_ShouldWriteNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (StreamingJsonArrayWriter<TeamLeaveResponseDTO> writer =
+                         new StreamingJsonArrayWriter<>(objectMapper, TeamLeaveResponseDTO.class, out)) {
+                throw new IllegalStateException("yetki yok");
+            }
+        });
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    @DisplayName("Yazım yarıda kesilirse dizi kapatılmamalı (istemci eksik listeyi tam sanmamalı)")
+    void close_WithoutFinish_ShouldLeaveArrayOpen() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingJsonArrayWriter<TeamLeaveResponseDTO> writer =
+                     new StreamingJsonArrayWriter<>(objectMapper, TeamLeaveResponseDTO.class, out)) {
+            writer.write(leave(1));
+        }
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{"));
+        assertFalse(json.endsWith("]"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.cozumtr.leave_management_system.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StreamingSheetWriter Unit Tests")
+class StreamingSheetWriterTest {
+
+    @Test
+    @DisplayName("Pencereden fazla satır yazılabilmeli ve değer tipleri korunmalı")
+    void writeTo_ShouldWriteAllRowsBeyondWindow() throws Exception {
+        int rowCount = StreamingSheetWriter.ROW_WINDOW * 5;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingSheetWriter writer = new StreamingSheetWriter("Test", 3)) {
+            writer.writeRow(null, "Ad", "Saat", "Ücretli");
+            for (int i = 1; i <= rowCount; i++) {
+                writer.writeRow(null, "Çalışan " + i, new BigDecimal("7.5"), i % 2 == 0);
+            }
+            writer.writeTo(out);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Test");
+            assertEquals(rowCount, sheet.getLastRowNum());
+            Row last = sheet.getRow(rowCount);
+            assertEquals("Çalışan " + rowCount, last.getCell(0).getStringCellValue());
+            assertEquals(7.5, last.getCell(1).getNumericCellValue());
+            assertTrue(last.getCell(2).getBooleanCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Sütun genişlikleri örnek satırlardaki en uzun değere göre ayarlanmalı")
+    void writeTo_ShouldSizeColumnsFromSample() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingSheetWriter writer = new StreamingSheetWriter("Test", 2)) {
+            writer.writeRow(null, "Kısa", "Çok daha uzun bir başlık");
+            writer.skipRow();
+            writer.writeRow(null, "x", null);
+            writer.writeTo(out);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertTrue(sheet.getColumnWidth(1) > sheet.getColumnWidth(0));
+            assertNull(sheet.getRow(1));
+            assertEquals(2, sheet.getLastRowNum());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.dto.response.LeaveBalanceResponse;
+import com.cozumtr.leave_management_system.dto.response.LeaveRequestResponse;
+import com.cozumtr.leave_management_system.dto.response.LeaveTypeResponse;
+import com.cozumtr.leave_management_system.dto.response.PublicHolidayResponse;
+import com.cozumtr.leave_management_system.dto.response.SyncResponse;
+import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.LeaveEntitlementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncService Unit Tests")
+class SyncServiceTest {
+
+    private static final Long EMPLOYEE_ID = 7L;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private LeaveRequestService leaveRequestService;
+
+    @Mock
+    private LeaveTypeService leaveTypeService;
+
+    @Mock
+    private PublicHolidayService publicHolidayService;
+
+    @Mock
+    private LeaveEntitlementService leaveEntitlementService;
+
+    @Mock
+    private LeaveEntitlementRepository leaveEntitlementRepository;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(syncService, "safetyWindowMs", 30_000L);
+        lenient().when(employeeService.getCurrentEmployeeId()).thenReturn(EMPLOYEE_ID);
+    }
+
+    @Test
+    @DisplayName("İmleç yoksa tam senkronizasyon yapılmalı")
+    void sync_WithoutCursor_ShouldReturnFullSnapshot() {
+        when(leaveRequestService.getLeaveRequestsChangedSince(EMPLOYEE_ID, null))
+                .thenReturn(List.of(LeaveRequestResponse.builder().id(1L).build()));
+        when(leaveTypeService.getAllActiveLeaveTypes())
+                .thenReturn(List.of(LeaveTypeResponse.builder().id(2L).build()));
+        when(publicHolidayService.getAllPublicHolidays())
+                .thenReturn(List.of(PublicHolidayResponse.builder().id(3L).build()));
+        when(leaveEntitlementService.getAllEmployeeLeaveBalances(EMPLOYEE_ID))
+                .thenReturn(List.of(LeaveBalanceResponse.builder().leaveTypeId(2L).build()));
+
+        SyncResponse response = syncService.sync(null);
+
+        assertTrue(response.isFullSync());
+        assertNotNull(response.getCursor());
+        assertEquals(1, response.getLeaveRequests().size());
+        assertEquals(1, response.getLeaveTypes().size());
+        assertEquals(1, response.getHolidays().size());
+        assertEquals(1, response.getBalances().size());
+        assertTrue(response.getRemovedLeaveTypeIds().isEmpty());
+        assertTrue(response.getRemovedHolidayIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Değişiklik yoksa delta boş dönmeli ve bakiyeler hesaplanmamalı")
+    void sync_WithCursorAndNoChanges_ShouldReturnEmptyDelta() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        stubEmptyDelta(since);
+
+        SyncResponse response = syncService.sync(SyncService.encodeCursor(since));
+
+        assertFalse(response.isFullSync());
+        assertTrue(response.getLeaveRequests().isEmpty());
+        assertTrue(response.getLeaveTypes().isEmpty());
+        assertTrue(response.getHolidays().isEmpty());
+        assertNull(response.getBalances());
+        verify(leaveEntitlementService, never()).getAllEmployeeLeaveBalances(anyLong());
+    }
+
+    @Test
+    @DisplayName("Talep değiştiyse bakiyeler de gönderilmeli")
+    void sync_WhenLeaveRequestChanged_ShouldIncludeBalances() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        stubEmptyDelta(since);
+        when(leaveRequestService.getLeaveRequestsChangedSince(EMPLOYEE_ID, since))
+                .thenReturn(List.of(LeaveRequestResponse.builder().id(10L).build()));
+        when(leaveEntitlementService.getAllEmployeeLeaveBalances(EMPLOYEE_ID))
+                .thenReturn(List.of(LeaveBalanceResponse.builder().leaveTypeId(2L).build()));
+
+        SyncResponse response = syncService.sync(SyncService.encodeCursor(since));
+
+        assertEquals(1, response.getLeaveRequests().size());
+        assertNotNull(response.getBalances());
+        verify(leaveEntitlementRepository, never()).existsByEmployeeIdAndUpdatedAtAfter(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Pasife alınan tatiller silinen ID listesinde dönmeli")
+    void sync_ShouldReportSoftDeletedHolidays() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        stubEmptyDelta(since);
+        when(publicHolidayService.getDeactivatedHolidayIdsSince(since)).thenReturn(List.of(99L));
+
+        SyncResponse response = syncService.sync(SyncService.encodeCursor(since));
+
+        assertEquals(List.of(99L), response.getRemovedHolidayIds());
+    }
+
+    @Test
+    @DisplayName("Yeni imleç güvenlik penceresi kadar geriden başlamalı")
+    void sync_NextCursorShouldLagBySafetyWindow() {
+        LocalDateTime before = LocalDateTime.now();
+        stubEmptyDelta(null);
+
+        SyncResponse response = syncService.sync(SyncService.encodeCursor(before.minusMinutes(1)));
+
+        LocalDateTime next = SyncService.decodeCursor(response.getCursor());
+        assertFalse(next.isAfter(LocalDateTime.now().minusSeconds(30)));
+        assertTrue(next.isAfter(before.minusSeconds(31)));
+    }
+
+    @Test
+    @DisplayName("Çözülemeyen imleç BusinessException fırlatmalı")
+    void sync_WithInvalidCursor_ShouldThrow() {
+        reset(employeeService);
+
+        assertThrows(BusinessException.class, () -> syncService.sync("bozuk-imlec!"));
+        assertThrows(BusinessException.class, () -> syncService.sync("djI6MTIz")); // "v2:123"
+    }
+
+    @Test
+    @DisplayName("İmleç kodlama/çözme milisaniye hassasiyetinde simetrik olmalı")
+    void cursor_ShouldRoundTrip() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+
+        assertEquals(timestamp, SyncService.decodeCursor(SyncService.encodeCursor(timestamp)));
+        assertNull(SyncService.decodeCursor(" "));
+    }
+
+    private void stubEmptyDelta(LocalDateTime since) {
+        lenient().when(leaveRequestService.getLeaveRequestsChangedSince(eq(EMPLOYEE_ID), since == null ? any() : eq(since)))
+                .thenReturn(List.of());
+        lenient().when(leaveTypeService.getActiveLeaveTypesChangedSince(any())).thenReturn(List.of());
+        lenient().when(leaveTypeService.getDeactivatedLeaveTypeIdsSince(any())).thenReturn(List.of());
+        lenient().when(publicHolidayService.getActiveHolidaysChangedSince(any())).thenReturn(List.of());
+        lenient().when(publicHolidayService.getDeactivatedHolidayIdsSince(any())).thenReturn(List.of());
+        lenient().when(leaveEntitlementRepository.existsByEmployeeIdAndUpdatedAtAfter(anyLong(), any())).thenReturn(false);
+    }
+}
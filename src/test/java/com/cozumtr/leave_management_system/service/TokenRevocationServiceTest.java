@@ -0,0 +1,150 @@
+package com.cozumtr.leave_management_system.service;
+
+import com.cozumtr.leave_management_system.cache.CacheInvalidationBus;
+import com.cozumtr.leave_management_system.entities.RevokedToken;
+import com.cozumtr.leave_management_system.enums.TokenRevocationReason;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
+import com.cozumtr.leave_management_system.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private AccountRevocationService accountRevocationService;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenLifetimeMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedSize", 1_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(tokenRevocationService, "refreshOverlapMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("jti içermeyen veya listede olmayan token iptal edilmiş sayılmamalı")
+    void isRevoked_ShouldReturnFalseForUnknownTokens() {
+        assertFalse(tokenRevocationService.isRevoked(null));
+        assertFalse(tokenRevocationService.isRevoked("unknown"));
+    }
+
+    @Test
+    @DisplayName("Çıkışta kayıt saklanmalı ve bus ile yayınlanmalı")
+    void revokeToken_ShouldPersistAndPublish() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(revokedTokenRepository.existsByJti("jti-1")).thenReturn(false);
+
+        tokenRevocationService.revokeToken("jti-1", "user@test.com", expiration);
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals("jti-1", captor.getValue().getJti());
+        assertEquals(TokenRevocationReason.LOGOUT, captor.getValue().getReason());
+        verify(cacheInvalidationBus).publish(TokenRevocationService.CACHE_NAME,
+                expiration.toInstant().getEpochSecond() + "|jti-1");
+    }
+
+    @Test
+    @DisplayName("Bus mesajı token'ı iptal listesine eklemeli")
+    void evict_ShouldAddTokenToList() {
+        long expiresAt = Instant.now().plusSeconds(60).getEpochSecond();
+
+        tokenRevocationService.evict(expiresAt + "|jti-2");
+
+        assertTrue(tokenRevocationService.isRevoked("jti-2"));
+        assertFalse(tokenRevocationService.isRevoked("jti-3"));
+    }
+
+    @Test
+    @DisplayName("Geçersiz bus mesajı yok sayılmalı")
+    void evict_ShouldIgnoreMalformedKeys() {
+        tokenRevocationService.evict("jti-only");
+        tokenRevocationService.evict("abc|jti-4");
+
+        assertFalse(tokenRevocationService.isRevoked("jti-only"));
+        assertFalse(tokenRevocationService.isRevoked("jti-4"));
+    }
+
+    @Test
+    @DisplayName("Açılışta token kayıtları listeye, hesap kayıtları AccountRevocationService'e aktarılmalı")
+    void loadAll_ShouldApplyTokenAndAccountRecords() {
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken logout = revoked("jti-5", "a@test.com", TokenRevocationReason.LOGOUT, now, now.plusHours(1));
+        RevokedToken accountChange = revoked(null, "b@test.com", TokenRevocationReason.ACCOUNT_CHANGED,
+                now.minusMinutes(5), now.plusHours(1));
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(logout, accountChange));
+
+        tokenRevocationService.loadAll();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-5"));
+        verify(accountRevocationService).restore("b@test.com",
+                now.minusMinutes(5).atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Hesap değişikliğinde kullanıcı düzeyinde kayıt oluşturulmalı")
+    void onUserAccountChanged_ShouldPersistSubjectRecord() {
+        tokenRevocationService.onUserAccountChanged(new UserAccountChangedEvent(1L, "user@test.com"));
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertNull(captor.getValue().getJti());
+        assertEquals("user@test.com", captor.getValue().getSubject());
+        assertEquals(TokenRevocationReason.ACCOUNT_CHANGED, captor.getValue().getReason());
+    }
+
+    @Test
+    @DisplayName("Süresi dolan token listeden çıkarılmalı")
+    void pruneExpired_ShouldDropExpiredTokens() {
+        long past = Instant.now().minusSeconds(10).getEpochSecond();
+        long future = Instant.now().plusSeconds(60).getEpochSecond();
+        tokenRevocationService.evict(past + "|expired");
+        tokenRevocationService.evict(future + "|active");
+        when(revokedTokenRepository.deleteExpired(any(LocalDateTime.class))).thenReturn(1);
+
+        tokenRevocationService.pruneExpired();
+
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        assertTrue(tokenRevocationService.isRevoked("active"));
+    }
+
+    private static RevokedToken revoked(String jti, String subject, TokenRevocationReason reason,
+                                        LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setSubject(subject);
+        revokedToken.setReason(reason);
+        revokedToken.setRevokedAt(revokedAt);
+        revokedToken.setExpiresAt(expiresAt);
+        return revokedToken;
+    }
+}
@@ -3,19 +3,25 @@ package com.cozumtr.leave_management_system.service;
 import com.cozumtr.leave_management_system.dto.request.ChangePasswordRequestDto;
 import com.cozumtr.leave_management_system.entities.Employee;
 import com.cozumtr.leave_management_system.entities.User;
+import com.cozumtr.leave_management_system.event.UserAccountChangedEvent;
 import com.cozumtr.leave_management_system.exception.BusinessException;
+import com.cozumtr.leave_management_system.repository.EmployeeRepository;
 import com.cozumtr.leave_management_system.repository.UserRepository;
+import com.cozumtr.leave_management_system.security.CurrentUser;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -35,9 +41,20 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
     @InjectMocks
     private UserService userService;
 
+    @BeforeEach
+    void setUpCurrentUser() {
+        ReflectionTestUtils.setField(userService, "currentUser", new CurrentUser(mock(EmployeeRepository.class), userRepository));
+    }
+
     @AfterEach
     void clearContext() {
         SecurityContextHolder.clearContext();
@@ -88,6 +105,10 @@ class UserServiceTest {
         assertEquals(0, user.getFailedLoginAttempts());
         assertEquals(null, user.getPasswordResetToken());
         assertEquals(null, user.getPasswordResetExpires());
+        // Önbellekteki UserDetails ve eski token'lar geçersiz kılınmalı
+        verify(eventPublisher).publishEvent(any(UserAccountChangedEvent.class));
+        // Sıfırlanan sayaca bellekte bekleyen eski denemeler eklenmemeli
+        verify(loginAttemptService).reset(email);
     }
 
     @Test